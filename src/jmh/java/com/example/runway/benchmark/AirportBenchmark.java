@@ -0,0 +1,43 @@
+package com.example.runway.benchmark;
+
+import com.example.runway.model.Airport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class of the benchmarks over synthetic airports. Each benchmark is run for every airport size
+ * and reports throughput and latency percentiles (sample time).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class AirportBenchmark {
+
+  // Airport sizes:
+  @Param({"1", "100", "10000"})
+  public int runways;
+
+  @Param({"0", "1000", "100000"})
+  public int obstacles;
+
+  protected Airport airport;
+
+  @Setup(Level.Trial)
+  public void generateAirport() {
+    airport = SyntheticAirports.generate("Synthetic", runways, obstacles, 42);
+  }
+
+}
@@ -0,0 +1,29 @@
+package com.example.runway.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the gc profiler (allocation rate per operation and GC counts) added to the results.
+ * Takes the usual JMH command line options, e.g. "CalculationBenchmark -p runways=100" or "-rf json".
+ */
+public final class BenchmarkMain {
+
+  private BenchmarkMain() {
+  }
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions options = new CommandLineOptions(args);
+    OptionsBuilder builder = new OptionsBuilder();
+    builder.parent(options).addProfiler(GCProfiler.class);
+    if (options.getIncludes().isEmpty()) {
+      builder.include(BenchmarkMain.class.getPackageName() + ".*");
+    }
+    new Runner(builder.build()).run();
+  }
+
+}
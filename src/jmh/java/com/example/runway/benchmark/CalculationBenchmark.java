@@ -0,0 +1,103 @@
+package com.example.runway.benchmark;
+
+import com.example.runway.model.AllMethodsResult;
+import com.example.runway.model.NetworkRecompute;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.ObstacleTable;
+import com.example.runway.model.RedeclarationEngine;
+import com.example.runway.model.Runway;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the runway re-declaration over every runway of an airport.
+ */
+public class CalculationBenchmark extends AirportBenchmark {
+
+  // Results of the bulk calculation (as long as the largest obstacle table):
+  private double[] out;
+
+  @Setup
+  public void setUp() {
+    int largest = 0;
+    for (Runway runway : airport.getRunways()) {
+      largest = Math.max(largest, runway.getObstacleTable().size());
+    }
+    out = new double[largest];
+  }
+
+  /**
+   * Re-declare every runway for its current obstacle (what the runway scene does for the selected runway)
+   */
+  @Benchmark
+  public void redeclareCurrentObstacle(Blackhole blackhole) {
+    for (Runway runway : airport.getRunways()) {
+      Obstacle obstacle = runway.getCurrentObstacle();
+      if (obstacle != null) {
+        runway.setDefault();
+        runway.redeclarationLandingOver(obstacle);
+        blackhole.consume(runway.getLda());
+      }
+    }
+  }
+
+  /**
+   * Re-declare every runway for every obstacle with all methods, one obstacle at a time
+   */
+  @Benchmark
+  public void calculateAllPerObstacle(Blackhole blackhole) {
+    for (Runway runway : airport.getRunways()) {
+      RedeclarationEngine engine = runway.getEngine();
+      for (Obstacle obstacle : runway.getObstacles()) {
+        AllMethodsResult result = engine.calculateAll(runway, obstacle);
+        blackhole.consume(result);
+      }
+    }
+  }
+
+  /**
+   * Re-declare every runway for every obstacle with all methods, from the runway's obstacle table
+   */
+  @Benchmark
+  public void calculateBulk(Blackhole blackhole) {
+    for (Runway runway : airport.getRunways()) {
+      calculateBulk(runway);
+      blackhole.consume(out);
+    }
+  }
+
+  private void calculateBulk(Runway runway) {
+    ObstacleTable table = runway.getObstacleTable();
+    RedeclarationEngine engine = runway.getEngine();
+    engine.calculateBulk(runway, table, RedeclarationEngine.LANDING_OVER, out);
+    engine.calculateBulk(runway, table, RedeclarationEngine.LANDING_TOWARDS, out);
+    engine.calculateBulk(runway, table, RedeclarationEngine.TAKE_OFF_TOWARDS, out);
+    engine.calculateBulk(runway, table, RedeclarationEngine.TAKE_OFF_AWAY, out);
+  }
+
+  /**
+   * Re-declare every runway for every obstacle with all methods on the common pool, into the compact result store
+   */
+  @Benchmark
+  public long recomputeNetwork() {
+    NetworkRecompute recompute = new NetworkRecompute(List.of(airport));
+    recompute.run(ForkJoinPool.commonPool());
+    return recompute.getNegativeCount();
+  }
+
+  /**
+   * Find the governing obstacle of every runway for all methods
+   */
+  @Benchmark
+  public void governingObstacles(Blackhole blackhole) {
+    for (Runway runway : airport.getRunways()) {
+      for (int method = RedeclarationEngine.LANDING_OVER; method <= RedeclarationEngine.TAKE_OFF_AWAY; method++) {
+        blackhole.consume(runway.getGoverningObstacle(method));
+      }
+    }
+  }
+
+}
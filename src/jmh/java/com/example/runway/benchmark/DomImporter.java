@@ -0,0 +1,138 @@
+package com.example.runway.benchmark;
+
+import com.example.runway.model.Airport;
+import com.example.runway.model.NumberCodec;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.Runway;
+import com.example.runway.model.SurveyedObstacle;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * The DOM airport importer which FileManager.importFile used before the streaming importer,
+ * kept as the baseline of PersistenceBenchmark.
+ */
+public final class DomImporter {
+
+  private DomImporter() {
+  }
+
+  /**
+   * Import an airport from XML by building the whole document
+   * @param filename    the file
+   * @return airport object
+   */
+  public static Airport importFile(String filename) {
+
+      //Get the Document Builder
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      try {
+          DocumentBuilder builder = factory.newDocumentBuilder();
+
+          //Get Document
+          Document document = builder.parse(filename);
+
+          //Normalize the xml document
+          document.getDocumentElement().normalize();
+
+          // Create new airport
+          Airport airport = new Airport(document.getDocumentElement().getAttribute("name"));
+
+          // Store airport's data:
+          NodeList runwayList = document.getElementsByTagName("runway");
+          for(int i = 0; i< runwayList.getLength(); i++){
+              Node runwayNode = runwayList.item(i);
+
+              if(runwayNode.getNodeType()== Node.ELEMENT_NODE) {
+                  Element runwayElement = (Element) runwayNode;
+                  String runwayNumber = runwayElement.getAttribute("runway_designator");
+                  String tora = runwayElement.getElementsByTagName("TORA").item(0).getTextContent();
+                  String toda = runwayElement.getElementsByTagName("TODA").item(0).getTextContent();
+                  String asda = runwayElement.getElementsByTagName("ASDA").item(0).getTextContent();
+                  String lda = runwayElement.getElementsByTagName("LDA").item(0).getTextContent();
+                  String displaced = runwayElement.getElementsByTagName("displaced_threshold").item(0).getTextContent();
+
+                  Runway runway = new Runway(runwayNumber, NumberCodec.parse(tora), NumberCodec.parse(toda), NumberCodec.parse(asda), NumberCodec.parse(lda), NumberCodec.parse(displaced));
+                  //optional position of the threshold in airport coordinates
+                  NodeList thresholdX = runwayElement.getElementsByTagName("threshold_x");
+                  NodeList thresholdY = runwayElement.getElementsByTagName("threshold_y");
+                  if (thresholdX.getLength() > 0 && thresholdY.getLength() > 0) {
+                    NodeList heading = runwayElement.getElementsByTagName("heading");
+                    runway.setPosition(NumberCodec.parse(thresholdX.item(0).getTextContent()),
+                        NumberCodec.parse(thresholdY.item(0).getTextContent()),
+                        heading.getLength() > 0 ? NumberCodec.parse(heading.item(0).getTextContent()) : Double.NaN);
+                  }
+
+                  NodeList runwayDetails = runwayNode.getChildNodes();
+                  for(int j = 0; j<runwayDetails.getLength();j++){
+                    Node detail = runwayDetails.item(j);
+                    if(detail.getNodeType() == Node.ELEMENT_NODE) {
+                          if(detail.getNodeName().equals("obstacle")) {
+                            Element obstacleElement = (Element) detail;
+                            String name = obstacleElement.getAttribute("name");
+                            String height = obstacleElement.getElementsByTagName("height").item(0).getTextContent();
+                            String length = obstacleElement.getElementsByTagName("length").item(0).getTextContent();
+                            String distanceThreshold = obstacleElement.getElementsByTagName("distance_threshold").item(0).getTextContent();
+                            String distanceCentre = obstacleElement.getElementsByTagName("distance_centerline").item(0).getTextContent();
+
+                            Obstacle obstacle = new Obstacle(name, NumberCodec.parse(height), NumberCodec.parse(length), NumberCodec.parse(distanceCentre), NumberCodec.parse(distanceThreshold));
+                            //optional validity interval of temporary obstacles
+                            NodeList validFrom = obstacleElement.getElementsByTagName("valid_from");
+                            NodeList validUntil = obstacleElement.getElementsByTagName("valid_until");
+                            if (validFrom.getLength() > 0 || validUntil.getLength() > 0) {
+                              obstacle.setValidity(
+                                  validFrom.getLength() > 0 ? parseTime(validFrom.item(0).getTextContent()) : Obstacle.ALWAYS_FROM,
+                                  validUntil.getLength() > 0 ? parseTime(validUntil.item(0).getTextContent()) : Obstacle.ALWAYS_UNTIL);
+                            }
+                            runway.addObstacle(obstacle);
+                          }
+                      }
+                  }
+                  airport.addRunway(runway);
+              }
+          }
+
+          // Store airport's surveyed obstacles and project them into the positioned runways:
+          NodeList surveyedList = document.getElementsByTagName("surveyed_obstacle");
+          for (int i = 0; i < surveyedList.getLength(); i++) {
+              Element surveyedElement = (Element) surveyedList.item(i);
+              airport.getObstacleRegistry().add(new SurveyedObstacle(surveyedElement.getAttribute("name"),
+                  NumberCodec.parse(surveyedElement.getElementsByTagName("x").item(0).getTextContent()),
+                  NumberCodec.parse(surveyedElement.getElementsByTagName("y").item(0).getTextContent()),
+                  NumberCodec.parse(surveyedElement.getElementsByTagName("height").item(0).getTextContent()),
+                  NumberCodec.parse(surveyedElement.getElementsByTagName("length").item(0).getTextContent())));
+          }
+          airport.applyObstacleRegistry();
+          return airport;
+      } catch (ParserConfigurationException | IOException | SAXException e) {
+          throw new RuntimeException(e);
+      }
+  }
+
+  /**
+   * Parse a time of an obstacle's validity interval (xsd:dateTime, UTC if it has no offset)
+   * @param text    the time
+   * @return time in epoch milliseconds
+   */
+  private static long parseTime(String text) {
+    String trimmed = text.trim();
+    try {
+      return OffsetDateTime.parse(trimmed).toInstant().toEpochMilli();
+    }
+    catch (DateTimeParseException e) {
+      return LocalDateTime.parse(trimmed).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+package com.example.runway.benchmark;
+
+import com.example.runway.model.NumberCodec;
+import java.text.DecimalFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the number codec against DecimalFormat, run from 4 threads
+ * (a batch export formats / parses every value of many runways concurrently).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class NumberCodecBenchmark {
+
+  // Shared formatter, has to be locked (DecimalFormat is not thread-safe):
+  private final DecimalFormat shared = new DecimalFormat("0.0");
+
+  // One formatter per thread:
+  private final ThreadLocal<DecimalFormat> perThread = ThreadLocal.withInitial(() -> new DecimalFormat("0.0"));
+
+  private double[] values;
+  private String[] texts;
+  private char[][] buffers;
+
+  @Setup
+  public void setUp() {
+    // Typical runway / obstacle values:
+    Random random = new Random(42);
+    values = new double[1024];
+    texts = new String[values.length];
+    buffers = new char[values.length][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(40000) / 10.0 + (i % 4 == 0 ? 0.05 : 0);
+      texts[i] = Double.toString(values[i]);
+      buffers[i] = texts[i].toCharArray();
+    }
+  }
+
+  @Benchmark
+  public void formatDecimalFormatShared(Blackhole blackhole) {
+    for (double value : values) {
+      synchronized (shared) {
+        blackhole.consume(shared.format(value));
+      }
+    }
+  }
+
+  @Benchmark
+  public void formatDecimalFormatPerThread(Blackhole blackhole) {
+    DecimalFormat df = perThread.get();
+    for (double value : values) {
+      blackhole.consume(df.format(value));
+    }
+  }
+
+  @Benchmark
+  public void formatCodec(Blackhole blackhole) {
+    for (double value : values) {
+      blackhole.consume(NumberCodec.format(value));
+    }
+  }
+
+  @Benchmark
+  public void formatCodecReusedBuilder(Blackhole blackhole) {
+    StringBuilder out = new StringBuilder(32);
+    for (double value : values) {
+      out.setLength(0);
+      blackhole.consume(NumberCodec.appendFixed(out, value).length());
+    }
+  }
+
+  @Benchmark
+  public void exportDoubleToString(Blackhole blackhole) {
+    for (double value : values) {
+      blackhole.consume(Double.toString(value));
+    }
+  }
+
+  @Benchmark
+  public void exportCodec(Blackhole blackhole) {
+    for (double value : values) {
+      blackhole.consume(NumberCodec.toString(value));
+    }
+  }
+
+  @Benchmark
+  public void parseDouble(Blackhole blackhole) {
+    for (String text : texts) {
+      blackhole.consume(Double.parseDouble(text));
+    }
+  }
+
+  @Benchmark
+  public void parseCodec(Blackhole blackhole) {
+    for (String text : texts) {
+      blackhole.consume(NumberCodec.parse(text));
+    }
+  }
+
+  @Benchmark
+  public void parseCodecCharBuffer(Blackhole blackhole) {
+    for (char[] buffer : buffers) {
+      blackhole.consume(NumberCodec.parse(buffer, 0, buffer.length));
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.example.runway.benchmark;
+
+import com.example.runway.controller.AirportSnapshot;
+import com.example.runway.controller.FileManager;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks of importing, exporting and saving airport XML files, and of reading the binary snapshot.
+ * saveAirport writes to storage_files in the working directory, the saved file is deleted after the run.
+ */
+public class PersistenceBenchmark extends AirportBenchmark {
+
+  private final FileManager fileManager = new FileManager();
+
+  private Path directory;
+  private File imported;
+  private File exported;
+  private Path snapshot;
+
+  @Setup
+  public void setUp() throws IOException {
+    airport.setName("Benchmark" + runways + "x" + obstacles);
+    directory = Files.createTempDirectory("runway-benchmark");
+    imported = directory.resolve("imported.xml").toFile();
+    exported = directory.resolve("exported.xml").toFile();
+    fileManager.exportFile(imported, airport);
+    snapshot = directory.resolve(FileManager.SNAPSHOT_PREFIX + 1 + FileManager.SNAPSHOT_SUFFIX);
+    AirportSnapshot.Writer writer = new AirportSnapshot.Writer();
+    writer.add(airport, imported.getName(), imported.length(), imported.lastModified(), null);
+    writer.write(snapshot);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    fileManager.deleteAirport(airport.getName());
+    Files.deleteIfExists(imported.toPath());
+    Files.deleteIfExists(exported.toPath());
+    Files.deleteIfExists(snapshot);
+    Files.deleteIfExists(directory);
+  }
+
+  @Benchmark
+  public Object importFile() {
+    return fileManager.importFile(imported.getAbsolutePath());
+  }
+
+  @Benchmark
+  public Object readSnapshot() throws IOException {
+    return AirportSnapshot.open(snapshot).read(0);
+  }
+
+  @Benchmark
+  public Object importFileDom() {
+    return DomImporter.importFile(imported.getAbsolutePath());
+  }
+
+  @Benchmark
+  public void exportFile() {
+    fileManager.exportFile(exported, airport);
+  }
+
+  @Benchmark
+  public void saveAirport() {
+    // Without a stored file the airport is always written:
+    fileManager.deleteAirport(airport.getName());
+    airport.setModified(true);
+    fileManager.saveAirport(airport);
+  }
+
+  @Benchmark
+  public void saveAirportUnchanged() {
+    // Modified, but the file it would write has the digest of the stored one:
+    airport.setModified(true);
+    fileManager.saveAirport(airport);
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.example.runway.benchmark;
+
+import com.example.runway.model.Airport;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.Runway;
+import java.util.Random;
+
+/**
+ * Generator of synthetic airports for the benchmarks. Every generated runway and obstacle passes the
+ * import validations, so the benchmarks walk the same paths as real airport files.
+ */
+public final class SyntheticAirports {
+
+  // Letters of parallel runways ("" = single runway):
+  private static final String[] LETTERS = {"", "L", "C", "R"};
+
+  private SyntheticAirports() {
+  }
+
+  /**
+   * Generate an airport. Runway numbers repeat after 144 runways (01-36 with every letter),
+   * so only airports with at most 144 runways have unique runway numbers.
+   * @param name         airport name
+   * @param runways      number of runways (at least 1)
+   * @param obstacles    number of obstacles, spread evenly over the runways
+   * @param seed         seed of the random values (the same seed generates the same airport)
+   * @return airport
+   */
+  public static Airport generate(String name, int runways, int obstacles, long seed) {
+    if (runways < 1 || obstacles < 0) {
+      throw new IllegalArgumentException("Invalid airport size: " + runways + " runways, " + obstacles + " obstacles");
+    }
+    Random random = new Random(seed);
+    Airport airport = new Airport(name);
+    for (int i = 0; i < runways; i++) {
+      int number = i % 36 + 1;
+      String letter = LETTERS[(i / 36) % LETTERS.length];
+      double tora = 1500 + random.nextInt(2500);
+      double stopWay = random.nextInt(4) * 60;
+      double clearWay = stopWay + random.nextInt(4) * 60;
+      double displaced = random.nextInt(4) * 100;
+      Runway runway = new Runway(String.format("%02d", number) + letter, tora, tora + clearWay, tora + stopWay,
+          tora - displaced, displaced);
+
+      // Obstacles of this runway (the first runways get the remainder):
+      int count = obstacles / runways + (i < obstacles % runways ? 1 : 0);
+      for (int j = 0; j < count; j++) {
+        double height = 1 + random.nextInt(500) / 10.0;
+        double length = 1 + random.nextInt(1000) / 10.0;
+        double distanceCentre = random.nextInt(751) / 10.0;
+        double distanceThreshold = 60 + random.nextInt((int) tora - 60);
+        runway.addObstacle(new Obstacle("Obstacle" + j, height, length, distanceCentre, distanceThreshold));
+      }
+      if (count > 0) {
+        runway.setCurrentObstacle(runway.getObstacles().get(0));
+      }
+      airport.addRunway(runway);
+    }
+    return airport;
+  }
+
+}
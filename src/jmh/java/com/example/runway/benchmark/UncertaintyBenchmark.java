@@ -0,0 +1,62 @@
+package com.example.runway.benchmark;
+
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.RedeclarationEngine;
+import com.example.runway.model.Runway;
+import com.example.runway.model.UncertaintyAnalysis;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the uncertainty analysis (1 000 000 samples) for growing numbers of threads,
+ * the time should fall linearly with the number of threads up to the number of cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UncertaintyBenchmark {
+
+  @Param({"1", "2", "4", "8"})
+  public int threads;
+
+  private ForkJoinPool pool;
+  private Runway runway;
+  private Obstacle obstacle;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    pool = new ForkJoinPool(threads);
+    runway = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+    obstacle = new Obstacle("Obstacle", 12, 10, 0, 2000);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public double sampleMillion() {
+    UncertaintyAnalysis analysis = new UncertaintyAnalysis(runway, obstacle, RedeclarationEngine.LANDING_OVER,
+        UncertaintyAnalysis.NORMAL, 0.5, 5, 1_000_000, 42);
+    analysis.run(pool);
+    return analysis.getPercentile(UncertaintyAnalysis.LDA, 5);
+  }
+
+}
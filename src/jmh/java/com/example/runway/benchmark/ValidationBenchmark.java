@@ -0,0 +1,34 @@
+package com.example.runway.benchmark;
+
+import com.example.runway.controller.InputManager;
+import com.example.runway.controller.Validations;
+import com.example.runway.model.Runway;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks of validating an airport before it is imported.
+ * Runway numbers of synthetic airports repeat after 144 runways, so isValidAirport rejects the 10000 runway airports
+ * at the first repeated number; validateRunways checks every runway and obstacle regardless.
+ */
+public class ValidationBenchmark extends AirportBenchmark {
+
+  private final Validations validations = new Validations();
+  private final InputManager inputManager = new InputManager();
+
+  @Benchmark
+  public boolean isValidAirport() {
+    return validations.isValidAirport(airport, inputManager);
+  }
+
+  @Benchmark
+  public int validateRunways() {
+    int valid = 0;
+    for (Runway runway : airport.getRunways()) {
+      if (validations.isValidRunway(runway)) {
+        valid++;
+      }
+    }
+    return valid;
+  }
+
+}
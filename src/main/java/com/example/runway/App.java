@@ -1,8 +1,5 @@
 package com.example.runway;
 
-import com.example.runway.controller.FileManager;
-import com.example.runway.controller.InputManager;
-import com.example.runway.model.Airport;
 import com.example.runway.view.MainPage;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -46,13 +43,9 @@ public class App  extends Application {
    */
   @Override
   public void stop(){
-    InputManager inputManager = mainPage.getInputManager();
-    FileManager fileManager = mainPage.getFileManager();
-
-    for (Airport airport : inputManager.getAirports()) {
-      airport.setDefaultRunways();
-      fileManager.saveAirport(airport);
-    }
+    // Airports which were never loaded have not changed:
+    mainPage.getInputManager().getAirportCatalog().saveAll();
+    mainPage.getInputManager().getJournal().close();
   }
 
   /**
@@ -0,0 +1,243 @@
+package com.example.runway.controller;
+
+import com.example.runway.model.Airport;
+import com.example.runway.model.AirportSummary;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The airport catalog class. Lists every airport by its summary and loads an airport from its file when it is
+ * first used. At most a fixed number of airports are kept loaded: when another one is loaded, the least recently
+ * used airport is saved and goes back to its summary.
+ */
+public class AirportCatalog {
+
+  // Number of airports kept loaded by default:
+  public static final int DEFAULT_CAPACITY = 16;
+
+  private final FileManager fileManager;
+  private final int capacity;
+
+  // Airports in the order they are listed:
+  private final List<Entry> entries = new ArrayList<>();
+
+  // Loaded airports, least recently used first:
+  private final LinkedHashMap<Entry, Airport> loaded = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Create a new airport catalog
+   * @param fileManager    controller for the airport files
+   * @param capacity       number of airports kept loaded
+   */
+  public AirportCatalog(FileManager fileManager, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity has to be at least 1: " + capacity);
+    }
+    this.fileManager = fileManager;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Add the summaries of stored airports (nothing is loaded)
+   * @param summaries    the summaries
+   */
+  public void addSummaries(List<AirportSummary> summaries) {
+    for (AirportSummary summary : summaries) {
+      entries.add(new Entry(summary));
+    }
+  }
+
+  /**
+   * Add an airport which is already loaded (new or imported)
+   * @param airport    the airport
+   */
+  public void add(Airport airport) {
+    Entry entry = new Entry(null);
+    entry.airport = airport;
+    entries.add(entry);
+    touch(entry);
+  }
+
+  /**
+   * Remove an airport (its file is not deleted)
+   * @param airport    the airport
+   * @return true if the catalog had the airport
+   */
+  public boolean remove(Airport airport) {
+    for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+      Entry entry = it.next();
+      if (entry.airport == airport) {
+        it.remove();
+        loaded.remove(entry);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Getter for the number of airports
+   * @return number of airports
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Getter for the names of all airports (nothing is loaded)
+   * @return airport names
+   */
+  public List<String> getNames() {
+    List<String> names = new ArrayList<>();
+    for (Entry entry : entries) {
+      names.add(entry.getName());
+    }
+    return names;
+  }
+
+  /**
+   * Getter for an airport, loaded from its file if needed
+   * @param index    position of the airport in the list
+   * @return the airport
+   */
+  public Airport get(int index) {
+    Entry entry = entries.get(index);
+    if (entry.airport == null) {
+      entry.airport = fileManager.loadStoredAirport(entry.summary.getFileName());
+    }
+    touch(entry);
+    return entry.airport;
+  }
+
+  /**
+   * Getter for the position of an airport in the list
+   * @param airport    a loaded airport
+   * @return position (-1 if the catalog does not have it)
+   */
+  public int indexOf(Airport airport) {
+    for (int i = 0; i < entries.size(); i++) {
+      if (entries.get(i).airport == airport) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns whether an airport is loaded
+   * @param index    position of the airport in the list
+   * @return true if loaded
+   */
+  public boolean isLoaded(int index) {
+    return entries.get(index).airport != null;
+  }
+
+  /**
+   * Getter for the loaded airports
+   * @return airports (in the order they are listed)
+   */
+  public List<Airport> getLoaded() {
+    List<Airport> airports = new ArrayList<>();
+    for (Entry entry : entries) {
+      if (entry.airport != null) {
+        airports.add(entry.airport);
+      }
+    }
+    return Collections.unmodifiableList(airports);
+  }
+
+  /**
+   * Getter for every airport of the catalog, for a pass over all of them (e.g. on a worker thread).
+   * Loaded airports are used as they are; the others are read from their files one at a time while iterating and
+   * are not kept loaded, so the pass does not change which airports are loaded.
+   * @return airports (in the order they are listed when this is called)
+   */
+  public Iterable<Airport> getAll() {
+    List<Airport> airports = new ArrayList<>();
+    List<String> fileNames = new ArrayList<>();
+    for (Entry entry : entries) {
+      airports.add(entry.airport);
+      fileNames.add(entry.airport == null ? entry.summary.getFileName() : null);
+    }
+    return () -> new Iterator<>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < airports.size();
+      }
+
+      @Override
+      public Airport next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Airport airport = airports.get(next);
+        String fileName = fileNames.get(next);
+        next++;
+        return airport != null ? airport : fileManager.loadStoredAirport(fileName);
+      }
+    };
+  }
+
+  /**
+   * Mark an airport as most recently used, the least recently used airport is unloaded if too many are loaded
+   * @param entry    entry of the airport
+   */
+  private void touch(Entry entry) {
+    loaded.put(entry, entry.airport);
+    while (loaded.size() > capacity) {
+      Map.Entry<Entry, Airport> eldest = loaded.entrySet().iterator().next();
+      loaded.remove(eldest.getKey());
+      unload(eldest.getKey());
+    }
+  }
+
+  /**
+   * Save a loaded airport if it was modified and keep only its summary
+   * @param entry    entry of the airport
+   */
+  private void unload(Entry entry) {
+    entry.airport.setDefaultRunways();
+    fileManager.saveAirport(entry.airport);
+    entry.summary = fileManager.summarise(entry.airport);
+    entry.airport = null;
+  }
+
+  /**
+   * Save every modified airport (used when the app is closed).
+   * Airports which were never loaded or were not modified are not written.
+   */
+  public void saveAll() {
+    for (Entry entry : entries) {
+      if (entry.airport != null) {
+        entry.airport.setDefaultRunways();
+        fileManager.saveAirport(entry.airport);
+        entry.summary = fileManager.summarise(entry.airport);
+      }
+    }
+  }
+
+  /**
+   * An airport of the catalog: its summary, and the airport while it is loaded
+   */
+  private static class Entry {
+
+    private AirportSummary summary;
+    private Airport airport;
+
+    Entry(AirportSummary summary) {
+      this.summary = summary;
+    }
+
+    String getName() {
+      return airport != null ? airport.getName() : summary.getName();
+    }
+  }
+
+}
@@ -0,0 +1,505 @@
+package com.example.runway.controller;
+
+import com.example.runway.model.Airport;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.ObstacleRegistry;
+import com.example.runway.model.Runway;
+import com.example.runway.model.SurveyedObstacle;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The airport snapshot class. A binary copy of all stored airports, read through a memory-mapped file instead of
+ * parsing their XML files. The file has a header, the offsets of a string table, fixed-width records of the
+ * airports, runways, obstacles and surveyed obstacles, and the string table's UTF-8 text:
+ * <pre>
+ * header     magic, version, number of airports, runways, obstacles, surveyed obstacles and strings (ints)
+ * offsets    start of each string in the text, and the end of the text (ints)
+ * airport    name, file name (strings), size and modification time of the file, journal sequence (longs),
+ *            first runway, number of runways, first surveyed obstacle, number of surveyed obstacles (ints),
+ *            SHA-256 digest of the file (32 bytes)
+ * runway     runway designator (string), TORA, TODA, ASDA, LDA, displaced threshold, threshold x and y,
+ *            heading (doubles, NaN if not positioned), first obstacle, number of obstacles (ints),
+ *            parameter profile name (string)
+ * obstacle   name (string), height, length, distance from centre line, distance from threshold (doubles),
+ *            start and end of validity (longs)
+ * surveyed   name (string), x, y, height, length (doubles)
+ * </pre>
+ * Like the XML files, the snapshot has the runways' default values and no predefined or projected obstacles.
+ * Each airport records the size and digest of its XML file, so an airport whose file changed since the snapshot
+ * was written is read from the XML file instead (a changed file can keep its size and modification time). The names and runway designators of the
+ * airports are read without creating the airports (summaries at launch), and a new snapshot copies the records of
+ * unchanged airports from the old one as they are.
+ */
+public final class AirportSnapshot {
+
+  // First int of a snapshot ("RWYS") and version of the format:
+  public static final int MAGIC = 0x52575953;
+  public static final int VERSION = 3;
+
+  // Size of a SHA-256 digest in bytes:
+  public static final int DIGEST = 32;
+
+  // Sizes of the header and of the records in bytes:
+  private static final int HEADER = 7 * 4;
+  private static final int AIRPORT = 4 + 4 + 8 + 8 + 8 + 4 + 4 + 4 + 4 + DIGEST;
+  private static final int RUNWAY = 4 + 8 * 8 + 4 + 4 + 4;
+  private static final int OBSTACLE = 4 + 4 * 8 + 8 + 8;
+  private static final int SURVEYED = 4 + 4 * 8;
+
+  private final ByteBuffer buffer;
+  private final int airportCount;
+  private final int stringCount;
+  private final int offsets;
+  private final int airports;
+  private final int runways;
+  private final int obstacles;
+  private final int surveyed;
+  private final int text;
+
+  // Position of each airport by the name of its XML file:
+  private final Map<String, Integer> byFileName = new HashMap<>();
+
+  private AirportSnapshot(ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    if (buffer.limit() < HEADER || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not an airport snapshot");
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported snapshot version: " + buffer.getInt(4));
+    }
+    airportCount = buffer.getInt(8);
+    int runwayCount = buffer.getInt(12);
+    int obstacleCount = buffer.getInt(16);
+    int surveyedCount = buffer.getInt(20);
+    stringCount = buffer.getInt(24);
+    long end = HEADER + (stringCount + 1L) * 4 + (long) airportCount * AIRPORT + (long) runwayCount * RUNWAY
+        + (long) obstacleCount * OBSTACLE + (long) surveyedCount * SURVEYED;
+    if (airportCount < 0 || runwayCount < 0 || obstacleCount < 0 || surveyedCount < 0 || stringCount < 0
+        || end > buffer.limit() || end + buffer.getInt(HEADER + stringCount * 4) != buffer.limit()) {
+      throw new IOException("Damaged airport snapshot");
+    }
+    offsets = HEADER;
+    airports = offsets + (stringCount + 1) * 4;
+    runways = airports + airportCount * AIRPORT;
+    obstacles = runways + runwayCount * RUNWAY;
+    surveyed = obstacles + obstacleCount * OBSTACLE;
+    text = surveyed + surveyedCount * SURVEYED;
+    for (int i = 0; i < airportCount; i++) {
+      byFileName.put(string(airports + i * AIRPORT + 4), i);
+    }
+  }
+
+  /**
+   * Open a snapshot (the file is mapped, records are read from it when they are needed)
+   * @param file    the snapshot file
+   * @return the snapshot
+   * @throws IOException if the file cannot be read or is not a snapshot of this version
+   */
+  public static AirportSnapshot open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Airport snapshot is too large");
+      }
+      return new AirportSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Getter for number of airports
+   * @return number of airports
+   */
+  public int size() {
+    return airportCount;
+  }
+
+  /**
+   * Getter for the position of an airport by the name of its XML file
+   * @param fileName    name of the file
+   * @return position (-1 if the snapshot does not have it)
+   */
+  public int indexOf(String fileName) {
+    Integer index = byFileName.get(fileName);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Getter for the name of an airport's XML file
+   * @param index    position of the airport
+   * @return file name
+   */
+  public String getFileName(int index) {
+    return string(airports + index * AIRPORT + 4);
+  }
+
+  /**
+   * Getter for the name of an airport (the airport is not read)
+   * @param index    position of the airport
+   * @return airport name
+   */
+  public String getName(int index) {
+    return string(airports + index * AIRPORT);
+  }
+
+  /**
+   * Getter for the size an airport's XML file had when the snapshot was written
+   * @param index    position of the airport
+   * @return size in bytes
+   */
+  public long getFileSize(int index) {
+    return buffer.getLong(airports + index * AIRPORT + 8);
+  }
+
+  /**
+   * Getter for the modification time an airport's XML file had when the snapshot was written
+   * @param index    position of the airport
+   * @return modification time in epoch milliseconds
+   */
+  public long getFileModified(int index) {
+    return buffer.getLong(airports + index * AIRPORT + 16);
+  }
+
+  /**
+   * Getter for the runway designators of an airport (the airport is not read)
+   * @param index    position of the airport
+   * @return runway designators
+   */
+  public List<String> getRunwayNumbers(int index) {
+    int record = airports + index * AIRPORT;
+    int firstRunway = buffer.getInt(record + 32);
+    int runwayCount = buffer.getInt(record + 36);
+    List<String> runwayNumbers = new ArrayList<>(runwayCount);
+    for (int r = firstRunway; r < firstRunway + runwayCount; r++) {
+      runwayNumbers.add(string(runways + r * RUNWAY));
+    }
+    return runwayNumbers;
+  }
+
+  /**
+   * Getter for the digest an airport's XML file had when the snapshot was written
+   * @param index    position of the airport
+   * @return SHA-256 digest (all zero if it was not known)
+   */
+  public byte[] getFileDigest(int index) {
+    byte[] digest = new byte[DIGEST];
+    buffer.get(airports + index * AIRPORT + 48, digest);
+    return digest;
+  }
+
+  /**
+   * Returns whether an airport's XML file has not changed since the snapshot was written
+   * @param index     position of the airport
+   * @param size      size of the file in bytes
+   * @param digest    SHA-256 digest of the file (null if it cannot be read)
+   * @return true if the snapshot has the current version of the airport
+   */
+  public boolean isCurrent(int index, long size, byte[] digest) {
+    return digest != null && getFileSize(index) == size && Arrays.equals(getFileDigest(index), digest);
+  }
+
+  /**
+   * Getter for the sequence number of the last journalled edit included in an airport
+   * @param index    position of the airport
+   * @return sequence number (0 if none)
+   */
+  public long getJournalSequence(int index) {
+    return buffer.getLong(airports + index * AIRPORT + 24);
+  }
+
+  /**
+   * Read an airport
+   * @param index    position of the airport
+   * @return a new airport object (not modified)
+   */
+  public Airport read(int index) {
+    int record = airports + index * AIRPORT;
+    Airport airport = new Airport(string(record));
+    int firstRunway = buffer.getInt(record + 32);
+    int runwayCount = buffer.getInt(record + 36);
+    for (int r = firstRunway; r < firstRunway + runwayCount; r++) {
+      int at = runways + r * RUNWAY;
+      Runway runway = new Runway(string(at), buffer.getDouble(at + 4), buffer.getDouble(at + 12),
+          buffer.getDouble(at + 20), buffer.getDouble(at + 28), buffer.getDouble(at + 36));
+      double x = buffer.getDouble(at + 44);
+      double y = buffer.getDouble(at + 52);
+      if (!Double.isNaN(x) && !Double.isNaN(y)) {
+        runway.setPosition(x, y, buffer.getDouble(at + 60));
+      }
+      runway.setProfileName(string(at + 76));
+      int firstObstacle = buffer.getInt(at + 68);
+      int obstacleCount = buffer.getInt(at + 72);
+      for (int o = firstObstacle; o < firstObstacle + obstacleCount; o++) {
+        int ob = obstacles + o * OBSTACLE;
+        Obstacle obstacle = new Obstacle(string(ob), buffer.getDouble(ob + 4), buffer.getDouble(ob + 12),
+            buffer.getDouble(ob + 20), buffer.getDouble(ob + 28));
+        long validFrom = buffer.getLong(ob + 36);
+        long validUntil = buffer.getLong(ob + 44);
+        if (validFrom != Obstacle.ALWAYS_FROM || validUntil != Obstacle.ALWAYS_UNTIL) {
+          obstacle.setValidity(validFrom, validUntil);
+        }
+        runway.addObstacle(obstacle);
+      }
+      airport.addRunway(runway);
+    }
+    int firstSurveyed = buffer.getInt(record + 40);
+    int surveyedCount = buffer.getInt(record + 44);
+    for (int s = firstSurveyed; s < firstSurveyed + surveyedCount; s++) {
+      int at = surveyed + s * SURVEYED;
+      airport.getObstacleRegistry().add(new SurveyedObstacle(string(at), buffer.getDouble(at + 4),
+          buffer.getDouble(at + 12), buffer.getDouble(at + 20), buffer.getDouble(at + 28)));
+    }
+    airport.applyObstacleRegistry();
+    airport.setJournalSequence(buffer.getLong(record + 24));
+    airport.setModified(false);
+    return airport;
+  }
+
+  /**
+   * Read a string of the string table
+   * @param at    position of the string's index in a record
+   * @return the string
+   */
+  private String string(int at) {
+    int index = buffer.getInt(at);
+    int start = buffer.getInt(offsets + index * 4);
+    int end = buffer.getInt(offsets + index * 4 + 4);
+    byte[] bytes = new byte[end - start];
+    buffer.get(text + start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writer of a new snapshot. Airports are encoded when they are added, so only one airport object
+   * has to be held at a time.
+   */
+  public static final class Writer {
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final ByteArrayOutputStream airportBytes = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream runwayBytes = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream obstacleBytes = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream surveyedBytes = new ByteArrayOutputStream();
+    private final DataOutputStream airportsOut = new DataOutputStream(airportBytes);
+    private final DataOutputStream runwaysOut = new DataOutputStream(runwayBytes);
+    private final DataOutputStream obstaclesOut = new DataOutputStream(obstacleBytes);
+    private final DataOutputStream surveyedOut = new DataOutputStream(surveyedBytes);
+    private int airportCount;
+    private int runwayCount;
+    private int obstacleCount;
+    private int surveyedCount;
+
+    // Snapshot whose records are copied, and the id in this writer of each of its strings (-1 until copied):
+    private AirportSnapshot source;
+    private int[] sourceStrings;
+    private final byte[] record = new byte[Math.max(Math.max(AIRPORT, RUNWAY), Math.max(OBSTACLE, SURVEYED))];
+
+    /**
+     * Add an airport
+     * @param airport     the airport (default values of its runways are written)
+     * @param fileName    name of the airport's XML file
+     * @param size        size of the file in bytes
+     * @param modified    modification time of the file in epoch milliseconds
+     * @param digest      SHA-256 digest of the file (null if not known)
+     */
+    public void add(Airport airport, String fileName, long size, long modified, byte[] digest) {
+      try {
+        int firstRunway = runwayCount;
+        int firstSurveyed = surveyedCount;
+        ObstacleRegistry registry = airport.getObstacleRegistry();
+        for (Runway runway : airport.getRunways()) {
+          int firstObstacle = obstacleCount;
+          for (Obstacle obstacle : runway.getObstacles()) {
+            if (!obstacle.isPredefined() && !registry.isProjected(runway, obstacle)) {
+              obstaclesOut.writeInt(string(obstacle.getName()));
+              obstaclesOut.writeDouble(obstacle.getHeight());
+              obstaclesOut.writeDouble(obstacle.getLength());
+              obstaclesOut.writeDouble(obstacle.getDistanceCentre());
+              obstaclesOut.writeDouble(obstacle.getDistanceFromThreshold());
+              obstaclesOut.writeLong(obstacle.getValidFrom());
+              obstaclesOut.writeLong(obstacle.getValidUntil());
+              obstacleCount++;
+            }
+          }
+          runwaysOut.writeInt(string(runway.getRunwayNumber()));
+          runwaysOut.writeDouble(runway.getDefaultTora());
+          runwaysOut.writeDouble(runway.getDefaultToda());
+          runwaysOut.writeDouble(runway.getDefaultAsda());
+          runwaysOut.writeDouble(runway.getDefaultLda());
+          runwaysOut.writeDouble(runway.getDisplacedThreshold());
+          runwaysOut.writeDouble(runway.hasPosition() ? runway.getThresholdX() : Double.NaN);
+          runwaysOut.writeDouble(runway.hasPosition() ? runway.getThresholdY() : Double.NaN);
+          runwaysOut.writeDouble(runway.hasHeading() ? runway.getHeading() : Double.NaN);
+          runwaysOut.writeInt(firstObstacle);
+          runwaysOut.writeInt(obstacleCount - firstObstacle);
+          runwaysOut.writeInt(string(runway.getProfileName()));
+          runwayCount++;
+        }
+        for (SurveyedObstacle obstacle : registry.getObstacles()) {
+          surveyedOut.writeInt(string(obstacle.getName()));
+          surveyedOut.writeDouble(obstacle.getX());
+          surveyedOut.writeDouble(obstacle.getY());
+          surveyedOut.writeDouble(obstacle.getHeight());
+          surveyedOut.writeDouble(obstacle.getLength());
+          surveyedCount++;
+        }
+        airportsOut.writeInt(string(airport.getName()));
+        airportsOut.writeInt(string(fileName));
+        airportsOut.writeLong(size);
+        airportsOut.writeLong(modified);
+        airportsOut.writeLong(airport.getJournalSequence());
+        airportsOut.writeInt(firstRunway);
+        airportsOut.writeInt(runwayCount - firstRunway);
+        airportsOut.writeInt(firstSurveyed);
+        airportsOut.writeInt(surveyedCount - firstSurveyed);
+        airportsOut.write(digest == null ? new byte[DIGEST] : digest, 0, DIGEST);
+        airportCount++;
+      }
+      catch (IOException e) {
+        // Not thrown by in-memory streams:
+        throw new IllegalStateException(e);
+      }
+    }
+
+    /**
+     * Add an airport of another snapshot. Its records are copied as they are (the airport is not read), only the
+     * ids of its strings and the positions of its runways and obstacles are changed.
+     * @param snapshot    the snapshot
+     * @param index       position of the airport in the snapshot
+     */
+    public void copy(AirportSnapshot snapshot, int index) {
+      if (snapshot != source) {
+        source = snapshot;
+        sourceStrings = new int[snapshot.stringCount];
+        Arrays.fill(sourceStrings, -1);
+      }
+      ByteBuffer in = snapshot.buffer;
+      try {
+        int airport = snapshot.airports + index * AIRPORT;
+        int firstRunway = runwayCount;
+        int firstSurveyed = surveyedCount;
+        int sourceRunway = in.getInt(airport + 32);
+        int sourceRunways = in.getInt(airport + 36);
+        for (int r = sourceRunway; r < sourceRunway + sourceRunways; r++) {
+          int at = snapshot.runways + r * RUNWAY;
+          int firstObstacle = obstacleCount;
+          int sourceObstacle = in.getInt(at + 68);
+          int sourceObstacles = in.getInt(at + 72);
+          for (int o = sourceObstacle; o < sourceObstacle + sourceObstacles; o++) {
+            int ob = snapshot.obstacles + o * OBSTACLE;
+            obstaclesOut.writeInt(copiedString(ob));
+            copyBytes(in, ob + 4, OBSTACLE - 4, obstaclesOut);
+            obstacleCount++;
+          }
+          runwaysOut.writeInt(copiedString(at));
+          copyBytes(in, at + 4, 64, runwaysOut);
+          runwaysOut.writeInt(firstObstacle);
+          runwaysOut.writeInt(obstacleCount - firstObstacle);
+          runwaysOut.writeInt(copiedString(at + 76));
+          runwayCount++;
+        }
+        int sourceSurveyed = in.getInt(airport + 40);
+        int sourceSurveyedCount = in.getInt(airport + 44);
+        for (int i = sourceSurveyed; i < sourceSurveyed + sourceSurveyedCount; i++) {
+          int at = snapshot.surveyed + i * SURVEYED;
+          surveyedOut.writeInt(copiedString(at));
+          copyBytes(in, at + 4, SURVEYED - 4, surveyedOut);
+          surveyedCount++;
+        }
+        airportsOut.writeInt(copiedString(airport));
+        airportsOut.writeInt(copiedString(airport + 4));
+        // Size and modification time of the file, and journal sequence:
+        copyBytes(in, airport + 8, 24, airportsOut);
+        airportsOut.writeInt(firstRunway);
+        airportsOut.writeInt(runwayCount - firstRunway);
+        airportsOut.writeInt(firstSurveyed);
+        airportsOut.writeInt(surveyedCount - firstSurveyed);
+        copyBytes(in, airport + 48, DIGEST, airportsOut);
+        airportCount++;
+      }
+      catch (IOException e) {
+        // Not thrown by in-memory streams:
+        throw new IllegalStateException(e);
+      }
+    }
+
+    private void copyBytes(ByteBuffer in, int at, int length, DataOutputStream out) throws IOException {
+      in.get(at, record, 0, length);
+      out.write(record, 0, length);
+    }
+
+    private int copiedString(int at) {
+      int id = source.buffer.getInt(at);
+      if (sourceStrings[id] < 0) {
+        sourceStrings[id] = string(source.string(at));
+      }
+      return sourceStrings[id];
+    }
+
+    private int string(String value) {
+      return strings.computeIfAbsent(value, s -> strings.size());
+    }
+
+    /**
+     * Write the snapshot (moved to its name in one step, so that it is never read half-written). An open snapshot
+     * is mapped, which stops its file being replaced on some platforms, so a new snapshot is written to a new file.
+     * @param file    the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+      List<byte[]> encoded = new ArrayList<>(strings.size());
+      int length = 0;
+      for (String value : strings.keySet()) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        encoded.add(bytes);
+        length += bytes.length;
+      }
+      Path temporary = Path.of(file + ".tmp");
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        OutputStream stream = Channels.newOutputStream(channel);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(airportCount);
+        out.writeInt(runwayCount);
+        out.writeInt(obstacleCount);
+        out.writeInt(surveyedCount);
+        out.writeInt(strings.size());
+        int offset = 0;
+        for (byte[] bytes : encoded) {
+          out.writeInt(offset);
+          offset += bytes.length;
+        }
+        out.writeInt(length);
+        airportBytes.writeTo(out);
+        runwayBytes.writeTo(out);
+        obstacleBytes.writeTo(out);
+        surveyedBytes.writeTo(out);
+        for (byte[] bytes : encoded) {
+          out.write(bytes);
+        }
+        out.flush();
+        channel.force(true);
+      }
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+
+}
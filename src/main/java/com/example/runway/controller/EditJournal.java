@@ -0,0 +1,738 @@
+package com.example.runway.controller;
+
+import com.example.runway.model.Airport;
+import com.example.runway.model.NumberCodec;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.Runway;
+import com.example.runway.model.SurveyedObstacle;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The edit journal class. Every edit of an airport, runway or obstacle is appended as one line to a journal file
+ * in storage_files, so that edits are not lost if the app crashes before the airports are saved.
+ * Lines are written by a background thread, which syncs the file once for all the lines appended since its last
+ * write (group commit). Journal files are folded into the airport files at launch and periodically in the
+ * background (compaction); an airport file records the last edit it includes, so edits are never applied twice.
+ */
+public class EditJournal implements Closeable {
+
+  // Journal files in storage_files (named after the sequence number of their first edit):
+  public static final String PREFIX = "journal-";
+  public static final String SUFFIX = ".log";
+
+  // Interval of the background compaction in seconds:
+  public static final int COMPACTION_INTERVAL = 60;
+
+  // Recorded operations (a line is: sequence number, operation, airport name, values..., CRC-32 of the line;
+  // values are separated by tabs, tabs, line breaks and backslashes in them are escaped):
+  static final String AIRPORT_ADDED = "airport_added";
+  static final String AIRPORT_RENAMED = "airport_renamed";
+  static final String AIRPORT_DELETED = "airport_deleted";
+  static final String RUNWAY_CHANGED = "runway_changed";
+  static final String RUNWAY_DELETED = "runway_deleted";
+  static final String OBSTACLE_CHANGED = "obstacle_changed";
+  static final String OBSTACLE_DELETED = "obstacle_deleted";
+  static final String SURVEYED_OBSTACLE_ADDED = "surveyed_obstacle_added";
+  static final String SURVEYED_OBSTACLE_CHANGED = "surveyed_obstacle_changed";
+  static final String SURVEYED_OBSTACLE_DELETED = "surveyed_obstacle_deleted";
+
+  private final FileManager fileManager;
+  private final Path folder;
+
+  // Lines appended but not written yet, and the sequence numbers of the last appended and last synced edits:
+  private List<byte[]> pending = new ArrayList<>();
+  private long lastSequence;
+  private long syncedSequence;
+
+  // Journal file being written (only used by the writer thread) and its path:
+  private FileChannel channel;
+  private Path current;
+
+  private boolean rotateRequested;
+  private boolean closed;
+  private IOException failure;
+
+  private final Thread writer;
+  private final Object compactionLock = new Object();
+  private ScheduledExecutorService compaction;
+
+  /**
+   * Open the edit journal of the storage_files folder. Journal files left by the last run are kept until
+   * they are compacted, edits are appended to a new file.
+   * @param fileManager    controller for the airport files
+   */
+  public EditJournal(FileManager fileManager) {
+    this.fileManager = fileManager;
+    this.folder = fileManager.getStorageFolder();
+    try {
+      Files.createDirectories(folder);
+      // Journal files are deleted once they are compacted, the airport files keep the last sequence number:
+      lastSequence = fileManager.getLastJournalSequence();
+      for (Path file : listJournals()) {
+        lastSequence = Math.max(lastSequence, firstSequence(file) - 1);
+        List<String[]> records = read(file);
+        if (!records.isEmpty()) {
+          lastSequence = Math.max(lastSequence, Long.parseLong(records.get(records.size() - 1)[0]));
+        }
+      }
+      syncedSequence = lastSequence;
+      current = journal(lastSequence + 1);
+      // A journal file with this name has no complete edit (at most a line cut off by a crash):
+      channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    writer = new Thread(this::write, "edit-journal");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Record a new airport
+   * @param airport    the airport
+   */
+  public void airportAdded(Airport airport) {
+    append(airport, AIRPORT_ADDED, airport.getName());
+  }
+
+  /**
+   * Record a new name of an airport
+   * @param airport    the airport (already renamed)
+   * @param oldName    name of the airport before it was renamed
+   */
+  public void airportRenamed(Airport airport, String oldName) {
+    append(airport, AIRPORT_RENAMED, oldName, airport.getName());
+  }
+
+  /**
+   * Record a deleted airport
+   * @param airport    the airport
+   */
+  public void airportDeleted(Airport airport) {
+    append(airport, AIRPORT_DELETED, airport.getName());
+  }
+
+  /**
+   * Record a new or modified runway (its stored values)
+   * @param airport      airport of the runway
+   * @param oldNumber    number of the runway before it was modified (null for a new runway)
+   * @param runway       the runway
+   */
+  public void runwayChanged(Airport airport, String oldNumber, Runway runway) {
+    append(airport, RUNWAY_CHANGED, airport.getName(), oldNumber == null ? runway.getRunwayNumber() : oldNumber,
+        runway.getRunwayNumber(), NumberCodec.toString(runway.getDefaultTora()),
+        NumberCodec.toString(runway.getDefaultToda()), NumberCodec.toString(runway.getDefaultAsda()),
+        NumberCodec.toString(runway.getDefaultLda()), NumberCodec.toString(runway.getDisplacedThreshold()),
+        NumberCodec.toString(runway.hasPosition() ? runway.getThresholdX() : Double.NaN),
+        NumberCodec.toString(runway.hasPosition() ? runway.getThresholdY() : Double.NaN),
+        NumberCodec.toString(runway.hasHeading() ? runway.getHeading() : Double.NaN), runway.getProfileName());
+  }
+
+  /**
+   * Record a deleted runway
+   * @param airport    airport of the runway
+   * @param runway     the runway
+   */
+  public void runwayDeleted(Airport airport, Runway runway) {
+    append(airport, RUNWAY_DELETED, airport.getName(), runway.getRunwayNumber());
+  }
+
+  /**
+   * Record a new or modified obstacle
+   * @param airport     airport of the runway
+   * @param runway      runway of the obstacle
+   * @param oldName     name of the obstacle before it was modified (null for a new obstacle)
+   * @param obstacle    the obstacle
+   */
+  public void obstacleChanged(Airport airport, Runway runway, String oldName, Obstacle obstacle) {
+    append(airport, OBSTACLE_CHANGED, airport.getName(), runway.getRunwayNumber(),
+        oldName == null ? obstacle.getName() : oldName, obstacle.getName(),
+        NumberCodec.toString(obstacle.getHeight()), NumberCodec.toString(obstacle.getLength()),
+        NumberCodec.toString(obstacle.getDistanceCentre()), NumberCodec.toString(obstacle.getDistanceFromThreshold()),
+        Long.toString(obstacle.getValidFrom()), Long.toString(obstacle.getValidUntil()));
+  }
+
+  /**
+   * Record a deleted obstacle
+   * @param airport     airport of the runway
+   * @param runway      runway of the obstacle
+   * @param obstacle    the obstacle
+   */
+  public void obstacleDeleted(Airport airport, Runway runway, Obstacle obstacle) {
+    append(airport, OBSTACLE_DELETED, airport.getName(), runway.getRunwayNumber(), obstacle.getName());
+  }
+
+  /**
+   * Record a new surveyed obstacle
+   * @param airport     airport of the obstacle
+   * @param obstacle    the obstacle
+   */
+  public void surveyedObstacleAdded(Airport airport, SurveyedObstacle obstacle) {
+    append(airport, SURVEYED_OBSTACLE_ADDED, airport.getName(), obstacle.getName(),
+        NumberCodec.toString(obstacle.getX()), NumberCodec.toString(obstacle.getY()),
+        NumberCodec.toString(obstacle.getHeight()), NumberCodec.toString(obstacle.getLength()));
+  }
+
+  /**
+   * Record a modified surveyed obstacle
+   * @param airport     airport of the obstacle
+   * @param oldName     name of the obstacle before it was modified
+   * @param obstacle    the obstacle
+   */
+  public void surveyedObstacleChanged(Airport airport, String oldName, SurveyedObstacle obstacle) {
+    append(airport, SURVEYED_OBSTACLE_CHANGED, airport.getName(), oldName, obstacle.getName(),
+        NumberCodec.toString(obstacle.getX()), NumberCodec.toString(obstacle.getY()),
+        NumberCodec.toString(obstacle.getHeight()), NumberCodec.toString(obstacle.getLength()));
+  }
+
+  /**
+   * Record a deleted surveyed obstacle
+   * @param airport     airport of the obstacle
+   * @param obstacle    the obstacle
+   */
+  public void surveyedObstacleDeleted(Airport airport, SurveyedObstacle obstacle) {
+    append(airport, SURVEYED_OBSTACLE_DELETED, airport.getName(), obstacle.getName());
+  }
+
+  /**
+   * Append an edit (written by the writer thread, the caller does not wait for the disk)
+   * @param airport      the edited airport (its last journalled edit is updated)
+   * @param operation    recorded operation
+   * @param values       airport name and values of the operation
+   */
+  private synchronized void append(Airport airport, String operation, String... values) {
+    long sequence = ++lastSequence;
+    StringBuilder line = new StringBuilder(64).append(sequence).append('\t').append(operation);
+    for (String value : values) {
+      escape(line.append('\t'), value);
+    }
+    CRC32 crc = new CRC32();
+    crc.update(line.toString().getBytes(StandardCharsets.UTF_8));
+    line.append('\t').append(Long.toHexString(crc.getValue())).append('\n');
+    pending.add(line.toString().getBytes(StandardCharsets.UTF_8));
+    airport.setJournalSequence(sequence);
+    notifyAll();
+  }
+
+  /**
+   * Append a value to a line, escaping the characters which separate values and lines
+   * @param line     the line
+   * @param value    the value
+   */
+  static void escape(StringBuilder line, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\' -> line.append("\\\\");
+        case '\t' -> line.append("\\t");
+        case '\n' -> line.append("\\n");
+        case '\r' -> line.append("\\r");
+        default -> line.append(c);
+      }
+    }
+  }
+
+  /**
+   * Restore a value written by escape
+   * @param value    the escaped value
+   * @return the value
+   */
+  static String unescape(String value) {
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder result = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        result.append(switch (next) {
+          case 't' -> '\t';
+          case 'n' -> '\n';
+          case 'r' -> '\r';
+          default -> next;
+        });
+      }
+      else {
+        result.append(c);
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * Write appended lines until the journal is closed. Every line appended while the last batch was written
+   * goes into the next batch, so the file is synced once per batch rather than once per edit.
+   */
+  private void write() {
+    while (true) {
+      List<byte[]> batch;
+      long sequence;
+      boolean rotate;
+      synchronized (this) {
+        while (pending.isEmpty() && !rotateRequested && !closed) {
+          try {
+            wait();
+          }
+          catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (pending.isEmpty() && !rotateRequested) {
+          return;
+        }
+        batch = pending;
+        pending = new ArrayList<>();
+        sequence = lastSequence;
+        rotate = rotateRequested;
+      }
+      Path next = null;
+      try {
+        if (!batch.isEmpty()) {
+          int size = 0;
+          for (byte[] line : batch) {
+            size += line.length;
+          }
+          ByteBuffer buffer = ByteBuffer.allocate(size);
+          for (byte[] line : batch) {
+            buffer.put(line);
+          }
+          buffer.flip();
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+          channel.force(false);
+        }
+        if (rotate && !journal(sequence + 1).equals(current)) {
+          // Edits from now on go to a new file, the written one can be compacted:
+          channel.close();
+          next = journal(sequence + 1);
+          channel = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING);
+        }
+      }
+      catch (IOException e) {
+        e.printStackTrace();
+        synchronized (this) {
+          failure = e;
+          rotateRequested = false;
+          notifyAll();
+        }
+        return;
+      }
+      synchronized (this) {
+        syncedSequence = sequence;
+        if (next != null) {
+          current = next;
+        }
+        if (rotate) {
+          rotateRequested = false;
+        }
+        notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Wait until every appended edit is on disk
+   * @throws UncheckedIOException if the journal could not be written
+   */
+  public synchronized void flush() {
+    while (syncedSequence < lastSequence && failure == null) {
+      try {
+        wait();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    if (failure != null) {
+      throw new UncheckedIOException(failure);
+    }
+  }
+
+  /**
+   * Write the appended edits and start a new journal file
+   * @return the new journal file (journal files before it are complete)
+   */
+  private synchronized Path rotate() {
+    rotateRequested = true;
+    notifyAll();
+    while (rotateRequested && failure == null) {
+      try {
+        wait();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    if (failure != null) {
+      throw new UncheckedIOException(failure);
+    }
+    return current;
+  }
+
+  /**
+   * Start compacting the journal in the background every COMPACTION_INTERVAL seconds
+   */
+  public synchronized void startCompaction() {
+    if (compaction != null || closed) {
+      return;
+    }
+    compaction = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "journal-compaction");
+      thread.setDaemon(true);
+      return thread;
+    });
+    compaction.scheduleWithFixedDelay(() -> {
+      try {
+        compact();
+      }
+      catch (RuntimeException e) {
+        e.printStackTrace();
+      }
+    }, COMPACTION_INTERVAL, COMPACTION_INTERVAL, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Fold the journalled edits into the airport files and delete the journal files which were folded
+   * (called at launch to replay the edits of the last run, then in the background).
+   * Edits which an airport file already includes are skipped, so a file saved by the app is never rolled back.
+   * @return number of edits which were read
+   */
+  public int compact() {
+    synchronized (compactionLock) {
+      Path next = rotate();
+      List<Path> journals = new ArrayList<>();
+      List<String[]> records = new ArrayList<>();
+      try {
+        for (Path file : listJournals()) {
+          if (firstSequence(file) < firstSequence(next)) {
+            journals.add(file);
+            records.addAll(read(file));
+          }
+        }
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (journals.isEmpty()) {
+        return 0;
+      }
+      fold(records);
+      for (Path file : journals) {
+        try {
+          Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+          e.printStackTrace();
+        }
+      }
+      return records.size();
+    }
+  }
+
+  /**
+   * Apply edits to the stored airports and save the airports which changed
+   * @param records    the edits (in the order they were made)
+   */
+  private void fold(List<String[]> records) {
+    // Airport files are not saved by the app while they are compacted:
+    synchronized (fileManager) {
+      // Airports by their name (null if the airport does not exist):
+      Map<String, Airport> airports = new HashMap<>();
+      Set<String> deleted = new HashSet<>();
+      for (String[] record : records) {
+        long sequence = Long.parseLong(record[0]);
+        String name = record[2];
+        Airport airport = load(airports, name);
+        if (airport != null && sequence <= airport.getJournalSequence()) {
+          // Already in the airport's file:
+          continue;
+        }
+        switch (record[1]) {
+          case AIRPORT_ADDED -> {
+            if (airport == null) {
+              airport = new Airport(name);
+              airports.put(name, airport);
+              deleted.remove(name);
+            }
+          }
+          case AIRPORT_RENAMED -> {
+            Airport target = load(airports, record[3]);
+            airports.put(name, null);
+            deleted.add(name);
+            if (airport != null && (target == null || target.getJournalSequence() < sequence)) {
+              airport.setName(record[3]);
+              airports.put(record[3], airport);
+              deleted.remove(record[3]);
+            }
+            else {
+              airport = null;
+            }
+          }
+          case AIRPORT_DELETED -> {
+            airports.put(name, null);
+            deleted.add(name);
+            airport = null;
+          }
+          default -> {
+            if (airport != null) {
+              apply(airport, record);
+            }
+          }
+        }
+        if (airport != null) {
+          airport.setJournalSequence(sequence);
+          airport.setModified(true);
+        }
+      }
+      for (String name : deleted) {
+        fileManager.deleteAirport(name);
+      }
+      for (Airport airport : airports.values()) {
+        if (airport != null && airport.isModified()) {
+          airport.applyObstacleRegistry();
+          airport.setDefaultRunways();
+          fileManager.saveAirport(airport);
+        }
+      }
+    }
+  }
+
+  /**
+   * Getter for an airport being compacted, loaded from its file the first time
+   * @param airports    airports being compacted
+   * @param name        airport name
+   * @return the airport (null if it has no file, or the file cannot be read)
+   */
+  private Airport load(Map<String, Airport> airports, String name) {
+    if (!airports.containsKey(name)) {
+      Airport airport = null;
+      Path file = folder.resolve(name + ".xml");
+      if (Files.exists(file)) {
+        try {
+          airport = fileManager.importFile(file.toString());
+        }
+        catch (RuntimeException e) {
+          e.printStackTrace();
+        }
+      }
+      airports.put(name, airport);
+    }
+    return airports.get(name);
+  }
+
+  /**
+   * Apply a runway or obstacle edit to an airport
+   * @param airport    the airport
+   * @param record     the edit
+   */
+  private static void apply(Airport airport, String[] record) {
+    switch (record[1]) {
+      case RUNWAY_CHANGED -> {
+        Runway runway = findRunway(airport, record[3]);
+        double x = NumberCodec.parse(record[10]);
+        if (runway == null) {
+          runway = new Runway(record[4], NumberCodec.parse(record[5]), NumberCodec.parse(record[6]),
+              NumberCodec.parse(record[7]), NumberCodec.parse(record[8]), NumberCodec.parse(record[9]));
+          airport.addRunway(runway);
+        }
+        else {
+          runway.setRunwayNumber(record[4]);
+          runway.setDefaultTora(NumberCodec.parse(record[5]));
+          runway.setDefaultToda(NumberCodec.parse(record[6]));
+          runway.setDefaultAsda(NumberCodec.parse(record[7]));
+          runway.setDefaultLda(NumberCodec.parse(record[8]));
+          runway.setDisplacedThreshold(NumberCodec.parse(record[9]));
+        }
+        if (!Double.isNaN(x)) {
+          runway.setPosition(x, NumberCodec.parse(record[11]), NumberCodec.parse(record[12]));
+        }
+        // Journals written before profiles were recorded have no profile name:
+        if (record.length > 13) {
+          runway.setProfileName(record[13]);
+        }
+      }
+      case RUNWAY_DELETED -> {
+        Runway runway = findRunway(airport, record[3]);
+        if (runway != null) {
+          airport.deleteRunway(runway);
+        }
+      }
+      case OBSTACLE_CHANGED -> {
+        Runway runway = findRunway(airport, record[3]);
+        if (runway == null) {
+          return;
+        }
+        Obstacle obstacle = findObstacle(runway, record[4]);
+        if (obstacle == null) {
+          obstacle = new Obstacle(record[5], 0, 0, 0, 0);
+          runway.addObstacle(obstacle);
+        }
+        obstacle.setName(record[5]);
+        obstacle.setHeight(NumberCodec.parse(record[6]));
+        obstacle.setLength(NumberCodec.parse(record[7]));
+        obstacle.setDistanceCentre(NumberCodec.parse(record[8]));
+        obstacle.setDistanceThreshold(NumberCodec.parse(record[9]));
+        obstacle.setValidity(Long.parseLong(record[10]), Long.parseLong(record[11]));
+      }
+      case OBSTACLE_DELETED -> {
+        Runway runway = findRunway(airport, record[3]);
+        Obstacle obstacle = runway == null ? null : findObstacle(runway, record[4]);
+        if (obstacle != null) {
+          runway.removeObstacle(obstacle);
+        }
+      }
+      case SURVEYED_OBSTACLE_ADDED -> {
+        if (airport.getObstacleRegistry().getObstacle(record[3]) == null) {
+          airport.getObstacleRegistry().add(new SurveyedObstacle(record[3], NumberCodec.parse(record[4]),
+              NumberCodec.parse(record[5]), NumberCodec.parse(record[6]), NumberCodec.parse(record[7])));
+        }
+      }
+      case SURVEYED_OBSTACLE_CHANGED -> {
+        SurveyedObstacle obstacle = airport.getObstacleRegistry().getObstacle(record[3]);
+        if (obstacle != null) {
+          obstacle.setName(record[4]);
+          obstacle.setHeight(NumberCodec.parse(record[7]));
+          obstacle.setLength(NumberCodec.parse(record[8]));
+          airport.getObstacleRegistry().move(obstacle, NumberCodec.parse(record[5]), NumberCodec.parse(record[6]));
+        }
+      }
+      case SURVEYED_OBSTACLE_DELETED -> {
+        SurveyedObstacle obstacle = airport.getObstacleRegistry().getObstacle(record[3]);
+        if (obstacle != null) {
+          airport.getObstacleRegistry().remove(obstacle);
+        }
+      }
+      default -> throw new IllegalArgumentException("Unknown journal operation: " + record[1]);
+    }
+  }
+
+  private static Runway findRunway(Airport airport, String number) {
+    for (Runway runway : airport.getRunways()) {
+      if (runway.getRunwayNumber().equals(number)) {
+        return runway;
+      }
+    }
+    return null;
+  }
+
+  private static Obstacle findObstacle(Runway runway, String name) {
+    for (Obstacle obstacle : runway.getObstacles()) {
+      if (obstacle.getName().equals(name)) {
+        return obstacle;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Read the complete edits of a journal file. Reading stops at the first line which is cut off or damaged
+   * (the last line written before a crash).
+   * @param file    the journal file
+   * @return edits split into their values (without the CRC)
+   * @throws IOException if the file cannot be read
+   */
+  static List<String[]> read(Path file) throws IOException {
+    List<String[]> records = new ArrayList<>();
+    String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    int start = 0;
+    int end;
+    while ((end = text.indexOf('\n', start)) >= 0) {
+      String line = text.substring(start, end);
+      start = end + 1;
+      int tab = line.lastIndexOf('\t');
+      if (tab < 0) {
+        break;
+      }
+      CRC32 crc = new CRC32();
+      crc.update(line.substring(0, tab).getBytes(StandardCharsets.UTF_8));
+      if (!Long.toHexString(crc.getValue()).equals(line.substring(tab + 1))) {
+        break;
+      }
+      String[] values = line.substring(0, tab).split("\t", -1);
+      if (values.length < 3) {
+        break;
+      }
+      for (int i = 0; i < values.length; i++) {
+        values[i] = unescape(values[i]);
+      }
+      records.add(values);
+    }
+    return records;
+  }
+
+  /**
+   * Getter for the journal files in storage_files
+   * @return files (oldest first)
+   * @throws IOException if the folder cannot be listed
+   */
+  private List<Path> listJournals() throws IOException {
+    try (Stream<Path> files = Files.list(folder)) {
+      return files.filter(file -> {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+      }).sorted().toList();
+    }
+  }
+
+  private Path journal(long firstSequence) {
+    return folder.resolve(String.format("%s%019d%s", PREFIX, firstSequence, SUFFIX));
+  }
+
+  private static long firstSequence(Path journal) {
+    String name = journal.getFileName().toString();
+    return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+  }
+
+  /**
+   * Write the appended edits and stop the journal (journal files are compacted at the next launch)
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (compaction != null) {
+        compaction.shutdownNow();
+      }
+      closed = true;
+      notifyAll();
+    }
+    try {
+      writer.join();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      channel.close();
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+}
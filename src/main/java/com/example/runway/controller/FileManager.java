@@ -1,41 +1,82 @@
 package com.example.runway.controller;
 
-import com.example.runway.model.Airport;import com.example.runway.model.Obstacle;
+import com.example.runway.model.Airport;
+import com.example.runway.model.AirportSummary;
+import com.example.runway.model.AllMethodsResult;
+import com.example.runway.model.CalculationBreakdown;
+import com.example.runway.model.DeclaredDistances;
+import com.example.runway.model.DeclaredTimeline;
+import com.example.runway.model.NumberCodec;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.ObstacleRegistry;
+import com.example.runway.model.ParameterProfiles;
+import com.example.runway.model.RedeclarationCache;
+import com.example.runway.model.RedeclarationEngine;
 import com.example.runway.model.Runway;
+import com.example.runway.model.SurveyedObstacle;
+import com.example.runway.model.TimelineSegment;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.DecimalFormat;
-import java.util.Arrays;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javax.imageio.ImageIO;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 import javafx.embed.swing.SwingFXUtils;
 
 public class FileManager {
 
+  // Binary copy of the stored airports, read instead of their XML files (see AirportSnapshot), summaries of the
+  // airports are read from it at launch. The open snapshot is mapped, so each update is written to a new file
+  // (airports-<generation>.snapshot) rather than replacing it:
+  public static final String SNAPSHOT_PREFIX = "airports-";
+  public static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+  // Parameter profiles of the fleet (the bundled profiles are used until the user saves their own):
+  public static final String PROFILES = "profiles.tsv";
+
+  // Size of the buffer of written XML files (in characters):
+  private static final int BUFFER_SIZE = 1 << 16;
+
   private final String cwd;
 
-  // Formatter for setting numbers to 1 d.p.
-  private final DecimalFormat df = new DecimalFormat("0.0");
+  // Snapshot of the stored airports (opened when it is first needed, null if there is none), and its generation:
+  private volatile AirportSnapshot snapshot;
+  private volatile long snapshotGeneration;
+  private volatile boolean snapshotOpened;
+  private final Object snapshotLock = new Object();
 
   /*
    * Create a new File Manager
@@ -45,292 +86,939 @@ public class FileManager {
     cwd = Path.of("").toAbsolutePath().toString();
   }
 
-  /*
-   * Retrieve all previously created data (used at app launch)
-   * @return list of airports
+  /**
+   * Create a new File Manager for the storage_files folder of another directory
+   * @param cwd    the directory
    */
-  public List<Airport> fetchFiles() {
-    List<Airport> airports = new ArrayList<>();
-    var folder = Path.of(cwd + "/storage_files/");
-    if (Files.isDirectory(folder) && Files.exists(folder)) {
-      try {
-        for (File file : folder.toFile().listFiles()) {
-          airports.add(importFile(file.getAbsolutePath()));
+  public FileManager(String cwd) {
+    this.cwd = cwd;
+  }
+
+  /**
+   * Bring the snapshot up to date: the records of airports whose files have not changed are copied from the old
+   * snapshot as they are, the other files are parsed. The snapshot is only rewritten if it was out of date.
+   * @param files       the stored airport files
+   * @param progress    called with the number of files parsed so far and the number of files to parse
+   * @param failures    names of the files which could not be parsed are added to it
+   * @return the snapshot (null if it could not be written)
+   */
+  private AirportSnapshot updateSnapshot(List<File> files, BiConsumer<Integer, Integer> progress,
+      List<String> failures) {
+    // Updated by one thread at a time (airport files can still be saved meanwhile):
+    synchronized (snapshotLock) {
+      AirportSnapshot old = getSnapshot();
+      AirportSnapshot.Writer writer = new AirportSnapshot.Writer();
+      List<File> stale = new ArrayList<>();
+      List<long[]> staleVersions = new ArrayList<>();
+      List<byte[]> staleDigests = new ArrayList<>();
+      for (File file : files) {
+        // Size, modification time and digest are read before the file is parsed, so a file saved meanwhile is out
+        // of date:
+        long size = file.length();
+        long modified = file.lastModified();
+        byte[] digest = digest(file.toPath());
+        int index = old == null ? -1 : old.indexOf(file.getName());
+        if (index >= 0 && old.isCurrent(index, size, digest)) {
+          writer.copy(old, index);
+        }
+        else {
+          stale.add(file);
+          staleVersions.add(new long[] {size, modified});
+          staleDigests.add(digest);
         }
       }
-      catch (Exception e) {
+      if (old != null && stale.isEmpty() && old.size() == files.size()) {
+        return old;
+      }
+
+      List<String> staleFailures = new ArrayList<>();
+      List<Airport> parsed = importFiles(stale, progress, staleFailures);
+      int next = 0;
+      for (int i = 0; i < stale.size(); i++) {
+        File file = stale.get(i);
+        if (!staleFailures.contains(file.getName())) {
+          writer.add(parsed.get(next++), file.getName(), staleVersions.get(i)[0], staleVersions.get(i)[1],
+              staleDigests.get(i));
+        }
+      }
+      failures.addAll(staleFailures);
+
+      // The new snapshot gets a new file, the old one is deleted once it is no longer used:
+      long generation = snapshotGeneration + 1;
+      Path path = getStorageFolder().resolve(SNAPSHOT_PREFIX + generation + SNAPSHOT_SUFFIX);
+      try {
+        writer.write(path);
+        snapshot = AirportSnapshot.open(path);
+        snapshotGeneration = generation;
+      }
+      catch (IOException e) {
         e.printStackTrace();
+        return null;
+      }
+      deleteOldSnapshots(generation);
+      return snapshot;
+    }
+  }
+
+  /**
+   * Getter for the snapshot of the stored airports, opened the first time
+   * @return the snapshot (null if there is none or it cannot be read)
+   */
+  private AirportSnapshot getSnapshot() {
+    if (!snapshotOpened) {
+      snapshotOpened = true;
+      Path path = getSnapshotFile();
+      if (path != null) {
+        snapshotGeneration = snapshotGeneration(path);
+        try {
+          snapshot = AirportSnapshot.open(path);
+        }
+        catch (IOException | RuntimeException e) {
+          // Written again by the next update:
+          e.printStackTrace();
+        }
+        deleteOldSnapshots(snapshotGeneration);
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Getter for the newest snapshot file in storage_files
+   * @return the file (null if there is none)
+   */
+  Path getSnapshotFile() {
+    Path newest = null;
+    for (Path file : listSnapshots()) {
+      if (newest == null || snapshotGeneration(file) > snapshotGeneration(newest)) {
+        newest = file;
+      }
+    }
+    return newest;
+  }
+
+  /**
+   * Delete the snapshot files older than a generation. A file which is still mapped cannot be deleted on some
+   * platforms, it is deleted by a later update.
+   * @param generation    generation of the current snapshot
+   */
+  private void deleteOldSnapshots(long generation) {
+    for (Path file : listSnapshots()) {
+      if (snapshotGeneration(file) < generation) {
+        try {
+          Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+          // Still mapped
+        }
       }
     }
+  }
+
+  private List<Path> listSnapshots() {
+    try (Stream<Path> files = Files.list(getStorageFolder())) {
+      return files.filter(file -> snapshotGeneration(file) >= 0).toList();
+    }
+    catch (IOException e) {
+      return List.of();
+    }
+  }
+
+  /**
+   * Getter for the generation of a snapshot file
+   * @param file    the file
+   * @return generation (-1 if the file is not a snapshot)
+   */
+  private static long snapshotGeneration(Path file) {
+    String name = file.getFileName().toString();
+    if (!name.startsWith(SNAPSHOT_PREFIX) || !name.endsWith(SNAPSHOT_SUFFIX)) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+    catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Digest of a stored file if the snapshot has its current version (a file of the recorded size is digested and
+   * compared, as a changed file can keep its size and modification time)
+   * @param current    the snapshot
+   * @param index      position of the airport in the snapshot (-1 if it does not have it)
+   * @param file       the airport's file
+   * @return digest of the file if the snapshot has its current version, null otherwise
+   */
+  private static byte[] currentDigest(AirportSnapshot current, int index, File file) {
+    long size = file.length();
+    if (index < 0 || current.getFileSize(index) != size) {
+      return null;
+    }
+    byte[] digest = digest(file.toPath());
+    return current.isCurrent(index, size, digest) ? digest : null;
+  }
+
+  /**
+   * Load a stored airport, from the snapshot if its file has not changed since the snapshot was written
+   * @param fileName    name of the airport's file in storage_files
+   * @return airport object
+   */
+  public Airport loadStoredAirport(String fileName) {
+    File file = getStoredFile(fileName);
+    AirportSnapshot current = getSnapshot();
+    if (current != null) {
+      int index = current.indexOf(fileName);
+      byte[] digest = currentDigest(current, index, file);
+      if (digest != null) {
+        // The digest is kept, so that saving the airport unchanged does not read its file again:
+        Airport airport = current.read(index);
+        airport.setSaved(digest);
+        return airport;
+      }
+    }
+    return importFile(file.getAbsolutePath());
+  }
+
+  /**
+   * Getter for the sequence number of the last journalled edit included in any stored airport file
+   * (read from the snapshot if the file has not changed since it was written)
+   * @return sequence number (0 if no file includes an edit)
+   */
+  public long getLastJournalSequence() {
+    AirportSnapshot current = getSnapshot();
+    long last = 0;
+    for (File file : listStoredFiles()) {
+      int index = current == null ? -1 : current.indexOf(file.getName());
+      try {
+        if (index >= 0 && currentDigest(current, index, file) != null) {
+          last = Math.max(last, current.getJournalSequence(index));
+        }
+        else {
+          last = Math.max(last, importFile(file.getAbsolutePath()).getJournalSequence());
+        }
+      }
+      catch (RuntimeException e) {
+        // A file which cannot be read includes no edits
+      }
+    }
+    return last;
+  }
+
+  /**
+   * Getter for the airport files in storage_files
+   * @return files (sorted by name)
+   */
+  private List<File> listStoredFiles() {
+    File[] files = Path.of(cwd + "/storage_files/").toFile().listFiles((dir, name) -> name.endsWith(".xml"));
+    if (files == null) {
+      return new ArrayList<>();
+    }
+    Arrays.sort(files, Comparator.comparing(File::getName));
+    return Arrays.asList(files);
+  }
+
+  /**
+   * Retrieve the summaries of all stored airports (used at app launch instead of loading the airports).
+   * Summaries are read from the snapshot, which is brought up to date first: only files which are not in it or
+   * have changed since it was written are parsed (concurrently, see importFiles).
+   * @param progress    called with the number of files parsed so far and the number of files to parse
+   *                    (from the loading threads, null if not needed)
+   * @param failures    names of the files which could not be parsed are added to it
+   * @return summaries (in the order of the file names)
+   */
+  public List<AirportSummary> fetchSummaries(BiConsumer<Integer, Integer> progress, List<String> failures) {
+    List<File> files = listStoredFiles();
+    AirportSnapshot current = updateSnapshot(files, progress, failures);
+    List<AirportSummary> summaries = new ArrayList<>();
+    if (current == null) {
+      // The snapshot could not be written, so the parsed files are summarised (their failures were added already):
+      List<String> parseFailures = new ArrayList<>();
+      List<Airport> parsed = importFiles(files, progress, parseFailures);
+      int next = 0;
+      for (File file : files) {
+        if (!parseFailures.contains(file.getName())) {
+          Airport airport = parsed.get(next++);
+          summaries.add(new AirportSummary(airport.getName(), file.getName(), file.length(), file.lastModified(),
+              airport.getRunwayNumbers()));
+        }
+      }
+      return summaries;
+    }
+    for (File file : files) {
+      int index = current.indexOf(file.getName());
+      if (index >= 0) {
+        summaries.add(new AirportSummary(current.getName(index), file.getName(), current.getFileSize(index),
+            current.getFileModified(index), current.getRunwayNumbers(index)));
+      }
+    }
+    return summaries;
+  }
+
+  /**
+   * Getter for the storage_files folder
+   * @return the folder
+   */
+  public Path getStorageFolder() {
+    return Path.of(cwd + "/storage_files/");
+  }
+
+  /**
+   * Getter for a file in storage_files
+   * @param fileName    name of the file
+   * @return the file
+   */
+  public File getStoredFile(String fileName) {
+    return new File(cwd + "/storage_files/" + fileName);
+  }
+
+  /**
+   * Summarise the stored file of an airport (after it was saved)
+   * @param airport    the airport
+   * @return summary (size and modification time are 0 if the airport has no file)
+   */
+  public AirportSummary summarise(Airport airport) {
+    File file = getStoredFile(airport.getName() + ".xml");
+    return new AirportSummary(airport.getName(), file.getName(), file.length(), file.lastModified(),
+        airport.getRunwayNumbers());
+  }
+
+  /**
+   * Load the parameter profiles from storage_files (or the bundled profiles if the user has not saved any) into a
+   * profile table. A profile with the name of an existing one replaces its terms, lines which cannot be read are
+   * skipped.
+   * @param profiles    the profile table
+   * @return number of profiles loaded
+   */
+  public int loadProfiles(ParameterProfiles profiles) {
+    try (BufferedReader reader = openProfiles()) {
+      if (reader == null) {
+        return 0;
+      }
+      int loaded = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split("\t", -1);
+        if (line.startsWith("#") || fields.length != 7 || fields[0].isBlank()) {
+          continue;
+        }
+        try {
+          double[] values = new double[6];
+          for (int i = 0; i < values.length; i++) {
+            values[i] = NumberCodec.parse(fields[i + 1]);
+          }
+          int profile = profiles.indexOf(fields[0]);
+          if (profile < 0) {
+            profiles.add(fields[0], values[0], values[1], values[2], values[3], values[4], values[5]);
+          }
+          else {
+            profiles.set(profile, fields[0], values[0], values[1], values[2], values[3], values[4], values[5]);
+          }
+          loaded++;
+        }
+        catch (NumberFormatException e) {
+          // The line is skipped
+        }
+      }
+      return loaded;
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+      return 0;
+    }
+  }
+
+  /**
+   * Open the user's profiles file, or the bundled one if there is none
+   * @return reader of the profiles (null if there are no profiles)
+   * @throws IOException if the file cannot be opened
+   */
+  private BufferedReader openProfiles() throws IOException {
+    Path path = Path.of(cwd + "/storage_files/" + PROFILES);
+    if (Files.exists(path)) {
+      return Files.newBufferedReader(path, StandardCharsets.UTF_8);
+    }
+    InputStream bundled = FileManager.class.getResourceAsStream("/" + PROFILES);
+    return bundled == null ? null : new BufferedReader(new InputStreamReader(bundled, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Save the parameter profiles to storage_files (replaced in one step, so that they are never read half-written)
+   * @param profiles    the profile table
+   * @throws IOException if the file cannot be written
+   */
+  public void saveProfiles(ParameterProfiles profiles) throws IOException {
+    Path folder = Files.createDirectories(Path.of(cwd + "/storage_files/"));
+    Path temporary = folder.resolve(PROFILES + ".tmp");
+    try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+      writer.write("# Parameter profiles: name, RESA, slope (1:n), new strip end, engine blast allowance, "
+          + "required TORA, required LDA");
+      writer.newLine();
+      for (int i = 0; i < profiles.size(); i++) {
+        RedeclarationEngine engine = profiles.getEngine(i);
+        writer.write(profiles.getName(i) + "\t" + NumberCodec.toString(engine.getResa()) + "\t"
+            + NumberCodec.toString(engine.getSlopeValue()) + "\t" + NumberCodec.toString(engine.getNewStripEnd())
+            + "\t" + NumberCodec.toString(engine.getBlastAllowance()) + "\t"
+            + NumberCodec.toString(profiles.getRequiredTora(i)) + "\t"
+            + NumberCodec.toString(profiles.getRequiredLda(i)));
+        writer.newLine();
+      }
+    }
+    Files.move(temporary, folder.resolve(PROFILES), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Import airports from XML files, parsing them concurrently on a bounded pool.
+   * A file which cannot be imported is skipped without affecting the others.
+   * @param files       the files
+   * @param progress    called with the number of files imported so far and the number of files
+   *                    (from the importing threads, null if not needed)
+   * @param failures    names of the files which could not be imported are added to it (if the calling thread is
+   *                    interrupted, every file which was not imported yet)
+   * @return list of airports (in the order of the files, without the failed ones)
+   */
+  public List<Airport> importFiles(List<File> files, BiConsumer<Integer, Integer> progress, List<String> failures) {
+    List<Airport> airports = new ArrayList<>();
+    if (files.isEmpty()) {
+      return airports;
+    }
+    int threads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+    ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "airport-loader");
+      thread.setDaemon(true);
+      return thread;
+    });
+    int merged = 0;
+    try {
+      AtomicInteger imported = new AtomicInteger();
+      List<Future<Airport>> results = new ArrayList<>();
+      for (File file : files) {
+        results.add(pool.submit(() -> {
+          try {
+            return importFile(file.getAbsolutePath());
+          }
+          finally {
+            if (progress != null) {
+              progress.accept(imported.incrementAndGet(), files.size());
+            }
+          }
+        }));
+      }
+
+      // Results are merged in the order of the files:
+      for (; merged < files.size(); merged++) {
+        try {
+          airports.add(results.get(merged).get());
+        }
+        catch (ExecutionException e) {
+          e.getCause().printStackTrace();
+          failures.add(files.get(merged).getName());
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      // Files whose results were not merged count as failures, so every file is either imported or failed:
+      for (; merged < files.size(); merged++) {
+        failures.add(files.get(merged).getName());
+      }
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      pool.shutdownNow();
+    }
     return airports;
   }
 
   /*
    * Function for importing an airport from XML
+   * (streamed in one forward pass, only the runway being read is held in memory)
    * @return airport object
    */
   public Airport importFile(String filename) {
-
-      //Get the Document Builder
-      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    try (InputStream in = new BufferedInputStream(new FileInputStream(filename))) {
+      XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+      factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+      // The text of an element is reported as one event, so numbers can be parsed from the reader's buffer:
+      factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+      XMLStreamReader reader = factory.createXMLStreamReader(in);
       try {
-          DocumentBuilder builder = factory.newDocumentBuilder();
-
-          //Get Document
-          Document document = builder.parse(filename);
-
-          //Normalize the xml document
-          document.getDocumentElement().normalize();
-
-          // Create new airport
-          Airport airport = new Airport(document.getDocumentElement().getAttribute("name"));
-
-          // Store airport's data:
-          NodeList runwayList = document.getElementsByTagName("runway");
-          for(int i = 0; i< runwayList.getLength(); i++){
-              Node runwayNode = runwayList.item(i);
-
-              if(runwayNode.getNodeType()== Node.ELEMENT_NODE) {
-                  Element runwayElement = (Element) runwayNode;
-                  String runwayNumber = runwayElement.getAttribute("runway_designator");
-                  String tora = runwayElement.getElementsByTagName("TORA").item(0).getTextContent();
-                  String toda = runwayElement.getElementsByTagName("TODA").item(0).getTextContent();
-                  String asda = runwayElement.getElementsByTagName("ASDA").item(0).getTextContent();
-                  String lda = runwayElement.getElementsByTagName("LDA").item(0).getTextContent();
-                  String displaced = runwayElement.getElementsByTagName("displaced_threshold").item(0).getTextContent();
-
-                  Runway runway = new Runway(runwayNumber, Double.parseDouble(tora), Double.parseDouble(toda), Double.parseDouble(asda), Double.parseDouble(lda), Double.parseDouble(displaced));
-
-                  NodeList runwayDetails = runwayNode.getChildNodes();
-                  for(int j = 0; j<runwayDetails.getLength();j++){
-                    Node detail = runwayDetails.item(j);
-                    if(detail.getNodeType() == Node.ELEMENT_NODE) {
-                          if(detail.getNodeName().equals("obstacle")) {
-                            Element obstacleElement = (Element) detail;
-                            String name = obstacleElement.getAttribute("name");
-                            String height = obstacleElement.getElementsByTagName("height").item(0).getTextContent();
-                            String length = obstacleElement.getElementsByTagName("length").item(0).getTextContent();
-                            String distanceThreshold = obstacleElement.getElementsByTagName("distance_threshold").item(0).getTextContent();
-                            String distanceCentre = obstacleElement.getElementsByTagName("distance_centerline").item(0).getTextContent();
-
-                            Obstacle obstacle = new Obstacle(name, Double.parseDouble(height), Double.parseDouble(length), Double.parseDouble(distanceCentre), Double.parseDouble(distanceThreshold));
-                            runway.addObstacle(obstacle);
-                          }
-                      }
-                  }
-                  airport.addRunway(runway);
-              }
-          }
-          return airport;
-      } catch (ParserConfigurationException | IOException | SAXException e) {
-          throw new RuntimeException(e);
+        Airport airport = readAirport(reader);
+        // Adding the runways marked it as modified:
+        airport.setModified(false);
+        return airport;
       }
+      finally {
+        reader.close();
+      }
+    }
+    catch (IOException | XMLStreamException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   /**
-   * Function for XML export
-   * @param file         file (chosen by user)
-   * @param airport      an airport object
+   * Read an airport element by element (element names of schema.xsd)
+   * @param reader    reader positioned at the start of the document
+   * @return airport object
+   * @throws XMLStreamException if the document is not well-formed
    */
-  public void exportFile(File file, Airport airport) {
+  private static Airport readAirport(XMLStreamReader reader) throws XMLStreamException {
+    Airport airport = null;
+
+    // Runway being read (the runway is created when all of its values have been read):
+    String runwayNumber = null;
+    double tora = 0, toda = 0, asda = 0, lda = 0, displaced = 0;
+    double thresholdX = Double.NaN, thresholdY = Double.NaN, heading = Double.NaN;
+    String profile = null;
+    List<Obstacle> obstacles = new ArrayList<>();
 
-    //create a new XML document
-    DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-    DocumentBuilder docBuilder;
-
-    try{
-      docBuilder = docFactory.newDocumentBuilder();
-      Document doc = docBuilder.newDocument();
-
-      //create the root element (airport) and add it to the document
-      Element airportElem = doc.createElement("airport");
-      airportElem.setAttribute("name", airport.getName());
-      //get all the runways in an airport
-      List<Runway> runways = airport.getRunways();
-
-      for (Runway runway : runways){
-        //create a runway element and add it to the airport element
-        Element runwayElem = doc.createElement("runway");
-        runwayElem.setAttribute("runway_designator", runway.getRunwayNumber());
-        airportElem.appendChild(runwayElem);
-        //add TORA element
-        Element toraElem = doc.createElement("TORA");
-        toraElem.appendChild(doc.createTextNode((Double.toString(runway.getDefaultTora()))));
-        runwayElem.appendChild(toraElem);
-        //add TODA element
-        Element todaElem = doc.createElement("TODA");
-        todaElem.appendChild(doc.createTextNode((Double.toString(runway.getDefaultToda()))));
-        runwayElem.appendChild(todaElem);
-        //add ASDA element
-        Element asdaElem = doc.createElement("ASDA");
-        asdaElem.appendChild(doc.createTextNode((Double.toString(runway.getDefaultAsda()))));
-        runwayElem.appendChild(asdaElem);
-        //add LDA element
-        Element ldaElem = doc.createElement("LDA");
-        ldaElem.appendChild(doc.createTextNode((Double.toString(runway.getDefaultLda()))));
-        runwayElem.appendChild(ldaElem);
-        //add displaced threshold element
-        Element displacedElem = doc.createElement("displaced_threshold");
-        displacedElem.appendChild(doc.createTextNode((Double.toString(runway.getDisplacedThreshold()))));
-        runwayElem.appendChild(displacedElem);
-        //get all the obstacle on the runway
-        List<Obstacle> obstacles = runway.getObstacles();
-        List<String> predefined = new ArrayList<>(Arrays.asList("ob1", "ob2", "ob3", "ob4"));
-
-        for (Obstacle obstacle : obstacles){
-          if (!predefined.contains(obstacle.getName())) {
-            //create an obstacle element and add it to the runway element
-            Element obstacleElem = doc.createElement("obstacle");
-            obstacleElem.setAttribute("name", obstacle.getName());
-            runwayElem.appendChild(obstacleElem);
-            //add height element
-            Element heightElem = doc.createElement("height");
-            heightElem.appendChild(doc.createTextNode(Double.toString(obstacle.getHeight())));
-            obstacleElem.appendChild(heightElem);
-            //add length element
-            Element lengthElem = doc.createElement("length");
-            lengthElem.appendChild(doc.createTextNode(Double.toString(obstacle.getLength())));
-            obstacleElem.appendChild(lengthElem);
-            //add distance from threshold element
-            Element distanceFromThresholdElem = doc.createElement("distance_threshold");
-            distanceFromThresholdElem.appendChild(
-                doc.createTextNode(Double.toString(obstacle.getDistanceFromThreshold())));
-            obstacleElem.appendChild(distanceFromThresholdElem);
-            //add distance from center element
-            Element distanceFromCenter = doc.createElement("distance_centerline");
-            distanceFromCenter.appendChild(
-                doc.createTextNode(Double.toString(obstacle.getDistanceCentre())));
-            obstacleElem.appendChild(distanceFromCenter);
+    // Obstacle or surveyed obstacle being read:
+    String obstacleName = null;
+    double height = 0, length = 0, distanceThreshold = 0, distanceCentre = 0, x = 0, y = 0;
+    long validFrom = Obstacle.ALWAYS_FROM, validUntil = Obstacle.ALWAYS_UNTIL;
+
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        switch (reader.getLocalName()) {
+          case "airport" -> airport = new Airport(attribute(reader, "name"));
+          case "runway" -> {
+            runwayNumber = attribute(reader, "runway_designator");
+            thresholdX = Double.NaN;
+            thresholdY = Double.NaN;
+            heading = Double.NaN;
+            profile = null;
+            obstacles.clear();
+          }
+          case "obstacle", "surveyed_obstacle" -> {
+            obstacleName = attribute(reader, "name");
+            validFrom = Obstacle.ALWAYS_FROM;
+            validUntil = Obstacle.ALWAYS_UNTIL;
           }
+          case "TORA" -> tora = number(reader);
+          case "TODA" -> toda = number(reader);
+          case "ASDA" -> asda = number(reader);
+          case "LDA" -> lda = number(reader);
+          case "displaced_threshold" -> displaced = number(reader);
+          case "threshold_x" -> thresholdX = number(reader);
+          case "threshold_y" -> thresholdY = number(reader);
+          case "heading" -> heading = number(reader);
+          case "profile" -> profile = reader.getElementText().trim();
+          case "height" -> height = number(reader);
+          case "length" -> length = number(reader);
+          case "distance_threshold" -> distanceThreshold = number(reader);
+          case "distance_centerline" -> distanceCentre = number(reader);
+          case "valid_from" -> validFrom = parseTime(reader.getElementText());
+          case "valid_until" -> validUntil = parseTime(reader.getElementText());
+          case "x" -> x = number(reader);
+          case "y" -> y = number(reader);
+          case "journal_sequence" -> airport.setJournalSequence(Long.parseLong(reader.getElementText().trim()));
+          default -> { }
         }
       }
-      doc.appendChild(airportElem);
+      else if (event == XMLStreamConstants.END_ELEMENT) {
+        switch (reader.getLocalName()) {
+          case "obstacle" -> {
+            Obstacle obstacle = new Obstacle(obstacleName, height, length, distanceCentre, distanceThreshold);
+            //optional validity interval of temporary obstacles
+            if (validUntil <= validFrom) {
+              throw new XMLStreamException("Obstacle \"" + obstacleName + "\" is removed before it is placed",
+                  reader.getLocation());
+            }
+            if (validFrom != Obstacle.ALWAYS_FROM || validUntil != Obstacle.ALWAYS_UNTIL) {
+              obstacle.setValidity(validFrom, validUntil);
+            }
+            obstacles.add(obstacle);
+          }
+          case "runway" -> {
+            Runway runway = new Runway(runwayNumber, tora, toda, asda, lda, displaced);
+            //optional position of the threshold in airport coordinates
+            if (!Double.isNaN(thresholdX) && !Double.isNaN(thresholdY)) {
+              runway.setPosition(thresholdX, thresholdY, heading);
+            }
+            //optional parameter profile (the default profile if it is not set or no longer exists)
+            if (profile != null) {
+              runway.setProfileName(profile);
+            }
+            for (Obstacle obstacle : obstacles) {
+              runway.addObstacle(obstacle);
+            }
+            airport.addRunway(runway);
+          }
+          case "surveyed_obstacle" ->
+              airport.getObstacleRegistry().add(new SurveyedObstacle(obstacleName, x, y, height, length));
+          default -> { }
+        }
+      }
+    }
+    if (airport == null) {
+      throw new XMLStreamException("The file has no airport element");
+    }
 
-      //write the document to an XML file
-      TransformerFactory transformerFactory = TransformerFactory.newInstance();
-      transformerFactory.setAttribute("indent-number", 2);
-      Transformer transformer = transformerFactory.newTransformer();
-      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-      DOMSource source = new DOMSource(doc);
-      //save files to storage_files folder
+    // Project the surveyed obstacles into the positioned runways:
+    airport.applyObstacleRegistry();
+    return airport;
+  }
 
-      StreamResult result = new StreamResult(new FileOutputStream(file));
-      transformer.transform(source, result);
+  /**
+   * Read the number of the current element, parsed from the reader's character buffer without creating a string
+   * (the reader is left at the end of the element)
+   * @param reader    reader positioned at the start of the element
+   * @return the number
+   * @throws XMLStreamException if the element has child elements or its text is split by a comment
+   * @throws NumberFormatException if the text is not a number
+   */
+  private static double number(XMLStreamReader reader) throws XMLStreamException {
+    double value = 0;
+    boolean read = false;
+    for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+      switch (event) {
+        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+          if (read) {
+            throw new XMLStreamException("The number of an element is split by a comment", reader.getLocation());
+          }
+          value = NumberCodec.parse(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          read = true;
+        }
+        case XMLStreamConstants.COMMENT, XMLStreamConstants.PROCESSING_INSTRUCTION -> { }
+        default -> throw new XMLStreamException("An element with a number cannot have child elements",
+            reader.getLocation());
+      }
+    }
+    if (!read) {
+      throw new NumberFormatException("empty String");
+    }
+    return value;
+  }
 
-    }  catch (ParserConfigurationException | TransformerException | IOException e) {
-      throw new RuntimeException(e);
+  /**
+   * Getter for an attribute of the current element
+   * @param reader    the reader
+   * @param name      attribute name
+   * @return value (empty if the element does not have the attribute)
+   */
+  private static String attribute(XMLStreamReader reader, String name) {
+    String value = reader.getAttributeValue(null, name);
+    return value == null ? "" : value;
+  }
+
+  /**
+   * Parse a time of an obstacle's validity interval (xsd:dateTime, UTC if it has no offset)
+   * @param text    the time
+   * @return time in epoch milliseconds
+   */
+  private static long parseTime(String text) {
+    String trimmed = text.trim();
+    try {
+      return OffsetDateTime.parse(trimmed).toInstant().toEpochMilli();
+    }
+    catch (DateTimeParseException e) {
+      return LocalDateTime.parse(trimmed).toInstant(ZoneOffset.UTC).toEpochMilli();
     }
   }
 
   /**
-   * Function for saving an airport
-   * @param airport      an airport object
+   * Write an airport as XML (schema.xsd) directly to a stream, one element at a time.
+   * The predefined obstacles and the obstacles projected from surveyed obstacles are not written.
+   * @param out              the stream (not closed)
+   * @param airport          an airport object
+   * @param currentValues    true to write the runways' current (re-declared) values, false for their defaults
+   * @param sequence         true to write the sequence number of the last journalled edit (stored files only)
+   * @throws IOException if the stream cannot be written
    */
-  public void saveAirport(Airport airport) {
-
-    //create a new XML document
-    DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-    DocumentBuilder docBuilder;
-
-    try{
-      docBuilder = docFactory.newDocumentBuilder();
-      Document doc = docBuilder.newDocument();
-
-      //create the root element (airport) and add it to the document
-      Element airportElem = doc.createElement("airport");
-      airportElem.setAttribute("name", airport.getName());
-      //get all the runways in an airport
-      List<Runway> runways = airport.getRunways();
-
-      for (Runway runway : runways){
-        //create a runway element and add it to the airport element
-        Element runwayElem = doc.createElement("runway");
-        runwayElem.setAttribute("runway_designator", runway.getRunwayNumber());
-        airportElem.appendChild(runwayElem);
-        //add TORA element
-        Element toraElem = doc.createElement("TORA");
-        toraElem.appendChild(doc.createTextNode((Double.toString(runway.getTora()))));
-        runwayElem.appendChild(toraElem);
-        //add TODA element
-        Element todaElem = doc.createElement("TODA");
-        todaElem.appendChild(doc.createTextNode((Double.toString(runway.getToda()))));
-        runwayElem.appendChild(todaElem);
-        //add ASDA element
-        Element asdaElem = doc.createElement("ASDA");
-        asdaElem.appendChild(doc.createTextNode((Double.toString(runway.getAsda()))));
-        runwayElem.appendChild(asdaElem);
-        //add LDA element
-        Element ldaElem = doc.createElement("LDA");
-        ldaElem.appendChild(doc.createTextNode((Double.toString(runway.getLda()))));
-        runwayElem.appendChild(ldaElem);
-        //add displaced threshold element
-        Element displacedElem = doc.createElement("displaced_threshold");
-        displacedElem.appendChild(doc.createTextNode((Double.toString(runway.getDisplacedThreshold()))));
-        runwayElem.appendChild(displacedElem);
-        //get all the obstacle on the runway
-        List<Obstacle> obstacles = runway.getObstacles();
-        List<String> predefined = new ArrayList<>(Arrays.asList("ob1", "ob2", "ob3", "ob4"));
-
-        for (Obstacle obstacle : obstacles){
-          if (!predefined.contains(obstacle.getName())) {
-            //create an obstacle element and add it to the runway element
-            Element obstacleElem = doc.createElement("obstacle");
-            obstacleElem.setAttribute("name", obstacle.getName());
-            runwayElem.appendChild(obstacleElem);
-            //add height element
-            Element heightElem = doc.createElement("height");
-            heightElem.appendChild(doc.createTextNode(Double.toString(obstacle.getHeight())));
-            obstacleElem.appendChild(heightElem);
-            //add length element
-            Element lengthElem = doc.createElement("length");
-            lengthElem.appendChild(doc.createTextNode(Double.toString(obstacle.getLength())));
-            obstacleElem.appendChild(lengthElem);
-            //add distance from threshold element
-            Element distanceFromThresholdElem = doc.createElement("distance_threshold");
-            distanceFromThresholdElem.appendChild(
-                doc.createTextNode(Double.toString(obstacle.getDistanceFromThreshold())));
-            obstacleElem.appendChild(distanceFromThresholdElem);
-            //add distance from center element
-            Element distanceFromCenter = doc.createElement("distance_centerline");
-            distanceFromCenter.appendChild(
-                doc.createTextNode(Double.toString(obstacle.getDistanceCentre())));
-            obstacleElem.appendChild(distanceFromCenter);
+  private static void writeAirport(OutputStream out, Airport airport, boolean currentValues, boolean sequence)
+      throws IOException {
+    XmlOutput xml = new XmlOutput(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    xml.raw("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+    xml.open(0, "airport", "name", airport.getName());
+    ObstacleRegistry registry = airport.getObstacleRegistry();
+
+    for (Runway runway : airport.getRunways()) {
+      xml.open(1, "runway", "runway_designator", runway.getRunwayNumber());
+      xml.value(2, "TORA", currentValues ? runway.getTora() : runway.getDefaultTora());
+      xml.value(2, "TODA", currentValues ? runway.getToda() : runway.getDefaultToda());
+      xml.value(2, "ASDA", currentValues ? runway.getAsda() : runway.getDefaultAsda());
+      xml.value(2, "LDA", currentValues ? runway.getLda() : runway.getDefaultLda());
+      xml.value(2, "displaced_threshold", runway.getDisplacedThreshold());
+      //position of the threshold
+      if (runway.hasPosition()) {
+        xml.value(2, "threshold_x", runway.getThresholdX());
+        xml.value(2, "threshold_y", runway.getThresholdY());
+        if (runway.hasHeading()) {
+          xml.value(2, "heading", runway.getHeading());
+        }
+      }
+      //parameter profile, by name (runways without one use the default profile)
+      if (runway.getProfile() != ParameterProfiles.DEFAULT) {
+        xml.text(2, "profile", runway.getProfileName());
+      }
+
+      for (Obstacle obstacle : runway.getObstacles()) {
+        if (!obstacle.isPredefined() && !registry.isProjected(runway, obstacle)) {
+          xml.open(2, "obstacle", "name", obstacle.getName());
+          xml.value(3, "height", obstacle.getHeight());
+          xml.value(3, "length", obstacle.getLength());
+          xml.value(3, "distance_threshold", obstacle.getDistanceFromThreshold());
+          xml.value(3, "distance_centerline", obstacle.getDistanceCentre());
+          //validity interval of a temporary obstacle (permanent obstacles have none)
+          if (obstacle.getValidFrom() != Obstacle.ALWAYS_FROM) {
+            xml.text(3, "valid_from", Instant.ofEpochMilli(obstacle.getValidFrom()).toString());
+          }
+          if (obstacle.getValidUntil() != Obstacle.ALWAYS_UNTIL) {
+            xml.text(3, "valid_until", Instant.ofEpochMilli(obstacle.getValidUntil()).toString());
           }
+          xml.close(2, "obstacle");
         }
       }
-      doc.appendChild(airportElem);
+      xml.close(1, "runway");
+    }
 
-      //write the document to an XML file
-      TransformerFactory transformerFactory = TransformerFactory.newInstance();
-      transformerFactory.setAttribute("indent-number", 2);
-      Transformer transformer = transformerFactory.newTransformer();
-      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-      DOMSource source = new DOMSource(doc);
+    //surveyed obstacles of the airport (after the runways)
+    for (SurveyedObstacle obstacle : registry.getObstacles()) {
+      xml.open(1, "surveyed_obstacle", "name", obstacle.getName());
+      xml.value(2, "x", obstacle.getX());
+      xml.value(2, "y", obstacle.getY());
+      xml.value(2, "height", obstacle.getHeight());
+      xml.value(2, "length", obstacle.getLength());
+      xml.close(1, "surveyed_obstacle");
+    }
+    //last edit of the edit journal included in the file
+    if (sequence && airport.getJournalSequence() > 0) {
+      xml.raw("\n  <journal_sequence>" + airport.getJournalSequence() + "</journal_sequence>");
+    }
+    xml.close(0, "airport");
+    xml.raw("\n");
+    xml.flush();
+  }
 
-      //save files to storage_files folder
-      var folder = Path.of(cwd + "/storage_files/");
-      if (!Files.isDirectory(folder)) {
-        try {
-          Files.createDirectory(folder);
-        } catch (IOException e) {
-          e.printStackTrace();
-          System.exit(-1);
+  /**
+   * Indented XML written through a fixed-size buffer, so that the memory used does not grow with the document.
+   * Only what the airport files need is supported: elements with one attribute, or with a value.
+   */
+  private static final class XmlOutput {
+
+    private final Writer out;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 256);
+    private final char[] chars = new char[BUFFER_SIZE + 256];
+
+    XmlOutput(Writer out) {
+      this.out = out;
+    }
+
+    /**
+     * Write text as it is
+     * @param text    the text
+     */
+    void raw(String text) throws IOException {
+      buffer.append(text);
+      flushFull();
+    }
+
+    /**
+     * Write a start tag with one attribute on a new line
+     * @param depth        depth of the element
+     * @param name         element name
+     * @param attribute    attribute name
+     * @param value        attribute value
+     */
+    void open(int depth, String name, String attribute, String value) throws IOException {
+      indent(depth).append('<').append(name).append(' ').append(attribute).append("=\"");
+      escape(value).append("\">");
+      flushFull();
+    }
+
+    /**
+     * Write an end tag on a new line
+     * @param depth    depth of the element
+     * @param name     element name
+     */
+    void close(int depth, String name) throws IOException {
+      indent(depth).append("</").append(name).append('>');
+      flushFull();
+    }
+
+    /**
+     * Write an element with a number on a new line
+     * @param depth    depth of the element
+     * @param name     element name
+     * @param value    the number
+     */
+    void value(int depth, String name, double value) throws IOException {
+      indent(depth).append('<').append(name).append('>');
+      NumberCodec.append(buffer, value).append("</").append(name).append('>');
+      flushFull();
+    }
+
+    /**
+     * Write an element with a text on a new line
+     * @param depth    depth of the element
+     * @param name     element name
+     * @param text     the text
+     */
+    void text(int depth, String name, String text) throws IOException {
+      indent(depth).append('<').append(name).append('>');
+      escape(text).append("</").append(name).append('>');
+      flushFull();
+    }
+
+    private StringBuilder indent(int depth) {
+      buffer.append('\n');
+      for (int i = 0; i < depth; i++) {
+        buffer.append("  ");
+      }
+      return buffer;
+    }
+
+    private StringBuilder escape(String text) {
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        switch (c) {
+          case '&' -> buffer.append("&amp;");
+          case '<' -> buffer.append("&lt;");
+          case '>' -> buffer.append("&gt;");
+          case '"' -> buffer.append("&quot;");
+          default -> buffer.append(c);
         }
       }
+      return buffer;
+    }
 
-      File file = new File(String.valueOf(Path.of(cwd + "/storage_files/" + airport.getName() + ".xml")));
-      StreamResult result = new StreamResult(new FileOutputStream(file));
-      transformer.transform(source, result);
+    private void flushFull() throws IOException {
+      if (buffer.length() >= BUFFER_SIZE) {
+        write();
+      }
+    }
+
+    private void write() throws IOException {
+      int length = buffer.length();
+      if (length > chars.length) {
+        // A very long name, written as it is:
+        out.write(buffer.toString());
+      }
+      else {
+        buffer.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+      }
+      buffer.setLength(0);
+    }
 
-    }  catch (ParserConfigurationException | TransformerException | IOException e) {
+    /**
+     * Write the buffered text to the stream
+     */
+    void flush() throws IOException {
+      write();
+      out.flush();
+    }
+  }
+
+  /**
+   * Function for XML export (default values of the runways)
+   * @param file         file (chosen by user)
+   * @param airport      an airport object
+   */
+  public void exportFile(File file, Airport airport) {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()), BUFFER_SIZE)) {
+      writeAirport(out, airport, false, false);
+    }
+    catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * Function for saving an airport (current values of the runways). An airport which was not modified since it was
+   * loaded or saved is not written, nor is an airport whose file would have the same digest as the stored file.
+   * The runways' values are written as they are (the caller re-calculates out of date values first).
+   * @param airport      an airport object
+   * @return true if the file was written
+   */
+  public synchronized boolean saveAirport(Airport airport) {
+    Path file = Path.of(cwd + "/storage_files/" + airport.getName() + ".xml");
+    if (!airport.isModified() && Files.exists(file)) {
+      return false;
+    }
+
+    //save files to storage_files folder
+    var folder = Path.of(cwd + "/storage_files/");
+    if (!Files.isDirectory(folder)) {
+      try {
+        Files.createDirectory(folder);
+      } catch (IOException e) {
+        e.printStackTrace();
+        System.exit(-1);
+      }
+    }
+
+    // The airport is streamed to a temporary file and digested on the way (the memory used does not grow with the
+    // airport). The file is replaced in one step once it is on disk, so that a crash never leaves it half-written,
+    // and modifications which were undone leave the stored file unchanged:
+    Path temporary = Path.of(file + ".tmp");
+    byte[] digest;
+    boolean unchanged;
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      MessageDigest messageDigest = newDigest();
+      OutputStream out = new DigestOutputStream(
+          new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), messageDigest);
+      writeAirport(out, airport, true, true);
+      out.flush();
+      digest = messageDigest.digest();
+      byte[] saved = !Files.exists(file) ? null
+          : airport.getSavedDigest() != null ? airport.getSavedDigest() : digest(file);
+      unchanged = Arrays.equals(saved, digest);
+      if (!unchanged) {
+        channel.force(true);
+      }
+    }
+    catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    try {
+      if (unchanged) {
+        Files.delete(temporary);
+        airport.setSaved(digest);
+        return false;
+      }
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    airport.setSaved(digest);
+    return true;
+  }
+
+  /**
+   * Digest of a stored file
+   * @param file    the file
+   * @return SHA-256 digest (null if the file cannot be read)
+   */
+  private static byte[] digest(Path file) {
+    MessageDigest digest = newDigest();
+    try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    catch (IOException e) {
+      return null;
+    }
+    return digest.digest();
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   /*
    * Delete an airport file
    */
-  public void deleteAirport(String name) {
+  public synchronized void deleteAirport(String name) {
     File file = new File(String.valueOf(Path.of(cwd + "/storage_files/" + name + ".xml")));
     if (file.exists()) {
       file.delete();
@@ -356,6 +1044,7 @@ public class FileManager {
   private final String[] methodsStrings = {"none", "Landing over the obstacle", "Landing towards the obstacle", "Take-off towards the obstacle", "Take-off away from the obstacle"};
   /**
    * Method used when exporting airport data into a txt file.
+   * The runway's values are written as they are (out of date values are re-calculated by the caller first).
    * **/
   public void exportAsTXT(File file, Airport airport, Runway runway, Obstacle obstacle, int method) throws IOException {
       //Creation of a file, File Writer and a Print Writer
@@ -371,26 +1060,69 @@ public class FileManager {
       String displacedThreshold = (int) runway.getDisplacedThreshold() + "m";
       pw.println(String.format("Slope = 1:%-12d Displaced Threshold = %-15s",(int) runway.getSlopeValue(),displacedThreshold));
       String newStripEnd = (int) runway.getNewStripEnd() + "m";
-      String alsTocs = df.format(runway.getAlsTocs()) + "m";
+      String alsTocs = NumberCodec.format(runway.getAlsTocs()) + "m";
       pw.println(String.format("New Strip End = %-6s ALS/TOCS = %-15s",newStripEnd,alsTocs));
       pw.println("");
       pw.println(String.format("%-11S %-10S %-10S %-10S %-10S %-10s %-10s","","TORA","TODA","ASDA","LDA","STOP WAY","CLEAR WAY"));
-      pw.println(String.format("%-10S  %-10s %-10s %-10s %-10s %-10s %-10s","Original", df.format(runway.getDefaultTora()),df.format(runway.getDefaultToda()),df.format(runway.getDefaultAsda()),df.format(runway.getDefaultLda()),df.format(runway.getDefaultStopWay()),df.format(runway.getDefaultClearWay())));
-      pw.println(String.format("%-10S %-10s %-10s %-10s %-10s %-10s %-10s","Re-Declared",df.format(runway.getTora()),df.format(runway.getToda()),df.format(runway.getAsda()),df.format(runway.getLda()),df.format(runway.getStopWay()),df.format(runway.getClearWay())));
+      pw.println(String.format("%-10S  %-10s %-10s %-10s %-10s %-10s %-10s","Original", NumberCodec.format(runway.getDefaultTora()),NumberCodec.format(runway.getDefaultToda()),NumberCodec.format(runway.getDefaultAsda()),NumberCodec.format(runway.getDefaultLda()),NumberCodec.format(runway.getDefaultStopWay()),NumberCodec.format(runway.getDefaultClearWay())));
+      pw.println(String.format("%-10S %-10s %-10s %-10s %-10s %-10s %-10s","Re-Declared",NumberCodec.format(runway.getTora()),NumberCodec.format(runway.getToda()),NumberCodec.format(runway.getAsda()),NumberCodec.format(runway.getLda()),NumberCodec.format(runway.getStopWay()),NumberCodec.format(runway.getClearWay())));
       pw.println("");
       pw.println(String.format("Obstacle: %-10s",obstacle.getName()));
-      String height = df.format(obstacle.getHeight()) + "m";
-      String length = df.format(obstacle.getLength()) + "m";
+      String height = NumberCodec.format(obstacle.getHeight()) + "m";
+      String length = NumberCodec.format(obstacle.getLength()) + "m";
       pw.println(String.format("Height = %-15s Length = %-15s",height,length));
-      String distanceFromCentreLine = df.format(obstacle.getDistanceCentre())+"m";
+      String distanceFromCentreLine = NumberCodec.format(obstacle.getDistanceCentre())+"m";
       pw.println(String.format("Distance From Centre Line = %-15s",distanceFromCentreLine));
-      String distanceFromThreshold = df.format(obstacle.getDistanceFromThreshold())+"m";
+      String distanceFromThreshold = NumberCodec.format(obstacle.getDistanceFromThreshold())+"m";
       pw.println(String.format("Distance From Threshold = %-15s",distanceFromThreshold));
       pw.println("");
       pw.println(String.format("Landing/Take-off Method: %S",methodsStrings[method]));
 
+      //Re-declared values of all methods, calculated in a single pass
+      AllMethodsResult all = RedeclarationCache.getShared().calculateAll(runway, obstacle);
+      pw.println("");
+      pw.println(String.format("%-32S %-10S %-10S %-10S %-10S","All methods","TORA","TODA","ASDA","LDA"));
+      for (int i = 1; i < methodsStrings.length; i++) {
+        DeclaredDistances values = all.get(i);
+        pw.println(String.format("%-32s %-10s %-10s %-10s %-10s",methodsStrings[i],NumberCodec.format(values.getTora()),NumberCodec.format(values.getToda()),NumberCodec.format(values.getAsda()),NumberCodec.format(values.getLda())));
+      }
+
+      //Calculation breakdown of the chosen method
+      if (method > 0) {
+        pw.println("");
+        pw.println("Calculation Breakdown");
+        pw.println(new CalculationBreakdown(runway, obstacle, method).appendText(new StringBuilder()));
+      }
+
       //Close to save the file
       pw.close();
   }
 
+  /**
+   * Method used when exporting the timeline of a runway's re-declared values into a txt file.
+   * Times are written in the given time zone.
+   **/
+  public void exportTimelineAsTXT(File file, Airport airport, DeclaredTimeline timeline, ZoneId zone) throws IOException {
+      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(zone);
+      Runway runway = timeline.getRunway();
+
+      //Try-with-resources closes the writer to save the file
+      try (PrintWriter pw = new PrintWriter(new BufferedWriter(new FileWriter(file)))) {
+        pw.println(String.format("Airport Name: %s %n",airport.getName()));
+        pw.println(String.format("Runway: %s %n",runway.getRunwayNumber()));
+        pw.println(String.format("Landing/Take-off Method: %S",methodsStrings[timeline.getMethod()]));
+        pw.println(String.format("Period: %s - %s (%s)",formatter.format(Instant.ofEpochMilli(timeline.getFrom())),
+            formatter.format(Instant.ofEpochMilli(timeline.getUntil())),zone.getId()));
+        pw.println("");
+        pw.println(String.format("%-17S %-17S %-10S %-10S %-10S %-10S %-10S","From","Until","TORA","TODA","ASDA","LDA","Obstacle"));
+        for (TimelineSegment segment : timeline.getSegments()) {
+          DeclaredDistances values = segment.getValues();
+          pw.println(String.format("%-17s %-17s %-10s %-10s %-10s %-10s %-10s",
+              formatter.format(Instant.ofEpochMilli(segment.getFrom())),formatter.format(Instant.ofEpochMilli(segment.getUntil())),
+              NumberCodec.format(values.getTora()),NumberCodec.format(values.getToda()),NumberCodec.format(values.getAsda()),
+              NumberCodec.format(values.getLda()),segment.getGoverning() == null ? "-" : segment.getGoverning().getName()));
+        }
+      }
+  }
+
 }
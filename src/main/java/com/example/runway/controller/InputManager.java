@@ -1,8 +1,12 @@
 package com.example.runway.controller;
 
 import com.example.runway.model.Airport;
+import com.example.runway.model.AllMethodsResult;
+import com.example.runway.model.DeclaredDistances;
 import com.example.runway.model.Obstacle;
+import com.example.runway.model.RedeclarationCache;
 import com.example.runway.model.Runway;
+import com.example.runway.model.RunwayPairResult;
 import java.util.ArrayList;
 import java.util.List;
 import javafx.scene.text.Text;
@@ -13,7 +17,10 @@ import javafx.scene.text.Text;
  */
 public class InputManager {
 
-  private List<Airport> airports;
+  // All airports (loaded when they are chosen):
+  private final AirportCatalog airports;
+  // Journal of the edits made since the airports were saved (null if edits are not journalled):
+  private final EditJournal journal;
   private Airport airport;
   private Runway runway;
   private boolean modified = false;
@@ -24,6 +31,10 @@ public class InputManager {
   // Array of predefined landing/take-off methods:
   private final int[] methods = {1,2,3,4};
   private int method;
+  // Result of the last calculation:
+  private DeclaredDistances result;
+  // Result of the last calculation for both runway ends (null if the runway has no reciprocal):
+  private RunwayPairResult pairResult;
 
   private List<Text> notifications;
 
@@ -31,7 +42,25 @@ public class InputManager {
    * Create an input controller
    */
   public InputManager() {
-    airports = new ArrayList<>();
+    this(new FileManager());
+  }
+
+  /**
+   * Create an input controller
+   * @param fileManager    controller for the airport files
+   */
+  public InputManager(FileManager fileManager) {
+    this(fileManager, null);
+  }
+
+  /**
+   * Create an input controller
+   * @param fileManager    controller for the airport files
+   * @param journal        journal the edits are recorded in
+   */
+  public InputManager(FileManager fileManager, EditJournal journal) {
+    airports = new AirportCatalog(fileManager, AirportCatalog.DEFAULT_CAPACITY);
+    this.journal = journal;
     notifications = new ArrayList<>();
   }
 
@@ -68,13 +97,38 @@ public class InputManager {
   }
 
   /**
-   * Getter for list of all airports
-   * @return     list of airport
+   * Getter for all airports, by their summaries or loaded
+   * @return     airport catalog
    */
-  public List<Airport> getAirports() {
+  public AirportCatalog getAirportCatalog() {
     return airports;
   }
 
+  /**
+   * Getter for the edit journal
+   * @return     journal (null if edits are not journalled)
+   */
+  public EditJournal getJournal() {
+    return journal;
+  }
+
+  /**
+   * Getter for an airport (loaded from its file if needed)
+   * @param index    position of the airport in the list of airport names
+   * @return     the airport
+   */
+  public Airport getAirport(int index) {
+    return airports.get(index);
+  }
+
+  /**
+   * Getter for list of the airports which are loaded
+   * @return     list of airport
+   */
+  public List<Airport> getLoadedAirports() {
+    return airports.getLoaded();
+  }
+
   /**
    * Getter for CSS style file
    * @return     CSS style file
@@ -96,11 +150,7 @@ public class InputManager {
    * @return     list of airport names
    */
   public List<String> getAirportNames() {
-    List<String> names = new ArrayList<>();
-    for (Airport airport : getAirports()) {
-      names.add(airport.getName());
-    }
-    return names;
+    return airports.getNames();
   }
 
   /**
@@ -128,15 +178,63 @@ public class InputManager {
   }
 
   /**
-   * Calls the right calculation method depending on which landing/take-off method was chosen.
+   * Re-declares the current runway's values for its current obstacle and the chosen landing/take-off method.
+   * The runway's defaults are not modified, the result is shown as the runway's current values.
+   * If the airport has the runway's other end, it is re-declared for the same obstacle in the same pass.
+   * Results of recent calculations are taken from the shared cache, the re-declared runways are recorded in the
+   * airport's recalculation graph (so they are updated after edits).
+   * @return     re-declared values
    */
-  public void calculateValues() {
-    switch (method) {
-      case 1 -> runway.redeclarationLandingOver(runway.getCurrentObstacle());
-      case 2 -> runway.redeclarationLandingTowards(runway.getCurrentObstacle());
-      case 3 -> runway.redeclarationTakeOffTowards(runway.getCurrentObstacle());
-      case 4 -> runway.redeclarationTakeOffAway(runway.getCurrentObstacle());
+  public DeclaredDistances calculateValues() {
+    Runway reciprocal = airport != null ? airport.getReciprocal(runway) : null;
+    if (reciprocal != null) {
+      pairResult = RedeclarationCache.getShared().calculatePair(runway, reciprocal, runway.getCurrentObstacle(), method);
+      result = pairResult.getResult();
+      reciprocal.setDeclaredDistances(pairResult.getReciprocalResult());
+      airport.getRecalculation().recordReciprocal(reciprocal, runway, runway.getCurrentObstacle(), method);
+    }
+    else {
+      pairResult = null;
+      result = RedeclarationCache.getShared().calculate(runway, runway.getCurrentObstacle(), method);
+    }
+    runway.setDeclaredDistances(result);
+    if (airport != null) {
+      airport.getRecalculation().record(runway, runway.getCurrentObstacle(), method);
     }
+    return result;
+  }
+
+  /**
+   * Getter for the result of the last calculation for both runway ends
+   * @return     re-declared values (null if the current runway has no reciprocal runway)
+   */
+  public RunwayPairResult getPairResult() {
+    return pairResult;
+  }
+
+  /**
+   * Re-declares the current runway's values for its current obstacle with all landing/take-off methods at once.
+   * The runway is not modified.
+   * @return     re-declared values of all methods
+   */
+  public AllMethodsResult calculateAllValues() {
+    return RedeclarationCache.getShared().calculateAll(runway, runway.getCurrentObstacle());
+  }
+
+  /**
+   * Re-calculate the current airport's runways whose re-declared values are out of date after an edit
+   * @return     runways whose values were updated
+   */
+  public List<Runway> recalculateDirty() {
+    return airport != null ? airport.getRecalculation().recalculate() : new ArrayList<>();
+  }
+
+  /**
+   * Getter for the result of the last calculation
+   * @return     re-declared values
+   */
+  public DeclaredDistances getResult() {
+    return result;
   }
 
   /**
@@ -155,6 +253,14 @@ public class InputManager {
     airports.add(airport);
   }
 
+  /**
+   * Remove an airport from the list of airports
+   * @param airport    the airport
+   */
+  public void removeAirport(Airport airport) {
+    airports.remove(airport);
+  }
+
   /**
    * Getter for notifications
    * @return     notifications list
@@ -2,14 +2,16 @@ package com.example.runway.controller;
 
 import com.example.runway.model.Airport;
 import com.example.runway.model.Obstacle;
+import com.example.runway.model.ObstacleRegistry;
 import com.example.runway.model.Runway;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.file.Path;
+import java.net.URL;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +28,12 @@ import org.xml.sax.SAXException;
  */
 public class Validations {
 
+  // Format of the times a temporary obstacle is present from / until:
+  public static final DateTimeFormatter OBSTACLE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+  // Validator of the airport schema for each thread (the schema is compiled once, when it is first needed):
+  private static final ThreadLocal<Validator> VALIDATORS = ThreadLocal.withInitial(Validations::newValidator);
+
   // List of characters allowed for runway number:
   private final List<Character> runwayChars = Arrays.asList('L', 'C', 'R');
 
@@ -140,6 +148,46 @@ public class Validations {
     }
   }
 
+  /**
+   * Validate user input for a runway's threshold position (empty = the runway is not positioned)
+   * and heading (empty = taken from the runway number)
+   * @param x          metres east of the airport's reference point
+   * @param y          metres north of the airport's reference point
+   * @param heading    degrees clockwise from north
+   * @return    boolean value
+   */
+  public boolean isValidRunwayPosition(String x, String y, String heading) {
+    try {
+      if (x.isBlank() && y.isBlank()) {
+        return heading.isBlank();
+      }
+      Double.parseDouble(x);
+      Double.parseDouble(y);
+      if (heading.isBlank()) {
+        return true;
+      }
+      double number = Double.parseDouble(heading);
+      return number >= 0 && number < 360;
+    }
+    catch (Exception e) {
+      return false;
+    }
+  }
+
+  /**
+   * Validate user input for a coordinate of a surveyed obstacle
+   * @param coordinate    user input
+   * @return    boolean value
+   */
+  public boolean isValidCoordinate(String coordinate) {
+    try {
+      return Double.isFinite(Double.parseDouble(coordinate));
+    }
+    catch (Exception e) {
+      return false;
+    }
+  }
+
   /**
    * Validate user input for airport/obstacle name
    * @param name    user input
@@ -196,6 +244,74 @@ public class Validations {
       return false;
     }
   }
+  /**
+   * Validates the times a temporary obstacle is present from / until (empty = no start / no end)
+   * @param from     time the obstacle is placed (yyyy-MM-dd HH:mm)
+   * @param until    time the obstacle is removed (yyyy-MM-dd HH:mm)
+   * @return true if both times are valid and the obstacle is removed after it is placed
+   */
+  public boolean isValidObstacleValidity(String from, String until) {
+    try {
+      return parseObstacleTime(until, Long.MAX_VALUE) > parseObstacleTime(from, Long.MIN_VALUE);
+    }
+    catch (DateTimeParseException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Validate user input for a parameter profile name (stored in a line of the profiles file)
+   * @param name    user input
+   * @return    boolean value
+   */
+  public boolean isValidProfileName(String name) {
+    return name != null && !name.isBlank() && !name.startsWith("#") && name.equals(name.trim())
+        && name.chars().noneMatch(Character::isISOControl);
+  }
+
+  /**
+   * Validate user input for a term or required distance of a parameter profile
+   * @param value       user input
+   * @param positive    whether the value has to be greater than 0 (otherwise 0 is allowed)
+   * @return    boolean value
+   */
+  public boolean isValidProfileValue(String value, boolean positive) {
+    try {
+      double number = Double.parseDouble(value);
+      return positive ? number > 0 : number >= 0;
+    }
+    catch (Exception e) {
+      return false;
+    }
+  }
+
+  /**
+   * Convert a time entered for a temporary obstacle (local time of the system) to epoch milliseconds
+   * @param time       the time (yyyy-MM-dd HH:mm)
+   * @param openEnd    value of an empty time
+   * @return time in epoch milliseconds
+   * @throws DateTimeParseException if the time is not valid
+   */
+  public static long parseObstacleTime(String time, long openEnd) {
+    if (time == null || time.isBlank()) {
+      return openEnd;
+    }
+    return LocalDateTime.parse(time.trim(), OBSTACLE_TIME).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+
+  /**
+   * Convert a time of a temporary obstacle to the format it is entered in (local time of the system)
+   * @param time       time in epoch milliseconds
+   * @param openEnd    value of an open end (shown as an empty time)
+   * @return the time (yyyy-MM-dd HH:mm)
+   */
+  public static String formatObstacleTime(long time, long openEnd) {
+    if (time == openEnd) {
+      return "";
+    }
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()).format(OBSTACLE_TIME);
+  }
 
   /**
    * Validate user input for file name
@@ -216,47 +332,79 @@ public class Validations {
   }
 
   /**
-   * Validate XML file for import
+   * Validate XML file for import (against schema.xsd)
    * @param xml    XML file
    * @return    boolean value
+   * @throws IllegalStateException if the schema is missing or cannot be compiled (no file can be validated)
    */
   public boolean isValidXMLFile(File xml) {
+    Validator validator = VALIDATORS.get();
     try {
-      SchemaFactory factory =
-          SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-
-      // Check the file against schema:
-      try (InputStream in = getClass().getResourceAsStream("/xml/schema.xsd");
-          BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
-        String cwd = Path.of("").toAbsolutePath().toString();
-        File f = new File(String.valueOf(Path.of(cwd + "/storage_files/temp.txt")));
-        String line = reader.readLine();
-
-        FileWriter fw = new FileWriter(f);
-
-        while (line != null) {
-          fw.write(line + "\n");
-
-          line = reader.readLine();
-        }
-
-        fw.close();
-
-        f.renameTo(new File(String.valueOf(Path.of(cwd + "/storage_files/temp.xsd"))));
+      validator.validate(new StreamSource(xml));
+    }
+    catch (IOException | SAXException e) {
+      return false;
+    }
+    return true;
+  }
 
-        File xsd = new File(String.valueOf(Path.of(cwd + "/storage_files/temp.xsd")));
+  /**
+   * Compile the airport schema from the classpath (a Schema is immutable and can be shared by all threads)
+   * @return the schema
+   * @throws IllegalStateException if the schema is missing or cannot be compiled
+   */
+  private static Schema compileSchema() {
+    URL resource = Validations.class.getResource("/xml/schema.xsd");
+    if (resource == null) {
+      throw new IllegalStateException("The airport schema (/xml/schema.xsd) is missing.");
+    }
+    try {
+      SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+      return factory.newSchema(resource);
+    }
+    catch (SAXException e) {
+      throw new IllegalStateException("The airport schema (/xml/schema.xsd) cannot be compiled: " + e.getMessage(), e);
+    }
+  }
 
-        Schema schema = factory.newSchema(xsd);
-        Validator validator = schema.newValidator();
-        validator.validate(new StreamSource(xml));
+  // Compiled when the first validator is created (or the reason it cannot be compiled):
+  private static final class SchemaHolder {
+    private static final Schema SCHEMA;
+    private static final IllegalStateException ERROR;
 
-        xsd.delete();
+    static {
+      Schema schema = null;
+      IllegalStateException error = null;
+      try {
+        schema = compileSchema();
+      }
+      catch (IllegalStateException e) {
+        error = e;
       }
+      SCHEMA = schema;
+      ERROR = error;
     }
-    catch (IOException | SAXException e) {
-      return false;
+  }
+
+  /**
+   * Create a validator of the airport schema (a Validator is not thread-safe, each thread has its own)
+   * @return the validator
+   * @throws IllegalStateException if the schema is missing or cannot be compiled
+   */
+  private static Validator newValidator() {
+    if (SchemaHolder.ERROR != null) {
+      throw new IllegalStateException(SchemaHolder.ERROR.getMessage(), SchemaHolder.ERROR);
     }
-    return true;
+    Validator validator = SchemaHolder.SCHEMA.newValidator();
+    try {
+      // Imported files cannot load external DTDs or schemas:
+      validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+      validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+    }
+    catch (SAXException e) {
+      e.printStackTrace();
+    }
+    return validator;
   }
 
   /**
@@ -272,7 +420,7 @@ public class Validations {
       List<String> runwayNumbers = new ArrayList<>();
       for (Runway runway : airport.getRunways()) {
         String runwayNumber = runway.getRunwayNumber();
-        if (!isValidRunway(runway) || runwayNumbers.contains(runwayNumber)) {
+        if (!isValidRunway(runway, airport.getObstacleRegistry()) || runwayNumbers.contains(runwayNumber)) {
           return false;
         }
         runwayNumbers.add(runwayNumber);
@@ -288,6 +436,17 @@ public class Validations {
    * @return    boolean value
    */
   public boolean isValidRunway(Runway runway) {
+    return isValidRunway(runway, null);
+  }
+
+  /**
+   * Validate runway data, skipping the obstacles projected from the airport's surveyed obstacles
+   * (they may be before the threshold or beyond TORA)
+   * @param runway      a runway
+   * @param registry    surveyed obstacles of the runway's airport (null if none)
+   * @return    boolean value
+   */
+  public boolean isValidRunway(Runway runway, ObstacleRegistry registry) {
     if (isValidRunwayNumber(runway.getRunwayNumber())) {
       String strTora = String.valueOf(runway.getTora());
       if (isValidRunwayTora(strTora)) {
@@ -300,6 +459,9 @@ public class Validations {
             // Validate runway's obstacles:
             List<String> obstacleNames = new ArrayList<>();
             for (Obstacle obstacle : runway.getObstacles()) {
+              if (registry != null && registry.isProjected(runway, obstacle)) {
+                continue;
+              }
               String obstacleName = obstacle.getName();
               if (!isValidObstacle(obstacle, tora) || obstacleNames.contains(obstacleName)) {
                 return false;
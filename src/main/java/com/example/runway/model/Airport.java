@@ -1,19 +1,64 @@
 package com.example.runway.model;
 
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The airport class. Stores parameters of an airport.
  */
 public class Airport {
 
+  // Names of the airport's observable properties:
+  public static final String NAME = "name";
+  public static final String RUNWAYS = "runways";
+
+  // Runway properties which are stored in the airport's file (re-declared values are not):
+  private static final Set<String> STORED_RUNWAY_PROPERTIES = Set.of(Runway.RUNWAY_NUMBER, Runway.DEFAULT_TORA,
+      Runway.DEFAULT_TODA, Runway.DEFAULT_ASDA, Runway.DEFAULT_LDA, Runway.DISPLACED_THRESHOLD, Runway.OBSTACLES,
+      Runway.POSITION, Runway.PROFILE);
+
+  // Listeners of the airport's properties (created when the first listener is added):
+  private PropertyChangeSupport changes;
 
   private String name;
 
   // Runways of the airport:
   private List<Runway> runways = new ArrayList<>();
 
+  // Both ends of a physical runway, linked in both directions (modified on the FX thread, read by workers too,
+  // so it is only accessed while holding its lock):
+  private final Map<Runway, Runway> reciprocals = new IdentityHashMap<>();
+
+  // Dependencies of the re-declared runways:
+  private final RecalculationGraph recalculation = new RecalculationGraph(this);
+
+  // Surveyed obstacles shared by the airport's positioned runways:
+  private final ObstacleRegistry obstacleRegistry = new ObstacleRegistry();
+
+  // Whether the airport was modified since it was loaded or saved (set on the FX thread, read when saving on a worker):
+  private volatile boolean modified;
+
+  // Digest of the airport's file when it was last saved (null if not known):
+  private byte[] savedDigest;
+
+  // Sequence number of the last edit of the airport recorded in the edit journal (0 if none):
+  private long journalSequence;
+
+  // Marks the airport as modified when a stored property of a runway changes (and relinks a renumbered runway):
+  private final PropertyChangeListener runwayListener = e -> {
+    if (STORED_RUNWAY_PROPERTIES.contains(e.getPropertyName())) {
+      modified = true;
+    }
+    if (Runway.RUNWAY_NUMBER.equals(e.getPropertyName())) {
+      relink((Runway) e.getSource());
+    }
+  };
+
   /**
    * Create a new airport
    * @param name airport name
@@ -47,6 +92,12 @@ public class Airport {
    */
   public void addRunway(Runway runway) {
     runways.add(runway);
+    relink(runway);
+    runway.addPropertyChangeListener(runwayListener);
+    modified = true;
+    if (changes != null) {
+      changes.firePropertyChange(RUNWAYS, null, runways);
+    }
   }
 
   /**
@@ -54,6 +105,66 @@ public class Airport {
    */
   public void deleteRunway(Runway runway) {
     runways.remove(runway);
+    runway.removePropertyChangeListener(runwayListener);
+    modified = true;
+    relink(runway);
+    recalculation.runwayRemoved(runway);
+    obstacleRegistry.forget(runway);
+    if (changes != null) {
+      changes.firePropertyChange(RUNWAYS, null, runways);
+    }
+  }
+
+  /**
+   * Link a runway to its other end after it was added, removed or renumbered. The runway it was linked to before
+   * is linked to another runway of the airport if there is one.
+   * @param runway    the runway
+   */
+  private void relink(Runway runway) {
+    synchronized (reciprocals) {
+      Runway old = unlink(runway);
+      if (runways.contains(runway)) {
+        for (Runway other : runways) {
+          if (runway.isReciprocalOf(other)) {
+            unlink(other);
+            link(runway, other);
+            break;
+          }
+        }
+      }
+      if (old != null && old != reciprocals.get(runway)) {
+        for (Runway other : runways) {
+          if (!reciprocals.containsKey(other) && old.isReciprocalOf(other)) {
+            link(old, other);
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  private void link(Runway runway, Runway reciprocal) {
+    reciprocals.put(runway, reciprocal);
+    reciprocals.put(reciprocal, runway);
+  }
+
+  private Runway unlink(Runway runway) {
+    Runway old = reciprocals.remove(runway);
+    if (old != null) {
+      reciprocals.remove(old);
+    }
+    return old;
+  }
+
+  /**
+   * Getter for the other end of a runway (runways are linked when both ends have been added)
+   * @param runway    the runway
+   * @return reciprocal runway (null if the airport does not have it)
+   */
+  public Runway getReciprocal(Runway runway) {
+    synchronized (reciprocals) {
+      return reciprocals.get(runway);
+    }
   }
 
   /**
@@ -71,6 +182,33 @@ public class Airport {
     for (Runway runway : runways) {
       runway.setDefault();
     }
+    recalculation.clear();
+  }
+
+  /**
+   * Getter for the dependencies of the airport's re-declared runways
+   * @return recalculation graph
+   */
+  public RecalculationGraph getRecalculation() {
+    return recalculation;
+  }
+
+  /**
+   * Getter for the airport's surveyed obstacles
+   * @return obstacle registry
+   */
+  public ObstacleRegistry getObstacleRegistry() {
+    return obstacleRegistry;
+  }
+
+  /**
+   * Bring the projected obstacles of all runways up to date (called after surveyed obstacles or runway positions
+   * were modified)
+   */
+  public void applyObstacleRegistry() {
+    for (Runway runway : runways) {
+      obstacleRegistry.apply(runway, recalculation);
+    }
   }
 
   /**
@@ -78,7 +216,82 @@ public class Airport {
    * @param name new airport name
    */
   public void setName(String name) {
+    String old = this.name;
     this.name = name;
+    modified = true;
+    if (changes != null) {
+      changes.firePropertyChange(NAME, old, name);
+    }
+  }
+
+  /**
+   * Returns whether the airport was modified since it was loaded or saved (only modified airports are saved)
+   * @return true if modified
+   */
+  public boolean isModified() {
+    return modified;
+  }
+
+  /**
+   * Setter for modified value (runways, obstacles and the name mark the airport as modified when they change)
+   * @param modified boolean value
+   */
+  public void setModified(boolean modified) {
+    this.modified = modified;
+  }
+
+  /**
+   * Getter for the digest of the airport's file when it was last saved
+   * @return digest (null if the airport was not saved since it was loaded)
+   */
+  public byte[] getSavedDigest() {
+    return savedDigest;
+  }
+
+  /**
+   * Mark the airport as saved
+   * @param digest    digest of the airport's file
+   */
+  public void setSaved(byte[] digest) {
+    savedDigest = digest;
+    modified = false;
+  }
+
+  /**
+   * Getter for the sequence number of the airport's last journalled edit
+   * @return sequence number (0 if none)
+   */
+  public long getJournalSequence() {
+    return journalSequence;
+  }
+
+  /**
+   * Setter for the sequence number of the airport's last journalled edit
+   * @param journalSequence    sequence number
+   */
+  public void setJournalSequence(long journalSequence) {
+    this.journalSequence = journalSequence;
+  }
+
+  /**
+   * Add a listener notified when the airport's name or runways change
+   * @param listener    the listener
+   */
+  public void addPropertyChangeListener(PropertyChangeListener listener) {
+    if (changes == null) {
+      changes = new PropertyChangeSupport(this);
+    }
+    changes.addPropertyChangeListener(listener);
+  }
+
+  /**
+   * Remove a listener of the airport's properties
+   * @param listener    the listener
+   */
+  public void removePropertyChangeListener(PropertyChangeListener listener) {
+    if (changes != null) {
+      changes.removePropertyChangeListener(listener);
+    }
   }
 
 }
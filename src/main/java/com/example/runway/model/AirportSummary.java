@@ -0,0 +1,86 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The airport summary class. Stores what is known about a stored airport without loading it:
+ * its name and runway designators, and the size and modification time of its file
+ * (a summary is out of date when the file's size or modification time has changed).
+ */
+public class AirportSummary {
+
+  private final String name;
+  private final String fileName;
+  private final long size;
+  private final long modified;
+  private final List<String> runwayNumbers;
+
+  /**
+   * Create a new airport summary
+   * @param name             airport name
+   * @param fileName         name of the airport's file in storage_files
+   * @param size             size of the file in bytes
+   * @param modified         modification time of the file in epoch milliseconds
+   * @param runwayNumbers    runway designators of the airport
+   */
+  public AirportSummary(String name, String fileName, long size, long modified, List<String> runwayNumbers) {
+    this.name = name;
+    this.fileName = fileName;
+    this.size = size;
+    this.modified = modified;
+    this.runwayNumbers = Collections.unmodifiableList(new ArrayList<>(runwayNumbers));
+  }
+
+  /**
+   * Getter for airport name
+   * @return name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Getter for the name of the airport's file
+   * @return file name
+   */
+  public String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * Getter for the size of the airport's file
+   * @return size in bytes
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Getter for the modification time of the airport's file
+   * @return time in epoch milliseconds
+   */
+  public long getModified() {
+    return modified;
+  }
+
+  /**
+   * Getter for the airport's runway designators
+   * @return runway numbers
+   */
+  public List<String> getRunwayNumbers() {
+    return runwayNumbers;
+  }
+
+  /**
+   * Returns whether the summary describes the current version of a file
+   * @param size        size of the file in bytes
+   * @param modified    modification time of the file in epoch milliseconds
+   * @return true if the file has not changed
+   */
+  public boolean isCurrent(long size, long modified) {
+    return this.size == size && this.modified == modified;
+  }
+
+}
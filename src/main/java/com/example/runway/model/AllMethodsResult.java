@@ -0,0 +1,170 @@
+package com.example.runway.model;
+
+/**
+ * The all methods result class. Immutable result of re-declaring a runway for one obstacle
+ * with all four landing/take-off methods. Negative results are stored as 0 and flagged.
+ */
+public final class AllMethodsResult {
+
+  // Default runway values:
+  private final double tora;
+  private final double toda;
+  private final double asda;
+  private final double lda;
+
+  // Re-declared values:
+  private final double ldaLandingOver;
+  private final double ldaLandingTowards;
+  private final double toraTakeOffTowards;
+  private final double toraTakeOffAway;
+  private final double todaTakeOffAway;
+  private final double asdaTakeOffAway;
+
+  // Negative flags of all methods (4 bits per method, see DeclaredDistances):
+  private final int negative;
+
+  /**
+   * Create a new all methods result
+   * @param tora                  default TORA
+   * @param toda                  default TODA
+   * @param asda                  default ASDA
+   * @param lda                   default LDA
+   * @param ldaLandingOver        LDA when landing over the obstacle
+   * @param ldaLandingTowards     LDA when landing towards the obstacle
+   * @param toraTakeOffTowards    TORA (= TODA = ASDA) when taking-off towards the obstacle
+   * @param toraTakeOffAway       TORA when taking-off away from the obstacle
+   * @param todaTakeOffAway       TODA when taking-off away from the obstacle
+   * @param asdaTakeOffAway       ASDA when taking-off away from the obstacle
+   */
+  public AllMethodsResult(double tora, double toda, double asda, double lda,
+      double ldaLandingOver, double ldaLandingTowards, double toraTakeOffTowards,
+      double toraTakeOffAway, double todaTakeOffAway, double asdaTakeOffAway) {
+    // Negative flags of the default values apply to every method:
+    int defaults = (tora <= 0 ? DeclaredDistances.NEGATIVE_TORA : 0)
+        | (toda <= 0 ? DeclaredDistances.NEGATIVE_TODA : 0)
+        | (asda <= 0 ? DeclaredDistances.NEGATIVE_ASDA : 0)
+        | (lda <= 0 ? DeclaredDistances.NEGATIVE_LDA : 0);
+    int landingDefaults = defaults & ~DeclaredDistances.NEGATIVE_LDA;
+    int takeOffDefaults = defaults & DeclaredDistances.NEGATIVE_LDA;
+    int towardsFlags = toraTakeOffTowards <= 0
+        ? DeclaredDistances.NEGATIVE_TORA | DeclaredDistances.NEGATIVE_TODA | DeclaredDistances.NEGATIVE_ASDA : 0;
+    int awayFlags = (toraTakeOffAway <= 0 ? DeclaredDistances.NEGATIVE_TORA : 0)
+        | (todaTakeOffAway <= 0 ? DeclaredDistances.NEGATIVE_TODA : 0)
+        | (asdaTakeOffAway <= 0 ? DeclaredDistances.NEGATIVE_ASDA : 0);
+
+    this.tora = Math.max(tora, 0);
+    this.toda = Math.max(toda, 0);
+    this.asda = Math.max(asda, 0);
+    this.lda = Math.max(lda, 0);
+    this.ldaLandingOver = Math.max(ldaLandingOver, 0);
+    this.ldaLandingTowards = Math.max(ldaLandingTowards, 0);
+    this.toraTakeOffTowards = Math.max(toraTakeOffTowards, 0);
+    this.toraTakeOffAway = Math.max(toraTakeOffAway, 0);
+    this.todaTakeOffAway = Math.max(todaTakeOffAway, 0);
+    this.asdaTakeOffAway = Math.max(asdaTakeOffAway, 0);
+
+    this.negative = shift(RedeclarationEngine.LANDING_OVER,
+            landingDefaults | (ldaLandingOver <= 0 ? DeclaredDistances.NEGATIVE_LDA : 0))
+        | shift(RedeclarationEngine.LANDING_TOWARDS,
+            landingDefaults | (ldaLandingTowards <= 0 ? DeclaredDistances.NEGATIVE_LDA : 0))
+        | shift(RedeclarationEngine.TAKE_OFF_TOWARDS, takeOffDefaults | towardsFlags)
+        | shift(RedeclarationEngine.TAKE_OFF_AWAY, takeOffDefaults | awayFlags);
+  }
+
+  // Position the negative flags of a method:
+  private static int shift(int method, int flags) {
+    return flags << ((method - 1) * 4);
+  }
+
+  /**
+   * Getter for LDA when landing over the obstacle
+   * @return LDA
+   */
+  public double getLdaLandingOver() {
+    return ldaLandingOver;
+  }
+
+  /**
+   * Getter for LDA when landing towards the obstacle
+   * @return LDA
+   */
+  public double getLdaLandingTowards() {
+    return ldaLandingTowards;
+  }
+
+  /**
+   * Getter for TORA (= TODA = ASDA) when taking-off towards the obstacle
+   * @return TORA
+   */
+  public double getToraTakeOffTowards() {
+    return toraTakeOffTowards;
+  }
+
+  /**
+   * Getter for TORA when taking-off away from the obstacle
+   * @return TORA
+   */
+  public double getToraTakeOffAway() {
+    return toraTakeOffAway;
+  }
+
+  /**
+   * Getter for TODA when taking-off away from the obstacle
+   * @return TODA
+   */
+  public double getTodaTakeOffAway() {
+    return todaTakeOffAway;
+  }
+
+  /**
+   * Getter for ASDA when taking-off away from the obstacle
+   * @return ASDA
+   */
+  public double getAsdaTakeOffAway() {
+    return asdaTakeOffAway;
+  }
+
+  /**
+   * Getter for the negative flags of a method (combination of the DeclaredDistances.NEGATIVE_* constants)
+   * @param method    the landing/take-off method
+   * @return negative flags
+   */
+  public int getNegativeFlags(int method) {
+    return (negative >>> ((method - 1) * 4)) & 0xF;
+  }
+
+  /**
+   * Returns whether negative values were calculated for a method
+   * @param method    the landing/take-off method
+   * @return true if negative results
+   */
+  public boolean hasNegative(int method) {
+    return getNegativeFlags(method) != 0;
+  }
+
+  /**
+   * Returns whether negative values were calculated for any method
+   * @return true if negative results
+   */
+  public boolean hasNegative() {
+    return negative != 0;
+  }
+
+  /**
+   * Getter for the re-declared values of one method
+   * @param method    the landing/take-off method
+   * @return re-declared values
+   */
+  public DeclaredDistances get(int method) {
+    return switch (method) {
+      case RedeclarationEngine.LANDING_OVER -> new DeclaredDistances(tora, toda, asda, ldaLandingOver);
+      case RedeclarationEngine.LANDING_TOWARDS -> new DeclaredDistances(tora, toda, asda, ldaLandingTowards);
+      case RedeclarationEngine.TAKE_OFF_TOWARDS ->
+          new DeclaredDistances(toraTakeOffTowards, toraTakeOffTowards, toraTakeOffTowards, lda);
+      case RedeclarationEngine.TAKE_OFF_AWAY ->
+          new DeclaredDistances(toraTakeOffAway, todaTakeOffAway, asdaTakeOffAway, lda);
+      default -> throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    };
+  }
+
+}
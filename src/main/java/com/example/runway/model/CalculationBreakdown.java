@@ -0,0 +1,191 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The calculation breakdown class. Holds the numeric terms of a re-declaration and renders them
+ * (as text, HTML or table rows) only when the breakdown is displayed or exported.
+ */
+public final class CalculationBreakdown {
+
+  private final int method;
+
+  // Runway defaults:
+  private final double defaultTora;
+  private final double defaultLda;
+  private final double displacedThreshold;
+  private final double clearWay;
+  private final double stopWay;
+
+  // Predefined terms:
+  private final double resa;
+  private final double slopeValue;
+  private final double newStripEnd;
+  private final double blastAllowance;
+
+  // Obstacle:
+  private final double height;
+  private final double distanceThreshold;
+
+  // Re-declared values:
+  private final double tora;
+  private final double toda;
+  private final double asda;
+  private final double lda;
+
+  // Text rendered so far (created on first use):
+  private String text;
+
+  /**
+   * Create a new calculation breakdown from the terms of a re-declaration
+   * @param runway      the re-declared runway (its current values are the results)
+   * @param obstacle    the obstacle
+   * @param method      the landing/take-off method
+   */
+  public CalculationBreakdown(Runway runway, Obstacle obstacle, int method) {
+    this.method = method;
+    this.defaultTora = runway.getDefaultTora();
+    this.defaultLda = runway.getDefaultLda();
+    this.displacedThreshold = runway.getDisplacedThreshold();
+    this.clearWay = runway.getDefaultClearWay();
+    this.stopWay = runway.getDefaultStopWay();
+    this.resa = runway.getResa();
+    this.slopeValue = runway.getSlopeValue();
+    this.newStripEnd = runway.getNewStripEnd();
+    this.blastAllowance = runway.getBlastAllowance();
+    this.height = obstacle.getHeight();
+    this.distanceThreshold = obstacle.getDistanceFromThreshold();
+    this.tora = runway.getTora();
+    this.toda = runway.getToda();
+    this.asda = runway.getAsda();
+    this.lda = runway.getLda();
+  }
+
+  /**
+   * Target the breakdown is rendered into. Each row is one re-declared value:
+   * the formula, the formula with the terms substituted (null if there is nothing to substitute) and the result.
+   */
+  public interface Target {
+    void row(String value, String formula, CharSequence terms, double result);
+  }
+
+  /**
+   * Getter for the landing/take-off method
+   * @return method
+   */
+  public int getMethod() {
+    return method;
+  }
+
+  /**
+   * Getter for the heading of the breakdown
+   * @return which values were re-declared
+   */
+  public String getTitle() {
+    return method <= RedeclarationEngine.LANDING_TOWARDS ? "Re-declared value: LDA" : "Re-declared values: TORA, TODA, ASDA";
+  }
+
+  /**
+   * Render the breakdown into a target
+   * @param target    the target
+   */
+  public void render(Target target) {
+    StringBuilder terms = new StringBuilder(96);
+    switch (method) {
+      case RedeclarationEngine.LANDING_OVER -> {
+        NumberCodec.appendFixed(terms, defaultLda).append(" - ");
+        NumberCodec.appendFixed(terms, distanceThreshold).append(" - ");
+        NumberCodec.appendFixed(terms, height).append(" * ").append((int) slopeValue).append(" - ").append((int) newStripEnd).append(" - ");
+        NumberCodec.appendFixed(terms, displacedThreshold);
+        target.row("LDA", "LDA - obstacle distance from threshold - h * slope - new strip end - displaced threshold", terms, lda);
+      }
+      case RedeclarationEngine.LANDING_TOWARDS -> {
+        NumberCodec.appendFixed(terms, distanceThreshold).append(" - ").append((int) resa).append(" - ").append((int) newStripEnd);
+        target.row("LDA", "obstacle distance from threshold - RESA - new strip end", terms, lda);
+      }
+      case RedeclarationEngine.TAKE_OFF_TOWARDS -> {
+        NumberCodec.appendFixed(terms, distanceThreshold).append(" + ");
+        NumberCodec.appendFixed(terms, displacedThreshold).append(" - ");
+        NumberCodec.appendFixed(terms, height).append(" * ").append((int) slopeValue).append(" - ").append((int) newStripEnd);
+        target.row("TORA", "obstacle distance from threshold + displaced threshold - h * slope - new strip end", terms, tora);
+        target.row("ASDA = TODA", "TORA", null, tora);
+      }
+      default -> {
+        NumberCodec.appendFixed(terms, defaultTora).append(" - ");
+        NumberCodec.appendFixed(terms, distanceThreshold).append(" - ");
+        NumberCodec.appendFixed(terms, displacedThreshold).append(" - ").append((int) blastAllowance).append(" + ");
+        NumberCodec.appendFixed(terms, Math.max(clearWay, stopWay));
+        target.row("TORA", "TORA - obstacle distance from threshold - displaced threshold - engine blast allowance"
+            + " + largest of (clear way, stop way)", terms, tora);
+        terms.setLength(0);
+        NumberCodec.appendFixed(NumberCodec.appendFixed(terms, tora).append(" + "), clearWay);
+        target.row("TODA", "TORA + clear way", terms, toda);
+        terms.setLength(0);
+        NumberCodec.appendFixed(NumberCodec.appendFixed(terms, tora).append(" + "), stopWay);
+        target.row("ASDA", "TORA + stop way", terms, asda);
+      }
+    }
+  }
+
+  /**
+   * Render the breakdown as plain text
+   * @param out    builder the text is appended to
+   * @return the builder
+   */
+  public StringBuilder appendText(StringBuilder out) {
+    render((value, formula, terms, result) -> {
+      out.append(value).append(" = ").append(formula).append('\n');
+      if (terms != null) {
+        out.append(value).append(" = ").append(terms).append('\n');
+      }
+      NumberCodec.appendFixed(out.append(value).append(" = "), result).append("\n\n");
+    });
+    return out;
+  }
+
+  /**
+   * Getter for the breakdown as plain text (rendered on first use)
+   * @return breakdown text
+   */
+  public String toText() {
+    if (text == null) {
+      text = appendText(new StringBuilder(512)).toString();
+    }
+    return text;
+  }
+
+  /**
+   * Render the breakdown as an HTML table
+   * @param out    builder the HTML is appended to
+   * @return the builder
+   */
+  public StringBuilder appendHtml(StringBuilder out) {
+    out.append("<table>\n<caption>").append(getTitle()).append("</caption>\n");
+    render((value, formula, terms, result) -> {
+      out.append("<tr><th>").append(value).append("</th><td>").append(formula).append("</td><td>");
+      if (terms != null) {
+        out.append(terms);
+      }
+      NumberCodec.appendFixed(out.append("</td><td>"), result).append("</td></tr>\n");
+    });
+    return out.append("</table>\n");
+  }
+
+  /**
+   * Render the breakdown as table rows (value, formula, terms, result)
+   * @return rows of the table
+   */
+  public List<String[]> toTable() {
+    List<String[]> rows = new ArrayList<>(3);
+    render((value, formula, terms, result) -> rows.add(new String[] {value, formula,
+        terms == null ? "" : terms.toString(), NumberCodec.appendFixed(new StringBuilder(), result).toString()}));
+    return rows;
+  }
+
+  @Override
+  public String toString() {
+    return toText();
+  }
+
+}
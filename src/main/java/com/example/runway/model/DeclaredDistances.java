@@ -0,0 +1,168 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The declared distances class. Immutable result of a runway re-declaration.
+ * Negative results are stored as 0 and flagged.
+ */
+public final class DeclaredDistances {
+
+  // Flags for parameters that calculated into negative numbers:
+  public static final int NEGATIVE_TORA = 1;
+  public static final int NEGATIVE_TODA = 2;
+  public static final int NEGATIVE_ASDA = 4;
+  public static final int NEGATIVE_LDA = 8;
+
+  private final double tora;
+  private final double toda;
+  private final double asda;
+  private final double lda;
+  private final int negative;
+
+  /**
+   * Create new declared distances. Negative values are set to 0.
+   * @param tora    the TORA value
+   * @param toda    the TODA value
+   * @param asda    the ASDA value
+   * @param lda     the LDA value
+   */
+  public DeclaredDistances(double tora, double toda, double asda, double lda) {
+    int flags = 0;
+    if (tora <= 0) {
+      tora = 0;
+      flags |= NEGATIVE_TORA;
+    }
+    if (toda <= 0) {
+      toda = 0;
+      flags |= NEGATIVE_TODA;
+    }
+    if (asda <= 0) {
+      asda = 0;
+      flags |= NEGATIVE_ASDA;
+    }
+    if (lda <= 0) {
+      lda = 0;
+      flags |= NEGATIVE_LDA;
+    }
+    this.tora = tora;
+    this.toda = toda;
+    this.asda = asda;
+    this.lda = lda;
+    this.negative = flags;
+  }
+
+  /**
+   * Getter for TORA value
+   * @return     TORA
+   */
+  public double getTora() {
+    return tora;
+  }
+
+  /**
+   * Getter for TODA value
+   * @return     TODA
+   */
+  public double getToda() {
+    return toda;
+  }
+
+  /**
+   * Getter for ASDA value
+   * @return     ASDA
+   */
+  public double getAsda() {
+    return asda;
+  }
+
+  /**
+   * Getter for LDA value
+   * @return     LDA
+   */
+  public double getLda() {
+    return lda;
+  }
+
+  /**
+   * Calculate the clear way of the result
+   * @return clear way
+   */
+  public double getClearWay() {
+    return toda - tora;
+  }
+
+  /**
+   * Calculate the stop way of the result
+   * @return stop way
+   */
+  public double getStopWay() {
+    return asda - tora;
+  }
+
+  /**
+   * Getter for the negative flags (combination of the NEGATIVE_* constants)
+   * @return negative flags
+   */
+  public int getNegativeFlags() {
+    return negative;
+  }
+
+  /**
+   * Returns whether negative values were calculated
+   * @return true if negative results
+   */
+  public boolean hasNegative() {
+    return negative != 0;
+  }
+
+  /**
+   * Get the list of parameters that calculated into negative numbers (used for notifications)
+   * @return  parameters that resulted in negative
+   */
+  public List<String> getNegativeValues() {
+    List<String> values = new ArrayList<>();
+    if ((negative & NEGATIVE_TORA) != 0) {
+      values.add("TORA");
+    }
+    if ((negative & NEGATIVE_TODA) != 0) {
+      values.add("TODA");
+    }
+    if ((negative & NEGATIVE_ASDA) != 0) {
+      values.add("ASDA");
+    }
+    if ((negative & NEGATIVE_LDA) != 0) {
+      values.add("LDA");
+    }
+    return values;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DeclaredDistances)) {
+      return false;
+    }
+    DeclaredDistances other = (DeclaredDistances) o;
+    return Double.compare(tora, other.tora) == 0 && Double.compare(toda, other.toda) == 0
+        && Double.compare(asda, other.asda) == 0 && Double.compare(lda, other.lda) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Double.hashCode(tora);
+    result = 31 * result + Double.hashCode(toda);
+    result = 31 * result + Double.hashCode(asda);
+    result = 31 * result + Double.hashCode(lda);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "TORA=" + tora + ", TODA=" + toda + ", ASDA=" + asda + ", LDA=" + lda;
+  }
+
+}
@@ -0,0 +1,221 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The declared timeline class. Re-declares a runway over a period in which its obstacles are only present
+ * for their validity intervals, and stores the result as a piecewise-constant timeline of declared distances.
+ * The timeline is built by a sweep over the start and end times of the intervals: the obstacles present are kept
+ * in a priority queue ordered by how much they limit the runway, so the values are only re-calculated when
+ * the governing obstacle changes. The templates every runway starts with (ob1..ob4) are not obstacles of the runway.
+ */
+public class DeclaredTimeline {
+
+  private final Runway runway;
+  private final int method;
+  private final long from;
+  private final long until;
+  private final List<TimelineSegment> segments;
+
+  /**
+   * Build the timeline of a runway's re-declared values
+   * @param runway    the runway (its default values and obstacles are read)
+   * @param method    the landing/take-off method
+   * @param from      start of the period in epoch milliseconds (inclusive)
+   * @param until     end of the period in epoch milliseconds (exclusive)
+   */
+  public DeclaredTimeline(Runway runway, int method, long from, long until) {
+    if (method < RedeclarationEngine.LANDING_OVER || method > RedeclarationEngine.TAKE_OFF_AWAY) {
+      throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    }
+    if (until <= from) {
+      throw new IllegalArgumentException("The period has to end after it starts");
+    }
+    this.runway = runway;
+    this.method = method;
+    this.from = from;
+    this.until = until;
+    this.segments = Collections.unmodifiableList(sweep());
+  }
+
+  /**
+   * Sweep over the start and end times of the obstacles' validity intervals
+   * @return segments of the timeline
+   */
+  private List<TimelineSegment> sweep() {
+    RedeclarationEngine engine = runway.getEngine();
+    double slope = engine.getSlopeValue();
+
+    // Intervals of the obstacles present during the period (clipped to the period, templates are skipped):
+    List<Obstacle> all = runway.getObstacles();
+    Obstacle[] obstacles = new Obstacle[all.size()];
+    long[] starts = new long[all.size()];
+    long[] ends = new long[all.size()];
+    double[] keys = new double[all.size()];
+    int count = 0;
+    for (Obstacle obstacle : all) {
+      long start = Math.max(obstacle.getValidFrom(), from);
+      long end = Math.min(obstacle.getValidUntil(), until);
+      if (!obstacle.isPredefined() && start < end) {
+        obstacles[count] = obstacle;
+        starts[count] = start;
+        ends[count] = end;
+        keys[count] = limit(obstacle, slope);
+        count++;
+      }
+    }
+
+    // Intervals by start time and by end time:
+    Integer[] byStart = new Integer[count];
+    Integer[] byEnd = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      byStart[i] = i;
+      byEnd[i] = i;
+    }
+    Arrays.sort(byStart, Comparator.comparingLong(i -> starts[i]));
+    Arrays.sort(byEnd, Comparator.comparingLong(i -> ends[i]));
+
+    // Obstacles present, the one limiting the runway the most first (ended ones are removed once they reach the top):
+    PriorityQueue<Integer> present = new PriorityQueue<>(Math.max(1, count),
+        (a, b) -> a.equals(b) ? 0 : keys[a] != keys[b] ? Double.compare(keys[b], keys[a]) : Integer.compare(a, b));
+    boolean[] ended = new boolean[count];
+
+    DeclaredDistances defaults = new DeclaredDistances(runway.getDefaultTora(), runway.getDefaultToda(),
+        runway.getDefaultAsda(), runway.getDefaultLda());
+    List<TimelineSegment> result = new ArrayList<>();
+    int nextStart = 0;
+    int nextEnd = 0;
+    int governing = -1;
+    DeclaredDistances values = defaults;
+    long time = from;
+    while (time < until) {
+      while (nextEnd < count && ends[byEnd[nextEnd]] <= time) {
+        ended[byEnd[nextEnd++]] = true;
+      }
+      while (nextStart < count && starts[byStart[nextStart]] <= time) {
+        int i = byStart[nextStart++];
+        if (!ended[i]) {
+          present.add(i);
+        }
+      }
+      while (!present.isEmpty() && ended[present.peek()]) {
+        present.poll();
+      }
+
+      // Re-calculate only when the governing obstacle changes:
+      int top = present.isEmpty() ? -1 : present.peek();
+      if (top != governing) {
+        governing = top;
+        values = top < 0 ? defaults : engine.calculate(runway, obstacles[top], method);
+      }
+
+      long next = until;
+      if (nextStart < count) {
+        next = Math.min(next, starts[byStart[nextStart]]);
+      }
+      if (nextEnd < count) {
+        next = Math.min(next, ends[byEnd[nextEnd]]);
+      }
+
+      // Periods with the same values are published as one:
+      TimelineSegment last = result.isEmpty() ? null : result.get(result.size() - 1);
+      if (last != null && last.getValues().equals(values)) {
+        result.set(result.size() - 1, last.extendTo(next));
+      }
+      else {
+        result.add(new TimelineSegment(time, next, top < 0 ? null : obstacles[top], values));
+      }
+      time = next;
+    }
+    return result;
+  }
+
+  /**
+   * How much an obstacle limits the runway (the higher the value, the lower the re-declared values)
+   * @param obstacle    the obstacle
+   * @param slope       slope of the runway
+   * @return limit
+   */
+  private double limit(Obstacle obstacle, double slope) {
+    double distance = obstacle.getDistanceFromThreshold();
+    return switch (method) {
+      // LDA = LDA - distance - h * slope - ...:
+      case RedeclarationEngine.LANDING_OVER -> distance + obstacle.getHeight() * slope;
+      // LDA = distance - RESA - ...:
+      case RedeclarationEngine.LANDING_TOWARDS -> -distance;
+      // TORA = distance - h * slope + ...:
+      case RedeclarationEngine.TAKE_OFF_TOWARDS -> obstacle.getHeight() * slope - distance;
+      // TORA = TORA - distance - ...:
+      default -> distance;
+    };
+  }
+
+  /**
+   * Getter for the segments of the timeline, in time order
+   * @return segments
+   */
+  public List<TimelineSegment> getSegments() {
+    return segments;
+  }
+
+  /**
+   * Getter for the segment of a given time
+   * @param time    time in epoch milliseconds
+   * @return segment (null if the time is outside the period)
+   */
+  public TimelineSegment getSegmentAt(long time) {
+    if (time < from || time >= until) {
+      return null;
+    }
+    int low = 0;
+    int high = segments.size() - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (segments.get(mid).getFrom() <= time) {
+        low = mid;
+      }
+      else {
+        high = mid - 1;
+      }
+    }
+    return segments.get(low);
+  }
+
+  /**
+   * Getter for the runway of the timeline
+   * @return runway
+   */
+  public Runway getRunway() {
+    return runway;
+  }
+
+  /**
+   * Getter for the landing/take-off method of the timeline
+   * @return method
+   */
+  public int getMethod() {
+    return method;
+  }
+
+  /**
+   * Getter for the start of the period
+   * @return time in epoch milliseconds (inclusive)
+   */
+  public long getFrom() {
+    return from;
+  }
+
+  /**
+   * Getter for the end of the period
+   * @return time in epoch milliseconds (exclusive)
+   */
+  public long getUntil() {
+    return until;
+  }
+
+}
@@ -0,0 +1,463 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The network recompute class. Re-declares every runway of a list of airports for each of its obstacles with all
+ * four landing/take-off methods (e.g. after a change of the rules). The values of the runways and obstacles are
+ * copied into primitive arrays when the recompute is created, so the airports do not have to stay in memory and are
+ * not read while they are edited. Obstacles are split across a ForkJoinPool and the results are written into
+ * preallocated arrays: 4 declared distances per obstacle and method, and the negative flags of the 4 methods packed
+ * into one short per obstacle. The templates every runway starts with (ob1..ob4) are not obstacles of the network.
+ */
+public class NetworkRecompute {
+
+  // Declared distances:
+  public static final int TORA = 0;
+  public static final int TODA = 1;
+  public static final int ASDA = 2;
+  public static final int LDA = 3;
+
+  // Number of obstacles calculated by one task:
+  private static final int OBSTACLES_PER_TASK = 1 << 12;
+
+  // Values stored per obstacle (4 methods x 4 declared distances):
+  private static final int VALUES_PER_OBSTACLE = 16;
+
+  // Runways of the network (copied when the recompute is created):
+  private final String[] airportNames;
+  private final String[] runwayNumbers;
+  private final RedeclarationEngine[] engines;
+  private final double[] toras;
+  private final double[] todas;
+  private final double[] asdas;
+  private final double[] ldas;
+  private final double[] displacedThresholds;
+
+  // Obstacles of all runways, runway by runway (copied when the recompute is created):
+  private final double[] heights;
+  private final double[] distances;
+
+  // Position of each runway's first obstacle (one more entry than runways):
+  private final int[] offsets;
+  private final int obstacleCount;
+
+  // Results (declared distances of each obstacle and method, negative flags of each obstacle):
+  private final float[] values;
+  private final short[] negative;
+
+  private volatile boolean cancelled = false;
+  private final AtomicLong completedObstacles = new AtomicLong();
+  private long elapsedNanos;
+
+  // Summary (calculated after a run):
+  private int[] negativeCounts;
+  private long negativeCombinations;
+
+  /**
+   * Create a new recompute of the runways of a list of airports
+   * @param airports    the airports (their runways and obstacles at this time are re-declared, each airport is
+   *                    read once, so they can be loaded one at a time)
+   */
+  public NetworkRecompute(Iterable<Airport> airports) {
+    List<String> airportNameList = new ArrayList<>();
+    List<String> runwayNumberList = new ArrayList<>();
+    List<RedeclarationEngine> engineList = new ArrayList<>();
+    List<double[]> runwayValues = new ArrayList<>();
+    List<Integer> offsetList = new ArrayList<>();
+    double[] obstacleHeights = new double[64];
+    double[] obstacleDistances = new double[64];
+    int total = 0;
+    for (Airport airport : airports) {
+      for (Runway runway : airport.getRunways()) {
+        airportNameList.add(airport.getName());
+        runwayNumberList.add(runway.getRunwayNumber());
+        engineList.add(runway.getEngine());
+        runwayValues.add(new double[] {runway.getDefaultTora(), runway.getDefaultToda(), runway.getDefaultAsda(),
+            runway.getDefaultLda(), runway.getDisplacedThreshold()});
+        offsetList.add(total);
+        List<Obstacle> obstacles = runway.getObstacles();
+        if ((long) total + obstacles.size() > (Integer.MAX_VALUE - 8) / VALUES_PER_OBSTACLE) {
+          throw new IllegalArgumentException("Too many obstacles in the network: " + ((long) total + obstacles.size()));
+        }
+        if (total + obstacles.size() > obstacleHeights.length) {
+          int capacity = Math.max(total + obstacles.size(), obstacleHeights.length * 2);
+          obstacleHeights = Arrays.copyOf(obstacleHeights, capacity);
+          obstacleDistances = Arrays.copyOf(obstacleDistances, capacity);
+        }
+        for (Obstacle obstacle : obstacles) {
+          if (!obstacle.isPredefined()) {
+            obstacleHeights[total] = obstacle.getHeight();
+            obstacleDistances[total] = obstacle.getDistanceFromThreshold();
+            total++;
+          }
+        }
+      }
+    }
+    int runwayCount = runwayNumberList.size();
+    this.airportNames = airportNameList.toArray(new String[0]);
+    this.runwayNumbers = runwayNumberList.toArray(new String[0]);
+    this.engines = engineList.toArray(new RedeclarationEngine[0]);
+    this.toras = new double[runwayCount];
+    this.todas = new double[runwayCount];
+    this.asdas = new double[runwayCount];
+    this.ldas = new double[runwayCount];
+    this.displacedThresholds = new double[runwayCount];
+    this.offsets = new int[runwayCount + 1];
+    for (int r = 0; r < runwayCount; r++) {
+      double[] runway = runwayValues.get(r);
+      toras[r] = runway[0];
+      todas[r] = runway[1];
+      asdas[r] = runway[2];
+      ldas[r] = runway[3];
+      displacedThresholds[r] = runway[4];
+      offsets[r] = offsetList.get(r);
+    }
+    offsets[runwayCount] = total;
+    this.heights = Arrays.copyOf(obstacleHeights, total);
+    this.distances = Arrays.copyOf(obstacleDistances, total);
+    this.obstacleCount = total;
+    this.values = new float[obstacleCount * VALUES_PER_OBSTACLE];
+    this.negative = new short[obstacleCount];
+  }
+
+  /**
+   * Re-declare all runways
+   * @param pool    pool that runs the calculation
+   * @return false if the recompute was cancelled
+   */
+  public boolean run(ForkJoinPool pool) {
+    completedObstacles.set(0);
+    negativeCounts = null;
+    long start = System.nanoTime();
+    pool.invoke(new ObstaclesTask(0, obstacleCount));
+    elapsedNanos = System.nanoTime() - start;
+    if (!cancelled) {
+      summarise();
+    }
+    return !cancelled;
+  }
+
+  /**
+   * Cancel a running recompute (obstacles which have not been started are skipped)
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Returns whether the recompute was cancelled
+   * @return true if cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Getter for the progress of a running recompute
+   * @return progress between 0 and 1
+   */
+  public double getProgress() {
+    return obstacleCount == 0 ? 1 : (double) completedObstacles.get() / obstacleCount;
+  }
+
+  /**
+   * Getter for the time taken by the last run
+   * @return elapsed time in milliseconds
+   */
+  public double getElapsedMillis() {
+    return elapsedNanos / 1e6;
+  }
+
+  /**
+   * Re-declare a range of obstacles (obstacles are numbered runway by runway)
+   * @param from    first obstacle
+   * @param to      obstacle after the last one
+   */
+  private void calculate(int from, int to) {
+    int r = runwayOf(from);
+    while (from < to && !cancelled) {
+      while (offsets[r + 1] <= from) {
+        r++;
+      }
+      RedeclarationEngine engine = engines[r];
+      double tora = toras[r];
+      double toda = todas[r];
+      double asda = asdas[r];
+      double lda = ldas[r];
+      double displacedThreshold = displacedThresholds[r];
+      int end = Math.min(to, offsets[r + 1]);
+      for (int i = from; i < end; i++) {
+        int base = i * VALUES_PER_OBSTACLE;
+        int flags = 0;
+        for (int method = RedeclarationEngine.LANDING_OVER; method <= RedeclarationEngine.TAKE_OFF_AWAY; method++) {
+          double value = engine.redeclare(tora, toda, asda, lda, displacedThreshold, heights[i], distances[i], method);
+          int at = base + (method - 1) * 4;
+          flags |= switch (method) {
+            case RedeclarationEngine.LANDING_OVER, RedeclarationEngine.LANDING_TOWARDS ->
+                store(at, tora, toda, asda, value);
+            //(R) ASDA = (R) TODA = (R) TORA
+            case RedeclarationEngine.TAKE_OFF_TOWARDS -> store(at, value, value, value, lda);
+            default -> store(at, value, value + toda - tora, value + asda - tora, lda);
+          } << ((method - 1) * 4);
+        }
+        negative[i] = (short) flags;
+      }
+      completedObstacles.addAndGet(end - from);
+      from = end;
+    }
+  }
+
+  /**
+   * Store the declared distances of a combination (negative values are stored as 0, see DeclaredDistances)
+   * @param at      position of the combination's TORA in the results
+   * @param tora    re-declared TORA
+   * @param toda    re-declared TODA
+   * @param asda    re-declared ASDA
+   * @param lda     re-declared LDA
+   * @return negative flags
+   */
+  private int store(int at, double tora, double toda, double asda, double lda) {
+    int flags = 0;
+    if (tora <= 0) {
+      tora = 0;
+      flags |= DeclaredDistances.NEGATIVE_TORA;
+    }
+    if (toda <= 0) {
+      toda = 0;
+      flags |= DeclaredDistances.NEGATIVE_TODA;
+    }
+    if (asda <= 0) {
+      asda = 0;
+      flags |= DeclaredDistances.NEGATIVE_ASDA;
+    }
+    if (lda <= 0) {
+      lda = 0;
+      flags |= DeclaredDistances.NEGATIVE_LDA;
+    }
+    values[at + TORA] = (float) tora;
+    values[at + TODA] = (float) toda;
+    values[at + ASDA] = (float) asda;
+    values[at + LDA] = (float) lda;
+    return flags;
+  }
+
+  /**
+   * Find the runway of an obstacle
+   * @param obstacle    obstacle number
+   * @return runway number
+   */
+  private int runwayOf(int obstacle) {
+    int low = 0;
+    int high = runwayNumbers.length - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (offsets[mid] <= obstacle) {
+        low = mid;
+      }
+      else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Count the negative outcomes of each runway
+   */
+  private void summarise() {
+    int[] counts = new int[runwayNumbers.length];
+    long combinations = 0;
+    for (int r = 0; r < runwayNumbers.length; r++) {
+      for (int i = offsets[r]; i < offsets[r + 1]; i++) {
+        int flags = negative[i];
+        for (int method = 0; method < 4; method++) {
+          if (((flags >>> (method * 4)) & 0xF) != 0) {
+            counts[r]++;
+          }
+        }
+      }
+      combinations += counts[r];
+    }
+    negativeCounts = counts;
+    negativeCombinations = combinations;
+  }
+
+  /**
+   * Getter for the number of runways in the network
+   * @return number of runways
+   */
+  public int getRunwayCount() {
+    return runwayNumbers.length;
+  }
+
+  /**
+   * Getter for the number of a runway of the network
+   * @param runway    runway number
+   * @return the runway's designator (e.g. 09L)
+   */
+  public String getRunwayNumber(int runway) {
+    return runwayNumbers[runway];
+  }
+
+  /**
+   * Getter for the name of the airport of a runway
+   * @param runway    runway number
+   * @return name of the airport
+   */
+  public String getAirportName(int runway) {
+    return airportNames[runway];
+  }
+
+  /**
+   * Getter for the number of obstacles of a runway
+   * @param runway    runway number
+   * @return number of obstacles
+   */
+  public int getObstacleCount(int runway) {
+    return offsets[runway + 1] - offsets[runway];
+  }
+
+  /**
+   * Getter for the height of an obstacle of a runway (when the recompute was created)
+   * @param runway      runway number
+   * @param obstacle    obstacle number of the runway
+   * @return obstacle height
+   */
+  public double getObstacleHeight(int runway, int obstacle) {
+    return heights[index(runway, obstacle)];
+  }
+
+  /**
+   * Getter for the distance from threshold of an obstacle of a runway (when the recompute was created)
+   * @param runway      runway number
+   * @param obstacle    obstacle number of the runway
+   * @return obstacle distance from threshold
+   */
+  public double getObstacleDistance(int runway, int obstacle) {
+    return distances[index(runway, obstacle)];
+  }
+
+  /**
+   * Getter for the number of re-declared combinations (obstacles x methods)
+   * @return number of combinations
+   */
+  public long getCombinationCount() {
+    return (long) obstacleCount * 4;
+  }
+
+  /**
+   * Getter for a re-declared value (negative values are stored as 0)
+   * @param runway      runway number
+   * @param obstacle    obstacle number of the runway
+   * @param method      the landing/take-off method
+   * @param distance    the declared distance (TORA, TODA, ASDA or LDA)
+   * @return re-declared value
+   */
+  public double getValue(int runway, int obstacle, int method, int distance) {
+    return values[index(runway, obstacle) * VALUES_PER_OBSTACLE + (method - 1) * 4 + distance];
+  }
+
+  /**
+   * Getter for the negative flags of a combination (see DeclaredDistances)
+   * @param runway      runway number
+   * @param obstacle    obstacle number of the runway
+   * @param method      the landing/take-off method
+   * @return negative flags
+   */
+  public int getNegativeFlags(int runway, int obstacle, int method) {
+    return (negative[index(runway, obstacle)] >>> ((method - 1) * 4)) & 0xF;
+  }
+
+  /**
+   * Returns whether a combination has negative re-declared values (the runway is closed for the method)
+   * @param runway      runway number
+   * @param obstacle    obstacle number of the runway
+   * @param method      the landing/take-off method
+   * @return true if negative values
+   */
+  public boolean hasNegative(int runway, int obstacle, int method) {
+    return getNegativeFlags(runway, obstacle, method) != 0;
+  }
+
+  private int index(int runway, int obstacle) {
+    if (obstacle < 0 || obstacle >= getObstacleCount(runway)) {
+      throw new IndexOutOfBoundsException("Index " + obstacle + " out of bounds for " + getObstacleCount(runway)
+          + " obstacles");
+    }
+    return offsets[runway] + obstacle;
+  }
+
+  /**
+   * Getter for the number of combinations with negative values
+   * @return number of combinations
+   */
+  public long getNegativeCount() {
+    checkRun();
+    return negativeCombinations;
+  }
+
+  /**
+   * Getter for the number of a runway's combinations with negative values
+   * @param runway    runway number
+   * @return number of combinations
+   */
+  public int getNegativeCount(int runway) {
+    checkRun();
+    return negativeCounts[runway];
+  }
+
+  /**
+   * Getter for the runways with at least one negative outcome
+   * @return runway numbers
+   */
+  public List<Integer> getNegativeRunways() {
+    checkRun();
+    List<Integer> result = new ArrayList<>();
+    for (int r = 0; r < runwayNumbers.length; r++) {
+      if (negativeCounts[r] > 0) {
+        result.add(r);
+      }
+    }
+    return result;
+  }
+
+  private void checkRun() {
+    if (negativeCounts == null) {
+      throw new IllegalStateException("The recompute has not been run");
+    }
+  }
+
+  /**
+   * Task re-declaring a range of obstacles, split in halves until it is small enough
+   */
+  private class ObstaclesTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+
+    ObstaclesTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= OBSTACLES_PER_TASK) {
+        calculate(from, to);
+      }
+      else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new ObstaclesTask(from, mid), new ObstaclesTask(mid, to));
+      }
+    }
+  }
+
+}
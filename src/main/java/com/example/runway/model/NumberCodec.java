@@ -0,0 +1,200 @@
+package com.example.runway.model;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * The number codec class. Formats numbers to 1 d.p. (same output as DecimalFormat("0.0"), rounding half-even,
+ * but always with '.' as the decimal separator) and parses decimal text straight from character buffers.
+ * The class is stateless, so it can be used from any thread without synchronisation.
+ */
+public final class NumberCodec {
+
+  // Largest value formatted on the fast path (the rounding error of value * 10 stays far below TIE_MARGIN):
+  private static final double FAST_LIMIT = 1e8;
+
+  // Distance from .5 which is too close to decide the rounding from value * 10:
+  private static final double TIE_MARGIN = 1e-6;
+
+  // Formatter for numbers outside the fast path (one per thread, DecimalFormat is not thread-safe):
+  private static final ThreadLocal<DecimalFormat> FALLBACK = ThreadLocal.withInitial(
+      () -> new DecimalFormat("0.0", DecimalFormatSymbols.getInstance(Locale.ROOT)));
+
+  // Exact powers of ten (10^22 is the largest exactly representable one):
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  private NumberCodec() {
+  }
+
+  /**
+   * Format a number to 1 d.p. (e.g. 3884 = "3884.0", -0.04 = "-0.0")
+   * @param value    the number
+   * @return formatted number
+   */
+  public static String format(double value) {
+    return appendFixed(new StringBuilder(24), value).toString();
+  }
+
+  /**
+   * Append a number formatted to 1 d.p.
+   * @param out      builder the number is appended to
+   * @param value    the number
+   * @return the builder
+   */
+  public static StringBuilder appendFixed(StringBuilder out, double value) {
+    if (!(Math.abs(value) < FAST_LIMIT)) {
+      // NaN, infinity and very large numbers:
+      return out.append(FALLBACK.get().format(value));
+    }
+    // Sign is kept for negative numbers rounding to 0 (as DecimalFormat does):
+    if (Double.doubleToRawLongBits(value) < 0) {
+      out.append('-');
+      value = -value;
+    }
+    double scaled = value * 10;
+    double floor = Math.floor(scaled);
+    double fraction = scaled - floor;
+    long tenths;
+    if (Math.abs(fraction - 0.5) > TIE_MARGIN) {
+      tenths = (long) floor + (fraction > 0.5 ? 1 : 0);
+    }
+    else {
+      // Close to a tie, decide on the exact value (value * 10 = scaled + error, the error is exact with fma):
+      double error = Math.fma(value, 10, -scaled);
+      double above = fraction - 0.5;
+      if (above != -error) {
+        tenths = (long) floor + (above > -error ? 1 : 0);
+      }
+      else {
+        tenths = (long) floor + ((long) floor & 1);
+      }
+    }
+    return out.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+  }
+
+  /**
+   * Convert a number to text without losing precision. Numbers with at most one decimal place
+   * are written in fixed-point notation (e.g. "3884.0"), others as Double.toString.
+   * @param value    the number
+   * @return number text
+   */
+  public static String toString(double value) {
+    return append(new StringBuilder(24), value).toString();
+  }
+
+  /**
+   * Append a number without losing precision (see toString(double))
+   * @param out      builder the number is appended to
+   * @param value    the number
+   * @return the builder
+   */
+  public static StringBuilder append(StringBuilder out, double value) {
+    double tenths = Math.rint(value * 10);
+    if (Math.abs(value) < FAST_LIMIT && tenths / 10 == value) {
+      return appendFixed(out, value);
+    }
+    return out.append(value);
+  }
+
+  /**
+   * Parse decimal text (leading and trailing whitespace is ignored)
+   * @param text    the text
+   * @return the number
+   * @throws NumberFormatException if the text is not a number
+   */
+  public static double parse(CharSequence text) {
+    int start = 0;
+    int end = text.length();
+    while (start < end && Character.isWhitespace(text.charAt(start))) {
+      start++;
+    }
+    while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+      end--;
+    }
+    double value = parsePlain(text, null, start, end);
+    if (Double.isNaN(value)) {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+    return value;
+  }
+
+  /**
+   * Parse decimal text from a character buffer (leading and trailing whitespace is ignored)
+   * @param buffer    the buffer
+   * @param offset    first character of the text
+   * @param length    number of characters
+   * @return the number
+   * @throws NumberFormatException if the text is not a number
+   */
+  public static double parse(char[] buffer, int offset, int length) {
+    int start = offset;
+    int end = offset + length;
+    while (start < end && Character.isWhitespace(buffer[start])) {
+      start++;
+    }
+    while (end > start && Character.isWhitespace(buffer[end - 1])) {
+      end--;
+    }
+    double value = parsePlain(null, buffer, start, end);
+    if (Double.isNaN(value)) {
+      return Double.parseDouble(new String(buffer, start, end - start));
+    }
+    return value;
+  }
+
+  /**
+   * Parse text of the form [-+]digits[.digits] with at most 15 significant digits.
+   * The result is exact (correctly rounded) because the digits and the power of ten are both exact doubles.
+   * @return the number, NaN if the text has to be parsed by Double.parseDouble
+   */
+  private static double parsePlain(CharSequence text, char[] buffer, int start, int end) {
+    if (start >= end) {
+      throw new NumberFormatException("empty String");
+    }
+    int i = start;
+    char c = charAt(text, buffer, i);
+    boolean negative = c == '-';
+    if (negative || c == '+') {
+      i++;
+    }
+    long digits = 0;
+    int significant = 0;
+    int decimals = -1;
+    boolean any = false;
+    for (; i < end; i++) {
+      c = charAt(text, buffer, i);
+      if (c >= '0' && c <= '9') {
+        any = true;
+        if (digits != 0 || c != '0') {
+          if (++significant > 15) {
+            return Double.NaN;
+          }
+        }
+        digits = digits * 10 + (c - '0');
+        if (decimals >= 0) {
+          decimals++;
+        }
+      }
+      else if (c == '.' && decimals < 0) {
+        decimals = 0;
+      }
+      else {
+        // Exponents, NaN, Infinity, hex numbers and invalid text:
+        return Double.NaN;
+      }
+    }
+    if (!any || decimals >= POWERS_OF_TEN.length) {
+      return Double.NaN;
+    }
+    double value = decimals > 0 ? digits / POWERS_OF_TEN[decimals] : digits;
+    return negative ? -value : value;
+  }
+
+  private static char charAt(CharSequence text, char[] buffer, int i) {
+    return buffer != null ? buffer[i] : text.charAt(i);
+  }
+
+}
@@ -1,11 +1,28 @@
 package com.example.runway.model;
 
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
 
 /**
  * The obstacle class. Stores parameters of an obstacle.
  */
 public class Obstacle {
 
+  // Names of the obstacle's observable properties:
+  public static final String NAME = "name";
+  public static final String HEIGHT = "height";
+  public static final String LENGTH = "length";
+  public static final String DISTANCE_CENTRE = "distanceCentre";
+  public static final String DISTANCE_THRESHOLD = "distanceThreshold";
+  public static final String VALIDITY = "validity";
+
+  // Bounds of the validity interval of a permanent obstacle:
+  public static final long ALWAYS_FROM = Long.MIN_VALUE;
+  public static final long ALWAYS_UNTIL = Long.MAX_VALUE;
+
+  // Listeners of the obstacle's properties (created when the first listener is added):
+  private PropertyChangeSupport changes;
+
   // private properties of objects in an Obstacle class
   private String name;
   private double height;
@@ -13,6 +30,14 @@ public class Obstacle {
   private double distanceCentre;
   private double distanceThreshold;
 
+  // Time the obstacle is present from (inclusive) and until (exclusive), in epoch milliseconds:
+  private long validFrom = ALWAYS_FROM;
+  private long validUntil = ALWAYS_UNTIL;
+
+  // Whether the obstacle is one of the templates every runway starts with (not stored, and not taken into account
+  // by calculations over all obstacles of a runway):
+  private final boolean predefined;
+
   /**
    * constructor of creating a new Obstacle
    * @param name                   for the Obstacle
@@ -21,6 +46,20 @@ public class Obstacle {
    * @param distanceThreshold      distance of the obstacle from the left threshold in meters
    */
   public Obstacle(String name, double height, double length, double distanceCentre, double distanceThreshold) {
+    this(name, height, length, distanceCentre, distanceThreshold, false);
+  }
+
+  /**
+   * constructor of creating a new Obstacle, or one of the templates of a new runway
+   * @param name                   for the Obstacle
+   * @param height                 highest point of the obstacle in meters
+   * @param distanceCentre         distance of the obstacle from the centreline in meters
+   * @param distanceThreshold      distance of the obstacle from the left threshold in meters
+   * @param predefined             true for a template
+   */
+  Obstacle(String name, double height, double length, double distanceCentre, double distanceThreshold,
+      boolean predefined) {
+    this.predefined = predefined;
     this.name = name;
     this.height = height;
     this.length = length;
@@ -68,12 +107,74 @@ public class Obstacle {
     return this.distanceThreshold;
   }
 
+  /**
+   * Accessor
+   * @return time the obstacle is present from in epoch milliseconds (ALWAYS_FROM if it has no start)
+   */
+  public long getValidFrom() {
+    return this.validFrom;
+  }
+
+  /**
+   * Accessor
+   * @return time the obstacle is removed in epoch milliseconds (ALWAYS_UNTIL if it has no end)
+   */
+  public long getValidUntil() {
+    return this.validUntil;
+  }
+
+  /**
+   * Returns whether the obstacle is one of the templates every runway starts with
+   * @return true for a template
+   */
+  public boolean isPredefined() {
+    return this.predefined;
+  }
+
+  /**
+   * Returns whether the obstacle is present at all times
+   * @return true if the obstacle has no validity interval
+   */
+  public boolean isPermanent() {
+    return validFrom == ALWAYS_FROM && validUntil == ALWAYS_UNTIL;
+  }
+
+  /**
+   * Returns whether the obstacle is present at a given time
+   * @param time    time in epoch milliseconds
+   * @return true if the time is in the validity interval
+   */
+  public boolean isValidAt(long time) {
+    return time >= validFrom && time < validUntil;
+  }
+
+  /**
+   * Mutator for the validity interval (ALWAYS_FROM / ALWAYS_UNTIL for an open end)
+   * @param validFrom     time the obstacle is present from in epoch milliseconds (inclusive)
+   * @param validUntil    time the obstacle is removed in epoch milliseconds (exclusive)
+   */
+  public void setValidity(long validFrom, long validUntil) {
+    if (validUntil <= validFrom) {
+      throw new IllegalArgumentException("The obstacle has to be removed after it is placed");
+    }
+    boolean changed = validFrom != this.validFrom || validUntil != this.validUntil;
+    this.validFrom = validFrom;
+    this.validUntil = validUntil;
+    if (changes != null && changed) {
+      changes.firePropertyChange(VALIDITY, null, this);
+    }
+  }
+
   /**
    * Mutator
    * @param name of the obstacle
    */
   public void setName(String name) {
+    String old = this.name;
     this.name = name;
+    if (changes != null) {
+      changes.firePropertyChange(NAME, old, name);
+    }
   }
 
   /**
@@ -81,7 +182,9 @@ public class Obstacle {
    * @param height of the obstacle
    */
   public void setHeight(double height) {
+    double old = this.height;
     this.height = height;
+    fire(HEIGHT, old, height);
   }
 
   /**
@@ -89,7 +192,9 @@ public class Obstacle {
    * @param length of the obstacle
    */
   public void setLength(double length) {
+    double old = this.length;
     this.length = length;
+    fire(LENGTH, old, length);
   }
 
   /**
@@ -98,7 +203,9 @@ public class Obstacle {
    * @param distanceCentre of the obstacle
    */
   public void setDistanceCentre(double distanceCentre) {
+    double old = this.distanceCentre;
     this.distanceCentre = distanceCentre;
+    fire(DISTANCE_CENTRE, old, distanceCentre);
   }
 
   /**
@@ -106,7 +213,36 @@ public class Obstacle {
    * @param distanceThreshold of the obstacle
    */
   public void setDistanceThreshold(double distanceThreshold) {
+    double old = this.distanceThreshold;
     this.distanceThreshold = distanceThreshold;
+    fire(DISTANCE_THRESHOLD, old, distanceThreshold);
+  }
+
+  /**
+   * Add a listener notified when any property of the obstacle changes
+   * @param listener    the listener
+   */
+  public void addPropertyChangeListener(PropertyChangeListener listener) {
+    if (changes == null) {
+      changes = new PropertyChangeSupport(this);
+    }
+    changes.addPropertyChangeListener(listener);
+  }
+
+  /**
+   * Remove a listener of the obstacle's properties
+   * @param listener    the listener
+   */
+  public void removePropertyChangeListener(PropertyChangeListener listener) {
+    if (changes != null) {
+      changes.removePropertyChangeListener(listener);
+    }
+  }
+
+  private void fire(String property, double oldValue, double newValue) {
+    if (changes != null && Double.compare(oldValue, newValue) != 0) {
+      changes.firePropertyChange(property, oldValue, newValue);
+    }
   }
 
 }
@@ -0,0 +1,180 @@
+package com.example.runway.model;
+
+import java.util.Arrays;
+
+/**
+ * The obstacle index class. Keeps a runway's obstacles sorted by distance from threshold
+ * and finds the obstacle that limits the re-declared values the most (the governing obstacle).
+ */
+public class ObstacleIndex {
+
+  // Obstacles sorted by distance from threshold:
+  private Obstacle[] sorted = new Obstacle[8];
+  private int size = 0;
+
+  // Highest obstacle of the index (used for cutting off the search early):
+  private double maxHeight = 0;
+  private boolean maxHeightValid = true;
+
+  /**
+   * Getter for number of indexed obstacles
+   * @return number of obstacles
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Getter for an obstacle by its position in the index
+   * @param i    position (0 = closest to threshold)
+   * @return obstacle
+   */
+  public Obstacle get(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + size);
+    }
+    return sorted[i];
+  }
+
+  /**
+   * Add an obstacle to the index
+   * @param obstacle    the obstacle
+   */
+  public void add(Obstacle obstacle) {
+    if (size == sorted.length) {
+      sorted = Arrays.copyOf(sorted, size * 2);
+    }
+    int position = insertionPoint(obstacle.getDistanceFromThreshold());
+    System.arraycopy(sorted, position, sorted, position + 1, size - position);
+    sorted[position] = obstacle;
+    size++;
+    if (maxHeightValid) {
+      maxHeight = Math.max(maxHeight, obstacle.getHeight());
+    }
+  }
+
+  /**
+   * Remove an obstacle from the index
+   * @param obstacle    the obstacle
+   * @return true if the obstacle was indexed
+   */
+  public boolean remove(Obstacle obstacle) {
+    for (int i = 0; i < size; i++) {
+      if (sorted[i] == obstacle) {
+        System.arraycopy(sorted, i + 1, sorted, i, size - i - 1);
+        sorted[--size] = null;
+        maxHeightValid = false;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Move an obstacle to its new position after its distance from threshold or height was modified
+   * @param obstacle    the obstacle
+   */
+  public void update(Obstacle obstacle) {
+    if (remove(obstacle)) {
+      add(obstacle);
+    }
+  }
+
+  /**
+   * Find the first position whose obstacle is further from threshold than the given distance
+   * @param distance    distance from threshold
+   * @return position
+   */
+  private int insertionPoint(double distance) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid].getDistanceFromThreshold() <= distance) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Getter for the height of the highest indexed obstacle
+   * @return max height
+   */
+  private double getMaxHeight() {
+    if (!maxHeightValid) {
+      maxHeight = 0;
+      for (int i = 0; i < size; i++) {
+        maxHeight = Math.max(maxHeight, sorted[i].getHeight());
+      }
+      maxHeightValid = true;
+    }
+    return maxHeight;
+  }
+
+  /**
+   * Find the obstacle that results in the lowest re-declared values for a landing/take-off method.
+   * Landing towards / take-off away are answered directly from the ends of the index,
+   * landing over / take-off towards scan the index and stop once no further obstacle can be worse.
+   * @param method    the landing/take-off method
+   * @param engine    engine holding the slope used for the calculations
+   * @return governing obstacle (null if there are no obstacles)
+   */
+  public Obstacle getGoverning(int method, RedeclarationEngine engine) {
+    if (size == 0) {
+      return null;
+    }
+    double slope = engine.getSlopeValue();
+    double heightTerm = getMaxHeight() * slope;
+    switch (method) {
+      // LDA = obstacle distance from threshold - RESA - new strip end:
+      case RedeclarationEngine.LANDING_TOWARDS:
+        return sorted[0];
+      // TORA = TORA - obstacle distance from threshold - ...:
+      case RedeclarationEngine.TAKE_OFF_AWAY:
+        return sorted[size - 1];
+      // LDA = LDA - obstacle distance from threshold - h * slope - ... (largest distance + h * slope):
+      case RedeclarationEngine.LANDING_OVER: {
+        Obstacle governing = null;
+        double worst = Double.NEGATIVE_INFINITY;
+        for (int i = size - 1; i >= 0; i--) {
+          Obstacle obstacle = sorted[i];
+          double distance = obstacle.getDistanceFromThreshold();
+          if (distance + heightTerm <= worst) {
+            break;
+          }
+          double value = distance + obstacle.getHeight() * slope;
+          if (value > worst) {
+            worst = value;
+            governing = obstacle;
+          }
+        }
+        return governing;
+      }
+      // TORA = obstacle distance from threshold + ... - h * slope - ... (smallest distance - h * slope):
+      case RedeclarationEngine.TAKE_OFF_TOWARDS: {
+        Obstacle governing = null;
+        double worst = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+          Obstacle obstacle = sorted[i];
+          double distance = obstacle.getDistanceFromThreshold();
+          if (distance - heightTerm >= worst) {
+            break;
+          }
+          double value = distance - obstacle.getHeight() * slope;
+          if (value < worst) {
+            worst = value;
+            governing = obstacle;
+          }
+        }
+        return governing;
+      }
+      default:
+        throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    }
+  }
+
+}
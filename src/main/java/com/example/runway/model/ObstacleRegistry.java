@@ -0,0 +1,327 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The obstacle registry class. Stores the surveyed obstacles of an airport in airport coordinates, in a uniform grid.
+ * A positioned runway queries the grid cells covering its cleared and graded area, and the obstacles inside the area
+ * are projected into the runway's frame (distance from threshold along the centre line, distance from centre line)
+ * and added to the runway as ordinary obstacles. The same obstacle is shared by crossing and parallel runways.
+ */
+public class ObstacleRegistry {
+
+  // Size of a grid cell in metres:
+  public static final double CELL_SIZE = 250;
+
+  // Cleared and graded area (distance either side of the centre line, distance beyond the runway ends):
+  public static final double CLEARED_HALF_WIDTH = 75;
+  public static final double STRIP_END = 60;
+
+  // Obstacles of each grid cell (cell coordinates packed into a long):
+  private final Map<Long, List<SurveyedObstacle>> cells = new HashMap<>();
+  private final List<SurveyedObstacle> obstacles = new ArrayList<>();
+
+  // Obstacles added to each runway (surveyed obstacle -> obstacle in the runway's frame):
+  private final Map<Runway, Map<SurveyedObstacle, Obstacle>> projections = new IdentityHashMap<>();
+  // The same projections the other way round (obstacle in the runway's frame -> surveyed obstacle):
+  private final Map<Runway, Map<Obstacle, SurveyedObstacle>> sources = new IdentityHashMap<>();
+
+  /**
+   * Getter for number of surveyed obstacles
+   * @return number of obstacles
+   */
+  public int size() {
+    return obstacles.size();
+  }
+
+  /**
+   * Getter for the surveyed obstacles
+   * @return obstacles (in the order they were added)
+   */
+  public List<SurveyedObstacle> getObstacles() {
+    return Collections.unmodifiableList(obstacles);
+  }
+
+  /**
+   * Getter for a surveyed obstacle by its name
+   * @param name    the name
+   * @return obstacle (null if the registry does not have it)
+   */
+  public SurveyedObstacle getObstacle(String name) {
+    for (SurveyedObstacle obstacle : obstacles) {
+      if (obstacle.getName().equals(name)) {
+        return obstacle;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Add a surveyed obstacle (runways are updated by apply)
+   * @param obstacle    the obstacle
+   */
+  public void add(SurveyedObstacle obstacle) {
+    obstacles.add(obstacle);
+    cells.computeIfAbsent(cell(obstacle.getX(), obstacle.getY()), c -> new ArrayList<>()).add(obstacle);
+  }
+
+  /**
+   * Remove a surveyed obstacle, and its projections from the runways
+   * @param obstacle    the obstacle
+   * @return true if the registry had the obstacle
+   */
+  public boolean remove(SurveyedObstacle obstacle) {
+    return remove(obstacle, null);
+  }
+
+  /**
+   * Remove a surveyed obstacle, and its projections from the runways. Results depending on the projections are
+   * marked dirty in the recalculation graph.
+   * @param obstacle    the obstacle
+   * @param graph       recalculation graph of the airport (null if not needed)
+   * @return true if the registry had the obstacle
+   */
+  public boolean remove(SurveyedObstacle obstacle, RecalculationGraph graph) {
+    if (!obstacles.remove(obstacle)) {
+      return false;
+    }
+    removeFromCell(obstacle);
+    for (Map.Entry<Runway, Map<SurveyedObstacle, Obstacle>> entry : projections.entrySet()) {
+      Obstacle projected = entry.getValue().remove(obstacle);
+      if (projected != null) {
+        Runway runway = entry.getKey();
+        sources.get(runway).remove(projected);
+        runway.removeObstacle(projected);
+        if (graph != null) {
+          graph.obstacleRemoved(projected);
+        }
+        if (runway.getCurrentObstacle() == projected) {
+          runway.setCurrentObstacle(null);
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Write an edited projection back to its surveyed obstacle: the name, height and length are copied, and the
+   * obstacle is moved to the position of the projection's distances (on the same side of the centre line).
+   * The other runways are updated by apply.
+   * @param runway       the runway of the projection (positioned)
+   * @param projected    the edited obstacle
+   * @return the surveyed obstacle (null if the obstacle is not a projection)
+   */
+  public SurveyedObstacle update(Runway runway, Obstacle projected) {
+    SurveyedObstacle obstacle = getSource(runway, projected);
+    if (obstacle == null) {
+      return null;
+    }
+    double radians = Math.toRadians(runway.getHeading());
+    double alongX = Math.sin(radians);
+    double alongY = Math.cos(radians);
+    double dx = obstacle.getX() - runway.getThresholdX();
+    double dy = obstacle.getY() - runway.getThresholdY();
+    double side = dx * alongY - dy * alongX < 0 ? -1 : 1;
+    double along = projected.getDistanceFromThreshold();
+    double across = side * projected.getDistanceCentre();
+    move(obstacle, runway.getThresholdX() + along * alongX + across * alongY,
+        runway.getThresholdY() + along * alongY - across * alongX);
+    obstacle.setName(projected.getName());
+    obstacle.setHeight(projected.getHeight());
+    obstacle.setLength(projected.getLength());
+    return obstacle;
+  }
+
+  /**
+   * Move a surveyed obstacle (runways are updated by apply)
+   * @param obstacle    the obstacle
+   * @param x           metres east of the airport's reference point
+   * @param y           metres north of the airport's reference point
+   */
+  public void move(SurveyedObstacle obstacle, double x, double y) {
+    removeFromCell(obstacle);
+    obstacle.setPosition(x, y);
+    cells.computeIfAbsent(cell(x, y), c -> new ArrayList<>()).add(obstacle);
+  }
+
+  private void removeFromCell(SurveyedObstacle obstacle) {
+    long key = cell(obstacle.getX(), obstacle.getY());
+    List<SurveyedObstacle> cell = cells.get(key);
+    if (cell != null) {
+      cell.remove(obstacle);
+      if (cell.isEmpty()) {
+        cells.remove(key);
+      }
+    }
+  }
+
+  private static long cell(double x, double y) {
+    return pack((int) Math.floor(x / CELL_SIZE), (int) Math.floor(y / CELL_SIZE));
+  }
+
+  private static long pack(int cellX, int cellY) {
+    return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Find the surveyed obstacles in a runway's cleared and graded area
+   * (from the start of the runway to the end of TORA, extended by the strip ends)
+   * @param runway    the runway (has to be positioned)
+   * @return obstacles in the area
+   */
+  public List<SurveyedObstacle> query(Runway runway) {
+    if (!runway.hasPosition()) {
+      throw new IllegalArgumentException("Runway " + runway.getRunwayNumber() + " is not positioned");
+    }
+    double radians = Math.toRadians(runway.getHeading());
+    double alongX = Math.sin(radians);
+    double alongY = Math.cos(radians);
+    double start = -runway.getDisplacedThreshold() - STRIP_END;
+    double end = runway.getDefaultTora() - runway.getDisplacedThreshold() + STRIP_END;
+
+    // Bounding box of the area's corners:
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    for (double along : new double[] {start, end}) {
+      for (double across : new double[] {-CLEARED_HALF_WIDTH, CLEARED_HALF_WIDTH}) {
+        double x = runway.getThresholdX() + along * alongX + across * alongY;
+        double y = runway.getThresholdY() + along * alongY - across * alongX;
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        maxX = Math.max(maxX, x);
+        maxY = Math.max(maxY, y);
+      }
+    }
+
+    // Only the cells covering the box are searched:
+    List<SurveyedObstacle> result = new ArrayList<>();
+    int fromX = (int) Math.floor(minX / CELL_SIZE);
+    int toX = (int) Math.floor(maxX / CELL_SIZE);
+    int fromY = (int) Math.floor(minY / CELL_SIZE);
+    int toY = (int) Math.floor(maxY / CELL_SIZE);
+    for (int cellX = fromX; cellX <= toX; cellX++) {
+      for (int cellY = fromY; cellY <= toY; cellY++) {
+        List<SurveyedObstacle> cell = cells.get(pack(cellX, cellY));
+        if (cell == null) {
+          continue;
+        }
+        for (SurveyedObstacle obstacle : cell) {
+          double dx = obstacle.getX() - runway.getThresholdX();
+          double dy = obstacle.getY() - runway.getThresholdY();
+          double along = dx * alongX + dy * alongY;
+          double across = dx * alongY - dy * alongX;
+          if (along >= start && along <= end && Math.abs(across) <= CLEARED_HALF_WIDTH) {
+            result.add(obstacle);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Project a surveyed obstacle into a runway's frame
+   * @param runway      the runway (has to be positioned)
+   * @param obstacle    the obstacle
+   * @return obstacle with its distances from the runway's threshold and centre line
+   */
+  public static Obstacle project(Runway runway, SurveyedObstacle obstacle) {
+    Obstacle projected = new Obstacle(obstacle.getName(), obstacle.getHeight(), obstacle.getLength(), 0, 0);
+    setDistances(runway, obstacle, projected);
+    return projected;
+  }
+
+  private static void setDistances(Runway runway, SurveyedObstacle obstacle, Obstacle projected) {
+    double radians = Math.toRadians(runway.getHeading());
+    double dx = obstacle.getX() - runway.getThresholdX();
+    double dy = obstacle.getY() - runway.getThresholdY();
+    projected.setDistanceThreshold(dx * Math.sin(radians) + dy * Math.cos(radians));
+    projected.setDistanceCentre(Math.abs(dx * Math.cos(radians) - dy * Math.sin(radians)));
+    projected.setHeight(obstacle.getHeight());
+    projected.setLength(obstacle.getLength());
+    projected.setName(obstacle.getName());
+  }
+
+  /**
+   * Bring a runway's projected obstacles up to date: obstacles which entered its area are added, obstacles which
+   * moved are updated and obstacles which left it are removed. Results depending on them are marked dirty
+   * in the recalculation graph.
+   * @param runway    the runway (a runway which is not positioned has no projected obstacles)
+   * @param graph     recalculation graph of the runway's airport
+   */
+  public void apply(Runway runway, RecalculationGraph graph) {
+    Map<SurveyedObstacle, Obstacle> current = projections.computeIfAbsent(runway, r -> new IdentityHashMap<>());
+    Map<SurveyedObstacle, Obstacle> updated = new IdentityHashMap<>();
+    Map<Obstacle, SurveyedObstacle> updatedSources = new IdentityHashMap<>();
+    if (runway.hasPosition()) {
+      for (SurveyedObstacle obstacle : query(runway)) {
+        Obstacle projected = current.remove(obstacle);
+        if (projected == null) {
+          projected = project(runway, obstacle);
+          runway.addObstacle(projected);
+        }
+        else {
+          double distance = projected.getDistanceFromThreshold();
+          double height = projected.getHeight();
+          setDistances(runway, obstacle, projected);
+          if (distance != projected.getDistanceFromThreshold() || height != projected.getHeight()) {
+            graph.obstacleChanged(projected);
+          }
+        }
+        updated.put(obstacle, projected);
+        updatedSources.put(projected, obstacle);
+      }
+    }
+    // Obstacles which are no longer in the area:
+    for (Iterator<Obstacle> it = current.values().iterator(); it.hasNext(); ) {
+      Obstacle projected = it.next();
+      runway.removeObstacle(projected);
+      graph.obstacleRemoved(projected);
+      if (runway.getCurrentObstacle() == projected) {
+        runway.setCurrentObstacle(null);
+      }
+    }
+    projections.put(runway, updated);
+    sources.put(runway, updatedSources);
+  }
+
+  /**
+   * Forget the projected obstacles of a deleted runway
+   * @param runway    the runway
+   */
+  public void forget(Runway runway) {
+    projections.remove(runway);
+    sources.remove(runway);
+  }
+
+  /**
+   * Getter for the surveyed obstacle a runway's obstacle was projected from
+   * @param runway      the runway
+   * @param obstacle    the obstacle
+   * @return the surveyed obstacle (null if the obstacle is not a projection)
+   */
+  public SurveyedObstacle getSource(Runway runway, Obstacle obstacle) {
+    Map<Obstacle, SurveyedObstacle> projected = sources.get(runway);
+    return projected != null ? projected.get(obstacle) : null;
+  }
+
+  /**
+   * Returns whether an obstacle of a runway was projected from the registry
+   * @param runway      the runway
+   * @param obstacle    the obstacle
+   * @return true if the obstacle is a projection of a surveyed obstacle
+   */
+  public boolean isProjected(Runway runway, Obstacle obstacle) {
+    Map<Obstacle, SurveyedObstacle> projected = sources.get(runway);
+    return projected != null && projected.containsKey(obstacle);
+  }
+
+}
@@ -0,0 +1,283 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The obstacle table class. Stores the parameters of many obstacles in parallel primitive arrays
+ * (one column per parameter), so bulk re-declarations can run over them in a tight loop.
+ */
+public class ObstacleTable {
+
+  // Vector kernel used for bulk calculations (null if jdk.incubator.vector is not available):
+  private static final Kernel KERNEL = loadKernel();
+
+  // Obstacle names are stored once and referenced by id:
+  private final List<String> names = new ArrayList<>();
+  private final Map<String, Integer> nameIds = new HashMap<>();
+
+  // Columns:
+  private int[] nameColumn;
+  private double[] heights;
+  private double[] lengths;
+  private double[] distancesCentre;
+  private double[] distancesThreshold;
+  private int size = 0;
+
+  /**
+   * Create a new empty obstacle table
+   */
+  public ObstacleTable() {
+    this(16);
+  }
+
+  /**
+   * Create a new empty obstacle table
+   * @param capacity    initial number of rows
+   */
+  public ObstacleTable(int capacity) {
+    capacity = Math.max(capacity, 1);
+    nameColumn = new int[capacity];
+    heights = new double[capacity];
+    lengths = new double[capacity];
+    distancesCentre = new double[capacity];
+    distancesThreshold = new double[capacity];
+  }
+
+  /**
+   * Create an obstacle table holding the given obstacles
+   * @param obstacles    the obstacles
+   * @return obstacle table
+   */
+  public static ObstacleTable of(List<Obstacle> obstacles) {
+    ObstacleTable table = new ObstacleTable(obstacles.size());
+    for (Obstacle obstacle : obstacles) {
+      table.add(obstacle);
+    }
+    return table;
+  }
+
+  /**
+   * Getter for number of rows
+   * @return number of obstacles
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Add a row to the table
+   * @param name                 obstacle name
+   * @param height               obstacle height
+   * @param length               obstacle length
+   * @param distanceCentre       obstacle distance from centreline
+   * @param distanceThreshold    obstacle distance from threshold
+   * @return row of the new obstacle
+   */
+  public int add(String name, double height, double length, double distanceCentre, double distanceThreshold) {
+    if (size == heights.length) {
+      int capacity = size * 2;
+      nameColumn = Arrays.copyOf(nameColumn, capacity);
+      heights = Arrays.copyOf(heights, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      distancesCentre = Arrays.copyOf(distancesCentre, capacity);
+      distancesThreshold = Arrays.copyOf(distancesThreshold, capacity);
+    }
+    set(size, name, height, length, distanceCentre, distanceThreshold);
+    return size++;
+  }
+
+  /**
+   * Add an obstacle to the table
+   * @param obstacle    the obstacle
+   * @return row of the obstacle
+   */
+  public int add(Obstacle obstacle) {
+    return add(obstacle.getName(), obstacle.getHeight(), obstacle.getLength(), obstacle.getDistanceCentre(),
+        obstacle.getDistanceFromThreshold());
+  }
+
+  /**
+   * Overwrite a row with an obstacle's current parameters
+   * @param row         the row
+   * @param obstacle    the obstacle
+   */
+  public void set(int row, Obstacle obstacle) {
+    checkRow(row);
+    set(row, obstacle.getName(), obstacle.getHeight(), obstacle.getLength(), obstacle.getDistanceCentre(),
+        obstacle.getDistanceFromThreshold());
+  }
+
+  private void set(int row, String name, double height, double length, double distanceCentre, double distanceThreshold) {
+    nameColumn[row] = nameId(name);
+    heights[row] = height;
+    lengths[row] = length;
+    distancesCentre[row] = distanceCentre;
+    distancesThreshold[row] = distanceThreshold;
+  }
+
+  /**
+   * Remove a row (following rows move up by one)
+   * @param row    the row
+   */
+  public void remove(int row) {
+    checkRow(row);
+    int moved = size - row - 1;
+    System.arraycopy(nameColumn, row + 1, nameColumn, row, moved);
+    System.arraycopy(heights, row + 1, heights, row, moved);
+    System.arraycopy(lengths, row + 1, lengths, row, moved);
+    System.arraycopy(distancesCentre, row + 1, distancesCentre, row, moved);
+    System.arraycopy(distancesThreshold, row + 1, distancesThreshold, row, moved);
+    size--;
+  }
+
+  /**
+   * Get the id of a name, adding it to the name table if needed
+   * @param name    obstacle name
+   * @return name id
+   */
+  private int nameId(String name) {
+    Integer id = nameIds.get(name);
+    if (id == null) {
+      id = names.size();
+      names.add(name);
+      nameIds.put(name, id);
+    }
+    return id;
+  }
+
+  private void checkRow(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+    }
+  }
+
+  /**
+   * Getter for an obstacle's name id
+   * @param row    the row
+   * @return name id
+   */
+  public int getNameId(int row) {
+    checkRow(row);
+    return nameColumn[row];
+  }
+
+  /**
+   * Getter for an obstacle's name
+   * @param row    the row
+   * @return name
+   */
+  public String getName(int row) {
+    return names.get(getNameId(row));
+  }
+
+  /**
+   * Getter for an obstacle's height
+   * @param row    the row
+   * @return height
+   */
+  public double getHeight(int row) {
+    checkRow(row);
+    return heights[row];
+  }
+
+  /**
+   * Getter for an obstacle's length
+   * @param row    the row
+   * @return length
+   */
+  public double getLength(int row) {
+    checkRow(row);
+    return lengths[row];
+  }
+
+  /**
+   * Getter for an obstacle's distance from centreline
+   * @param row    the row
+   * @return distance from centreline
+   */
+  public double getDistanceCentre(int row) {
+    checkRow(row);
+    return distancesCentre[row];
+  }
+
+  /**
+   * Getter for an obstacle's distance from threshold
+   * @param row    the row
+   * @return distance from threshold
+   */
+  public double getDistanceThreshold(int row) {
+    checkRow(row);
+    return distancesThreshold[row];
+  }
+
+  /**
+   * Create an obstacle object from a row
+   * @param row    the row
+   * @return obstacle
+   */
+  public Obstacle toObstacle(int row) {
+    return new Obstacle(getName(row), heights[row], lengths[row], distancesCentre[row], distancesThreshold[row]);
+  }
+
+  // Column access for bulk calculations:
+  double[] heightColumn() {
+    return heights;
+  }
+
+  double[] thresholdColumn() {
+    return distancesThreshold;
+  }
+
+  /**
+   * Calculate out[i] = max(0, base + sa * a[i] + sb * b[i]) for the first n rows with the vector kernel
+   * (row by row if it is not loaded)
+   */
+  static void affine(double base, double sa, double[] a, double sb, double[] b, double[] out, int n) {
+    if (KERNEL != null) {
+      KERNEL.affine(base, sa, a, sb, b, out, n);
+    }
+    else {
+      for (int i = 0; i < n; i++) {
+        out[i] = Math.max(0, base + sa * a[i] + sb * b[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns whether bulk calculations use the jdk.incubator.vector API
+   * @return true if vectorised
+   */
+  public static boolean isVectorised() {
+    return KERNEL != null;
+  }
+
+  /**
+   * Load the vector kernel if the incubator module is present (--add-modules jdk.incubator.vector),
+   * bulk calculations use the engine's scalar kernel otherwise. Can be disabled with -Drunway.vector=false.
+   */
+  private static Kernel loadKernel() {
+    if (!"false".equals(System.getProperty("runway.vector"))
+        && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+      try {
+        return (Kernel) Class.forName("com.example.runway.model.VectorKernel")
+            .getDeclaredConstructor().newInstance();
+      }
+      catch (ReflectiveOperationException | LinkageError e) {
+        // Vector kernel not on the class path, use the scalar loop
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Bulk calculation kernel
+   */
+  interface Kernel {
+    void affine(double base, double sa, double[] a, double sb, double[] b, double[] out, int n);
+  }
+
+}
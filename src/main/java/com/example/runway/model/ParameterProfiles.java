@@ -0,0 +1,266 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The parameter profiles class. Stores named sets of predefined terms (RESA, slope, strip end, blast allowance),
+ * e.g. one per aircraft type, with the take-off run and landing distance the aircraft needs, in parallel arrays.
+ * A runway/obstacle can be evaluated against every profile at once.
+ * The arrays are never modified once they are published: adding or modifying a profile (synchronized) publishes a
+ * modified copy, so calculations read one consistent table without locking.
+ */
+public class ParameterProfiles {
+
+  // Profile used by runways unless another one is chosen:
+  public static final int DEFAULT = 0;
+
+  // Table shared by all runways:
+  private static final ParameterProfiles SHARED = createShared();
+
+  // Current columns:
+  private volatile Columns columns = new Columns(0);
+
+  /**
+   * Create the shared table with the default profiles (aircraft types are added from the profiles file at launch)
+   * @return profile table
+   */
+  private static ParameterProfiles createShared() {
+    ParameterProfiles profiles = new ParameterProfiles();
+    //minimum RESA is typically 240m wide, slope of 1:50 is assumed, new strip end is typically 60m,
+    //engine blast allowance for obstacles behind is typically 300 - 500m (depends on aircraft)
+    profiles.add("Default", 240, 50, 60, 300, 0, 0);
+    profiles.add("Heavy (500m blast allowance)", 240, 50, 60, 500, 0, 0);
+    return profiles;
+  }
+
+  /**
+   * Getter for the profile table shared by all runways
+   * @return profile table
+   */
+  public static ParameterProfiles getShared() {
+    return SHARED;
+  }
+
+  /**
+   * Add a new profile
+   * @param name                    profile name (e.g. aircraft type)
+   * @param resa                    the RESA value
+   * @param slopeValue              the slope (1:slopeValue)
+   * @param newStripEnd             the new strip end value
+   * @param engineBlastAllowance    the engine blast allowance
+   * @param requiredTora            take-off run the aircraft needs (0 if not set)
+   * @param requiredLda             landing distance the aircraft needs (0 if not set)
+   * @return id of the new profile
+   */
+  public synchronized int add(String name, double resa, double slopeValue, double newStripEnd,
+      double engineBlastAllowance, double requiredTora, double requiredLda) {
+    if (indexOf(name) >= 0) {
+      throw new IllegalArgumentException("Profile already exists: " + name);
+    }
+    Columns copy = columns.copy(columns.size + 1);
+    copy.set(columns.size, name, resa, slopeValue, newStripEnd, engineBlastAllowance, requiredTora, requiredLda);
+    columns = copy;
+    return copy.size - 1;
+  }
+
+  /**
+   * Modify a profile (runways using it are re-declared with the new terms when they are next calculated)
+   * @param profile                 profile id
+   * @param name                    profile name (e.g. aircraft type)
+   * @param resa                    the RESA value
+   * @param slopeValue              the slope (1:slopeValue)
+   * @param newStripEnd             the new strip end value
+   * @param engineBlastAllowance    the engine blast allowance
+   * @param requiredTora            take-off run the aircraft needs (0 if not set)
+   * @param requiredLda             landing distance the aircraft needs (0 if not set)
+   */
+  public synchronized void set(int profile, String name, double resa, double slopeValue, double newStripEnd,
+      double engineBlastAllowance, double requiredTora, double requiredLda) {
+    Columns current = columns;
+    current.check(profile);
+    int existing = indexOf(name);
+    if (existing >= 0 && existing != profile) {
+      throw new IllegalArgumentException("Profile already exists: " + name);
+    }
+    Columns copy = current.copy(current.size);
+    copy.set(profile, name, resa, slopeValue, newStripEnd, engineBlastAllowance, requiredTora, requiredLda);
+    columns = copy;
+  }
+
+  /**
+   * Getter for number of profiles
+   * @return number of profiles
+   */
+  public int size() {
+    return columns.size;
+  }
+
+  /**
+   * Find a profile by its name
+   * @param name    profile name
+   * @return profile id (-1 if there is no such profile)
+   */
+  public int indexOf(String name) {
+    Columns current = columns;
+    for (int i = 0; i < current.size; i++) {
+      if (current.names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Getter for profile names
+   * @return names of all profiles
+   */
+  public List<String> getNames() {
+    Columns current = columns;
+    return new ArrayList<>(Arrays.asList(current.names).subList(0, current.size));
+  }
+
+  /**
+   * Getter for a profile's name
+   * @param profile    profile id
+   * @return name
+   */
+  public String getName(int profile) {
+    Columns current = columns;
+    current.check(profile);
+    return current.names[profile];
+  }
+
+  /**
+   * Getter for the engine using a profile's terms
+   * @param profile    profile id
+   * @return re-declaration engine
+   */
+  public RedeclarationEngine getEngine(int profile) {
+    Columns current = columns;
+    current.check(profile);
+    return current.engines[profile];
+  }
+
+  /**
+   * Getter for the take-off run a profile's aircraft needs
+   * @param profile    profile id
+   * @return required TORA (0 if not set)
+   */
+  public double getRequiredTora(int profile) {
+    Columns current = columns;
+    current.check(profile);
+    return current.requiredToras[profile];
+  }
+
+  /**
+   * Getter for the landing distance a profile's aircraft needs
+   * @param profile    profile id
+   * @return required LDA (0 if not set)
+   */
+  public double getRequiredLda(int profile) {
+    Columns current = columns;
+    current.check(profile);
+    return current.requiredLdas[profile];
+  }
+
+  /**
+   * Re-calculate the runway's default values for an obstacle with every profile at once.
+   * Stores the re-declared LDA (landing methods) or TORA (take-off methods) of each profile, negative values are set to 0.
+   * @param runway      the runway (only its default values are read)
+   * @param obstacle    the obstacle
+   * @param method      the landing/take-off method
+   * @param out         array for the results (at least size() long)
+   */
+  public void calculateAll(Runway runway, Obstacle obstacle, int method, double[] out) {
+    calculateAll(columns, runway, obstacle, method, out);
+  }
+
+  private static void calculateAll(Columns current, Runway runway, Obstacle obstacle, int method, double[] out) {
+    int n = current.size;
+    if (out.length < n) {
+      throw new IllegalArgumentException("Result array too short: " + out.length + " < " + n);
+    }
+    double tora = runway.getDefaultTora();
+    double toda = runway.getDefaultToda();
+    double asda = runway.getDefaultAsda();
+    double lda = runway.getDefaultLda();
+    double displacedThreshold = runway.getDisplacedThreshold();
+    double height = obstacle.getHeight();
+    double distance = obstacle.getDistanceFromThreshold();
+    for (int i = 0; i < n; i++) {
+      out[i] = Math.max(0, current.engines[i].redeclare(tora, toda, asda, lda, displacedThreshold, height, distance,
+          method));
+    }
+  }
+
+  /**
+   * Find the profiles whose aircraft can still land/take-off after re-declaring the runway for an obstacle
+   * (the re-declared value has to be positive and at least the profile's required LDA / TORA)
+   * @param runway      the runway (only its default values are read)
+   * @param obstacle    the obstacle
+   * @param method      the landing/take-off method
+   * @return ids of the profiles which can operate
+   */
+  public List<Integer> getOperatingProfiles(Runway runway, Obstacle obstacle, int method) {
+    Columns current = columns;
+    double[] values = new double[current.size];
+    calculateAll(current, runway, obstacle, method, values);
+    double[] required = method <= RedeclarationEngine.LANDING_TOWARDS ? current.requiredLdas : current.requiredToras;
+    List<Integer> operating = new ArrayList<>();
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] > 0 && values[i] >= required[i]) {
+        operating.add(i);
+      }
+    }
+    return operating;
+  }
+
+  /**
+   * Columns of the profiles (only modified before they are published)
+   */
+  private static final class Columns {
+
+    private final String[] names;
+    // Engine of each profile, holding its terms (engines are immutable, so they are created once):
+    private final RedeclarationEngine[] engines;
+    // Distances the aircraft needs (0 = not set):
+    private final double[] requiredToras;
+    private final double[] requiredLdas;
+    private final int size;
+
+    Columns(int size) {
+      this(new String[size], new RedeclarationEngine[size], new double[size], new double[size], size);
+    }
+
+    private Columns(String[] names, RedeclarationEngine[] engines, double[] requiredToras, double[] requiredLdas,
+        int size) {
+      this.names = names;
+      this.engines = engines;
+      this.requiredToras = requiredToras;
+      this.requiredLdas = requiredLdas;
+      this.size = size;
+    }
+
+    Columns copy(int size) {
+      return new Columns(Arrays.copyOf(names, size), Arrays.copyOf(engines, size),
+          Arrays.copyOf(requiredToras, size), Arrays.copyOf(requiredLdas, size), size);
+    }
+
+    void set(int profile, String name, double resa, double slopeValue, double newStripEnd,
+        double engineBlastAllowance, double requiredTora, double requiredLda) {
+      names[profile] = name;
+      engines[profile] = new RedeclarationEngine(resa, slopeValue, newStripEnd, engineBlastAllowance);
+      requiredToras[profile] = requiredTora;
+      requiredLdas[profile] = requiredLda;
+    }
+
+    void check(int profile) {
+      if (profile < 0 || profile >= size) {
+        throw new IndexOutOfBoundsException("Profile " + profile + " out of bounds for size " + size);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,215 @@
+package com.example.runway.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The parameter sweep class. Re-declares a runway for a grid of obstacle heights and distances from threshold
+ * ("what-if" analysis). The grid is split across a ForkJoinPool and the results are written into a preallocated matrix.
+ */
+public class ParameterSweep {
+
+  // Number of grid cells calculated by one task:
+  private static final int CELLS_PER_TASK = 1 << 16;
+
+  private final RedeclarationEngine engine;
+  private final double tora;
+  private final double toda;
+  private final double asda;
+  private final double lda;
+  private final double displacedThreshold;
+  private final int method;
+
+  // Grid (rows = obstacle heights, columns = distances from threshold):
+  private final double minHeight;
+  private final double heightStep;
+  private final int heightSteps;
+  private final double[] distances;
+
+  // Re-declared LDA (landing methods) or TORA (take-off methods) of each cell, row by row:
+  private final float[] values;
+  private final int rowsPerTask;
+
+  private volatile boolean cancelled = false;
+  private final AtomicLong completedRows = new AtomicLong();
+
+  /**
+   * Create a new parameter sweep over a runway's default values
+   * @param runway           the runway (only its default values are read)
+   * @param method           the landing/take-off method
+   * @param minHeight        lowest obstacle height
+   * @param maxHeight        highest obstacle height
+   * @param heightSteps      number of heights (grid rows)
+   * @param minDistance      lowest obstacle distance from threshold
+   * @param maxDistance      highest obstacle distance from threshold
+   * @param distanceSteps    number of distances (grid columns)
+   */
+  public ParameterSweep(Runway runway, int method, double minHeight, double maxHeight, int heightSteps,
+      double minDistance, double maxDistance, int distanceSteps) {
+    if (method < RedeclarationEngine.LANDING_OVER || method > RedeclarationEngine.TAKE_OFF_AWAY) {
+      throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    }
+    if (heightSteps < 1 || distanceSteps < 1 || (long) heightSteps * distanceSteps > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Invalid grid size: " + heightSteps + " x " + distanceSteps);
+    }
+    this.engine = runway.getEngine();
+    this.tora = runway.getDefaultTora();
+    this.toda = runway.getDefaultToda();
+    this.asda = runway.getDefaultAsda();
+    this.lda = runway.getDefaultLda();
+    this.displacedThreshold = runway.getDisplacedThreshold();
+    this.method = method;
+
+    this.minHeight = minHeight;
+    this.heightStep = heightSteps > 1 ? (maxHeight - minHeight) / (heightSteps - 1) : 0;
+    this.heightSteps = heightSteps;
+    this.distances = new double[distanceSteps];
+    double distanceStep = distanceSteps > 1 ? (maxDistance - minDistance) / (distanceSteps - 1) : 0;
+    for (int i = 0; i < distanceSteps; i++) {
+      distances[i] = minDistance + i * distanceStep;
+    }
+
+    this.values = new float[heightSteps * distanceSteps];
+    this.rowsPerTask = Math.max(1, CELLS_PER_TASK / distanceSteps);
+  }
+
+  /**
+   * Calculate all cells of the grid
+   * @param pool    pool that runs the calculation
+   * @return false if the sweep was cancelled
+   */
+  public boolean run(ForkJoinPool pool) {
+    completedRows.set(0);
+    pool.invoke(new RowsTask(0, heightSteps));
+    return !cancelled;
+  }
+
+  /**
+   * Cancel a running sweep (rows which have not been started are skipped)
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Returns whether the sweep was cancelled
+   * @return true if cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Getter for the progress of a running sweep
+   * @return progress between 0 and 1
+   */
+  public double getProgress() {
+    return (double) completedRows.get() / heightSteps;
+  }
+
+  /**
+   * Calculate a row of the grid
+   * @param row    the row
+   */
+  private void calculateRow(int row) {
+    double height = getHeight(row);
+    int columns = distances.length;
+    int offset = row * columns;
+    for (int i = 0; i < columns; i++) {
+      values[offset + i] = (float) Math.max(0,
+          engine.redeclare(tora, toda, asda, lda, displacedThreshold, height, distances[i], method));
+    }
+  }
+
+  /**
+   * Getter for the number of grid rows (obstacle heights)
+   * @return number of rows
+   */
+  public int getHeightSteps() {
+    return heightSteps;
+  }
+
+  /**
+   * Getter for the number of grid columns (distances from threshold)
+   * @return number of columns
+   */
+  public int getDistanceSteps() {
+    return distances.length;
+  }
+
+  /**
+   * Getter for the obstacle height of a grid row
+   * @param row    the row
+   * @return obstacle height
+   */
+  public double getHeight(int row) {
+    return minHeight + row * heightStep;
+  }
+
+  /**
+   * Getter for the obstacle distance from threshold of a grid column
+   * @param column    the column
+   * @return distance from threshold
+   */
+  public double getDistance(int column) {
+    return distances[column];
+  }
+
+  /**
+   * Getter for the landing/take-off method of the sweep
+   * @return method
+   */
+  public int getMethod() {
+    return method;
+  }
+
+  /**
+   * Getter for the re-declared value of a cell
+   * @param row       the row (obstacle height)
+   * @param column    the column (distance from threshold)
+   * @return re-declared LDA (landing methods) or TORA (take-off methods)
+   */
+  public double get(int row, int column) {
+    return values[row * distances.length + column];
+  }
+
+  /**
+   * Getter for the result matrix (row by row)
+   * @return re-declared values
+   */
+  public float[] getValues() {
+    return values;
+  }
+
+  /**
+   * Task calculating a range of grid rows, split in halves until it is small enough
+   */
+  private class RowsTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+
+    RowsTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= rowsPerTask) {
+        for (int row = from; row < to && !cancelled; row++) {
+          calculateRow(row);
+          completedRows.incrementAndGet();
+        }
+      }
+      else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new RowsTask(from, mid), new RowsTask(mid, to));
+      }
+    }
+  }
+
+}
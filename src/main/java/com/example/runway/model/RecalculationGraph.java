@@ -0,0 +1,273 @@
+package com.example.runway.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The recalculation graph class. Records which obstacle, runways and parameter profile each re-declared runway
+ * of an airport depends on. Edits mark the dependent results dirty, and only dirty results are re-calculated.
+ */
+public class RecalculationGraph {
+
+  private final Airport airport;
+
+  // Result shown by each re-declared runway:
+  private final Map<Runway, Declaration> declarations = new IdentityHashMap<>();
+
+  // Dependencies (obstacle / runway / profile -> results depending on it):
+  private final Map<Obstacle, Set<Declaration>> byObstacle = new IdentityHashMap<>();
+  private final Map<Runway, Set<Declaration>> bySource = new IdentityHashMap<>();
+  private final Map<Integer, Set<Declaration>> byProfile = new HashMap<>();
+
+  // Results which have to be re-calculated (in the order they were marked):
+  private final Set<Declaration> dirty = new LinkedHashSet<>();
+
+  /**
+   * Create a new recalculation graph
+   * @param airport    the airport
+   */
+  public RecalculationGraph(Airport airport) {
+    this.airport = airport;
+  }
+
+  /**
+   * Record the re-declared values of a runway for an obstacle
+   * @param runway      the runway
+   * @param obstacle    the obstacle
+   * @param method      the landing/take-off method
+   */
+  public void record(Runway runway, Obstacle obstacle, int method) {
+    add(new Declaration(runway, runway, obstacle, method));
+  }
+
+  /**
+   * Record the re-declared values of a runway's other end, calculated from an obstacle of the runway
+   * (see RedeclarationEngine.calculatePair(Runway, Runway, Obstacle, int))
+   * @param reciprocal    the re-declared runway
+   * @param source        the runway the obstacle belongs to
+   * @param obstacle      the obstacle
+   * @param method        the landing/take-off method on the source runway
+   */
+  public void recordReciprocal(Runway reciprocal, Runway source, Obstacle obstacle, int method) {
+    add(new Declaration(reciprocal, source, obstacle, method));
+  }
+
+  private void add(Declaration declaration) {
+    remove(declarations.get(declaration.runway));
+    declarations.put(declaration.runway, declaration);
+    byObstacle.computeIfAbsent(declaration.obstacle, o -> new LinkedHashSet<>()).add(declaration);
+    bySource.computeIfAbsent(declaration.runway, r -> new LinkedHashSet<>()).add(declaration);
+    if (declaration.source != declaration.runway) {
+      bySource.computeIfAbsent(declaration.source, r -> new LinkedHashSet<>()).add(declaration);
+    }
+    byProfile.computeIfAbsent(declaration.profile, p -> new LinkedHashSet<>()).add(declaration);
+  }
+
+  private void remove(Declaration declaration) {
+    if (declaration == null) {
+      return;
+    }
+    declarations.remove(declaration.runway);
+    dirty.remove(declaration);
+    removeFrom(byObstacle, declaration.obstacle, declaration);
+    removeFrom(bySource, declaration.runway, declaration);
+    removeFrom(bySource, declaration.source, declaration);
+    removeFrom(byProfile, declaration.profile, declaration);
+  }
+
+  private static <K> void removeFrom(Map<K, Set<Declaration>> map, K key, Declaration declaration) {
+    Set<Declaration> set = map.get(key);
+    if (set != null) {
+      set.remove(declaration);
+      if (set.isEmpty()) {
+        map.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Forget the re-declared values of a runway (its default values are shown again)
+   * @param runway    the runway
+   */
+  public void forget(Runway runway) {
+    remove(declarations.get(runway));
+  }
+
+  /**
+   * Forget all re-declared values
+   */
+  public void clear() {
+    declarations.clear();
+    byObstacle.clear();
+    bySource.clear();
+    byProfile.clear();
+    dirty.clear();
+  }
+
+  /**
+   * Mark the results depending on an obstacle dirty (called when the obstacle is modified)
+   * @param obstacle    the obstacle
+   */
+  public void obstacleChanged(Obstacle obstacle) {
+    markAll(byObstacle.get(obstacle));
+  }
+
+  /**
+   * Forget the results depending on a deleted obstacle, the runways show their default values again
+   * @param obstacle    the obstacle
+   */
+  public void obstacleRemoved(Obstacle obstacle) {
+    Set<Declaration> dependents = byObstacle.get(obstacle);
+    if (dependents != null) {
+      for (Declaration declaration : new ArrayList<>(dependents)) {
+        remove(declaration);
+        declaration.runway.setDefault();
+      }
+    }
+  }
+
+  /**
+   * Mark the results depending on a runway dirty (called when the runway's values or profile are modified).
+   * A runway without re-declared values is set to its new default values.
+   * @param runway    the runway
+   */
+  public void runwayChanged(Runway runway) {
+    if (!declarations.containsKey(runway)) {
+      runway.setDefault();
+    }
+    markAll(bySource.get(runway));
+  }
+
+  /**
+   * Forget the results of a deleted runway and mark the results calculated from its obstacles dirty
+   * @param runway    the runway
+   */
+  public void runwayRemoved(Runway runway) {
+    remove(declarations.get(runway));
+    markAll(bySource.get(runway));
+  }
+
+  /**
+   * Mark the results of every runway using a parameter profile dirty (called when the profile's terms are modified)
+   * @param profile    profile id in the shared profile table
+   */
+  public void profileChanged(int profile) {
+    markAll(byProfile.get(profile));
+  }
+
+  private void markAll(Set<Declaration> dependents) {
+    if (dependents != null) {
+      dirty.addAll(dependents);
+    }
+  }
+
+  /**
+   * Returns whether the re-declared values of a runway are out of date
+   * @param runway    the runway
+   * @return true if the runway has to be re-calculated
+   */
+  public boolean isDirty(Runway runway) {
+    Declaration declaration = declarations.get(runway);
+    return declaration != null && dirty.contains(declaration);
+  }
+
+  /**
+   * Getter for number of results which are out of date
+   * @return number of dirty results
+   */
+  public int getDirtyCount() {
+    return dirty.size();
+  }
+
+  /**
+   * Returns whether a runway shows re-declared values
+   * @param runway    the runway
+   * @return true if the runway is re-declared
+   */
+  public boolean isDeclared(Runway runway) {
+    return declarations.containsKey(runway);
+  }
+
+  /**
+   * Re-calculate a runway if its re-declared values are out of date (called before its values are exported)
+   * @param runway    the runway
+   * @return true if the runway was re-calculated
+   */
+  public boolean refresh(Runway runway) {
+    Declaration declaration = declarations.get(runway);
+    if (declaration != null && dirty.remove(declaration)) {
+      recalculate(declaration);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Re-calculate every result which is out of date. Results of runways which are no longer linked to the runway
+   * their obstacle belongs to are forgotten, these runways show their default values again.
+   * @return runways whose values were updated
+   */
+  public List<Runway> recalculate() {
+    if (dirty.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Declaration> pending = new ArrayList<>(dirty);
+    dirty.clear();
+    List<Runway> updated = new ArrayList<>(pending.size());
+    for (Declaration declaration : pending) {
+      recalculate(declaration);
+      updated.add(declaration.runway);
+    }
+    return updated;
+  }
+
+  private void recalculate(Declaration declaration) {
+    Runway runway = declaration.runway;
+    RedeclarationCache cache = RedeclarationCache.getShared();
+    if (declaration.source == runway) {
+      runway.setDeclaredDistances(cache.calculate(runway, declaration.obstacle, declaration.method));
+    }
+    else if (airport.getRunways().contains(declaration.source) && airport.getReciprocal(declaration.source) == runway) {
+      runway.setDeclaredDistances(cache.calculatePair(declaration.source, runway, declaration.obstacle,
+          declaration.method).getReciprocalResult());
+    }
+    else {
+      remove(declaration);
+      runway.setDefault();
+      return;
+    }
+    // The profile of the runway the obstacle belongs to may have changed:
+    if (declaration.profile != declaration.source.getProfile()) {
+      removeFrom(byProfile, declaration.profile, declaration);
+      declaration.profile = declaration.source.getProfile();
+      byProfile.computeIfAbsent(declaration.profile, p -> new LinkedHashSet<>()).add(declaration);
+    }
+  }
+
+  /**
+   * Re-declared values of a runway and what they were calculated from
+   */
+  private static final class Declaration {
+
+    private final Runway runway;
+    private final Runway source;
+    private final Obstacle obstacle;
+    private final int method;
+    private int profile;
+
+    Declaration(Runway runway, Runway source, Obstacle obstacle, int method) {
+      this.runway = runway;
+      this.source = source;
+      this.obstacle = obstacle;
+      this.method = method;
+      this.profile = source.getProfile();
+    }
+  }
+
+}
@@ -0,0 +1,271 @@
+package com.example.runway.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The re-declaration cache class. Stores the results of recent re-declarations, keyed by the runway's default values,
+ * displaced threshold, obstacle geometry, method and parameter profile terms. As the key holds every value a result
+ * depends on, a modified runway or obstacle simply maps to a new key, and no references to the runways or obstacles are
+ * kept. The least recently used result is evicted when the cache is full. All methods are thread-safe.
+ */
+public class RedeclarationCache {
+
+  // Number of results kept by the shared cache:
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  // Cache shared by the controllers:
+  private static final RedeclarationCache SHARED = new RedeclarationCache(DEFAULT_CAPACITY);
+
+  // Kinds of cached results (single methods use the method number):
+  private static final int ALL_METHODS = 0;
+  private static final int PAIR = 8;
+
+  private final int capacity;
+  private final LinkedHashMap<Key, Object> entries;
+
+  // Statistics:
+  private long hits = 0;
+  private long misses = 0;
+  private long evictions = 0;
+
+  /**
+   * Create a new cache
+   * @param capacity    maximum number of stored results
+   */
+  public RedeclarationCache(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Invalid cache capacity: " + capacity);
+    }
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+        if (size() > RedeclarationCache.this.capacity) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Getter for the cache shared by the controllers
+   * @return cache
+   */
+  public static RedeclarationCache getShared() {
+    return SHARED;
+  }
+
+  /**
+   * Re-calculate the runway's default values for an obstacle, using a stored result if there is one
+   * (see RedeclarationEngine.calculate(Runway, Obstacle, int))
+   * @param runway      the runway
+   * @param obstacle    the obstacle
+   * @param method      the landing/take-off method
+   * @return re-declared values
+   */
+  public DeclaredDistances calculate(Runway runway, Obstacle obstacle, int method) {
+    Key key = key(method, runway, null, obstacle);
+    synchronized (this) {
+      Object stored = lookup(key);
+      if (stored != null) {
+        return (DeclaredDistances) stored;
+      }
+    }
+    DeclaredDistances result = runway.getEngine().calculate(runway, obstacle, method);
+    store(key, result);
+    return result;
+  }
+
+  /**
+   * Re-calculate the runway's default values for an obstacle with all methods, using a stored result if there is one
+   * (see RedeclarationEngine.calculateAll(Runway, Obstacle))
+   * @param runway      the runway
+   * @param obstacle    the obstacle
+   * @return re-declared values of all methods
+   */
+  public AllMethodsResult calculateAll(Runway runway, Obstacle obstacle) {
+    Key key = key(ALL_METHODS, runway, null, obstacle);
+    synchronized (this) {
+      Object stored = lookup(key);
+      if (stored != null) {
+        return (AllMethodsResult) stored;
+      }
+    }
+    AllMethodsResult result = runway.getEngine().calculateAll(runway, obstacle);
+    store(key, result);
+    return result;
+  }
+
+  /**
+   * Re-calculate the default values of both ends of a runway, using a stored result if there is one
+   * (see RedeclarationEngine.calculatePair(Runway, Runway, Obstacle, int))
+   * @param runway        the runway
+   * @param reciprocal    the reciprocal runway
+   * @param obstacle      the obstacle
+   * @param method        the landing/take-off method on the first runway
+   * @return re-declared values of both runways
+   */
+  public RunwayPairResult calculatePair(Runway runway, Runway reciprocal, Obstacle obstacle, int method) {
+    Key key = key(PAIR + method, runway, reciprocal, obstacle);
+    synchronized (this) {
+      Object stored = lookup(key);
+      if (stored != null) {
+        return (RunwayPairResult) stored;
+      }
+    }
+    RunwayPairResult result = runway.getEngine().calculatePair(runway, reciprocal, obstacle, method);
+    store(key, result);
+    return result;
+  }
+
+  private Object lookup(Key key) {
+    Object stored = entries.get(key);
+    if (stored != null) {
+      hits++;
+    }
+    else {
+      misses++;
+    }
+    return stored;
+  }
+
+  private synchronized void store(Key key, Object result) {
+    entries.put(key, result);
+  }
+
+  /**
+   * Build the key of a calculation from the values it depends on
+   */
+  private static Key key(int kind, Runway runway, Runway reciprocal, Obstacle obstacle) {
+    RedeclarationEngine engine = runway.getEngine();
+    double[] values = new double[reciprocal == null ? 11 : 16];
+    values[0] = runway.getDefaultTora();
+    values[1] = runway.getDefaultToda();
+    values[2] = runway.getDefaultAsda();
+    values[3] = runway.getDefaultLda();
+    values[4] = runway.getDisplacedThreshold();
+    values[5] = obstacle.getHeight();
+    values[6] = obstacle.getDistanceFromThreshold();
+    values[7] = engine.getResa();
+    values[8] = engine.getSlopeValue();
+    values[9] = engine.getNewStripEnd();
+    values[10] = engine.getBlastAllowance();
+    if (reciprocal != null) {
+      values[11] = reciprocal.getDefaultTora();
+      values[12] = reciprocal.getDefaultToda();
+      values[13] = reciprocal.getDefaultAsda();
+      values[14] = reciprocal.getDefaultLda();
+      values[15] = reciprocal.getDisplacedThreshold();
+    }
+    return new Key(kind, values);
+  }
+
+  /**
+   * Remove all stored results
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Getter for number of stored results
+   * @return number of results
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Getter for maximum number of stored results
+   * @return capacity
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Getter for number of calculations answered from the cache
+   * @return hits
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Getter for number of calculations which had to be calculated
+   * @return misses
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Getter for number of results removed because the cache was full
+   * @return evictions
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Getter for the share of calculations answered from the cache
+   * @return hit rate between 0 and 1
+   */
+  public synchronized double getHitRate() {
+    long total = hits + misses;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * Set all statistics to 0
+   */
+  public synchronized void resetStatistics() {
+    hits = 0;
+    misses = 0;
+    evictions = 0;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "RedeclarationCache{size=" + entries.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses
+        + ", evictions=" + evictions + "}";
+  }
+
+  /**
+   * Key of a stored result
+   */
+  private static final class Key {
+
+    private final int kind;
+    private final double[] values;
+    private final int hash;
+
+    Key(int kind, double[] values) {
+      this.kind = kind;
+      this.values = values;
+      this.hash = 31 * kind + Arrays.hashCode(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return kind == other.kind && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+}
@@ -0,0 +1,294 @@
+package com.example.runway.model;
+
+/**
+ * The re-declaration engine. Calculates re-declared runway parameters from the runway defaults
+ * without modifying the runway. Instances are immutable and can be shared between threads.
+ */
+public final class RedeclarationEngine {
+
+  // Landing/take-off methods:
+  public static final int LANDING_OVER = 1;
+  public static final int LANDING_TOWARDS = 2;
+  public static final int TAKE_OFF_TOWARDS = 3;
+  public static final int TAKE_OFF_AWAY = 4;
+
+  // Predefined terms:
+  private final double resa;
+  private final double slopeValue;
+  private final double newStripEnd;
+  private final double engineBlastAllowance;
+
+  /**
+   * Create a new re-declaration engine
+   * @param resa                    the RESA value
+   * @param slopeValue              the slope (1:slopeValue)
+   * @param newStripEnd             the new strip end value
+   * @param engineBlastAllowance    the engine blast allowance
+   */
+  public RedeclarationEngine(double resa, double slopeValue, double newStripEnd, double engineBlastAllowance) {
+    this.resa = resa;
+    this.slopeValue = slopeValue;
+    this.newStripEnd = newStripEnd;
+    this.engineBlastAllowance = engineBlastAllowance;
+  }
+
+  /**
+   * Getter for RESA value
+   * @return     RESA
+   */
+  public double getResa() {
+    return resa;
+  }
+
+  /**
+   * Getter for slope
+   * @return     slope
+   */
+  public double getSlopeValue() {
+    return slopeValue;
+  }
+
+  /**
+   * Getter for new strip end value
+   * @return     new strip end
+   */
+  public double getNewStripEnd() {
+    return newStripEnd;
+  }
+
+  /**
+   * Getter for blast allowance
+   * @return     blast allowance
+   */
+  public double getBlastAllowance() {
+    return engineBlastAllowance;
+  }
+
+  /**
+   * Re-calculate the runway's default values for an obstacle
+   * @param runway      the runway (only its default values are read)
+   * @param obstacle    the obstacle
+   * @param method      the landing/take-off method
+   * @return re-declared values
+   */
+  public DeclaredDistances calculate(Runway runway, Obstacle obstacle, int method) {
+    return calculate(runway.getDefaultTora(), runway.getDefaultToda(), runway.getDefaultAsda(),
+        runway.getDefaultLda(), runway.getDisplacedThreshold(),
+        obstacle.getHeight(), obstacle.getDistanceFromThreshold(), method);
+  }
+
+  /**
+   * Re-calculate runway values for an obstacle
+   * @param tora                  default TORA
+   * @param toda                  default TODA
+   * @param asda                  default ASDA
+   * @param lda                   default LDA
+   * @param displacedThreshold    displaced threshold
+   * @param height                obstacle height
+   * @param distanceThreshold     obstacle distance from threshold
+   * @param method                the landing/take-off method
+   * @return re-declared values
+   */
+  public DeclaredDistances calculate(double tora, double toda, double asda, double lda, double displacedThreshold,
+      double height, double distanceThreshold, int method) {
+    double value = redeclare(tora, toda, asda, lda, displacedThreshold, height, distanceThreshold, method);
+    return switch (method) {
+      case LANDING_OVER, LANDING_TOWARDS -> new DeclaredDistances(tora, toda, asda, value);
+      //(R) ASDA = (R) TODA = (R) TORA
+      case TAKE_OFF_TOWARDS -> new DeclaredDistances(value, value, value, lda);
+      default -> new DeclaredDistances(value, value + toda - tora, value + asda - tora, lda);
+    };
+  }
+
+  /**
+   * Re-declare the LDA (landing methods) or TORA (take-off methods) of a runway for an obstacle.
+   * Every calculation of the engine, the parameter sweep, the profiles and the analyses uses this kernel;
+   * the result is not limited to 0.
+   * @param tora                  default TORA
+   * @param toda                  default TODA
+   * @param asda                  default ASDA
+   * @param lda                   default LDA
+   * @param displacedThreshold    displaced threshold
+   * @param height                obstacle height
+   * @param distanceThreshold     obstacle distance from threshold
+   * @param method                the landing/take-off method
+   * @return re-declared LDA or TORA
+   */
+  public double redeclare(double tora, double toda, double asda, double lda, double displacedThreshold,
+      double height, double distanceThreshold, int method) {
+    return switch (method) {
+      //(R) LDA = 3884 - 500 - (25 * 50) - 60 = 2074m
+      case LANDING_OVER -> lda - distanceThreshold - height * slopeValue - newStripEnd - displacedThreshold;
+      //(R) LDA = 2600 - 240 - 60 = 2300m
+      case LANDING_TOWARDS -> distanceThreshold - resa - newStripEnd;
+      //(R) TORA = 2500 + 306 - 25*50 - 60 = 1496m
+      case TAKE_OFF_TOWARDS -> distanceThreshold + displacedThreshold - height * slopeValue - newStripEnd;
+      //(R) TORA = 3884 - 500 - 300 = 3084m
+      case TAKE_OFF_AWAY -> tora - distanceThreshold - engineBlastAllowance - displacedThreshold
+          + Math.max(toda - tora, asda - tora);
+      default -> throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    };
+  }
+
+  /**
+   * Getter for the coefficient of the obstacle's distance from threshold in redeclare
+   * @param method    the landing/take-off method
+   * @return coefficient
+   */
+  private static double distanceFactor(int method) {
+    return switch (method) {
+      case LANDING_OVER, TAKE_OFF_AWAY -> -1;
+      case LANDING_TOWARDS, TAKE_OFF_TOWARDS -> 1;
+      default -> throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    };
+  }
+
+  /**
+   * Getter for the coefficient of the obstacle's height in redeclare
+   * @param method    the landing/take-off method
+   * @return coefficient
+   */
+  private double heightFactor(int method) {
+    return switch (method) {
+      case LANDING_OVER, TAKE_OFF_TOWARDS -> -slopeValue;
+      case LANDING_TOWARDS, TAKE_OFF_AWAY -> 0;
+      default -> throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    };
+  }
+
+  /**
+   * Re-calculate the default values of both ends of a runway for an obstacle in a single pass.
+   * The obstacle's distance from threshold is mapped into the reciprocal runway's frame,
+   * and the method is mirrored (landing over = landing towards, take-off towards = take-off away).
+   * @param runway        the runway the obstacle was entered for (only its default values are read)
+   * @param reciprocal    the reciprocal runway (only its default values are read)
+   * @param obstacle      the obstacle
+   * @param method        the landing/take-off method on the first runway
+   * @return re-declared values of both runways
+   */
+  public RunwayPairResult calculatePair(Runway runway, Runway reciprocal, Obstacle obstacle, int method) {
+    double height = obstacle.getHeight();
+    double distance = obstacle.getDistanceFromThreshold();
+    double reciprocalDistance = reciprocalDistance(runway, reciprocal, distance);
+    int reciprocalMethod = reciprocalMethod(method);
+
+    DeclaredDistances first = calculate(runway.getDefaultTora(), runway.getDefaultToda(),
+        runway.getDefaultAsda(), runway.getDefaultLda(), runway.getDisplacedThreshold(), height, distance, method);
+    DeclaredDistances second = calculate(reciprocal.getDefaultTora(), reciprocal.getDefaultToda(),
+        reciprocal.getDefaultAsda(), reciprocal.getDefaultLda(), reciprocal.getDisplacedThreshold(),
+        height, reciprocalDistance, reciprocalMethod);
+    return new RunwayPairResult(first, second, reciprocalMethod, reciprocalDistance);
+  }
+
+  /**
+   * Map an obstacle's distance from threshold into the reciprocal runway's frame
+   * (the runway's length is the distance between the thresholds plus both displaced thresholds)
+   * @param runway               the runway the distance is measured from
+   * @param reciprocal           the reciprocal runway
+   * @param distanceThreshold    obstacle distance from the runway's threshold
+   * @return obstacle distance from the reciprocal runway's threshold
+   */
+  public static double reciprocalDistance(Runway runway, Runway reciprocal, double distanceThreshold) {
+    return runway.getDefaultTora() - runway.getDisplacedThreshold() - reciprocal.getDisplacedThreshold()
+        - distanceThreshold;
+  }
+
+  /**
+   * Getter for the method used on the reciprocal runway
+   * (landing over an obstacle = landing towards it from the other end, take-off towards = take-off away)
+   * @param method    the landing/take-off method
+   * @return reciprocal method
+   */
+  public static int reciprocalMethod(int method) {
+    return switch (method) {
+      case LANDING_OVER -> LANDING_TOWARDS;
+      case LANDING_TOWARDS -> LANDING_OVER;
+      case TAKE_OFF_TOWARDS -> TAKE_OFF_AWAY;
+      case TAKE_OFF_AWAY -> TAKE_OFF_TOWARDS;
+      default -> throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    };
+  }
+
+  /**
+   * Re-calculate the runway's default values for an obstacle with all landing/take-off methods at once
+   * @param runway      the runway (only its default values are read)
+   * @param obstacle    the obstacle
+   * @return re-declared values of all methods
+   */
+  public AllMethodsResult calculateAll(Runway runway, Obstacle obstacle) {
+    return calculateAll(runway.getDefaultTora(), runway.getDefaultToda(), runway.getDefaultAsda(),
+        runway.getDefaultLda(), runway.getDisplacedThreshold(),
+        obstacle.getHeight(), obstacle.getDistanceFromThreshold());
+  }
+
+  /**
+   * Re-calculate runway values for an obstacle with all landing/take-off methods in a single pass
+   * @param tora                  default TORA
+   * @param toda                  default TODA
+   * @param asda                  default ASDA
+   * @param lda                   default LDA
+   * @param displacedThreshold    displaced threshold
+   * @param height                obstacle height
+   * @param distanceThreshold     obstacle distance from threshold
+   * @return re-declared values of all methods
+   */
+  public AllMethodsResult calculateAll(double tora, double toda, double asda, double lda, double displacedThreshold,
+      double height, double distanceThreshold) {
+    double ldaOver = redeclare(tora, toda, asda, lda, displacedThreshold, height, distanceThreshold, LANDING_OVER);
+    double ldaTowards = redeclare(tora, toda, asda, lda, displacedThreshold, height, distanceThreshold,
+        LANDING_TOWARDS);
+    double toraTowards = redeclare(tora, toda, asda, lda, displacedThreshold, height, distanceThreshold,
+        TAKE_OFF_TOWARDS);
+    double toraAway = redeclare(tora, toda, asda, lda, displacedThreshold, height, distanceThreshold, TAKE_OFF_AWAY);
+    return new AllMethodsResult(tora, toda, asda, lda, ldaOver, ldaTowards, toraTowards,
+        toraAway, toraAway + toda - tora, toraAway + asda - tora);
+  }
+
+  /**
+   * Re-calculate the runway's default values for every obstacle of a table.
+   * Stores the re-declared LDA (landing methods) or TORA (take-off methods) of each obstacle, negative values are set to 0.
+   * When taking-off towards an obstacle TODA = ASDA = TORA, when taking-off away TODA and ASDA are TORA plus clear way / stop way.
+   * @param runway    the runway (only its default values are read)
+   * @param table     the obstacles
+   * @param method    the landing/take-off method
+   * @param out       array for the results (at least table.size() long)
+   */
+  public void calculateBulk(Runway runway, ObstacleTable table, int method, double[] out) {
+    calculateBulk(runway.getDefaultTora(), runway.getDefaultToda(), runway.getDefaultAsda(),
+        runway.getDefaultLda(), runway.getDisplacedThreshold(), table, method, out);
+  }
+
+  /**
+   * Re-calculate runway values for every obstacle of a table (see calculateBulk(Runway, ObstacleTable, int, double[]))
+   */
+  public void calculateBulk(double tora, double toda, double asda, double lda, double displacedThreshold,
+      ObstacleTable table, int method, double[] out) {
+    calculateBulk(tora, toda, asda, lda, displacedThreshold, table, method, out, ObstacleTable.isVectorised());
+  }
+
+  /**
+   * Re-calculate runway values for every obstacle of a table with the affine (vector) or the scalar kernel
+   * (both paths are compared by the tests)
+   */
+  void calculateBulk(double tora, double toda, double asda, double lda, double displacedThreshold,
+      ObstacleTable table, int method, double[] out, boolean affine) {
+    int n = table.size();
+    if (out.length < n) {
+      throw new IllegalArgumentException("Result array too short: " + out.length + " < " + n);
+    }
+    double[] thresholds = table.thresholdColumn();
+    double[] heights = table.heightColumn();
+    // Checks the method even if the table is empty:
+    double base = redeclare(tora, toda, asda, lda, displacedThreshold, 0, 0, method);
+    if (affine) {
+      // The kernel is linear in the obstacle's distance and height, with coefficients given by the method:
+      ObstacleTable.affine(base, distanceFactor(method), thresholds, heightFactor(method), heights, out, n);
+    }
+    else {
+      for (int i = 0; i < n; i++) {
+        out[i] = Math.max(0, redeclare(tora, toda, asda, lda, displacedThreshold, heights[i], thresholds[i], method));
+      }
+    }
+  }
+
+}
@@ -1,19 +1,46 @@
 package com.example.runway.model;
 
 
-import java.text.DecimalFormat;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import javafx.util.Pair;
 
 /**
  * The runway class. Manages and calculates mathematical values. Stores runway data.
  */
 public class Runway {
 
-  // Obstacles of the runway:
+  // Names of the runway's observable properties:
+  public static final String RUNWAY_NUMBER = "runwayNumber";
+  public static final String TORA = "tora";
+  public static final String TODA = "toda";
+  public static final String ASDA = "asda";
+  public static final String LDA = "lda";
+  public static final String DEFAULT_TORA = "defaultTora";
+  public static final String DEFAULT_TODA = "defaultToda";
+  public static final String DEFAULT_ASDA = "defaultAsda";
+  public static final String DEFAULT_LDA = "defaultLda";
+  public static final String DISPLACED_THRESHOLD = "displacedThreshold";
+  public static final String PROFILE = "profile";
+  public static final String OBSTACLES = "obstacles";
+  public static final String POSITION = "position";
+
+  // Listeners of the runway's properties (created when the first listener is added):
+  private PropertyChangeSupport changes;
+
+  // Obstacles of the runway (and a read-only view of them for callers):
   private List<Obstacle> obstacles;
+  private List<Obstacle> obstacleView;
   private Obstacle obstacle;
+  // Obstacles sorted by distance from threshold (without the templates ob1..ob4):
+  private final ObstacleIndex obstacleIndex = new ObstacleIndex();
+  // Obstacle parameters in columns (same order as the obstacle list):
+  private final ObstacleTable obstacleTable = new ObstacleTable();
+  // Keeps the index and the table up to date when an obstacle of the runway is modified:
+  private final PropertyChangeListener obstacleListener = this::obstacleChanged;
 
     //Number given to runways based on the degree of the runway's heading direction
     private String runwayNumber;
@@ -36,18 +63,14 @@ public class Runway {
     private double defaultAsda;
     private double defaultLda;
 
-    //Predefined terms
-    //minimum RESA is typically 240m wide
-    private double resa = 240;
-    //slope of 1:50 is assumed (ALS & TOCS ?)
-    private double slopeValue = 50;
-    //new strip end is typically 60m
-    private double newStripEnd = 60;
-    //engine blast allowance for obstacles behind is typically 300 - 500m (depends on aircraft)
-    private double engineBlastAllowance = 300;
+    //Predefined terms (RESA, slope, new strip end, engine blast allowance) are taken from a parameter profile
+    private int profile = ParameterProfiles.DEFAULT;
 
-    // Formatter for setting numbers to 1 d.p.
-    private DecimalFormat df = new DecimalFormat("0.0");
+    // Position of the threshold in airport coordinates (metres east / north, NaN if the runway is not positioned)
+    // and heading in degrees clockwise from north (NaN = taken from the runway number):
+    private double thresholdX = Double.NaN;
+    private double thresholdY = Double.NaN;
+    private double heading = Double.NaN;
 
   /**
    * Create a new runway
@@ -71,21 +94,66 @@ public class Runway {
         this.defaultLda = lda;
 
         obstacles = new ArrayList<>();
+        obstacleView = Collections.unmodifiableList(obstacles);
          // Predefined obstacles:
-        obstacles.add(new Obstacle("ob1", 12, 10, 0, 60));
-        obstacles.add(new Obstacle("ob2", 25, 5, 20, 500));
-        obstacles.add(new Obstacle("ob3", 15, 2, 60, 150));
-        obstacles.add(new Obstacle("ob4", 20, 15, 20, 65));
+        addObstacle(new Obstacle("ob1", 12, 10, 0, 60, true));
+        addObstacle(new Obstacle("ob2", 25, 5, 20, 500, true));
+        addObstacle(new Obstacle("ob3", 15, 2, 60, 150, true));
+        addObstacle(new Obstacle("ob4", 20, 15, 20, 65, true));
     }
 
     /**
      * Set runway parameters to their default values
      */
     public void setDefault() {
-      this.tora = defaultTora;
-      this.toda = defaultToda;
-      this.asda = defaultAsda;
-      this.lda = defaultLda;
+      setValues(defaultTora, defaultToda, defaultAsda, defaultLda);
+    }
+
+  /**
+   * Set the runway's current parameters, notifying the listeners of the changed values
+   */
+    private void setValues(double tora, double toda, double asda, double lda) {
+      double oldTora = this.tora;
+      double oldToda = this.toda;
+      double oldAsda = this.asda;
+      double oldLda = this.lda;
+      this.tora = tora;
+      this.toda = toda;
+      this.asda = asda;
+      this.lda = lda;
+      if (changes != null) {
+        fire(TORA, oldTora, tora);
+        fire(TODA, oldToda, toda);
+        fire(ASDA, oldAsda, asda);
+        fire(LDA, oldLda, lda);
+      }
+    }
+
+  /**
+   * Add a listener notified when any property of the runway changes
+   * @param listener    the listener
+   */
+    public void addPropertyChangeListener(PropertyChangeListener listener) {
+      if (changes == null) {
+        changes = new PropertyChangeSupport(this);
+      }
+      changes.addPropertyChangeListener(listener);
+    }
+
+  /**
+   * Remove a listener of the runway's properties
+   * @param listener    the listener
+   */
+    public void removePropertyChangeListener(PropertyChangeListener listener) {
+      if (changes != null) {
+        changes.removePropertyChangeListener(listener);
+      }
+    }
+
+    private void fire(String property, double oldValue, double newValue) {
+      if (changes != null && Double.compare(oldValue, newValue) != 0) {
+        changes.firePropertyChange(property, oldValue, newValue);
+      }
     }
 
   /**
@@ -125,7 +193,9 @@ public class Runway {
    * @param defaultTora new default TORA
    */
   public void setDefaultTora(double defaultTora) {
-      this.defaultTora = defaultTora;
+    double old = this.defaultTora;
+    this.defaultTora = defaultTora;
+    fire(DEFAULT_TORA, old, defaultTora);
   }
 
   /**
@@ -133,7 +203,9 @@ public class Runway {
    * @param defaultToda new default TODA
    */
   public void setDefaultToda(double defaultToda) {
+    double old = this.defaultToda;
     this.defaultToda = defaultToda;
+    fire(DEFAULT_TODA, old, defaultToda);
   }
 
   /**
@@ -141,7 +213,9 @@ public class Runway {
    * @param defaultAsda new default ASDA
    */
   public void setDefaultAsda(double defaultAsda) {
+    double old = this.defaultAsda;
     this.defaultAsda = defaultAsda;
+    fire(DEFAULT_ASDA, old, defaultAsda);
   }
 
   /**
@@ -149,7 +223,9 @@ public class Runway {
    * @param defaultLda new default LDA
    */
   public void setDefaultLda(double defaultLda) {
+    double old = this.defaultLda;
     this.defaultLda = defaultLda;
+    fire(DEFAULT_LDA, old, defaultLda);
   }
 
   /**
@@ -178,6 +254,49 @@ public class Runway {
       return 1;
   }
 
+  /**
+   * Getter for the letter part of runway number
+   * @return runway letter (L, R, C or empty)
+   */
+  public String getLetter() {
+      char last = Character.toUpperCase(runwayNumber.charAt(runwayNumber.length() - 1));
+      return Character.isLetter(last) ? String.valueOf(last) : "";
+  }
+
+  /**
+   * Getter for the number of the runway's other end (number +/- 18, L and R swapped)
+   * @return reciprocal runway number
+   */
+  public String getReciprocalNumber() {
+      int number = (int) getWithoutLetter();
+      int reciprocal = number <= 18 ? number + 18 : number - 18;
+      String letter = switch (getLetter()) {
+        case "L" -> "R";
+        case "R" -> "L";
+        default -> getLetter();
+      };
+      return String.format("%02d", reciprocal) + letter;
+  }
+
+  /**
+   * Returns whether another runway is the other end of this runway
+   * @param other    the other runway
+   * @return true if the runways are reciprocal
+   */
+  public boolean isReciprocalOf(Runway other) {
+      if (other == null || other == this) {
+        return false;
+      }
+      try {
+        String reciprocal = getReciprocalNumber();
+        return (int) other.getWithoutLetter() == Integer.parseInt(reciprocal.substring(0, 2))
+            && other.getLetter().equals(reciprocal.substring(2));
+      }
+      catch (RuntimeException e) {
+        return false;
+      }
+  }
+
   /**
    * Getter for runway number
    * @return     runway number
@@ -232,7 +351,7 @@ public class Runway {
    * @return     RESA
    */
   public double getResa() {
-    return resa;
+    return getEngine().getResa();
   }
 
   /**
@@ -240,7 +359,7 @@ public class Runway {
    * @return     new strip end
    */
   public double getNewStripEnd() {
-    return newStripEnd;
+    return getEngine().getNewStripEnd();
   }
 
   /**
@@ -248,7 +367,7 @@ public class Runway {
    * @return     slope
    */
   public double getSlopeValue() {
-    return slopeValue;
+    return getEngine().getSlopeValue();
   }
 
   /**
@@ -256,15 +375,15 @@ public class Runway {
    * @return     blast allowance
    */
   public double getBlastAllowance() {
-    return engineBlastAllowance;
+    return getEngine().getBlastAllowance();
   }
 
   /**
-   * Getter for the runway's obstacles
-   * @return obstacle list
+   * Getter for the runway's obstacles (obstacles are added and removed through addObstacle / removeObstacle)
+   * @return read-only obstacle list
    */
     public List<Obstacle> getObstacles() {
-      return obstacles;
+      return obstacleView;
     }
 
   /**
@@ -284,6 +403,74 @@ public class Runway {
    */
     public void addObstacle(Obstacle obstacle) {
       obstacles.add(obstacle);
+      if (!obstacle.isPredefined()) {
+        obstacleIndex.add(obstacle);
+      }
+      obstacleTable.add(obstacle);
+      obstacle.addPropertyChangeListener(obstacleListener);
+      if (changes != null) {
+        changes.firePropertyChange(OBSTACLES, null, obstacleView);
+      }
+    }
+
+  /**
+   * Remove an obstacle from the runway
+   * @param obstacle the obstacle
+   */
+    public void removeObstacle(Obstacle obstacle) {
+      int row = obstacles.indexOf(obstacle);
+      if (row >= 0) {
+        obstacles.remove(row);
+        obstacleTable.remove(row);
+        obstacleIndex.remove(obstacle);
+        obstacle.removePropertyChangeListener(obstacleListener);
+        if (changes != null) {
+          changes.firePropertyChange(OBSTACLES, null, obstacleView);
+        }
+      }
+    }
+
+  /**
+   * Update the obstacle index and table after an obstacle of the runway was modified
+   * @param event    the obstacle's property change
+   */
+    private void obstacleChanged(PropertyChangeEvent event) {
+      Obstacle modified = (Obstacle) event.getSource();
+      int row = obstacles.indexOf(modified);
+      if (row < 0 || Obstacle.VALIDITY.equals(event.getPropertyName())) {
+        return;
+      }
+      obstacleTable.set(row, modified);
+      if (Obstacle.HEIGHT.equals(event.getPropertyName())
+          || Obstacle.DISTANCE_THRESHOLD.equals(event.getPropertyName())) {
+        obstacleIndex.update(modified);
+      }
+    }
+
+  /**
+   * Getter for the runway's obstacles sorted by distance from threshold
+   * @return obstacle index
+   */
+    public ObstacleIndex getObstacleIndex() {
+      return obstacleIndex;
+    }
+
+  /**
+   * Getter for the runway's obstacle parameters stored in columns (used for bulk calculations)
+   * @return obstacle table
+   */
+    public ObstacleTable getObstacleTable() {
+      return obstacleTable;
+    }
+
+  /**
+   * Getter for the obstacle that limits the re-declared values the most for a landing/take-off method
+   * (the templates ob1..ob4 are not taken into account)
+   * @param method the landing/take-off method
+   * @return governing obstacle (null if the runway has no obstacles apart from the templates)
+   */
+    public Obstacle getGoverningObstacle(int method) {
+      return obstacleIndex.getGoverning(method, getEngine());
     }
 
   /**
@@ -301,14 +488,123 @@ public class Runway {
       return obstacle;
     }
 
+  /**
+   * Getter for the runway's parameter profile
+   * @return profile id in the shared profile table
+   */
+    public int getProfile() {
+      return profile;
+    }
+
+  /**
+   * Setter for the runway's parameter profile (the predefined terms used for re-declarations)
+   * @param profile    profile id in the shared profile table
+   */
+    public void setProfile(int profile) {
+      int old = this.profile;
+      // Checks that the profile exists:
+      ParameterProfiles.getShared().getEngine(profile);
+      this.profile = profile;
+      if (changes != null) {
+        changes.firePropertyChange(PROFILE, old, profile);
+      }
+    }
+
+  /**
+   * Getter for the name of the runway's parameter profile (profile ids are not kept between runs, so files store
+   * the name)
+   * @return profile name
+   */
+    public String getProfileName() {
+      return ParameterProfiles.getShared().getName(profile);
+    }
+
+  /**
+   * Setter for the runway's parameter profile by its name
+   * @param name    profile name (the default profile is used if there is no such profile)
+   */
+    public void setProfileName(String name) {
+      int profile = ParameterProfiles.getShared().indexOf(name);
+      setProfile(profile < 0 ? ParameterProfiles.DEFAULT : profile);
+    }
+
+  /**
+   * Returns whether the runway's threshold is positioned in airport coordinates
+   * @return true if positioned
+   */
+    public boolean hasPosition() {
+      return !Double.isNaN(thresholdX) && !Double.isNaN(thresholdY);
+    }
+
+  /**
+   * Getter for the threshold's position east of the airport's reference point
+   * @return x in metres (NaN if not positioned)
+   */
+    public double getThresholdX() {
+      return thresholdX;
+    }
+
+  /**
+   * Getter for the threshold's position north of the airport's reference point
+   * @return y in metres (NaN if not positioned)
+   */
+    public double getThresholdY() {
+      return thresholdY;
+    }
+
+  /**
+   * Getter for the runway's heading
+   * @return heading in degrees clockwise from north (runway number x 10 if not set)
+   */
+    public double getHeading() {
+      return Double.isNaN(heading) ? getWithoutLetter() * 10 : heading;
+    }
+
+  /**
+   * Returns whether the runway's heading was set (otherwise it is taken from the runway number)
+   * @return true if the heading was set
+   */
+    public boolean hasHeading() {
+      return !Double.isNaN(heading);
+    }
+
+  /**
+   * Position the runway's threshold (where obstacle distances from threshold are measured from) in airport coordinates
+   * @param x          metres east of the airport's reference point
+   * @param y          metres north of the airport's reference point
+   * @param heading    degrees clockwise from north (NaN = runway number x 10)
+   */
+    public void setPosition(double x, double y, double heading) {
+      this.thresholdX = x;
+      this.thresholdY = y;
+      this.heading = heading;
+      if (changes != null) {
+        changes.firePropertyChange(POSITION, null, this);
+      }
+    }
+
+  /**
+   * Getter for the engine used for re-declaring the runway's parameters (the engine of its profile's current terms)
+   * @return re-declaration engine
+   */
+    public RedeclarationEngine getEngine() {
+      return ParameterProfiles.getShared().getEngine(profile);
+    }
+
+  /**
+   * Set the runway's current parameters to re-declared values
+   * @param distances    re-declared values
+   */
+    public void setDeclaredDistances(DeclaredDistances distances) {
+      setValues(distances.getTora(), distances.getToda(), distances.getAsda(), distances.getLda());
+    }
+
   /**
    * Re-calculate values when landing over obstacle:
    * @param obstacle    the obstacle
    */
     public void redeclarationLandingOver(Obstacle obstacle){
-        //(R) LDA = 3884 – 500 – (25 * 50) – 60 = 2074m
-        lda = lda - obstacle.getDistanceFromThreshold() - (obstacle.getHeight() * slopeValue) - newStripEnd - displacedThreshold;
-        handleNegative();
+        setDeclaredDistances(getEngine().calculate(this, obstacle, RedeclarationEngine.LANDING_OVER));
     }
 
   /**
@@ -316,9 +612,7 @@ public class Runway {
    * @param obstacle    the obstacle
    */
     public void redeclarationLandingTowards(Obstacle obstacle){
-        //(R) LDA = 2600 – 240 – 60 = 2300m
-        lda = obstacle.getDistanceFromThreshold() - resa - newStripEnd;
-        handleNegative();
+        setDeclaredDistances(getEngine().calculate(this, obstacle, RedeclarationEngine.LANDING_TOWARDS));
     }
 
   /**
@@ -326,12 +620,7 @@ public class Runway {
    * @param obstacle    the obstacle
    */
     public void redeclarationTakeOffTowards(Obstacle obstacle){
-        //(R) TORA = 2500 + 306 – 25*50 – 60 = 1496m
-        //(R) ASDA = (R) TODA = (R) TORA
-        tora = obstacle.getDistanceFromThreshold() + displacedThreshold - (obstacle.getHeight()*slopeValue) - newStripEnd;
-        toda = tora;
-        asda = tora;
-        handleNegative();
+        setDeclaredDistances(getEngine().calculate(this, obstacle, RedeclarationEngine.TAKE_OFF_TOWARDS));
     }
 
   /**
@@ -339,14 +628,7 @@ public class Runway {
    * @param obstacle    the obstacle
    */
     public void redeclarationTakeOffAway(Obstacle obstacle){
-        //(R) TORA = 3884 – 500 – 300 = 3084m
-        //(R) TODA = 3962 – 500 – 300 = 3162m
-        //(R) ASDA = 3884 – 500 – 300 = 3084m
-        double way = Math.max(getClearWay(), getStopWay());
-        tora = tora - obstacle.getDistanceFromThreshold() - engineBlastAllowance - displacedThreshold + way;
-        toda = tora + getDefaultClearWay();
-        asda = tora + getDefaultStopWay();
-        handleNegative();
+        setDeclaredDistances(getEngine().calculate(this, obstacle, RedeclarationEngine.TAKE_OFF_AWAY));
     }
 
   /**
@@ -386,25 +668,14 @@ public class Runway {
    * @return ALS / TOCS
    */
   public double getAlsTocs() {
-    return (getCurrentObstacle().getHeight() * slopeValue) / Math.cos(slopeValue);
+    return (getCurrentObstacle().getHeight() * getSlopeValue()) / Math.cos(getSlopeValue());
   }
 
   /**
    * Set all negative values to 0
    */
     public void handleNegative() {
-      if (tora < 0) {
-        tora = 0;
-      }
-      if (toda < 0) {
-        toda = 0;
-      }
-      if (asda < 0) {
-        asda = 0;
-      }
-      if (lda < 0) {
-        lda = 0;
-      }
+      setValues(Math.max(tora, 0), Math.max(toda, 0), Math.max(asda, 0), Math.max(lda, 0));
     }
 
   /**
@@ -412,7 +683,11 @@ public class Runway {
    * @param runwayNumber new runway number
    */
     public void setRunwayNumber(String runwayNumber) {
+        String old = this.runwayNumber;
         this.runwayNumber = runwayNumber;
+        if (changes != null) {
+          changes.firePropertyChange(RUNWAY_NUMBER, old, runwayNumber);
+        }
     }
 
   /**
@@ -420,7 +695,9 @@ public class Runway {
    * @param tora new TORA
    */
     public void setTora(double tora) {
+        double old = this.tora;
         this.tora = tora;
+        fire(TORA, old, tora);
     }
 
   /**
@@ -428,7 +705,9 @@ public class Runway {
    * @param toda new TODA
    */
     public void setToda(double toda) {
+        double old = this.toda;
         this.toda = toda;
+        fire(TODA, old, toda);
     }
 
   /**
@@ -436,7 +715,9 @@ public class Runway {
    * @param asda new ASDA
    */
     public void setAsda(double asda) {
+        double old = this.asda;
         this.asda = asda;
+        fire(ASDA, old, asda);
     }
 
   /**
@@ -444,7 +725,9 @@ public class Runway {
    * @param lda new LDA
    */
     public void setLda(double lda) {
+        double old = this.lda;
         this.lda = lda;
+        fire(LDA, old, lda);
     }
 
   /**
@@ -452,7 +735,9 @@ public class Runway {
    * @param displacedThreshold new displaced threshold
    */
     public void setDisplacedThreshold(double displacedThreshold) {
+        double old = this.displacedThreshold;
         this.displacedThreshold = displacedThreshold;
+        fire(DISPLACED_THRESHOLD, old, displacedThreshold);
     }
 
   /**
@@ -477,48 +762,11 @@ public class Runway {
     }
 
   /**
-   * Get the text for Calculation Breakdown
-   * @return calculation breakdown text
+   * Get the Calculation Breakdown of the current obstacle (the text is only rendered when it is displayed)
+   * @return calculation breakdown
    */
-    public Pair<String, String> getBreakdown(int method) {
-      String redeclared;
-      String breakdown;
-      // Landing over:
-      if (method == 1) {
-        redeclared = "Re-declared value: LDA";
-        breakdown = "LDA = LDA - obstacle distance from threshold - h * slope - new strip end - displaced threshold\n"
-            + "LDA = " + df.format(defaultLda) + " - " + df.format(obstacle.getDistanceFromThreshold()) + " - " + df.format(obstacle.getHeight()) + " * " + (int) slopeValue + " - " + (int) newStripEnd + " - " + df.format(displacedThreshold) + "\n"
-            + "LDA = " + df.format(lda) + "\n\n";
-      }
-      // Landing towards:
-      else if (method == 2) {
-        redeclared = "Re-declared value: LDA";
-        breakdown = "LDA = obstacle distance from threshold - RESA - new strip end\n"
-            + "LDA = " + df.format(obstacle.getDistanceFromThreshold()) + " - " + (int) resa + " - " + (int) newStripEnd + "\n"
-            + "LDA = " + df.format(lda);
-      }
-      // Take-off towards:
-      else if (method == 3) {
-        redeclared = "Re-declared values: TORA, TODA, ASDA";
-        breakdown = "TORA = obstacle distance from threshold + displaced threshold - h * slope - new strip end\n"
-            + "TORA = " + df.format(obstacle.getDistanceFromThreshold()) + " + " + df.format(displacedThreshold) + " - " + df.format(obstacle.getHeight()) + " * " + (int) slopeValue + " - " + (int) newStripEnd + "\n"
-            + "TORA = " + df.format(tora) + "\n\n";
-        breakdown += "ASDA = TORA = TODA = " + df.format(tora);
-      }
-      // Take-off away:
-      else {
-        redeclared = "Re-declared values: TORA, TODA, ASDA";
-        breakdown = "TORA = TORA - obstacle distance from threshold - displaced threshold - engine blast allowance + largest of (clear way, stop way)\n"
-            + "TORA = " + df.format(defaultTora) + " - " + df.format(obstacle.getDistanceFromThreshold()) + " - " + df.format(displacedThreshold) + " - " + (int) engineBlastAllowance + " + " + df.format(Math.max(getDefaultClearWay(), getDefaultStopWay())) + "\n"
-            + "TORA = " + df.format(tora) + "\n\n";
-        breakdown += "TODA = TORA + clear way\n"
-            + "TODA = " + df.format(tora) + " + " + df.format(getDefaultClearWay()) + "\n"
-            + "TODA = " + df.format(toda) + "\n\n";;
-        breakdown += "ASDA = TORA + stop way\n"
-            + "ASDA = " + df.format(tora) + " + " + df.format(getDefaultStopWay()) + "\n"
-            + "ASDA = " + df.format(asda) + "\n\n";;
-      }
-      return new Pair<>(redeclared, breakdown);
+    public CalculationBreakdown getBreakdown(int method) {
+      return new CalculationBreakdown(this, obstacle, method);
     }
 
   /**
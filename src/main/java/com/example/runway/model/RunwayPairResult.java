@@ -0,0 +1,66 @@
+package com.example.runway.model;
+
+/**
+ * The runway pair result class. Stores the re-declared values of both ends of a runway
+ * calculated for the same obstacle.
+ */
+public final class RunwayPairResult {
+
+  private final DeclaredDistances result;
+  private final DeclaredDistances reciprocalResult;
+  private final int reciprocalMethod;
+  private final double reciprocalDistance;
+
+  /**
+   * Create a new runway pair result
+   * @param result                re-declared values of the runway
+   * @param reciprocalResult      re-declared values of the reciprocal runway
+   * @param reciprocalMethod      method used on the reciprocal runway
+   * @param reciprocalDistance    obstacle distance from the reciprocal runway's threshold
+   */
+  public RunwayPairResult(DeclaredDistances result, DeclaredDistances reciprocalResult, int reciprocalMethod,
+      double reciprocalDistance) {
+    this.result = result;
+    this.reciprocalResult = reciprocalResult;
+    this.reciprocalMethod = reciprocalMethod;
+    this.reciprocalDistance = reciprocalDistance;
+  }
+
+  /**
+   * Getter for the re-declared values of the runway
+   * @return re-declared values
+   */
+  public DeclaredDistances getResult() {
+    return result;
+  }
+
+  /**
+   * Getter for the re-declared values of the reciprocal runway
+   * @return re-declared values
+   */
+  public DeclaredDistances getReciprocalResult() {
+    return reciprocalResult;
+  }
+
+  /**
+   * Getter for the landing/take-off method used on the reciprocal runway
+   * @return method
+   */
+  public int getReciprocalMethod() {
+    return reciprocalMethod;
+  }
+
+  /**
+   * Getter for the obstacle distance from the reciprocal runway's threshold
+   * @return distance from threshold
+   */
+  public double getReciprocalDistance() {
+    return reciprocalDistance;
+  }
+
+  @Override
+  public String toString() {
+    return "RunwayPairResult{" + result + ", reciprocal=" + reciprocalResult + "}";
+  }
+
+}
@@ -0,0 +1,103 @@
+package com.example.runway.model;
+
+/**
+ * The surveyed obstacle class. Stores an obstacle of the airport in airport coordinates
+ * (metres east / north of the airport's reference point), shared by all runways whose area it is in.
+ */
+public class SurveyedObstacle {
+
+  private String name;
+  private double x;
+  private double y;
+  private double height;
+  private double length;
+
+  /**
+   * Create a new surveyed obstacle
+   * @param name      name of the obstacle
+   * @param x         position in metres east of the airport's reference point
+   * @param y         position in metres north of the airport's reference point
+   * @param height    highest point of the obstacle in meters
+   * @param length    length of the obstacle in meters
+   */
+  public SurveyedObstacle(String name, double x, double y, double height, double length) {
+    this.name = name;
+    this.x = x;
+    this.y = y;
+    this.height = height;
+    this.length = length;
+  }
+
+  /**
+   * Getter for the name of the obstacle
+   * @return name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Setter for the name of the obstacle (the runways are updated by ObstacleRegistry.apply)
+   * @param name    new name
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Getter for the position east of the airport's reference point
+   * @return x in metres
+   */
+  public double getX() {
+    return x;
+  }
+
+  /**
+   * Getter for the position north of the airport's reference point
+   * @return y in metres
+   */
+  public double getY() {
+    return y;
+  }
+
+  /**
+   * Getter for the height of the obstacle
+   * @return height
+   */
+  public double getHeight() {
+    return height;
+  }
+
+  /**
+   * Getter for the length of the obstacle
+   * @return length
+   */
+  public double getLength() {
+    return length;
+  }
+
+  /**
+   * Setter for the height of the obstacle (the runways are updated by ObstacleRegistry.apply)
+   * @param height    new height
+   */
+  public void setHeight(double height) {
+    this.height = height;
+  }
+
+  /**
+   * Setter for the length of the obstacle (the runways are updated by ObstacleRegistry.apply)
+   * @param length    new length
+   */
+  public void setLength(double length) {
+    this.length = length;
+  }
+
+  /**
+   * Move the obstacle (only called by the registry, which keeps its grid up to date)
+   */
+  void setPosition(double x, double y) {
+    this.x = x;
+    this.y = y;
+  }
+
+}
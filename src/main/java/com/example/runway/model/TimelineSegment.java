@@ -0,0 +1,68 @@
+package com.example.runway.model;
+
+/**
+ * The timeline segment class. Stores the re-declared values of a runway for a period in which they do not change.
+ */
+public final class TimelineSegment {
+
+  private final long from;
+  private final long until;
+  private final Obstacle governing;
+  private final DeclaredDistances values;
+
+  /**
+   * Create a new timeline segment
+   * @param from         start of the period in epoch milliseconds (inclusive)
+   * @param until        end of the period in epoch milliseconds (exclusive)
+   * @param governing    obstacle limiting the values at the start of the period (null if no obstacle is present)
+   * @param values       re-declared values
+   */
+  public TimelineSegment(long from, long until, Obstacle governing, DeclaredDistances values) {
+    this.from = from;
+    this.until = until;
+    this.governing = governing;
+    this.values = values;
+  }
+
+  /**
+   * Getter for the start of the period
+   * @return time in epoch milliseconds (inclusive)
+   */
+  public long getFrom() {
+    return from;
+  }
+
+  /**
+   * Getter for the end of the period
+   * @return time in epoch milliseconds (exclusive)
+   */
+  public long getUntil() {
+    return until;
+  }
+
+  /**
+   * Getter for the obstacle limiting the values at the start of the period
+   * @return governing obstacle (null if the runway keeps its default values)
+   */
+  public Obstacle getGoverning() {
+    return governing;
+  }
+
+  /**
+   * Getter for the re-declared values of the period
+   * @return re-declared values
+   */
+  public DeclaredDistances getValues() {
+    return values;
+  }
+
+  /**
+   * Returns a copy of the segment ending at a later time
+   * @param until    new end of the period
+   * @return extended segment
+   */
+  TimelineSegment extendTo(long until) {
+    return new TimelineSegment(from, until, governing, values);
+  }
+
+}
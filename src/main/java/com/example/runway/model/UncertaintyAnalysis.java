@@ -0,0 +1,340 @@
+package com.example.runway.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The uncertainty analysis class. Re-declares a runway for obstacle heights and distances sampled around their surveyed
+ * values (Monte Carlo analysis) and reports percentiles of the declared distances.
+ * Samples are drawn in blocks, each block from its own SplittableRandom split off the seed in a fixed order, and the
+ * blocks are spread across a ForkJoinPool. The declared distances are counted in histograms with 0.1 m bins, so the
+ * results are the same for a seed whatever the number of threads.
+ */
+public class UncertaintyAnalysis {
+
+  // Distributions of the survey errors:
+  public static final int NORMAL = 0;
+  public static final int UNIFORM = 1;
+
+  // Declared distances:
+  public static final int TORA = 0;
+  public static final int TODA = 1;
+  public static final int ASDA = 2;
+  public static final int LDA = 3;
+
+  // Number of samples drawn from one random stream:
+  private static final int SAMPLES_PER_BLOCK = 1 << 16;
+
+  // Histogram bins per metre:
+  private static final int BINS_PER_METRE = 10;
+
+  private final RedeclarationEngine engine;
+  private final double tora;
+  private final double toda;
+  private final double asda;
+  private final double lda;
+  private final double displacedThreshold;
+  private final int method;
+
+  // Surveyed obstacle values and their errors (standard deviation / half-width of the distribution):
+  private final double height;
+  private final double distanceThreshold;
+  private final double heightError;
+  private final double thresholdError;
+  private final int distribution;
+
+  // Declared distances which do not depend on the obstacle for the method (NaN if they are re-declared):
+  private final double[] unchanged = new double[4];
+  // Difference of each re-declared distance to the value of the kernel (re-declared LDA or TORA):
+  private final double[] offsets = new double[4];
+
+  private final int samples;
+  private final long seed;
+  private final int bins;
+
+  // Results (counts of each declared distance per bin):
+  private long[][] histograms;
+
+  private volatile boolean cancelled = false;
+  private final AtomicLong completedSamples = new AtomicLong();
+
+  /**
+   * Create a new uncertainty analysis of a runway's default values
+   * @param runway            the runway (only its default values are read)
+   * @param obstacle          the obstacle (surveyed values)
+   * @param method            the landing/take-off method
+   * @param distribution      distribution of the survey errors (NORMAL or UNIFORM)
+   * @param heightError       error of the obstacle height
+   * @param thresholdError    error of the distance from threshold
+   * @param samples           number of samples
+   * @param seed              seed of the random streams (the same seed gives the same results)
+   */
+  public UncertaintyAnalysis(Runway runway, Obstacle obstacle, int method, int distribution, double heightError,
+      double thresholdError, int samples, long seed) {
+    if (method < RedeclarationEngine.LANDING_OVER || method > RedeclarationEngine.TAKE_OFF_AWAY) {
+      throw new IllegalArgumentException("Unknown landing/take-off method: " + method);
+    }
+    if (distribution != NORMAL && distribution != UNIFORM) {
+      throw new IllegalArgumentException("Unknown distribution: " + distribution);
+    }
+    if (!(heightError >= 0 && thresholdError >= 0)) {
+      throw new IllegalArgumentException("Survey errors cannot be negative");
+    }
+    if (samples < 1) {
+      throw new IllegalArgumentException("Invalid number of samples: " + samples);
+    }
+    this.engine = runway.getEngine();
+    this.tora = runway.getDefaultTora();
+    this.toda = runway.getDefaultToda();
+    this.asda = runway.getDefaultAsda();
+    this.lda = runway.getDefaultLda();
+    this.displacedThreshold = runway.getDisplacedThreshold();
+    this.method = method;
+
+    this.height = obstacle.getHeight();
+    this.distanceThreshold = obstacle.getDistanceFromThreshold();
+    this.heightError = heightError;
+    this.thresholdError = thresholdError;
+    this.distribution = distribution;
+
+    this.samples = samples;
+    this.seed = seed;
+
+    // Landing re-declares the LDA, taking-off the TORA (TODA and ASDA follow it, see RedeclarationEngine.calculate):
+    unchanged[TORA] = tora;
+    unchanged[TODA] = toda;
+    unchanged[ASDA] = asda;
+    unchanged[LDA] = lda;
+    if (method <= RedeclarationEngine.LANDING_TOWARDS) {
+      unchanged[LDA] = Double.NaN;
+    }
+    else {
+      unchanged[TORA] = Double.NaN;
+      unchanged[TODA] = Double.NaN;
+      unchanged[ASDA] = Double.NaN;
+      if (method == RedeclarationEngine.TAKE_OFF_AWAY) {
+        offsets[TODA] = toda - tora;
+        offsets[ASDA] = asda - tora;
+      }
+    }
+
+    // Declared distances cannot be longer than the runway plus the displaced threshold and the sampled distance error
+    // (larger values are counted in the last bin):
+    double spread = distribution == NORMAL ? 10 * thresholdError : thresholdError;
+    double longest = Math.max(Math.max(tora, toda), Math.max(asda, lda)) + displacedThreshold + spread;
+    this.bins = (int) Math.min(Math.ceil(longest * BINS_PER_METRE) + 1, Integer.MAX_VALUE - 8);
+  }
+
+  /**
+   * Draw all samples
+   * @param pool    pool that runs the analysis
+   * @return false if the analysis was cancelled
+   */
+  public boolean run(ForkJoinPool pool) {
+    completedSamples.set(0);
+
+    // One random stream per block, split off in block order:
+    int blocks = (int) ((samples + (long) SAMPLES_PER_BLOCK - 1) / SAMPLES_PER_BLOCK);
+    SplittableRandom root = new SplittableRandom(seed);
+    SplittableRandom[] streams = new SplittableRandom[blocks];
+    for (int i = 0; i < blocks; i++) {
+      streams[i] = root.split();
+    }
+
+    // A few tasks per thread (each task counts into its own histograms):
+    int blocksPerTask = Math.max(1, blocks / (pool.getParallelism() * 4));
+    Counts counts = pool.invoke(new BlocksTask(streams, 0, blocks, blocksPerTask));
+    histograms = counts.histograms;
+    return !cancelled;
+  }
+
+  /**
+   * Cancel a running analysis (blocks which have not been started are skipped)
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Returns whether the analysis was cancelled
+   * @return true if cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Getter for the progress of a running analysis
+   * @return progress between 0 and 1
+   */
+  public double getProgress() {
+    return (double) completedSamples.get() / samples;
+  }
+
+  /**
+   * Draw the samples of a block and count their declared distances
+   */
+  private void sampleBlock(SplittableRandom random, int block, Counts counts) {
+    int from = block * SAMPLES_PER_BLOCK;
+    int to = (int) Math.min((long) from + SAMPLES_PER_BLOCK, samples);
+    long[] toras = counts.histograms[TORA];
+    long[] todas = counts.histograms[TODA];
+    long[] asdas = counts.histograms[ASDA];
+    long[] ldas = counts.histograms[LDA];
+    if (method <= RedeclarationEngine.LANDING_TOWARDS) {
+      for (int i = from; i < to; i++) {
+        ldas[bin(sample(random))]++;
+      }
+    }
+    else {
+      for (int i = from; i < to; i++) {
+        double value = sample(random);
+        toras[bin(value)]++;
+        todas[bin(value + offsets[TODA])]++;
+        asdas[bin(value + offsets[ASDA])]++;
+      }
+    }
+
+    // Distances which are not re-declared are the same for every sample:
+    for (int d = TORA; d <= LDA; d++) {
+      if (!Double.isNaN(unchanged[d])) {
+        counts.histograms[d][bin(unchanged[d])] += to - from;
+      }
+    }
+    completedSamples.addAndGet(to - from);
+  }
+
+  /**
+   * Draw the obstacle of a sample and re-declare the runway for it
+   * @param random    random stream
+   * @return re-declared LDA (landing methods) or TORA (take-off methods)
+   */
+  private double sample(SplittableRandom random) {
+    double sampledHeight = Math.max(0, height + error(random, heightError));
+    double sampledThreshold = distanceThreshold + error(random, thresholdError);
+    return engine.redeclare(tora, toda, asda, lda, displacedThreshold, sampledHeight, sampledThreshold, method);
+  }
+
+  private double error(SplittableRandom random, double error) {
+    if (error == 0) {
+      return 0;
+    }
+    return distribution == NORMAL ? error * random.nextGaussian() : error * (2 * random.nextDouble() - 1);
+  }
+
+  private int bin(double value) {
+    // Negative values are counted as 0 (the runway is closed for the method):
+    return (int) Math.min(Math.round(Math.max(0, value) * BINS_PER_METRE), bins - 1);
+  }
+
+  /**
+   * Getter for a percentile of a declared distance (nearest rank, to 0.1 m)
+   * @param distance      the declared distance (TORA, TODA, ASDA or LDA)
+   * @param percentile    the percentile between 0 and 100
+   * @return declared distance
+   */
+  public double getPercentile(int distance, double percentile) {
+    if (histograms == null) {
+      throw new IllegalStateException("The analysis has not been run");
+    }
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Invalid percentile: " + percentile);
+    }
+    long[] histogram = histograms[distance];
+    long total = 0;
+    for (long count : histogram) {
+      total += count;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long cumulative = 0;
+    for (int i = 0; i < histogram.length; i++) {
+      cumulative += histogram[i];
+      if (cumulative >= rank) {
+        return (double) i / BINS_PER_METRE;
+      }
+    }
+    return (double) (histogram.length - 1) / BINS_PER_METRE;
+  }
+
+  /**
+   * Getter for the number of samples
+   * @return samples
+   */
+  public int getSamples() {
+    return samples;
+  }
+
+  /**
+   * Getter for the seed of the random streams
+   * @return seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Getter for the landing/take-off method of the analysis
+   * @return method
+   */
+  public int getMethod() {
+    return method;
+  }
+
+  /**
+   * Histograms of a range of blocks
+   */
+  private final class Counts {
+
+    private final long[][] histograms = new long[4][bins];
+
+    void add(Counts other) {
+      for (int d = 0; d < histograms.length; d++) {
+        long[] histogram = histograms[d];
+        long[] add = other.histograms[d];
+        for (int i = 0; i < histogram.length; i++) {
+          histogram[i] += add[i];
+        }
+      }
+    }
+  }
+
+  /**
+   * Task sampling a range of blocks, split in halves until it is small enough
+   */
+  private class BlocksTask extends RecursiveTask<Counts> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SplittableRandom[] streams;
+    private final int from;
+    private final int to;
+    private final int blocksPerTask;
+
+    BlocksTask(SplittableRandom[] streams, int from, int to, int blocksPerTask) {
+      this.streams = streams;
+      this.from = from;
+      this.to = to;
+      this.blocksPerTask = blocksPerTask;
+    }
+
+    @Override
+    protected Counts compute() {
+      if (to - from <= blocksPerTask) {
+        Counts counts = new Counts();
+        for (int block = from; block < to && !cancelled; block++) {
+          sampleBlock(streams[block], block, counts);
+        }
+        return counts;
+      }
+      int mid = (from + to) >>> 1;
+      BlocksTask right = new BlocksTask(streams, mid, to, blocksPerTask);
+      right.fork();
+      Counts counts = new BlocksTask(streams, from, mid, blocksPerTask).compute();
+      counts.add(right.join());
+      return counts;
+    }
+  }
+
+}
@@ -99,7 +99,9 @@ public class AddAirportScene extends MainScene {
       if (!inputManager.getAirportNames().contains(airportName)) {
         // Create new airport object:
         Airport airport = new Airport(airportName);
+        airport.setModified(true);
         inputManager.addAirport(airport);
+        inputManager.getJournal().airportAdded(airport);
         inputManager.setCurrentAirport(airport);
 
         // Display notification:
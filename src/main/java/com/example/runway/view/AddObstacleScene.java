@@ -2,6 +2,7 @@ package com.example.runway.view;
 
 import com.example.runway.controller.FileManager;
 import com.example.runway.controller.InputManager;
+import com.example.runway.controller.Validations;
 import com.example.runway.model.Obstacle;
 import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
@@ -23,6 +24,8 @@ public class AddObstacleScene extends MainScene {
   private TextField txtDistanceCentre;
   private TextField txtDistanceThreshold;
   private TextField txtLength;
+  private TextField txtValidFrom;
+  private TextField txtValidUntil;
 
   /**
    * Create a new add obstacle scene
@@ -117,6 +120,31 @@ public class AddObstacleScene extends MainScene {
 
     boxDistanceThreshold.getChildren().addAll(lblDistanceThreshold, txtDistanceThreshold);
 
+    // Temporary obstacles (empty = always present):
+    HBox boxValidFrom = new HBox();
+    boxValidFrom.setSpacing(5);
+    boxValidFrom.setAlignment(Pos.CENTER_RIGHT);
+
+    Label lblValidFrom = new Label("Present from (optional):");
+    lblValidFrom.getStyleClass().add("input-output-labels");
+    txtValidFrom = new TextField();
+    txtValidFrom.setPromptText("yyyy-MM-dd HH:mm");
+    txtValidFrom.setMaxWidth(140);
+
+    boxValidFrom.getChildren().addAll(lblValidFrom, txtValidFrom);
+
+    HBox boxValidUntil = new HBox();
+    boxValidUntil.setSpacing(5);
+    boxValidUntil.setAlignment(Pos.CENTER_RIGHT);
+
+    Label lblValidUntil = new Label("Present until (optional):");
+    lblValidUntil.getStyleClass().add("input-output-labels");
+    txtValidUntil = new TextField();
+    txtValidUntil.setPromptText("yyyy-MM-dd HH:mm");
+    txtValidUntil.setMaxWidth(140);
+
+    boxValidUntil.getChildren().addAll(lblValidUntil, txtValidUntil);
+
     // Draw buttons:
     HBox boxButtons = new HBox();
     boxButtons.setAlignment(Pos.CENTER);
@@ -131,7 +159,8 @@ public class AddObstacleScene extends MainScene {
     btnBack.setOnAction(this::back);
 
 
-    boxValues.getChildren().addAll(boxName, boxHeight, boxLength, boxDistanceCentre, boxDistanceThreshold);
+    boxValues.getChildren().addAll(boxName, boxHeight, boxLength, boxDistanceCentre, boxDistanceThreshold,
+        boxValidFrom, boxValidUntil);
     boxButtons.getChildren().addAll(btnBack, btnNext);
 
     boxInputs.getChildren().addAll(boxValues, boxButtons);
@@ -158,15 +187,24 @@ public class AddObstacleScene extends MainScene {
           if (validations.isValidObstacleDistance(txtDistanceCentre.getText(), true)) {
             if (validations.isValidObstacleDistance(txtDistanceThreshold.getText(), false) &&
                 Double.parseDouble(txtDistanceThreshold.getText()) < inputManager.getCurrentRunway().getTora()) {
-              if (!inputManager.getCurrentRunway().getObstacleNames().contains(obstacleName)) {
+              if (!validations.isValidObstacleValidity(txtValidFrom.getText(), txtValidUntil.getText())) {
+                alerts.alertError("Invalid times of a temporary obstacle",
+                    "Times have to be in the format yyyy-MM-dd HH:mm or empty,\n "
+                        + "and the obstacle has to be removed after it is placed.");
+              }
+              else if (!inputManager.getCurrentRunway().getObstacleNames().contains(obstacleName)) {
                 // Create a new obstacle object:
                 Obstacle obstacle = new Obstacle(obstacleName,
                     Double.parseDouble(txtHeight.getText()),
                     Double.parseDouble(txtLength.getText()),
                     Double.parseDouble(txtDistanceCentre.getText()),
                     Double.parseDouble(txtDistanceThreshold.getText()));
+                obstacle.setValidity(Validations.parseObstacleTime(txtValidFrom.getText(), Obstacle.ALWAYS_FROM),
+                    Validations.parseObstacleTime(txtValidUntil.getText(), Obstacle.ALWAYS_UNTIL));
                 inputManager.getCurrentRunway().addObstacle(obstacle);
                 inputManager.getCurrentRunway().setCurrentObstacle(obstacle);
+                inputManager.getJournal().obstacleChanged(inputManager.getCurrentAirport(),
+                    inputManager.getCurrentRunway(), null, obstacle);
 
                 // Display notification:
                 Text txtNotification = new Text(
@@ -24,6 +24,9 @@ public class AddRunwayScene extends MainScene {
   private TextField txtAsda;
   private TextField txtLda;
   private TextField txtDisplaced;
+  private TextField txtThresholdX;
+  private TextField txtThresholdY;
+  private TextField txtHeading;
 
   /**
    * Create a new add runway scene
@@ -53,9 +56,9 @@ public class AddRunwayScene extends MainScene {
     boxInputs.setAlignment(Pos.CENTER);
     boxInputs.setSpacing(40);
 
-    Label lblHeading = new Label("Add a New Runway");
-    lblHeading.getStyleClass().add("heading");
-    boxInputs.getChildren().add(lblHeading);
+    Label lblTitle = new Label("Add a New Runway");
+    lblTitle.getStyleClass().add("heading");
+    boxInputs.getChildren().add(lblTitle);
 
     VBox boxValues = new VBox();
     boxValues.setAlignment(Pos.CENTER_RIGHT);
@@ -122,6 +125,29 @@ public class AddRunwayScene extends MainScene {
     txtDisplaced.setMaxWidth(100);
     boxDisplaced.getChildren().addAll(lblDisplaced, txtDisplaced);
 
+
+    // Optional position of the threshold (for the airport's surveyed obstacles):
+    HBox boxPosition = new HBox();
+    boxPosition.setSpacing(5);
+    boxPosition.setAlignment(Pos.CENTER_RIGHT);
+    Label lblPosition = new Label("Threshold x / y:");
+    lblPosition.getStyleClass().add("input-output-labels");
+    txtThresholdX = new TextField();
+    txtThresholdX.setMaxWidth(60);
+    txtThresholdY = new TextField();
+    txtThresholdY.setMaxWidth(60);
+    boxPosition.getChildren().addAll(lblPosition, txtThresholdX, txtThresholdY);
+
+
+    HBox boxHeading = new HBox();
+    boxHeading.setSpacing(5);
+    boxHeading.setAlignment(Pos.CENTER_RIGHT);
+    Label lblHeading = new Label("Heading:");
+    lblHeading.getStyleClass().add("input-output-labels");
+    txtHeading = new TextField();
+    txtHeading.setMaxWidth(100);
+    boxHeading.getChildren().addAll(lblHeading, txtHeading);
+
     // Draw buttons:
     HBox boxButtons = new HBox();
     boxButtons.setAlignment(Pos.CENTER);
@@ -136,7 +162,8 @@ public class AddRunwayScene extends MainScene {
     btnBack.setOnAction(this::back);
 
 
-    boxValues.getChildren().addAll(boxRunwayNumber, boxTora, boxToda, boxAsda, boxLda, boxDisplaced);
+    boxValues.getChildren().addAll(boxRunwayNumber, boxTora, boxToda, boxAsda, boxLda, boxDisplaced, boxPosition,
+        boxHeading);
     boxButtons.getChildren().addAll(btnBack, btnNext);
 
     boxInputs.getChildren().addAll(boxValues, boxButtons);
@@ -165,15 +192,27 @@ public class AddRunwayScene extends MainScene {
           if (validations.isValidRunwayToda(txtToda.getText(), asda)) {
               if (validations.isValidRunwayLda(txtLda.getText(), tora)) {
                 if (validations.isValidRunwayDisplaced(txtDisplaced.getText())) {
-                  if (!runwayExists(runwayNumber)) {
+                  if (!validations.isValidRunwayPosition(txtThresholdX.getText(), txtThresholdY.getText(),
+                      txtHeading.getText())) {
+                    alerts.alertError("Invalid threshold position",
+                        "Please enter both coordinates in metres (or neither),\n the heading has to be between 0 and 360.");
+                  }
+                  else if (!runwayExists(runwayNumber)) {
                     // Create a new runway object:
                     Runway runway = new Runway(runwayNumber, tora,
                         Double.parseDouble(txtToda.getText()),
                         Double.parseDouble(txtAsda.getText()),
                         Double.parseDouble(txtLda.getText()),
                         Double.parseDouble(txtDisplaced.getText()));
+                    if (!txtThresholdX.getText().isBlank()) {
+                      runway.setPosition(Double.parseDouble(txtThresholdX.getText()),
+                          Double.parseDouble(txtThresholdY.getText()),
+                          txtHeading.getText().isBlank() ? Double.NaN : Double.parseDouble(txtHeading.getText()));
+                    }
                     inputManager.setCurrentRunway(runway);
                     inputManager.getCurrentAirport().addRunway(runway);
+                    inputManager.getCurrentAirport().applyObstacleRegistry();
+                    inputManager.getJournal().runwayChanged(inputManager.getCurrentAirport(), null, runway);
 
                     // Display notification:
                     Text txtNotification = new Text(
@@ -0,0 +1,185 @@
+package com.example.runway.view;
+
+import com.example.runway.controller.FileManager;
+import com.example.runway.controller.InputManager;
+import com.example.runway.model.Airport;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.Runway;
+import com.example.runway.model.SurveyedObstacle;
+import javafx.event.ActionEvent;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+/**
+ * The add surveyed obstacle scene. Asks the user to input an obstacle in airport coordinates and adds it to every
+ * positioned runway of the current airport whose cleared and graded area it is in.
+ */
+public class AddSurveyedObstacleScene extends MainScene {
+
+  private TextField txtName;
+  private TextField txtX;
+  private TextField txtY;
+  private TextField txtHeight;
+  private TextField txtLength;
+
+  /**
+   * Create a new add surveyed obstacle scene
+   * @param mainPage     the main page parameters of the UI
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public AddSurveyedObstacleScene(MainPage mainPage, InputManager inputManager, FileManager fileManager) {
+    super(mainPage);
+
+    this.inputManager = inputManager;
+    this.fileManager = fileManager;
+  }
+
+  /**
+   * Draw the UI components
+   */
+  @Override
+  public void draw() {
+    // Set up the main pane
+    root = new MainPane();
+    root.getStylesheets().add(getClass().getResource(inputManager.getStyle()).toExternalForm());
+    root.getStyleClass().add("menu-background");
+
+    // Draw UI for user input:
+    VBox boxInputs = new VBox();
+    boxInputs.setAlignment(Pos.CENTER);
+    boxInputs.setSpacing(40);
+
+    Label lblHeading = new Label("Add a New Surveyed Obstacle");
+    lblHeading.getStyleClass().add("heading");
+    boxInputs.getChildren().add(lblHeading);
+
+    VBox boxValues = new VBox();
+    boxValues.setAlignment(Pos.CENTER_RIGHT);
+    VBox.setMargin(boxValues, new Insets(0, 140, 0, 0));
+    boxValues.setMaxWidth(400);
+    boxValues.setSpacing(20);
+
+    txtName = new TextField();
+    txtX = new TextField();
+    txtY = new TextField();
+    txtHeight = new TextField();
+    txtLength = new TextField();
+    boxValues.getChildren().addAll(
+        inputRow("Obstacle name:", txtName),
+        inputRow("Metres east of reference point:", txtX),
+        inputRow("Metres north of reference point:", txtY),
+        inputRow("Height:", txtHeight),
+        inputRow("Length:", txtLength));
+
+    // Draw buttons:
+    HBox boxButtons = new HBox();
+    boxButtons.setAlignment(Pos.CENTER);
+    boxButtons.setSpacing(70);
+
+    Button btnNext = new Button("Next");
+    btnNext.getStyleClass().add("button-next");
+    btnNext.setOnAction(this::next);
+
+    Button btnBack = new Button("Back");
+    btnBack.getStyleClass().add("button-next");
+    btnBack.setOnAction(this::back);
+
+    boxButtons.getChildren().addAll(btnBack, btnNext);
+    boxInputs.getChildren().addAll(boxValues, boxButtons);
+    root.getChildren().add(boxInputs);
+  }
+
+  /**
+   * Create a labelled row of the input form
+   * @param text     label text
+   * @param input    input field
+   * @return the row
+   */
+  private HBox inputRow(String text, TextField input) {
+    HBox box = new HBox();
+    box.setSpacing(5);
+    box.setAlignment(Pos.CENTER_RIGHT);
+
+    Label label = new Label(text);
+    label.getStyleClass().add("input-output-labels");
+    input.setMaxWidth(100);
+
+    box.getChildren().addAll(label, input);
+    return box;
+  }
+
+  /**
+   * Handle when the Back button is clicked (loads previous scene)
+   * @param event    action event
+   */
+  private void back(ActionEvent event) {
+    if (inputManager.getCurrentRunway() != null) {
+      mainPage.showRunway(inputManager, fileManager, inputManager.getCurrentRunway());
+    }
+    else {
+      mainPage.showRunway(inputManager, fileManager);
+    }
+  }
+
+  /**
+   * Handle when the Next button is clicked (saves the new obstacle and adds it to the runways)
+   * @param event    action event
+   */
+  private void next(ActionEvent event) {
+    Airport airport = inputManager.getCurrentAirport();
+    String obstacleName = txtName.getText();
+    if (!validations.isValidName(obstacleName)) {
+      alerts.alertError("Invalid obstacle name", "It has to consist of letters and numbers,\n where the first character is a letter.");
+    }
+    else if (!validations.isValidCoordinate(txtX.getText()) || !validations.isValidCoordinate(txtY.getText())) {
+      alerts.alertError("Invalid obstacle position", "Both coordinates have to be numbers (in metres).");
+    }
+    else if (!validations.isValidObstacleHeight(txtHeight.getText())) {
+      alerts.alertError("Invalid obstacle height", "It has to be a number, which is greater than 0.");
+    }
+    else if (!validations.isValidObstacleHeight(txtLength.getText())) {
+      alerts.alertError("Invalid obstacle length", "It has to be a number, which is greater than 0.");
+    }
+    else if (airport.getObstacleRegistry().getObstacle(obstacleName) != null) {
+      alerts.alertError("An obstacle with this name already exists", "Please choose a different name.");
+    }
+    else {
+      // Create a new obstacle and project it into the runways:
+      SurveyedObstacle surveyed = new SurveyedObstacle(obstacleName,
+          Double.parseDouble(txtX.getText()),
+          Double.parseDouble(txtY.getText()),
+          Double.parseDouble(txtHeight.getText()),
+          Double.parseDouble(txtLength.getText()));
+      airport.getObstacleRegistry().add(surveyed);
+      airport.applyObstacleRegistry();
+      airport.setModified(true);
+      inputManager.getJournal().surveyedObstacleAdded(airport, surveyed);
+
+      // Display notification:
+      StringBuilder runways = new StringBuilder();
+      for (Runway runway : airport.getRunways()) {
+        for (Obstacle obstacle : runway.getObstacles()) {
+          if (obstacle.getName().equals(obstacleName) && airport.getObstacleRegistry().isProjected(runway, obstacle)) {
+            runways.append(runways.length() == 0 ? "" : ", ").append(runway.getRunwayNumber());
+          }
+        }
+      }
+      Text txtNotification = new Text(
+          "A new surveyed obstacle \"" + obstacleName + "\" has been added to the \"" + airport.getName()
+              + "\" airport" + (runways.length() == 0 ? " (outside all runways).\n" : " (runways " + runways + ").\n"));
+      txtNotification.getStyleClass().add("black-notification");
+      inputManager.addNotification(txtNotification);
+
+      // Return to main page:
+      back(event);
+    }
+  }
+
+}
@@ -153,6 +153,8 @@ public class ExportScene extends MainScene {
         txtNotification = new Text(
             "\"" + inputManager.getCurrentAirport().getName() + "\" airport's runway view has been successfully exported as PNG file.\n");
       } else {
+        // Values which are out of date are re-calculated before they are written:
+        inputManager.recalculateDirty();
         fileManager.exportAsTXT(file, inputManager.getCurrentAirport(),
             inputManager.getCurrentRunway(),
             inputManager.getCurrentRunway().getCurrentObstacle(), inputManager.getMethod());
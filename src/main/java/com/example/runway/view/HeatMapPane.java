@@ -0,0 +1,130 @@
+package com.example.runway.view;
+
+import com.example.runway.model.ParameterSweep;
+import com.example.runway.model.NumberCodec;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+
+/**
+ * The heat map pane. Displays the results of a parameter sweep
+ * (x axis = distance from threshold, y axis = obstacle height, colour = re-declared value).
+ */
+public class HeatMapPane extends StackPane {
+
+  private final int width;
+  private final int height;
+  private final ImageView imageView = new ImageView();
+  private final Label lblTitle = new Label("");
+  private final Label lblLegend = new Label("");
+  private final Label lblMinDistance = new Label("");
+  private final Label lblMaxDistance = new Label("");
+  private final Label lblMinHeight = new Label("");
+  private final Label lblMaxHeight = new Label("");
+
+  /**
+   * Create a new heat map pane
+   * @param width     width of the heat map in pixels
+   * @param height    height of the heat map in pixels
+   */
+  public HeatMapPane(int width, int height) {
+    super();
+    this.width = width;
+    this.height = height;
+
+    getStyleClass().add("obstacle-pane");
+    setMaxSize(width + 120, height + 110);
+    setMinSize(width + 120, height + 110);
+
+    lblTitle.getStyleClass().add("input-output-labels");
+
+    // Height axis:
+    BorderPane axisHeight = new BorderPane();
+    axisHeight.setTop(lblMaxHeight);
+    axisHeight.setBottom(lblMinHeight);
+    axisHeight.setMinWidth(50);
+
+    // Distance axis:
+    HBox axisDistance = new HBox();
+    Region spacer = new Region();
+    HBox.setHgrow(spacer, Priority.ALWAYS);
+    axisDistance.getChildren().addAll(lblMinDistance, spacer, lblMaxDistance);
+    axisDistance.setMaxWidth(width);
+    VBox.setMargin(axisDistance, new Insets(0, 0, 0, 55));
+
+    HBox boxMap = new HBox();
+    boxMap.setSpacing(5);
+    boxMap.setAlignment(Pos.CENTER);
+    boxMap.getChildren().addAll(axisHeight, imageView);
+
+    VBox boxData = new VBox();
+    boxData.setAlignment(Pos.CENTER);
+    boxData.setSpacing(5);
+    boxData.getChildren().addAll(lblTitle, boxMap, axisDistance, lblLegend);
+    getChildren().add(boxData);
+  }
+
+  /**
+   * Draw the results of a sweep. Cells below the limit are drawn in dark red.
+   * @param sweep    a finished parameter sweep
+   * @param title    title of the heat map
+   * @param limit    lowest acceptable re-declared value
+   */
+  public void draw(ParameterSweep sweep, String title, double limit) {
+    float[] values = sweep.getValues();
+    int rows = sweep.getHeightSteps();
+    int columns = sweep.getDistanceSteps();
+
+    // Range of the results:
+    float min = Float.POSITIVE_INFINITY;
+    float max = Float.NEGATIVE_INFINITY;
+    for (float value : values) {
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+    float range = max > min ? max - min : 1;
+
+    // Sample one cell per pixel (heights increase upwards):
+    int imageWidth = Math.min(width, columns);
+    int imageHeight = Math.min(height, rows);
+    WritableImage image = new WritableImage(imageWidth, imageHeight);
+    PixelWriter writer = image.getPixelWriter();
+    for (int y = 0; y < imageHeight; y++) {
+      int row = (int) ((long) (imageHeight - 1 - y) * rows / imageHeight);
+      for (int x = 0; x < imageWidth; x++) {
+        int column = (int) ((long) x * columns / imageWidth);
+        float value = values[row * columns + column];
+        if (value < limit) {
+          writer.setColor(x, y, Color.DARKRED);
+        }
+        else {
+          // Red (lowest value) to green (highest value):
+          writer.setColor(x, y, Color.hsb(120 * (value - min) / range, 0.8, 0.9));
+        }
+      }
+    }
+    imageView.setImage(image);
+    imageView.setFitWidth(width);
+    imageView.setFitHeight(height);
+    imageView.setSmooth(false);
+
+    lblTitle.setText(title);
+    lblMinHeight.setText(NumberCodec.format(sweep.getHeight(0)) + " m");
+    lblMaxHeight.setText(NumberCodec.format(sweep.getHeight(rows - 1)) + " m");
+    lblMinDistance.setText(NumberCodec.format(sweep.getDistance(0)) + " m");
+    lblMaxDistance.setText(NumberCodec.format(sweep.getDistance(columns - 1)) + " m");
+    lblLegend.setText("Height (vertical) / distance from threshold (horizontal). Red = " + NumberCodec.format(min)
+        + " m, green = " + NumberCodec.format(max) + " m, dark red = below " + NumberCodec.format(limit) + " m");
+  }
+
+}
@@ -108,12 +108,18 @@ public class ImportScene extends MainScene {
     // User chooses file:
     file = fileChooser.showOpenDialog(mainPage.getStage());
     if (file != null) {
-      if (validations.isValidXMLFile(file)) {
-        lblFilename.setText(file.getName());
+      try {
+        if (validations.isValidXMLFile(file)) {
+          lblFilename.setText(file.getName());
+        }
+        // Error message displayed if invalid file was chosen:
+        else {
+          alerts.alertError("Invalid XML file", "Please import another file.");
+        }
       }
-      // Error message displayed if invalid file was chosen:
-      else {
-        alerts.alertError("Invalid XML file", "Please import another file.");
+      // The application is not set up correctly (no file can be validated):
+      catch (IllegalStateException e) {
+        alerts.alertError("Files cannot be imported", e.getMessage());
       }
     }
   }
@@ -123,13 +129,26 @@ public class ImportScene extends MainScene {
    * @param event    action event
    */
   private void next(ActionEvent event) {
-    if (validations.isValidXMLFile(file)) {
+    boolean valid;
+    try {
+      valid = validations.isValidXMLFile(file);
+    }
+    // The application is not set up correctly (no file can be validated):
+    catch (IllegalStateException e) {
+      alerts.alertError("Files cannot be imported", e.getMessage());
+      return;
+    }
+    if (valid) {
       try {
         // Create a new airport object:
         Airport airport = fileManager.importFile(file.getAbsolutePath());
 
         if (validations.isValidAirport(airport, inputManager)) {
+          // Stored right away (the journal does not record the imported runways):
+          airport.setModified(true);
           inputManager.addAirport(airport);
+          inputManager.getJournal().airportAdded(airport);
+          fileManager.saveAirport(airport);
 
           // Display notification:
           Text txtNotification = new Text(
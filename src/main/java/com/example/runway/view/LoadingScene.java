@@ -0,0 +1,120 @@
+package com.example.runway.view;
+
+import com.example.runway.controller.FileManager;
+import com.example.runway.controller.InputManager;
+import com.example.runway.model.AirportSummary;
+import com.example.runway.model.ParameterProfiles;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+/**
+ * The loading scene. Displayed at launch while the summaries of the stored airports are loaded in the background,
+ * then replaced by the runway scene.
+ */
+public class LoadingScene extends MainScene {
+
+  private ProgressBar progressBar;
+  private Label lblStatus;
+
+  /**
+   * Create a new loading scene
+   * @param mainPage     the main page parameters of the UI
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public LoadingScene(MainPage mainPage, InputManager inputManager, FileManager fileManager) {
+    super(mainPage);
+
+    this.inputManager = inputManager;
+    this.fileManager = fileManager;
+  }
+
+  /**
+   * Draw the UI components
+   */
+  @Override
+  public void draw() {
+    // Set up the main pane
+    root = new MainPane();
+    root.getStylesheets().add(getClass().getResource(inputManager.getStyle()).toExternalForm());
+    root.getStyleClass().add("menu-background");
+
+    VBox boxMain = new VBox();
+    boxMain.setAlignment(Pos.CENTER);
+    boxMain.setSpacing(30);
+
+    Label lblHeading = new Label("Loading Airports");
+    lblHeading.getStyleClass().add("heading");
+
+    progressBar = new ProgressBar(-1);
+    progressBar.setPrefWidth(300);
+
+    lblStatus = new Label();
+    lblStatus.getStyleClass().add("input-output-labels");
+
+    boxMain.getChildren().addAll(lblHeading, progressBar, lblStatus);
+    root.getChildren().add(boxMain);
+  }
+
+  /**
+   * Load the stored airports in the background, then display the runway scene
+   */
+  public void load() {
+    List<String> failures = new ArrayList<>();
+    Task<List<AirportSummary>> task = new Task<>() {
+      @Override
+      protected List<AirportSummary> call() {
+        // Aircraft profiles edited by the user (or the bundled ones) are added to the default profiles first, as
+        // runways refer to their profiles by name:
+        updateMessage("Loading parameter profiles");
+        fileManager.loadProfiles(ParameterProfiles.getShared());
+
+        // Edits which were not saved in the last run are applied to the airport files:
+        updateMessage("Applying unsaved edits");
+        inputManager.getJournal().compact();
+
+        // Summaries are read from the snapshot, only files which have changed since the last launch are parsed:
+        return fileManager.fetchSummaries((loaded, total) -> {
+          updateProgress(loaded, total);
+          updateMessage(loaded + " of " + total + " files loaded");
+        }, failures);
+      }
+    };
+    task.setOnSucceeded(e -> finish(task.getValue(), failures));
+    task.setOnFailed(e -> {
+      task.getException().printStackTrace();
+      finish(List.of(), failures);
+    });
+    progressBar.progressProperty().bind(task.progressProperty());
+    lblStatus.textProperty().bind(task.messageProperty());
+
+    Thread thread = new Thread(task);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Add the stored airports and display the runway scene
+   * @param summaries    summaries of the stored airports (loaded when they are chosen)
+   * @param failures     names of the files which could not be loaded
+   */
+  private void finish(List<AirportSummary> summaries, List<String> failures) {
+    inputManager.getAirportCatalog().addSummaries(summaries);
+    inputManager.getJournal().startCompaction();
+
+    if (!failures.isEmpty()) {
+      Text txtNotification = new Text("The following files could not be loaded: " + String.join(", ", failures)
+          + ".\n");
+      txtNotification.getStyleClass().add("red-notification");
+      inputManager.addNotification(txtNotification);
+    }
+    mainPage.showRunway(inputManager, fileManager);
+  }
+
+}
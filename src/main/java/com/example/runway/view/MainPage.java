@@ -1,11 +1,10 @@
 package com.example.runway.view;
 
 import com.example.runway.controller.Alerts;
+import com.example.runway.controller.EditJournal;
 import com.example.runway.controller.FileManager;
 import com.example.runway.controller.InputManager;
-import com.example.runway.model.Airport;
 import com.example.runway.model.Runway;
-import java.util.List;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
@@ -43,17 +42,13 @@ public class MainPage {
     this.scene = new Scene(new Pane(), width, height);
 
     // Load the runway scene:
-    inputManager = new InputManager();
     fileManager = new FileManager();
+    inputManager = new InputManager(fileManager, new EditJournal(fileManager));
 
-    // Load data that has been previously stored:
-    List<Airport> airports = fileManager.fetchFiles();
-    for (Airport airport : airports) {
-      inputManager.addAirport(airport);
-    }
-
-    // Display main page:
-    showRunway(inputManager, fileManager);
+    // Load data that has been previously stored (the main page is displayed when it has been loaded):
+    LoadingScene loading = new LoadingScene(this, inputManager, fileManager);
+    showScene(loading);
+    loading.load();
   }
 
   /**
@@ -99,6 +94,15 @@ public class MainPage {
     showScene(new AddObstacleScene(this, inputManager, fileManager));
   }
 
+  /**
+   * Load the scene for adding a new surveyed obstacle to the current airport
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public void showAddSurveyedObstacle(InputManager inputManager, FileManager fileManager) {
+    showScene(new AddSurveyedObstacleScene(this, inputManager, fileManager));
+  }
+
 
   /**
    * Load the runway scene
@@ -163,6 +167,51 @@ public class MainPage {
     showScene(new HelpScene(this, inputManager, fileManager, num));
   }
 
+  /**
+   * Load the what-if sweep scene for the current runway
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public void showSweep(InputManager inputManager, FileManager fileManager) {
+    showScene(new SweepScene(this, inputManager, fileManager));
+  }
+
+  /**
+   * Load the scene for adding and modifying parameter profiles
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public void showProfiles(InputManager inputManager, FileManager fileManager) {
+    showScene(new ProfilesScene(this, inputManager, fileManager));
+  }
+
+  /**
+   * Load the uncertainty analysis scene for the current runway and its current obstacle
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public void showUncertainty(InputManager inputManager, FileManager fileManager) {
+    showScene(new UncertaintyScene(this, inputManager, fileManager));
+  }
+
+  /**
+   * Load the declared distance timeline scene for the current runway
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public void showTimeline(InputManager inputManager, FileManager fileManager) {
+    showScene(new TimelineScene(this, inputManager, fileManager));
+  }
+
+  /**
+   * Load the scene for re-declaring the runways of all loaded airports
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public void showNetwork(InputManager inputManager, FileManager fileManager) {
+    showScene(new NetworkScene(this, inputManager, fileManager));
+  }
+
   /**
    * Load a given scene
    * @param newScene    the scene to load
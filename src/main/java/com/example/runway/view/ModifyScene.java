@@ -2,7 +2,12 @@ package com.example.runway.view;
 
 import com.example.runway.controller.FileManager;
 import com.example.runway.controller.InputManager;
+import com.example.runway.controller.Validations;
 import com.example.runway.model.Obstacle;
+import com.example.runway.model.ObstacleRegistry;
+import com.example.runway.model.Runway;
+import com.example.runway.model.SurveyedObstacle;
+import java.util.List;
 import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -28,6 +33,8 @@ public class ModifyScene extends MainScene {
   private TextField txtLength;
   private TextField txtDistanceCentre;
   private TextField txtDistanceThreshold;
+  private TextField txtValidFrom;
+  private TextField txtValidUntil;
 
   private VBox boxInputs;
   private final int num;
@@ -264,7 +271,31 @@ public class ModifyScene extends MainScene {
     txtDistanceThreshold.setMaxWidth(100);
     boxDistanceThreshold.getChildren().addAll(lblDistanceThreshold, txtDistanceThreshold);
 
-    boxValues.getChildren().addAll(boxName, boxHeight, boxLength, boxDistanceCentre, boxDistanceThreshold);
+    // Temporary obstacles (empty = always present):
+    HBox boxValidFrom = new HBox();
+    boxValidFrom.setSpacing(5);
+    boxValidFrom.setAlignment(Pos.CENTER_RIGHT);
+    Label lblValidFrom = new Label("Present from (optional):");
+    lblValidFrom.getStyleClass().add("input-output-labels");
+    txtValidFrom = new TextField(Validations.formatObstacleTime(
+        inputManager.getCurrentRunway().getCurrentObstacle().getValidFrom(), Obstacle.ALWAYS_FROM));
+    txtValidFrom.setPromptText("yyyy-MM-dd HH:mm");
+    txtValidFrom.setMaxWidth(140);
+    boxValidFrom.getChildren().addAll(lblValidFrom, txtValidFrom);
+
+    HBox boxValidUntil = new HBox();
+    boxValidUntil.setSpacing(5);
+    boxValidUntil.setAlignment(Pos.CENTER_RIGHT);
+    Label lblValidUntil = new Label("Present until (optional):");
+    lblValidUntil.getStyleClass().add("input-output-labels");
+    txtValidUntil = new TextField(Validations.formatObstacleTime(
+        inputManager.getCurrentRunway().getCurrentObstacle().getValidUntil(), Obstacle.ALWAYS_UNTIL));
+    txtValidUntil.setPromptText("yyyy-MM-dd HH:mm");
+    txtValidUntil.setMaxWidth(140);
+    boxValidUntil.getChildren().addAll(lblValidUntil, txtValidUntil);
+
+    boxValues.getChildren().addAll(boxName, boxHeight, boxLength, boxDistanceCentre, boxDistanceThreshold,
+        boxValidFrom, boxValidUntil);
     boxInputs.getChildren().add(boxValues);
   }
 
@@ -312,8 +343,13 @@ public class ModifyScene extends MainScene {
           inputManager.setModified(true);
 
           // Modify the airport
-          fileManager.deleteAirport(inputManager.getCurrentAirport().getName());
+          String oldName = inputManager.getCurrentAirport().getName();
           inputManager.getCurrentAirport().setName(airportName);
+          inputManager.getJournal().airportRenamed(inputManager.getCurrentAirport(), oldName);
+          // The file is moved to the new name (saved before the old one is deleted):
+          inputManager.getCurrentAirport().setDefaultRunways();
+          fileManager.saveAirport(inputManager.getCurrentAirport());
+          fileManager.deleteAirport(oldName);
 
           // Display notification
           Text txtNotification = new Text(
@@ -370,19 +406,27 @@ public class ModifyScene extends MainScene {
                       inputManager.setModified(true);
 
                       // Modify the runway:
+                      String oldNumber = inputManager.getCurrentRunway().getRunwayNumber();
                       inputManager.getCurrentRunway().setRunwayNumber(runwayNumber);
                       inputManager.getCurrentRunway().setDefaultTora(Double.parseDouble(tora));
                       inputManager.getCurrentRunway().setDefaultToda(Double.parseDouble(toda));
                       inputManager.getCurrentRunway().setDefaultAsda(Double.parseDouble(asda));
                       inputManager.getCurrentRunway().setDefaultLda(Double.parseDouble(lda));
                       inputManager.getCurrentRunway().setDisplacedThreshold(Double.parseDouble(displaced));
+                      inputManager.getJournal().runwayChanged(inputManager.getCurrentAirport(), oldNumber,
+                          inputManager.getCurrentRunway());
 
                       // Display notification:
                       Text txtNotification = new Text(
                           "Runway \"" + runwayNumber + "\" successfully modified.\n");
                       txtNotification.getStyleClass().add("black-notification");
                       inputManager.addNotification(txtNotification);
-                      inputManager.getCurrentAirport().setDefaultRunways();
+
+                      // Re-calculate the results depending on the runway (and its surveyed obstacles):
+                      inputManager.getCurrentAirport().getObstacleRegistry().apply(inputManager.getCurrentRunway(),
+                          inputManager.getCurrentAirport().getRecalculation());
+                      inputManager.getCurrentAirport().getRecalculation().runwayChanged(inputManager.getCurrentRunway());
+                      recalculate();
 
                       // Return to main page:
                       mainPage.showRunway(inputManager, fileManager,
@@ -420,6 +464,22 @@ public class ModifyScene extends MainScene {
     }
   }
 
+  /**
+   * Re-calculate the runways whose re-declared values are out of date after an edit
+   */
+  private void recalculate() {
+    List<Runway> updated = inputManager.recalculateDirty();
+    if (!updated.isEmpty()) {
+      StringBuilder numbers = new StringBuilder();
+      for (Runway runway : updated) {
+        numbers.append(numbers.length() == 0 ? "\"" : ", \"").append(runway.getRunwayNumber()).append('"');
+      }
+      Text txtNotification = new Text("Re-declared values of runway " + numbers + " updated.\n");
+      txtNotification.getStyleClass().add("black-notification");
+      inputManager.addNotification(txtNotification);
+    }
+  }
+
   /**
    * Check whether a given runway number already exists in the current airport:
    * @param runwayNumber    runway number
@@ -456,28 +516,63 @@ public class ModifyScene extends MainScene {
     String length = txtLength.getText();
     String distanceCentre = txtDistanceCentre.getText();
     String distanceThreshold = txtDistanceThreshold.getText();
+    String validFrom = txtValidFrom.getText().trim();
+    String validUntil = txtValidUntil.getText().trim();
     boolean nameModified = !name.equals(current.getName());
+    // Obstacles projected from a surveyed obstacle are edited through the airport's registry:
+    ObstacleRegistry registry = inputManager.getCurrentAirport().getObstacleRegistry();
+    boolean projected = registry.isProjected(inputManager.getCurrentRunway(), current);
+    // Times are shown to the minute, so the validity is only set again if it was edited:
+    boolean validityModified = !(validFrom.equals(Validations.formatObstacleTime(current.getValidFrom(), Obstacle.ALWAYS_FROM))
+        && validUntil.equals(Validations.formatObstacleTime(current.getValidUntil(), Obstacle.ALWAYS_UNTIL)));
     if (!(name.equals(current.getName()) &&
         height.equals(String.valueOf(current.getHeight())) &&
+        length.equals(String.valueOf(current.getLength())) &&
         distanceCentre.equals(String.valueOf(current.getDistanceCentre())) &&
-        distanceThreshold.equals(String.valueOf(current.getDistanceFromThreshold())))) {
+        distanceThreshold.equals(String.valueOf(current.getDistanceFromThreshold())) &&
+        !validityModified)) {
       if (validations.isValidName(name)) {
         if (validations.isValidObstacleHeight(height)) {
           if (validations.isValidObstacleHeight(length)) {
             if (validations.isValidObstacleDistance(distanceCentre, true)) {
               if (validations.isValidObstacleDistance(distanceThreshold, false) &&
               Double.parseDouble(distanceThreshold) < inputManager.getCurrentRunway().getTora()) {
-                if (nameModified && obstacleExists(name)) {
+                if (nameModified && (obstacleExists(name) || (projected && registry.getObstacle(name) != null))) {
                   alerts.alertError("An obstacle with this name already exists",
                       "Please choose a different name.");
+                } else if (projected && validityModified) {
+                  alerts.alertError("Invalid times of a surveyed obstacle",
+                      "Surveyed obstacles are always present,\n they cannot be temporary.");
+                } else if (validityModified && !validations.isValidObstacleValidity(validFrom, validUntil)) {
+                  alerts.alertError("Invalid times of a temporary obstacle",
+                      "Times have to be in the format yyyy-MM-dd HH:mm or empty,\n "
+                          + "and the obstacle has to be removed after it is placed.");
                 } else {
                   inputManager.setModified(true);
 
                   // Modify the obstacle:
+                  String oldName = current.getName();
                   current.setName(name);
                   current.setHeight(Double.parseDouble(height));
+                  current.setLength(Double.parseDouble(length));
                   current.setDistanceCentre(Double.parseDouble(distanceCentre));
                   current.setDistanceThreshold(Double.parseDouble(distanceThreshold));
+                  if (validityModified) {
+                    current.setValidity(Validations.parseObstacleTime(validFrom, Obstacle.ALWAYS_FROM),
+                        Validations.parseObstacleTime(validUntil, Obstacle.ALWAYS_UNTIL));
+                  }
+                  inputManager.getCurrentAirport().setModified(true);
+                  if (projected) {
+                    // The surveyed obstacle moves with the projection, the other runways are updated:
+                    SurveyedObstacle surveyed = registry.update(inputManager.getCurrentRunway(), current);
+                    inputManager.getJournal().surveyedObstacleChanged(inputManager.getCurrentAirport(), oldName,
+                        surveyed);
+                    inputManager.getCurrentAirport().applyObstacleRegistry();
+                  }
+                  else {
+                    inputManager.getJournal().obstacleChanged(inputManager.getCurrentAirport(),
+                        inputManager.getCurrentRunway(), oldName, current);
+                  }
 
                   // Display notification:
                   Text txtNotification = new Text(
@@ -485,8 +580,11 @@ public class ModifyScene extends MainScene {
                   txtNotification.getStyleClass().add("black-notification");
                   inputManager.addNotification(txtNotification);
 
+                  // Re-calculate the results depending on the obstacle:
+                  inputManager.getCurrentAirport().getRecalculation().obstacleChanged(current);
+                  recalculate();
+
                   // Reurn to main page:
-                  inputManager.getCurrentAirport().setDefaultRunways();
                   mainPage.showRunway(inputManager, fileManager, inputManager.getCurrentRunway());
                 }
               }
@@ -546,7 +644,8 @@ public class ModifyScene extends MainScene {
 
       // Delete the airport:
       fileManager.deleteAirport(name);
-      inputManager.getAirports().remove(inputManager.getCurrentAirport());
+      inputManager.getJournal().airportDeleted(inputManager.getCurrentAirport());
+      inputManager.removeAirport(inputManager.getCurrentAirport());
 
       // Display notification:
       Text txtNotification = new Text(
@@ -569,8 +668,9 @@ public class ModifyScene extends MainScene {
       inputManager.setModified(true);
 
       // Delete the runway:
-      fileManager.deleteAirport(inputManager.getCurrentAirport().getName());
-      inputManager.getCurrentAirport().getRunways().remove(inputManager.getCurrentRunway());
+      inputManager.getJournal().runwayDeleted(inputManager.getCurrentAirport(), inputManager.getCurrentRunway());
+      inputManager.getCurrentAirport().deleteRunway(inputManager.getCurrentRunway());
+      recalculate();
 
       // Display notification:
       Text txtNotification = new Text(
@@ -593,8 +693,21 @@ public class ModifyScene extends MainScene {
       inputManager.setModified(true);
 
       // Delete the obstacle:
-      fileManager.deleteAirport(inputManager.getCurrentAirport().getName());
-      inputManager.getCurrentRunway().getObstacles().remove(inputManager.getCurrentRunway().getCurrentObstacle());
+      Obstacle current = inputManager.getCurrentRunway().getCurrentObstacle();
+      ObstacleRegistry registry = inputManager.getCurrentAirport().getObstacleRegistry();
+      SurveyedObstacle surveyed = registry.getSource(inputManager.getCurrentRunway(), current);
+      if (surveyed != null) {
+        // A surveyed obstacle is removed from the airport, and so from every runway it was projected onto:
+        inputManager.getJournal().surveyedObstacleDeleted(inputManager.getCurrentAirport(), surveyed);
+        registry.remove(surveyed, inputManager.getCurrentAirport().getRecalculation());
+        inputManager.getCurrentAirport().setModified(true);
+      }
+      else {
+        inputManager.getCurrentAirport().getRecalculation().obstacleRemoved(current);
+        inputManager.getJournal().obstacleDeleted(inputManager.getCurrentAirport(), inputManager.getCurrentRunway(),
+            current);
+        inputManager.getCurrentRunway().removeObstacle(current);
+      }
 
       // Display notification:
       Text txtNotification = new Text(
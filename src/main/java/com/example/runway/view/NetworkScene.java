@@ -0,0 +1,240 @@
+package com.example.runway.view;
+
+import com.example.runway.controller.FileManager;
+import com.example.runway.controller.InputManager;
+import com.example.runway.model.Airport;
+import com.example.runway.model.NetworkRecompute;
+import com.example.runway.model.NumberCodec;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import javafx.concurrent.Task;
+import javafx.event.ActionEvent;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * The network recompute scene. Re-declares every runway of all airports of the catalog for each of its obstacles
+ * with all landing/take-off methods, and lists the runways which are closed for some of them.
+ * Airports which are not loaded are read from their files one at a time in the background.
+ */
+public class NetworkScene extends MainScene {
+
+  private final String[] methodsStrings = {"landing over", "landing towards", "take-off towards", "take-off away"};
+
+  private ProgressBar progressBar;
+  private Button btnRun;
+  private Button btnCancel;
+  private Label lblSummary;
+  private ListView<String> listNegative;
+
+  // Task reading the airports and running the recompute, and the recompute once the airports are read:
+  private Task<NetworkRecompute> running;
+  private volatile NetworkRecompute recompute;
+
+  /**
+   * Create a new network recompute scene
+   * @param mainPage     the main page parameters of the UI
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public NetworkScene(MainPage mainPage, InputManager inputManager, FileManager fileManager) {
+    super(mainPage);
+
+    this.inputManager = inputManager;
+    this.fileManager = fileManager;
+  }
+
+  /**
+   * Draw the UI components
+   */
+  @Override
+  public void draw() {
+    // Set up the main pane
+    root = new MainPane();
+    root.getStylesheets().add(getClass().getResource(inputManager.getStyle()).toExternalForm());
+    root.getStyleClass().add("menu-background");
+
+    VBox boxMain = new VBox();
+    boxMain.setAlignment(Pos.CENTER);
+    boxMain.setSpacing(30);
+
+    Label lblHeading = new Label("Recompute All Airports");
+    lblHeading.getStyleClass().add("heading");
+
+    lblSummary = new Label(inputManager.getAirportCatalog().size() + " airports.");
+    lblSummary.getStyleClass().add("input-output-labels");
+
+    progressBar = new ProgressBar(0);
+    progressBar.setPrefWidth(300);
+
+    listNegative = new ListView<>();
+    listNegative.setMaxSize(700, 350);
+
+    // Draw buttons:
+    HBox boxButtons = new HBox();
+    boxButtons.setAlignment(Pos.CENTER);
+    boxButtons.setSpacing(20);
+
+    Button btnBack = new Button("Back");
+    btnBack.getStyleClass().add("button-next");
+    btnBack.setOnAction(this::back);
+
+    btnCancel = new Button("Cancel");
+    btnCancel.getStyleClass().add("button-next");
+    btnCancel.setOnAction(this::cancel);
+    btnCancel.setDisable(true);
+
+    btnRun = new Button("Run");
+    btnRun.getStyleClass().add("button-next");
+    btnRun.setOnAction(this::run);
+
+    boxButtons.getChildren().addAll(btnBack, btnCancel, btnRun);
+    boxMain.getChildren().addAll(lblHeading, lblSummary, progressBar, listNegative, boxButtons);
+    root.getChildren().add(boxMain);
+  }
+
+  /**
+   * Handle when the Back button is clicked (cancels the recompute and loads previous scene)
+   * @param event    action event
+   */
+  private void back(ActionEvent event) {
+    cancel(event);
+    if (inputManager.getCurrentRunway() != null) {
+      mainPage.showRunway(inputManager, fileManager, inputManager.getCurrentRunway());
+    }
+    else {
+      mainPage.showRunway(inputManager, fileManager);
+    }
+  }
+
+  /**
+   * Handle when the Cancel button is clicked (stops the running recompute)
+   * @param event    action event
+   */
+  private void cancel(ActionEvent event) {
+    if (running != null) {
+      running.cancel(false);
+    }
+    NetworkRecompute current = recompute;
+    if (current != null) {
+      current.cancel();
+    }
+  }
+
+  /**
+   * Display the summary of a finished recompute
+   * @param finished    the recompute
+   */
+  private void showResults(NetworkRecompute finished) {
+    lblSummary.setText(finished.getCombinationCount() + " combinations of " + finished.getRunwayCount()
+        + " runways re-declared in " + NumberCodec.format(finished.getElapsedMillis()) + " ms, "
+        + finished.getNegativeCount() + " with negative values.");
+    listNegative.getItems().clear();
+    for (int runway : finished.getNegativeRunways()) {
+      StringBuilder methods = new StringBuilder();
+      for (int method = 1; method <= 4; method++) {
+        int closed = 0;
+        for (int i = 0; i < finished.getObstacleCount(runway); i++) {
+          if (finished.hasNegative(runway, i, method)) {
+            closed++;
+          }
+        }
+        if (closed > 0) {
+          methods.append(methods.length() == 0 ? "" : ", ").append(methodsStrings[method - 1]).append(" (")
+              .append(closed).append(')');
+        }
+      }
+      listNegative.getItems().add(finished.getAirportName(runway) + " " + finished.getRunwayNumber(runway) + ": "
+          + methods);
+    }
+  }
+
+  /**
+   * Handle when the Run button is clicked (starts the recompute in the background)
+   * @param event    action event
+   */
+  private void run(ActionEvent event) {
+    Iterable<Airport> airports = inputManager.getAirportCatalog().getAll();
+    recompute = null;
+    listNegative.getItems().clear();
+
+    // Read the airports and run the recompute in the background, polling its progress:
+    Task<NetworkRecompute> task = new Task<>() {
+      @Override
+      protected NetworkRecompute call() {
+        updateProgress(-1, 1);
+        // Reading stops early when the task is cancelled:
+        Iterator<Airport> all = airports.iterator();
+        NetworkRecompute current = new NetworkRecompute(() -> new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return !isCancelled() && all.hasNext();
+          }
+
+          @Override
+          public Airport next() {
+            return all.next();
+          }
+        });
+        if (isCancelled()) {
+          return null;
+        }
+        recompute = current;
+        Thread poller = new Thread(() -> {
+          while (!isDone()) {
+            updateProgress(current.getProgress(), 1);
+            try {
+              Thread.sleep(50);
+            }
+            catch (InterruptedException e) {
+              return;
+            }
+          }
+        });
+        poller.setDaemon(true);
+        poller.start();
+        boolean finished = current.run(ForkJoinPool.commonPool());
+        updateProgress(current.getProgress(), 1);
+        return finished ? current : null;
+      }
+    };
+    running = task;
+    task.setOnSucceeded(e -> {
+      btnRun.setDisable(false);
+      btnCancel.setDisable(true);
+      progressBar.progressProperty().unbind();
+      if (task.getValue() != null) {
+        showResults(task.getValue());
+      }
+      else {
+        progressBar.setProgress(0);
+      }
+    });
+    task.setOnCancelled(e -> {
+      btnRun.setDisable(false);
+      btnCancel.setDisable(true);
+      progressBar.progressProperty().unbind();
+      progressBar.setProgress(0);
+    });
+    task.setOnFailed(e -> {
+      btnRun.setDisable(false);
+      btnCancel.setDisable(true);
+      progressBar.progressProperty().unbind();
+      alerts.alertError("Recompute failed", String.valueOf(task.getException().getMessage()));
+    });
+
+    btnRun.setDisable(true);
+    btnCancel.setDisable(false);
+    progressBar.progressProperty().bind(task.progressProperty());
+
+    Thread thread = new Thread(task);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+}
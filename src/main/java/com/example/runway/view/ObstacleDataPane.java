@@ -1,6 +1,7 @@
 package com.example.runway.view;
 
 import com.example.runway.model.Obstacle;
+import java.beans.PropertyChangeEvent;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
@@ -9,9 +10,18 @@ import javafx.scene.layout.VBox;
 
 /**
  * The obstacle data pane. Displays obstacle data.
+ * The labels are created once, and only the labels of changed obstacle properties are updated.
  */
 public class ObstacleDataPane extends StackPane {
 
+  private final Label lblHeight = new Label("");
+  private final Label lblDistanceCentre = new Label("");
+  private final Label lblDistanceThreshold = new Label("");
+
+  // Obstacle displayed by the pane:
+  private Obstacle obstacle;
+  private WeakPropertyListener<ObstacleDataPane> listener;
+
   /**
    * Create a new obstacle data pane
    */
@@ -23,15 +33,6 @@ public class ObstacleDataPane extends StackPane {
     setMinSize(300, 140);
     getStyleClass().add("obstacle-pane");
 
-    draw(null);
-  }
-
-  /**
-   * Draw the UI components
-   */
-  public void draw(Obstacle obstacle) {
-    getChildren().clear();
-
     // Display obstacle data:
     VBox boxData = new VBox();
     boxData.setAlignment(Pos.TOP_CENTER);
@@ -40,18 +41,62 @@ public class ObstacleDataPane extends StackPane {
 
     Label lblObstacle = new Label("Obstacle:");
     lblObstacle.getStyleClass().add("input-output-labels");
-    Label lblHeight = new Label("");
-    Label lblDistanceCentre = new Label("");
-    Label lblDistanceThreshold = new Label("");
-
-    if (obstacle != null) {
-      lblHeight.setText("Height = " + obstacle.getHeight() + "m\t   Length = " + obstacle.getLength() + " m");
-      lblDistanceCentre.setText("Distance from centre line = " + obstacle.getDistanceCentre() + " m");
-      lblDistanceThreshold.setText("Distance from threshold = " + obstacle.getDistanceFromThreshold() + " m");
-    }
 
     boxData.getChildren().addAll(lblObstacle, lblHeight, lblDistanceCentre, lblDistanceThreshold);
     getChildren().add(boxData);
   }
 
+  /**
+   * Draw the UI components
+   */
+  public void draw(Obstacle obstacle) {
+    if (this.obstacle != obstacle) {
+      if (listener != null) {
+        listener.remove();
+        listener = null;
+      }
+      this.obstacle = obstacle;
+      if (obstacle != null) {
+        listener = new WeakPropertyListener<>(this, ObstacleDataPane::obstacleChanged,
+            obstacle::removePropertyChangeListener);
+        obstacle.addPropertyChangeListener(listener);
+      }
+    }
+    updateSize();
+    updateDistanceCentre();
+    updateDistanceThreshold();
+  }
+
+  /**
+   * Update the label of a changed obstacle property
+   */
+  private void obstacleChanged(PropertyChangeEvent event) {
+    if (event.getSource() != obstacle) {
+      return;
+    }
+    switch (event.getPropertyName()) {
+      case Obstacle.HEIGHT, Obstacle.LENGTH -> updateSize();
+      case Obstacle.DISTANCE_CENTRE -> updateDistanceCentre();
+      case Obstacle.DISTANCE_THRESHOLD -> updateDistanceThreshold();
+      default -> {
+        // The name is not displayed
+      }
+    }
+  }
+
+  private void updateSize() {
+    lblHeight.setText(obstacle == null ? ""
+        : "Height = " + obstacle.getHeight() + "m\t   Length = " + obstacle.getLength() + " m");
+  }
+
+  private void updateDistanceCentre() {
+    lblDistanceCentre.setText(obstacle == null ? ""
+        : "Distance from centre line = " + obstacle.getDistanceCentre() + " m");
+  }
+
+  private void updateDistanceThreshold() {
+    lblDistanceThreshold.setText(obstacle == null ? ""
+        : "Distance from threshold = " + obstacle.getDistanceFromThreshold() + " m");
+  }
+
 }
@@ -0,0 +1,245 @@
+package com.example.runway.view;
+
+import com.example.runway.controller.FileManager;
+import com.example.runway.controller.InputManager;
+import com.example.runway.controller.Validations;
+import com.example.runway.model.Airport;
+import com.example.runway.model.NumberCodec;
+import com.example.runway.model.ParameterProfiles;
+import com.example.runway.model.RedeclarationEngine;
+import com.example.runway.model.Runway;
+import java.io.IOException;
+import java.util.List;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+/**
+ * The parameter profiles scene. Displays the terms and required distances of each profile (e.g. aircraft type),
+ * lets the user add or modify profiles and stores them in the profiles file.
+ */
+public class ProfilesScene extends MainScene {
+
+  private static final String NEW_PROFILE = "New profile";
+
+  private final Validations validations = new Validations();
+
+  private ChoiceBox<String> cbProfiles;
+  private TextField txtName;
+  private TextField txtResa;
+  private TextField txtSlope;
+  private TextField txtStripEnd;
+  private TextField txtBlast;
+  private TextField txtRequiredTora;
+  private TextField txtRequiredLda;
+
+  /**
+   * Create a new parameter profiles scene
+   * @param mainPage     the main page parameters of the UI
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public ProfilesScene(MainPage mainPage, InputManager inputManager, FileManager fileManager) {
+    super(mainPage);
+
+    this.inputManager = inputManager;
+    this.fileManager = fileManager;
+  }
+
+  /**
+   * Draw the UI components
+   */
+  @Override
+  public void draw() {
+    // Set up the main pane
+    root = new MainPane();
+    root.getStylesheets().add(getClass().getResource(inputManager.getStyle()).toExternalForm());
+    root.getStyleClass().add("menu-background");
+
+    VBox boxInputs = new VBox();
+    boxInputs.setAlignment(Pos.CENTER);
+    boxInputs.setSpacing(30);
+
+    Label lblHeading = new Label("Parameter Profiles");
+    lblHeading.getStyleClass().add("heading");
+    boxInputs.getChildren().add(lblHeading);
+
+    VBox boxValues = new VBox();
+    boxValues.setAlignment(Pos.CENTER_RIGHT);
+    boxValues.setMaxWidth(450);
+    boxValues.setSpacing(15);
+
+    cbProfiles = new ChoiceBox<>();
+    txtName = new TextField();
+    txtResa = new TextField();
+    txtSlope = new TextField();
+    txtStripEnd = new TextField();
+    txtBlast = new TextField();
+    txtRequiredTora = new TextField();
+    txtRequiredLda = new TextField();
+    fillProfiles(ParameterProfiles.DEFAULT);
+    cbProfiles.getSelectionModel().selectedIndexProperty().addListener((obs, old, index) -> fillValues(index.intValue()));
+
+    boxValues.getChildren().addAll(
+        inputRow("Profile:", cbProfiles),
+        inputRow("Name:", txtName),
+        inputRow("RESA:", txtResa),
+        inputRow("Slope (1:x):", txtSlope),
+        inputRow("Strip end:", txtStripEnd),
+        inputRow("Blast allowance:", txtBlast),
+        inputRow("Required TORA (0 if not set):", txtRequiredTora),
+        inputRow("Required LDA (0 if not set):", txtRequiredLda));
+
+    // Draw buttons:
+    HBox boxButtons = new HBox();
+    boxButtons.setAlignment(Pos.CENTER);
+    boxButtons.setSpacing(20);
+
+    Button btnBack = new Button("Back");
+    btnBack.getStyleClass().add("button-next");
+    btnBack.setOnAction(this::back);
+
+    Button btnSave = new Button("Save");
+    btnSave.getStyleClass().add("button-next");
+    btnSave.setOnAction(this::save);
+
+    boxButtons.getChildren().addAll(btnBack, btnSave);
+    boxInputs.getChildren().addAll(boxValues, boxButtons);
+
+    root.getChildren().add(boxInputs);
+  }
+
+  /**
+   * Create a labelled row of the input form
+   * @param text     label text
+   * @param input    input control
+   * @return the row
+   */
+  private HBox inputRow(String text, Control input) {
+    HBox box = new HBox();
+    box.setSpacing(5);
+    box.setAlignment(Pos.CENTER_RIGHT);
+
+    Label label = new Label(text);
+    label.getStyleClass().add("input-output-labels");
+    input.setMaxWidth(input instanceof ChoiceBox || input == txtName ? 220 : 100);
+
+    box.getChildren().addAll(label, input);
+    return box;
+  }
+
+  /**
+   * Fill the profile choice box (all profiles, followed by the option for a new one)
+   * @param selected    index to select
+   */
+  private void fillProfiles(int selected) {
+    List<String> names = ParameterProfiles.getShared().getNames();
+    names.add(NEW_PROFILE);
+    cbProfiles.setItems(FXCollections.observableArrayList(names));
+    cbProfiles.getSelectionModel().select(selected);
+    fillValues(selected);
+  }
+
+  /**
+   * Fill the input fields with the values of a profile (the default terms for a new profile)
+   * @param profile    profile id (size() for a new profile)
+   */
+  private void fillValues(int profile) {
+    ParameterProfiles profiles = ParameterProfiles.getShared();
+    if (profile < 0) {
+      return;
+    }
+    boolean newProfile = profile >= profiles.size();
+    RedeclarationEngine engine = profiles.getEngine(newProfile ? ParameterProfiles.DEFAULT : profile);
+    txtName.setText(newProfile ? "" : profiles.getName(profile));
+    txtResa.setText(NumberCodec.toString(engine.getResa()));
+    txtSlope.setText(NumberCodec.toString(engine.getSlopeValue()));
+    txtStripEnd.setText(NumberCodec.toString(engine.getNewStripEnd()));
+    txtBlast.setText(NumberCodec.toString(engine.getBlastAllowance()));
+    txtRequiredTora.setText(NumberCodec.toString(newProfile ? 0 : profiles.getRequiredTora(profile)));
+    txtRequiredLda.setText(NumberCodec.toString(newProfile ? 0 : profiles.getRequiredLda(profile)));
+  }
+
+  /**
+   * Handle when the Back button is clicked (loads previous scene)
+   * @param event    action event
+   */
+  private void back(ActionEvent event) {
+    if (inputManager.getCurrentRunway() != null) {
+      mainPage.showRunway(inputManager, fileManager, inputManager.getCurrentRunway());
+    }
+    else {
+      mainPage.showRunway(inputManager, fileManager);
+    }
+  }
+
+  /**
+   * Handle when the Save button is clicked (validates the inputs, adds/modifies the profile,
+   * stores all profiles and re-declares the runways using the profile)
+   * @param event    action event
+   */
+  private void save(ActionEvent event) {
+    String name = txtName.getText().trim();
+    if (!validations.isValidProfileName(name)) {
+      alerts.alertError("Invalid profile name", "The name cannot be empty or start with #.");
+      return;
+    }
+    if (!validations.isValidProfileValue(txtResa.getText(), false)
+        || !validations.isValidProfileValue(txtSlope.getText(), true)
+        || !validations.isValidProfileValue(txtStripEnd.getText(), false)
+        || !validations.isValidProfileValue(txtBlast.getText(), false)
+        || !validations.isValidProfileValue(txtRequiredTora.getText(), false)
+        || !validations.isValidProfileValue(txtRequiredLda.getText(), false)) {
+      alerts.alertError("Invalid profile values", "All values have to be numbers of at least 0,\n and the slope has to be greater than 0.");
+      return;
+    }
+
+    ParameterProfiles profiles = ParameterProfiles.getShared();
+    int selected = cbProfiles.getSelectionModel().getSelectedIndex();
+    int existing = profiles.indexOf(name);
+    if (existing >= 0 && existing != selected) {
+      alerts.alertError("Invalid profile name", "A profile called \"" + name + "\" already exists.");
+      return;
+    }
+    double resa = Double.parseDouble(txtResa.getText());
+    double slope = Double.parseDouble(txtSlope.getText());
+    double stripEnd = Double.parseDouble(txtStripEnd.getText());
+    double blast = Double.parseDouble(txtBlast.getText());
+    double requiredTora = Double.parseDouble(txtRequiredTora.getText());
+    double requiredLda = Double.parseDouble(txtRequiredLda.getText());
+    int profile;
+    if (selected >= profiles.size()) {
+      profile = profiles.add(name, resa, slope, stripEnd, blast, requiredTora, requiredLda);
+    }
+    else {
+      profile = selected;
+      profiles.set(profile, name, resa, slope, stripEnd, blast, requiredTora, requiredLda);
+    }
+
+    try {
+      fileManager.saveProfiles(profiles);
+    }
+    catch (IOException e) {
+      alerts.alertError("Profiles not saved", "The profiles could not be written:\n" + e.getMessage());
+    }
+    inputManager.addNotification(new Text("Parameter profile \"" + name + "\" saved."));
+
+    // Re-declare the runways which use the modified profile:
+    for (Airport airport : inputManager.getLoadedAirports()) {
+      airport.getRecalculation().profileChanged(profile);
+    }
+    for (Runway updated : inputManager.recalculateDirty()) {
+      inputManager.addNotification(new Text("Re-declared values of runway \"" + updated.getRunwayNumber() + "\" updated."));
+    }
+    fillProfiles(profile);
+  }
+
+}
@@ -1,9 +1,11 @@
 package com.example.runway.view;
 
+import com.example.runway.model.NumberCodec;
 import com.example.runway.model.Runway;
-import java.text.DecimalFormat;
+import java.beans.PropertyChangeEvent;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
@@ -11,14 +13,43 @@ import javafx.scene.layout.VBox;
 
 /**
  * The runway data pane. Displays runway data.
+ * The labels are created once, and only the labels of changed runway properties are updated.
  */
 public class RunwayDataPane extends StackPane {
 
   private final HBox boxOriginalRedeclared = new HBox();
   private final VBox boxData = new VBox();
   private final VBox boxDefaults = new VBox();
+  private final VBox boxRedeclared = new VBox();
   Label lblResultRunwayNumber = new Label("");
-  private final DecimalFormat df = new DecimalFormat("0.0");
+
+  // Predefined terms:
+  private final Label lblResa = new Label();
+  private final Label lblSlope = new Label();
+  private final Label lblBlastAllowance = new Label();
+  private final Label lblDisplaced = new Label();
+  private final Label lblNewStripEnd = new Label();
+  private final Label lblAlsTocs = new Label();
+
+  // Original values:
+  private final Label resultDefaultTora = resultLabel();
+  private final Label resultDefaultToda = resultLabel();
+  private final Label resultDefaultAsda = resultLabel();
+  private final Label resultDefaultLda = resultLabel();
+  private final Label resultDefaultStopWay = resultLabel();
+  private final Label resultDefaultClearWay = resultLabel();
+
+  // Re-declared values:
+  private final Label lblResultTora = resultLabel();
+  private final Label lblResultToda = resultLabel();
+  private final Label lblResultAsda = resultLabel();
+  private final Label lblResultLda = resultLabel();
+  private final Label lblResultStopWay = resultLabel();
+  private final Label lblResultClearWay = resultLabel();
+
+  // Runway displayed by the pane:
+  private Runway runway;
+  private WeakPropertyListener<RunwayDataPane> listener;
 
   /**
    * Create a new runway data pane
@@ -54,27 +85,8 @@ public class RunwayDataPane extends StackPane {
     boxRunway.getChildren().addAll(lblRunwayNumber, lblResultRunwayNumber);
     boxData.getChildren().add(boxRunway);
     boxData.getChildren().add(boxDefaults);
-  }
-
-  // Remove previous components:
-  public void hide() {
-    boxDefaults.setVisible(false);
-    boxData.getChildren().remove(boxOriginalRedeclared);
-    lblResultRunwayNumber.setText("");
-  }
-
-  /**
-   * Draw the UI components
-   */
-  public void draw(boolean reDeclared, Runway runway) {
-    getChildren().clear();
-    boxData.getChildren().remove(boxOriginalRedeclared);
-    boxOriginalRedeclared.getChildren().clear();
-    boxDefaults.getChildren().clear();
-    boxDefaults.setVisible(true);
-
-    lblResultRunwayNumber.setText(runway.getRunwayNumber());
 
+    // Predefined terms:
     HBox boxResaSlopeBlastDisplaced = new HBox();
     boxResaSlopeBlastDisplaced.setAlignment(Pos.CENTER);
     boxResaSlopeBlastDisplaced.setSpacing(10);
@@ -86,101 +98,184 @@ public class RunwayDataPane extends StackPane {
     boxBlastDisplaced.setSpacing(5);
     boxBlastDisplaced.setAlignment(Pos.CENTER_RIGHT);
 
-    Label lblResa = new Label("RESA = " + (int) runway.getResa() + " m");
-    Label lblSlope = new Label("Slope = 1:" + (int) runway.getSlopeValue());
-    Label lblBlastAllowance = new Label("Blast Allowance = " + (int) runway.getBlastAllowance() + " m");
-    Label lblDisplaced = new Label( "Displaced threshold = " + (int) runway.getDisplacedThreshold() + " m");
-
     boxResaSlope.getChildren().addAll(lblResa, lblSlope);
     boxBlastDisplaced.getChildren().addAll(lblBlastAllowance, lblDisplaced);
     boxResaSlopeBlastDisplaced.getChildren().addAll(boxResaSlope, boxBlastDisplaced);
 
-    boxDefaults.getChildren().add(boxResaSlopeBlastDisplaced);
+    boxDefaults.getChildren().addAll(boxResaSlopeBlastDisplaced, lblNewStripEnd, lblAlsTocs);
 
+    // Row names:
     VBox boxRowNames = new VBox();
     boxRowNames.setAlignment(Pos.TOP_CENTER);
     boxRowNames.setSpacing(10);
 
     Label lblParameter = new Label("");
     lblParameter.getStyleClass().add("input-output-labels");
-    Label lblTora = new Label("TORA:");
-    lblTora.getStyleClass().add("input-output-labels-smaller");
-    Label lblToda = new Label("TODA:");
-    lblToda.getStyleClass().add("input-output-labels-smaller");
-    Label lblAsda = new Label("ASDA:");
-    lblAsda.getStyleClass().add("input-output-labels-smaller");
-    Label lblLda = new Label("LDA:");
-    lblLda.getStyleClass().add("input-output-labels-smaller");
-    Label lblStopWay = new Label("Stop Way:");
-    lblStopWay.getStyleClass().add("input-output-labels-smaller");
-    Label lblClearWay = new Label("Clear Way:");
-    lblClearWay.getStyleClass().add("input-output-labels-smaller");
-
-    boxRowNames.getChildren().addAll(lblParameter, lblTora, lblToda, lblAsda, lblLda, lblStopWay, lblClearWay);
+    boxRowNames.getChildren().add(lblParameter);
+    for (String name : new String[] {"TORA:", "TODA:", "ASDA:", "LDA:", "Stop Way:", "Clear Way:"}) {
+      Label lblName = new Label(name);
+      lblName.getStyleClass().add("input-output-labels-smaller");
+      boxRowNames.getChildren().add(lblName);
+    }
 
+    // Original values:
     VBox boxOriginal = new VBox();
     boxOriginal.setAlignment(Pos.TOP_CENTER);
     boxOriginal.setSpacing(10);
 
     Label lblOriginal = new Label("Original");
     lblOriginal.getStyleClass().add("input-output-labels-smaller");
-    boxOriginal.getChildren().add(lblOriginal);
-
-    Label resultDefaultTora = new Label(df.format(runway.getDefaultTora()) + " m");
-    resultDefaultTora.getStyleClass().add("results-smaller");
-    Label resultDefaultToda = new Label(df.format(runway.getDefaultToda()) + " m");
-    resultDefaultToda.getStyleClass().add("results-smaller");
-    Label resultDefaultAsda = new Label(df.format(runway.getDefaultAsda()) + " m");
-    resultDefaultAsda.getStyleClass().add("results-smaller");
-    Label resultDefaultLda = new Label(df.format(runway.getDefaultLda()) + " m");
-    resultDefaultLda.getStyleClass().add("results-smaller");
-    Label resultDefaultStopWay = new Label(df.format(runway.getDefaultStopWay()) + " m");
-    resultDefaultStopWay.getStyleClass().add("results-smaller");
-    Label resultDefaultClearWay = new Label(df.format(runway.getDefaultClearWay()) + " m");
-    resultDefaultClearWay.getStyleClass().add("results-smaller");
-
-    boxOriginal.getChildren().addAll(resultDefaultTora, resultDefaultToda, resultDefaultAsda, resultDefaultLda, resultDefaultStopWay, resultDefaultClearWay);
-    boxOriginalRedeclared.getChildren().addAll(boxRowNames, boxOriginal);
+    boxOriginal.getChildren().addAll(lblOriginal, resultDefaultTora, resultDefaultToda, resultDefaultAsda,
+        resultDefaultLda, resultDefaultStopWay, resultDefaultClearWay);
+
+    // Re-declared values:
+    boxRedeclared.setAlignment(Pos.CENTER);
+    boxRedeclared.setSpacing(10);
+
+    Label lblRedeclared = new Label("Re-declared");
+    lblRedeclared.getStyleClass().add("input-output-labels-smaller");
+    boxRedeclared.getChildren().addAll(lblRedeclared, lblResultTora, lblResultToda, lblResultAsda, lblResultLda,
+        lblResultStopWay, lblResultClearWay);
+
+    boxOriginalRedeclared.getChildren().addAll(boxRowNames, boxOriginal, boxRedeclared);
+    boxData.getChildren().add(boxOriginalRedeclared);
+
+    hide();
+  }
+
+  private static Label resultLabel() {
+    Label label = new Label();
+    label.getStyleClass().add("results-smaller");
+    return label;
+  }
+
+  private static void show(Node node, boolean visible) {
+    node.setVisible(visible);
+    node.setManaged(visible);
+  }
+
+  // Remove previous components:
+  public void hide() {
+    boxDefaults.setVisible(false);
+    show(boxOriginalRedeclared, false);
+    lblResultRunwayNumber.setText("");
+  }
+
+  /**
+   * Draw the UI components
+   */
+  public void draw(boolean reDeclared, Runway runway) {
+    setRunway(runway);
+    boxDefaults.setVisible(true);
+    show(boxOriginalRedeclared, true);
 
+    lblResultRunwayNumber.setText(runway.getRunwayNumber());
+    updateTerms();
+    updateDefaults();
+    updateRedeclared();
+
+    show(lblNewStripEnd, reDeclared);
+    show(lblAlsTocs, reDeclared);
+    show(boxRedeclared, reDeclared);
     if (reDeclared) {
       drawRedeclared(runway);
     }
-
-    boxData.getChildren().add(boxOriginalRedeclared);
-    getChildren().add(boxData);
   }
 
   /**
    * Draw the UI components for re-declared parameters:
    */
   public void drawRedeclared(Runway runway) {
-    Label lblNewStripEnd = new Label("New strip end = " + (int) runway.getNewStripEnd() + " m");
-    Label lblAlsTocs = new Label("ALS/TOCS = " + df.format(runway.getAlsTocs()) + " m");
-    boxDefaults.getChildren().addAll(lblNewStripEnd, lblAlsTocs);
+    lblNewStripEnd.setText("New strip end = " + (int) runway.getNewStripEnd() + " m");
+    lblAlsTocs.setText(runway.getCurrentObstacle() != null
+        ? "ALS/TOCS = " + NumberCodec.format(runway.getAlsTocs()) + " m" : "");
+  }
 
-    VBox boxRedeclared = new VBox();
-    boxRedeclared.setAlignment(Pos.CENTER);
-    boxRedeclared.setSpacing(10);
+  /**
+   * Set the runway displayed by the pane (its changes are displayed until another runway is set)
+   * @param runway    the runway
+   */
+  public void setRunway(Runway runway) {
+    if (this.runway != runway) {
+      if (listener != null) {
+        listener.remove();
+        listener = null;
+      }
+      this.runway = runway;
+      if (runway != null) {
+        listener = new WeakPropertyListener<>(this, RunwayDataPane::runwayChanged, runway::removePropertyChangeListener);
+        runway.addPropertyChangeListener(listener);
+      }
+    }
+  }
 
-    Label lblRedeclared = new Label("Re-declared");
-    lblRedeclared.getStyleClass().add("input-output-labels-smaller");
-    boxRedeclared.getChildren().add(lblRedeclared);
-
-    Label lblResultTora = new Label(df.format(runway.getTora()) + " m");
-    lblResultTora.getStyleClass().add("results-smaller");
-    Label lblResultToda = new Label(df.format(runway.getToda()) + " m");
-    lblResultToda.getStyleClass().add("results-smaller");
-    Label lblResultAsda = new Label(df.format(runway.getAsda()) + " m");
-    lblResultAsda.getStyleClass().add("results-smaller");
-    Label lblResultLda = new Label(df.format(runway.getLda()) + " m");
-    lblResultLda.getStyleClass().add("results-smaller");
-    Label lblResultStopWay = new Label(df.format(runway.getStopWay()) + " m");
-    lblResultStopWay.getStyleClass().add("results-smaller");
-    Label lblResultClearWay = new Label(df.format(runway.getClearWay()) + " m");
-    lblResultClearWay.getStyleClass().add("results-smaller");
-
-    boxRedeclared.getChildren().addAll(lblResultTora, lblResultToda, lblResultAsda, lblResultLda, lblResultStopWay, lblResultClearWay);
-    boxOriginalRedeclared.getChildren().add(boxRedeclared);
+  /**
+   * Update the labels of a changed runway property
+   */
+  private void runwayChanged(PropertyChangeEvent event) {
+    if (event.getSource() != runway) {
+      return;
+    }
+    switch (event.getPropertyName()) {
+      case Runway.RUNWAY_NUMBER -> {
+        if (boxDefaults.isVisible()) {
+          lblResultRunwayNumber.setText(runway.getRunwayNumber());
+        }
+      }
+      case Runway.TORA -> {
+        lblResultTora.setText(meters(runway.getTora()));
+        lblResultStopWay.setText(meters(runway.getStopWay()));
+        lblResultClearWay.setText(meters(runway.getClearWay()));
+      }
+      case Runway.TODA -> {
+        lblResultToda.setText(meters(runway.getToda()));
+        lblResultClearWay.setText(meters(runway.getClearWay()));
+      }
+      case Runway.ASDA -> {
+        lblResultAsda.setText(meters(runway.getAsda()));
+        lblResultStopWay.setText(meters(runway.getStopWay()));
+      }
+      case Runway.LDA -> lblResultLda.setText(meters(runway.getLda()));
+      case Runway.DEFAULT_TORA, Runway.DEFAULT_TODA, Runway.DEFAULT_ASDA, Runway.DEFAULT_LDA -> updateDefaults();
+      case Runway.DISPLACED_THRESHOLD, Runway.PROFILE -> {
+        updateTerms();
+        if (boxRedeclared.isVisible()) {
+          drawRedeclared(runway);
+        }
+      }
+      default -> {
+        // Obstacles are displayed by the obstacle data pane
+      }
+    }
+  }
+
+  private void updateTerms() {
+    lblResa.setText("RESA = " + (int) runway.getResa() + " m");
+    lblSlope.setText("Slope = 1:" + (int) runway.getSlopeValue());
+    lblBlastAllowance.setText("Blast Allowance = " + (int) runway.getBlastAllowance() + " m");
+    lblDisplaced.setText("Displaced threshold = " + (int) runway.getDisplacedThreshold() + " m");
+  }
+
+  private void updateDefaults() {
+    resultDefaultTora.setText(meters(runway.getDefaultTora()));
+    resultDefaultToda.setText(meters(runway.getDefaultToda()));
+    resultDefaultAsda.setText(meters(runway.getDefaultAsda()));
+    resultDefaultLda.setText(meters(runway.getDefaultLda()));
+    resultDefaultStopWay.setText(meters(runway.getDefaultStopWay()));
+    resultDefaultClearWay.setText(meters(runway.getDefaultClearWay()));
+  }
+
+  private void updateRedeclared() {
+    lblResultTora.setText(meters(runway.getTora()));
+    lblResultToda.setText(meters(runway.getToda()));
+    lblResultAsda.setText(meters(runway.getAsda()));
+    lblResultLda.setText(meters(runway.getLda()));
+    lblResultStopWay.setText(meters(runway.getStopWay()));
+    lblResultClearWay.setText(meters(runway.getClearWay()));
+  }
+
+  private static String meters(double value) {
+    return NumberCodec.format(value) + " m";
   }
 
-}
\ No newline at end of file
+}
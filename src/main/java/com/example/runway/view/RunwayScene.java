@@ -5,10 +5,14 @@ import com.example.runway.controller.FileManager;
 import com.example.runway.controller.InputManager;
 import com.example.runway.controller.Validations;
 import com.example.runway.model.Airport;
+import com.example.runway.model.CalculationBreakdown;
+import com.example.runway.model.DeclaredDistances;
+import com.example.runway.model.NumberCodec;
 import com.example.runway.model.Obstacle;
+import com.example.runway.model.ParameterProfiles;
+import com.example.runway.model.RedeclarationCache;
 import com.example.runway.model.Runway;
-import java.io.InputStream;
-import java.text.DecimalFormat;
+import com.example.runway.model.RunwayPairResult;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +23,7 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ChoiceDialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
@@ -39,7 +44,6 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Scale;
-import javafx.util.Pair;
 
 
 /**
@@ -81,8 +85,11 @@ public class RunwayScene extends MainScene {
   private Button btnTopDown;
   private Button btnSideOn;
   private final Button btnBreakdown = new Button("Calculation Breakdown");
+  private Image imageZoomIn;
+  private Image imageZoomOut;
 
-  Pair<String, String> message = new Pair<>("", "");
+  // Calculation breakdown of the last calculation:
+  private CalculationBreakdown breakdown;
 
   // Variables for displaying the runway number:
   private boolean empty = true;
@@ -111,7 +118,6 @@ public class RunwayScene extends MainScene {
 
   private List<Label> viewLabels = new ArrayList<>();
 
-  private final DecimalFormat df = new DecimalFormat("0.0");
   private Rectangle rectClearWay;
   private Rectangle rectStopWay;
   private Label lblClear = new Label("Clear Way");
@@ -217,7 +223,7 @@ public class RunwayScene extends MainScene {
    */
   public void drawMenu() {
     MenuBar menuBar = new MenuBar();
-    menuBar.setMaxWidth(700);
+    menuBar.setMaxWidth(800);
     StackPane.setMargin(menuBar, new Insets(10, 0, 0, 0));
     StackPane.setAlignment(menuBar, Pos.TOP_CENTER);
 
@@ -237,7 +243,13 @@ public class RunwayScene extends MainScene {
         mainPage.showAddObstacle(inputManager, fileManager);
       }
     });
-    menuNew.getItems().addAll(itemAirport, itemRunway, itemObstacle);
+    MenuItem itemSurveyed = new MenuItem("Surveyed obstacle");
+    itemSurveyed.setOnAction(event -> {
+      if (airportChosen) {
+        mainPage.showAddSurveyedObstacle(inputManager, fileManager);
+      }
+    });
+    menuNew.getItems().addAll(itemAirport, itemRunway, itemObstacle, itemSurveyed);
 
     // Menu for modifying data:
     Menu menuModify = new Menu("Modify");
@@ -325,6 +337,73 @@ public class RunwayScene extends MainScene {
     });
     menuExport.getItems().addAll(itemExportXML, itemJPEG, itemPNG, itemCurrent);
 
+    // Menu for analysing the current runway:
+    Menu menuAnalysis = new Menu("Analysis");
+    MenuItem itemSweep = new MenuItem("What-if sweep");
+    itemSweep.setOnAction(event -> {
+      if (airportChosen && runwayChosen) {
+        mainPage.showSweep(inputManager, fileManager);
+      }
+      else {
+        alerts.alertError("No runway chosen", "Please choose a runway to analyse");
+      }
+    });
+    MenuItem itemProfile = new MenuItem("Parameter profile");
+    itemProfile.setOnAction(event -> {
+      if (airportChosen && runwayChosen) {
+        chooseProfile();
+      }
+      else {
+        alerts.alertError("No runway chosen", "Please choose a runway to analyse");
+      }
+    });
+    MenuItem itemProfiles = new MenuItem("Edit parameter profiles");
+    itemProfiles.setOnAction(event -> mainPage.showProfiles(inputManager, fileManager));
+    MenuItem itemFleet = new MenuItem("Fleet check");
+    itemFleet.setOnAction(event -> {
+      if (allowExport && methodChosen) {
+        fleetCheck();
+      }
+      else {
+        alerts.alertError("No data chosen for the fleet check", "Insert your inputs and calculate values first.");
+      }
+    });
+    MenuItem itemUncertainty = new MenuItem("Uncertainty analysis");
+    itemUncertainty.setOnAction(event -> {
+      if (allowExport && methodChosen) {
+        mainPage.showUncertainty(inputManager, fileManager);
+      }
+      else {
+        alerts.alertError("No data chosen for the uncertainty analysis", "Insert your inputs and calculate values first.");
+      }
+    });
+    MenuItem itemTimeline = new MenuItem("Declared distance timeline");
+    itemTimeline.setOnAction(event -> {
+      if (airportChosen && runwayChosen) {
+        mainPage.showTimeline(inputManager, fileManager);
+      }
+      else {
+        alerts.alertError("No runway chosen", "Please choose a runway to analyse");
+      }
+    });
+    MenuItem itemNetwork = new MenuItem("Recompute all airports");
+    itemNetwork.setOnAction(event -> {
+      if (inputManager.getAirportCatalog().size() > 0) {
+        mainPage.showNetwork(inputManager, fileManager);
+      }
+      else {
+        alerts.alertError("No airports", "Please add or import an airport first");
+      }
+    });
+    MenuItem itemCache = new MenuItem("Cache statistics");
+    itemCache.setOnAction(event -> {
+      RedeclarationCache cache = RedeclarationCache.getShared();
+      notificationsPane.addBlackNotification("Calculation cache: " + cache.size() + " of " + cache.getCapacity()
+          + " results stored, " + cache.getHits() + " hits, " + cache.getMisses() + " misses ("
+          + Math.round(cache.getHitRate() * 100) + "% hit rate).");
+    });
+    menuAnalysis.getItems().addAll(itemSweep, itemProfile, itemProfiles, itemFleet, itemUncertainty, itemTimeline, itemNetwork, itemCache);
+
     // Menu for changing colour modes:
     Menu menuChangeColor = new Menu("Change Style");
     MenuItem changeColorItem = new MenuItem("Colour-Blind Mode");
@@ -348,10 +427,61 @@ public class RunwayScene extends MainScene {
     menuHelp.getItems().addAll(itemHelpRedeclaration, itemHelpAdd, itemHelpModify, itemHelpImport, itemHelpExport);
 
 
-    menuBar.getMenus().addAll(menuNew, menuModify, menuImport, menuExport, menuChangeColor, menuHelp);
+    menuBar.getMenus().addAll(menuNew, menuModify, menuImport, menuExport, menuAnalysis, menuChangeColor, menuHelp);
     root.getChildren().add(menuBar);
   }
 
+  /**
+   * Let the user choose the parameter profile of the current runway
+   */
+  private void chooseProfile() {
+    Runway runway = inputManager.getCurrentRunway();
+    ParameterProfiles profiles = ParameterProfiles.getShared();
+    ChoiceDialog<String> dialog = new ChoiceDialog<>(profiles.getName(runway.getProfile()), profiles.getNames());
+    dialog.setTitle("Parameter profile");
+    dialog.setHeaderText("Choose the parameter profile of runway \"" + runway.getRunwayNumber() + "\"");
+    dialog.showAndWait().ifPresent(name -> {
+      inputManager.setModified(true);
+      runway.setProfile(profiles.indexOf(name));
+      inputManager.getJournal().runwayChanged(inputManager.getCurrentAirport(), null, runway);
+      notificationsPane.addBlackNotification("Runway \"" + runway.getRunwayNumber() + "\" uses the \"" + name
+          + "\" parameter profile (RESA " + (int) runway.getResa() + " m, slope 1:" + (int) runway.getSlopeValue()
+          + ", blast allowance " + (int) runway.getBlastAllowance() + " m).");
+
+      // Re-calculate the results depending on the runway's profile:
+      inputManager.getCurrentAirport().getRecalculation().runwayChanged(runway);
+      for (Runway updated : inputManager.recalculateDirty()) {
+        notificationsPane.addBlackNotification("Re-declared values of runway \"" + updated.getRunwayNumber() + "\" updated.");
+      }
+      if (inputManager.getCurrentAirport().getRecalculation().isDeclared(runway)) {
+        drawRunway();
+        runwayDataPane.draw(true, runway);
+      }
+    });
+  }
+
+  /**
+   * Re-declare the current runway for its current obstacle with every parameter profile at once,
+   * and display which profiles can still land/take-off
+   */
+  private void fleetCheck() {
+    Runway runway = inputManager.getCurrentRunway();
+    int method = cbMethods.getSelectionModel().getSelectedIndex();
+    ParameterProfiles profiles = ParameterProfiles.getShared();
+    double[] values = new double[profiles.size()];
+    profiles.calculateAll(runway, runway.getCurrentObstacle(), method, values);
+    List<Integer> operating = profiles.getOperatingProfiles(runway, runway.getCurrentObstacle(), method);
+
+    String value = method <= 2 ? "LDA" : "TORA";
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < values.length; i++) {
+      content.append(profiles.getName(i)).append(": ").append(value).append(" = ").append(NumberCodec.format(values[i]))
+          .append(operating.contains(i) ? " (possible)" : " (not possible)").append("\n");
+    }
+    alerts.alertBreakdown("Fleet check: " + methodsStrings[method] + " on runway \"" + runway.getRunwayNumber()
+        + "\"", content.toString());
+  }
+
   /**
    * Switch to Colour Blind colour mode:
    */
@@ -410,8 +540,16 @@ public class RunwayScene extends MainScene {
     cbAirports.getSelectionModel().selectedIndexProperty().addListener(
         (observableValue, number, t1) -> {
           int num = t1.intValue();
+          Airport airport;
+          try {
+            // The airport is loaded from its file when it is first chosen:
+            airport = inputManager.getAirport(num);
+          }
+          catch (RuntimeException e) {
+            alerts.alertError("The airport could not be loaded", "Its file in storage_files is missing or damaged.");
+            return;
+          }
           airportChosen = true;
-          Airport airport = inputManager.getAirports().get(num);
           inputManager.setCurrentAirport(airport);
           boxChoices.getChildren().remove(lblRunway);
           boxChoices.getChildren().remove(cbRunways);
@@ -459,7 +597,7 @@ public class RunwayScene extends MainScene {
     root.getChildren().add(boxInputs);
 
     if (airportChosen) {
-      cbAirports.getSelectionModel().select(inputManager.getAirports().indexOf(inputManager.getCurrentAirport()));
+      cbAirports.getSelectionModel().select(inputManager.getAirportCatalog().indexOf(inputManager.getCurrentAirport()));
     }
   }
 
@@ -630,7 +768,9 @@ public class RunwayScene extends MainScene {
    * Display Calculation Breakdown
    */
   public void breakdown(ActionEvent event) {
-    alerts.alertBreakdown(message.getKey(), message.getValue());
+    if (breakdown != null) {
+      alerts.alertBreakdown(breakdown.getTitle(), breakdown.toText());
+    }
   }
 
   /**
@@ -671,9 +811,6 @@ public class RunwayScene extends MainScene {
     rotateOrReturn = true;
     rotate.setAngle(0);
 
-    // Set runway parameters back to default:
-    inputManager.getCurrentRunway().setDefault();
-
     // Display notification:
     if (obstacleChosen) {
       Obstacle current = inputManager.getObstacles().get(cbObstacles.getSelectionModel().getSelectedIndex() - 1);
@@ -697,11 +834,11 @@ public class RunwayScene extends MainScene {
             btnBreakdown.setDisable(false);
 
             // Re-calculate parameters:
-            inputManager.calculateValues();
+            DeclaredDistances result = inputManager.calculateValues();
 
             // Handle negative calculation results:
-            List<String> negative = inputManager.getCurrentRunway().getNegativeValues();
-            if (inputManager.getCurrentRunway().hasNegative()) {
+            List<String> negative = result.getNegativeValues();
+            if (result.hasNegative()) {
               String values = "";
               for (String value : negative) {
                 values += value + ", ";
@@ -716,7 +853,29 @@ public class RunwayScene extends MainScene {
             }
 
             int method = cbMethods.getSelectionModel().getSelectedIndex();
-            message = inputManager.getCurrentRunway().getBreakdown(method);
+            breakdown = inputManager.getCurrentRunway().getBreakdown(method);
+
+            // Display the re-declared values of the runway's other end:
+            RunwayPairResult pair = inputManager.getPairResult();
+            if (pair != null) {
+              Runway reciprocal = inputManager.getCurrentAirport().getReciprocal(inputManager.getCurrentRunway());
+              DeclaredDistances values = pair.getReciprocalResult();
+              notificationsPane.addBlackNotification("Runway \"" + reciprocal.getRunwayNumber() + "\" ("
+                  + methodsStrings[pair.getReciprocalMethod()] + "): TORA " + values.getTora() + ", TODA "
+                  + values.getToda() + ", ASDA " + values.getAsda() + ", LDA " + values.getLda() + ".");
+            }
+
+            // Display the obstacle that limits the chosen method the most:
+            Obstacle governing = inputManager.getCurrentRunway().getGoverningObstacle(method);
+            if (governing != null && governing != inputManager.getCurrentRunway().getCurrentObstacle()) {
+              notificationsPane.addBlackNotification("Obstacle \"" + governing.getName() + "\" limits \""
+                  + methodsStrings[method] + "\" the most on runway \"" + inputManager.getCurrentRunway().getRunwayNumber() + "\".");
+            }
+          }
+          else {
+            // Show the runway's default values:
+            inputManager.getCurrentRunway().setDefault();
+            inputManager.getCurrentAirport().getRecalculation().forget(inputManager.getCurrentRunway());
           }
 
           // Display the runway view:
@@ -851,15 +1010,16 @@ public class RunwayScene extends MainScene {
 
       drawViewMenu(runway);
 
-      InputStream streamIn = getClass().getResourceAsStream("/help_images/zoom_in.jpg");
-      Image imageIn = new Image(streamIn);
-      InputStream streamOut = getClass().getResourceAsStream("/help_images/zoom_out.jpg");
-      Image imageOut = new Image(streamOut);
+      // Zoom images are loaded once (the view is redrawn after every calculation):
+      if (imageZoomIn == null) {
+        imageZoomIn = new Image(getClass().getResourceAsStream("/help_images/zoom_in.jpg"));
+        imageZoomOut = new Image(getClass().getResourceAsStream("/help_images/zoom_out.jpg"));
+      }
 
-      ImageView imageViewIn = new ImageView(imageIn);
+      ImageView imageViewIn = new ImageView(imageZoomIn);
       imageViewIn.setFitWidth(20);
       imageViewIn.setFitHeight(20);
-      ImageView imageViewOut = new ImageView(imageOut);
+      ImageView imageViewOut = new ImageView(imageZoomOut);
       imageViewOut.setFitWidth(20);
       imageViewOut.setFitHeight(20);
 
@@ -1361,7 +1521,7 @@ public class RunwayScene extends MainScene {
       Line lineToda;
       Polygon triangleLeftToda;
       Polygon triangleRightToda;
-      Label lblToda = new Label("TODA = " + df.format(inputManager.getCurrentRunway().getToda()) + " m");
+      Label lblToda = new Label("TODA = " + NumberCodec.format(inputManager.getCurrentRunway().getToda()) + " m");
       StackPane.setAlignment(lblToda, Pos.TOP_LEFT);
       if (!unequal1) {
         lineToda = new Line(0, 0, 500, 0);
@@ -1425,7 +1585,7 @@ public class RunwayScene extends MainScene {
       Line lineAsda;
       Polygon triangleLeftAsda;
       Polygon triangleRightAsda;
-      Label lblAsda = new Label("ASDA = " + df.format(inputManager.getCurrentRunway().getAsda()) + " m");
+      Label lblAsda = new Label("ASDA = " + NumberCodec.format(inputManager.getCurrentRunway().getAsda()) + " m");
       StackPane.setAlignment(lblAsda, Pos.TOP_LEFT);
       if (!unequal2) {
         lineAsda = new Line(0, 0, 500, 0);
@@ -1511,7 +1671,7 @@ public class RunwayScene extends MainScene {
       StackPane.setAlignment(triangleRightTora, Pos.TOP_RIGHT);
       StackPane.setMargin(triangleRightTora, new Insets(143, 51, 0, 0));
 
-      Label lblTora = new Label("TORA = " + df.format(inputManager.getCurrentRunway().getTora()) + " m");
+      Label lblTora = new Label("TORA = " + NumberCodec.format(inputManager.getCurrentRunway().getTora()) + " m");
       StackPane.setAlignment(lblTora, Pos.TOP_LEFT);
       StackPane.setMargin(lblTora, new Insets(130, 0, 0, 300));
 
@@ -1552,24 +1712,24 @@ public class RunwayScene extends MainScene {
 
     Label lblLda;
     if (landing) {
-      lblLda = new Label("LDA = " + df.format(inputManager.getCurrentRunway().getLda()) + " m");
+      lblLda = new Label("LDA = " + NumberCodec.format(inputManager.getCurrentRunway().getLda()) + " m");
       StackPane.setAlignment(lblLda, Pos.BOTTOM_LEFT);
       StackPane.setMargin(lblLda, new Insets(0, 0, 140, 150));
     }
     else {
       String str;
       if (method1 || (!unequal1 && !unequal2)) {
-        str = "TORA = TODA = ASDA = " + df.format(inputManager.getCurrentRunway().getTora()) + " m";
+        str = "TORA = TODA = ASDA = " + NumberCodec.format(inputManager.getCurrentRunway().getTora()) + " m";
       }
       else {
-        str = "TORA = " + df.format(inputManager.getCurrentRunway().getTora()) + " m";
+        str = "TORA = " + NumberCodec.format(inputManager.getCurrentRunway().getTora()) + " m";
 
         Line lineToda2 = new Line(0, 0, 250, 0);
         StackPane.setAlignment(lineToda2, Pos.BOTTOM_LEFT);
         StackPane.setMargin(lineToda2, new Insets(0, 0, 115, 50));
         runwayPane.getChildren().add(lineToda2);
 
-        Label lblToda2 = new Label("TODA = " + df.format(inputManager.getCurrentRunway().getToda()) + " m");
+        Label lblToda2 = new Label("TODA = " + NumberCodec.format(inputManager.getCurrentRunway().getToda()) + " m");
         StackPane.setAlignment(lblToda2, Pos.TOP_LEFT);
         StackPane.setMargin(lblToda2, new Insets(285, 0, 0, 100));
         viewLabels.add(lblToda2);
@@ -1580,7 +1740,7 @@ public class RunwayScene extends MainScene {
         StackPane.setMargin(lineAsda2, new Insets(0, 0, 135, 50));
         runwayPane.getChildren().add(lineAsda2);
 
-        Label lblAsda2 = new Label("ASDA = " + df.format(inputManager.getCurrentRunway().getAsda()) + " m");
+        Label lblAsda2 = new Label("ASDA = " + NumberCodec.format(inputManager.getCurrentRunway().getAsda()) + " m");
         StackPane.setAlignment(lblAsda2, Pos.TOP_LEFT);
         StackPane.setMargin(lblAsda2, new Insets(265, 0, 0, 100));
         viewLabels.add(lblAsda2);
@@ -1901,7 +2061,7 @@ public class RunwayScene extends MainScene {
       StackPane.setMargin(triangleRightHSlope, new Insets(0, 141, 98,0));
 
       double hSlope = inputManager.getCurrentRunway().getCurrentObstacle().getHeight() * inputManager.getCurrentRunway().getSlopeValue();
-      Label lblHSlope = new Label("h * slope = " + df.format(hSlope) + " m");
+      Label lblHSlope = new Label("h * slope = " + NumberCodec.format(hSlope) + " m");
       StackPane.setAlignment(lblHSlope, Pos.BOTTOM_RIGHT);
       StackPane.setMargin(lblHSlope, new Insets(0, 141, 82, 0));
 
@@ -0,0 +1,292 @@
+package com.example.runway.view;
+
+import com.example.runway.controller.FileManager;
+import com.example.runway.controller.InputManager;
+import com.example.runway.model.ParameterSweep;
+import com.example.runway.model.RedeclarationEngine;
+import java.util.concurrent.ForkJoinPool;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
+import javafx.event.ActionEvent;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * The what-if sweep scene. Re-declares the current runway for a range of obstacle heights
+ * and distances from threshold, and displays the results as a heat map.
+ */
+public class SweepScene extends MainScene {
+
+  private final String[] methodsStrings = {"Landing over the obstacle", "Landing towards the obstacle",
+      "Take-off towards the obstacle", "Take-off away from the obstacle"};
+
+  private ChoiceBox<String> cbMethods;
+  private TextField txtMinHeight;
+  private TextField txtMaxHeight;
+  private TextField txtHeightSteps;
+  private TextField txtMinDistance;
+  private TextField txtMaxDistance;
+  private TextField txtDistanceSteps;
+  private TextField txtLimit;
+  private ProgressBar progressBar;
+  private Button btnRun;
+  private Button btnCancel;
+  private HeatMapPane heatMap;
+
+  // Sweep which is currently running:
+  private ParameterSweep sweep;
+  private boolean sweepFinished = false;
+
+  /**
+   * Create a new what-if sweep scene
+   * @param mainPage     the main page parameters of the UI
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public SweepScene(MainPage mainPage, InputManager inputManager, FileManager fileManager) {
+    super(mainPage);
+
+    this.inputManager = inputManager;
+    this.fileManager = fileManager;
+  }
+
+  /**
+   * Draw the UI components
+   */
+  @Override
+  public void draw() {
+    // Set up the main pane
+    root = new MainPane();
+    root.getStylesheets().add(getClass().getResource(inputManager.getStyle()).toExternalForm());
+    root.getStyleClass().add("menu-background");
+
+    HBox boxMain = new HBox();
+    boxMain.setAlignment(Pos.CENTER);
+    boxMain.setSpacing(40);
+
+    // Draw UI for user input:
+    VBox boxInputs = new VBox();
+    boxInputs.setAlignment(Pos.CENTER);
+    boxInputs.setSpacing(30);
+
+    Label lblHeading = new Label("What-if Sweep: " + inputManager.getCurrentRunway().getRunwayNumber());
+    lblHeading.getStyleClass().add("heading");
+    boxInputs.getChildren().add(lblHeading);
+
+    VBox boxValues = new VBox();
+    boxValues.setAlignment(Pos.CENTER_RIGHT);
+    boxValues.setMaxWidth(400);
+    boxValues.setSpacing(15);
+
+    cbMethods = new ChoiceBox<>(FXCollections.observableArrayList(methodsStrings));
+    cbMethods.getSelectionModel().select(0);
+    txtMinHeight = new TextField("1");
+    txtMaxHeight = new TextField("50");
+    txtHeightSteps = new TextField("500");
+    txtMinDistance = new TextField("0");
+    txtMaxDistance = new TextField(String.valueOf(inputManager.getCurrentRunway().getDefaultTora()));
+    txtDistanceSteps = new TextField("2000");
+    txtLimit = new TextField("0");
+
+    boxValues.getChildren().addAll(
+        inputRow("Method:", cbMethods),
+        inputRow("Lowest obstacle height:", txtMinHeight),
+        inputRow("Highest obstacle height:", txtMaxHeight),
+        inputRow("Number of heights:", txtHeightSteps),
+        inputRow("Lowest distance from threshold:", txtMinDistance),
+        inputRow("Highest distance from threshold:", txtMaxDistance),
+        inputRow("Number of distances:", txtDistanceSteps),
+        inputRow("Lowest acceptable value:", txtLimit));
+
+    progressBar = new ProgressBar(0);
+    progressBar.setPrefWidth(300);
+
+    // Draw buttons:
+    HBox boxButtons = new HBox();
+    boxButtons.setAlignment(Pos.CENTER);
+    boxButtons.setSpacing(20);
+
+    Button btnBack = new Button("Back");
+    btnBack.getStyleClass().add("button-next");
+    btnBack.setOnAction(this::back);
+
+    btnCancel = new Button("Cancel");
+    btnCancel.getStyleClass().add("button-next");
+    btnCancel.setOnAction(this::cancel);
+    btnCancel.setDisable(true);
+
+    Button btnExport = new Button("Export");
+    btnExport.getStyleClass().add("button-next");
+    btnExport.setOnAction(this::export);
+
+    btnRun = new Button("Run");
+    btnRun.getStyleClass().add("button-next");
+    btnRun.setOnAction(this::run);
+
+    boxButtons.getChildren().addAll(btnBack, btnCancel, btnExport, btnRun);
+    boxInputs.getChildren().addAll(boxValues, progressBar, boxButtons);
+
+    heatMap = new HeatMapPane(600, 400);
+    HBox.setMargin(heatMap, new Insets(0, 0, 0, 20));
+
+    boxMain.getChildren().addAll(boxInputs, heatMap);
+    root.getChildren().add(boxMain);
+  }
+
+  /**
+   * Create a labelled row of the input form
+   * @param text     label text
+   * @param input    input control
+   * @return the row
+   */
+  private HBox inputRow(String text, Control input) {
+    HBox box = new HBox();
+    box.setSpacing(5);
+    box.setAlignment(Pos.CENTER_RIGHT);
+
+    Label label = new Label(text);
+    label.getStyleClass().add("input-output-labels");
+    input.setMaxWidth(input instanceof ChoiceBox ? 220 : 100);
+
+    box.getChildren().addAll(label, input);
+    return box;
+  }
+
+  /**
+   * Handle when the Back button is clicked (cancels the sweep and loads previous scene)
+   * @param event    action event
+   */
+  private void back(ActionEvent event) {
+    if (sweep != null) {
+      sweep.cancel();
+    }
+    mainPage.showRunway(inputManager, fileManager, inputManager.getCurrentRunway());
+  }
+
+  /**
+   * Handle when the Cancel button is clicked (stops the running sweep)
+   * @param event    action event
+   */
+  private void cancel(ActionEvent event) {
+    if (sweep != null) {
+      sweep.cancel();
+    }
+  }
+
+  /**
+   * Handle when the Export button is clicked (exports the heat map as a PNG image)
+   * @param event    action event
+   */
+  private void export(ActionEvent event) {
+    if (sweepFinished) {
+      mainPage.showExport(inputManager, fileManager, 2, heatMap);
+    }
+    else {
+      alerts.alertError("No data chosen for export", "Run a sweep for the export first.");
+    }
+  }
+
+  /**
+   * Handle when the Run button is clicked (validates the inputs and starts the sweep in the background)
+   * @param event    action event
+   */
+  private void run(ActionEvent event) {
+    double minHeight;
+    double maxHeight;
+    int heightSteps;
+    double minDistance;
+    double maxDistance;
+    int distanceSteps;
+    double limit;
+    try {
+      minHeight = Double.parseDouble(txtMinHeight.getText());
+      maxHeight = Double.parseDouble(txtMaxHeight.getText());
+      heightSteps = Integer.parseInt(txtHeightSteps.getText());
+      minDistance = Double.parseDouble(txtMinDistance.getText());
+      maxDistance = Double.parseDouble(txtMaxDistance.getText());
+      distanceSteps = Integer.parseInt(txtDistanceSteps.getText());
+      limit = Double.parseDouble(txtLimit.getText());
+    }
+    catch (NumberFormatException e) {
+      alerts.alertError("Invalid sweep parameters", "All values have to be numbers,\n numbers of heights and distances have to be whole numbers.");
+      return;
+    }
+    if (minHeight <= 0 || maxHeight < minHeight) {
+      alerts.alertError("Invalid obstacle heights", "Heights have to be greater than 0,\n and the highest height cannot be lower than the lowest one.");
+      return;
+    }
+    if (maxDistance < minDistance) {
+      alerts.alertError("Invalid distances from threshold", "The highest distance cannot be lower than the lowest one.");
+      return;
+    }
+    if (heightSteps < 1 || distanceSteps < 1 || (long) heightSteps * distanceSteps > 50_000_000L) {
+      alerts.alertError("Invalid grid size", "Numbers of heights and distances have to be at least 1,\n and the grid cannot have more than 50 000 000 cells.");
+      return;
+    }
+
+    int method = cbMethods.getSelectionModel().getSelectedIndex() + RedeclarationEngine.LANDING_OVER;
+    String title = cbMethods.getValue() + (method <= RedeclarationEngine.LANDING_TOWARDS ? " (LDA)" : " (TORA)");
+    ParameterSweep current = new ParameterSweep(inputManager.getCurrentRunway(), method,
+        minHeight, maxHeight, heightSteps, minDistance, maxDistance, distanceSteps);
+    sweep = current;
+    sweepFinished = false;
+
+    // Run the sweep in the background, polling its progress:
+    Task<Boolean> task = new Task<>() {
+      @Override
+      protected Boolean call() {
+        Thread poller = new Thread(() -> {
+          while (!isDone()) {
+            updateProgress(current.getProgress(), 1);
+            try {
+              Thread.sleep(50);
+            }
+            catch (InterruptedException e) {
+              return;
+            }
+          }
+        });
+        poller.setDaemon(true);
+        poller.start();
+        boolean finished = current.run(ForkJoinPool.commonPool());
+        updateProgress(current.getProgress(), 1);
+        return finished;
+      }
+    };
+    task.setOnSucceeded(e -> {
+      btnRun.setDisable(false);
+      btnCancel.setDisable(true);
+      progressBar.progressProperty().unbind();
+      if (task.getValue()) {
+        heatMap.draw(current, title, limit);
+        sweepFinished = true;
+      }
+      else {
+        progressBar.setProgress(0);
+      }
+    });
+    task.setOnFailed(e -> {
+      btnRun.setDisable(false);
+      btnCancel.setDisable(true);
+      progressBar.progressProperty().unbind();
+      alerts.alertError("Sweep failed", String.valueOf(task.getException().getMessage()));
+    });
+
+    btnRun.setDisable(true);
+    btnCancel.setDisable(false);
+    progressBar.progressProperty().bind(task.progressProperty());
+
+    Thread thread = new Thread(task);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+}
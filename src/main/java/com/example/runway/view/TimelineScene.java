@@ -0,0 +1,213 @@
+package com.example.runway.view;
+
+import com.example.runway.controller.FileManager;
+import com.example.runway.controller.InputManager;
+import com.example.runway.model.DeclaredDistances;
+import com.example.runway.model.DeclaredTimeline;
+import com.example.runway.model.NumberCodec;
+import com.example.runway.model.RedeclarationEngine;
+import com.example.runway.model.TimelineSegment;
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
+
+/**
+ * The declared distance timeline scene. Re-declares the current runway over a period (e.g. a season)
+ * in which temporary obstacles are only present for their validity intervals, and displays the periods
+ * with constant declared distances.
+ */
+public class TimelineScene extends MainScene {
+
+  private final String[] methodsStrings = {"Landing over the obstacle", "Landing towards the obstacle",
+      "Take-off towards the obstacle", "Take-off away from the obstacle"};
+  private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+      .withZone(ZoneId.systemDefault());
+
+  private ChoiceBox<String> cbMethods;
+  private DatePicker dateFrom;
+  private DatePicker dateUntil;
+  private ListView<String> listSegments;
+
+  // Timeline which is displayed:
+  private DeclaredTimeline timeline;
+
+  /**
+   * Create a new declared distance timeline scene
+   * @param mainPage     the main page parameters of the UI
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public TimelineScene(MainPage mainPage, InputManager inputManager, FileManager fileManager) {
+    super(mainPage);
+
+    this.inputManager = inputManager;
+    this.fileManager = fileManager;
+  }
+
+  /**
+   * Draw the UI components
+   */
+  @Override
+  public void draw() {
+    // Set up the main pane
+    root = new MainPane();
+    root.getStylesheets().add(getClass().getResource(inputManager.getStyle()).toExternalForm());
+    root.getStyleClass().add("menu-background");
+
+    HBox boxMain = new HBox();
+    boxMain.setAlignment(Pos.CENTER);
+    boxMain.setSpacing(40);
+
+    // Draw UI for user input:
+    VBox boxInputs = new VBox();
+    boxInputs.setAlignment(Pos.CENTER);
+    boxInputs.setSpacing(30);
+
+    Label lblHeading = new Label("Declared Distance Timeline: " + inputManager.getCurrentRunway().getRunwayNumber());
+    lblHeading.getStyleClass().add("heading");
+    boxInputs.getChildren().add(lblHeading);
+
+    VBox boxValues = new VBox();
+    boxValues.setAlignment(Pos.CENTER_RIGHT);
+    boxValues.setMaxWidth(400);
+    boxValues.setSpacing(15);
+
+    cbMethods = new ChoiceBox<>(FXCollections.observableArrayList(methodsStrings));
+    int method = inputManager.getMethod();
+    cbMethods.getSelectionModel().select(method >= RedeclarationEngine.LANDING_OVER
+        && method <= RedeclarationEngine.TAKE_OFF_AWAY ? method - RedeclarationEngine.LANDING_OVER : 0);
+    dateFrom = new DatePicker(LocalDate.now());
+    dateUntil = new DatePicker(LocalDate.now().plusMonths(6));
+
+    boxValues.getChildren().addAll(
+        inputRow("Method:", cbMethods),
+        inputRow("From:", dateFrom),
+        inputRow("Until:", dateUntil));
+
+    // Draw buttons:
+    HBox boxButtons = new HBox();
+    boxButtons.setAlignment(Pos.CENTER);
+    boxButtons.setSpacing(20);
+
+    Button btnBack = new Button("Back");
+    btnBack.getStyleClass().add("button-next");
+    btnBack.setOnAction(this::back);
+
+    Button btnExport = new Button("Export");
+    btnExport.getStyleClass().add("button-next");
+    btnExport.setOnAction(this::export);
+
+    Button btnRun = new Button("Run");
+    btnRun.getStyleClass().add("button-next");
+    btnRun.setOnAction(this::run);
+
+    boxButtons.getChildren().addAll(btnBack, btnExport, btnRun);
+    boxInputs.getChildren().addAll(boxValues, boxButtons);
+
+    listSegments = new ListView<>();
+    listSegments.setPrefSize(650, 450);
+
+    boxMain.getChildren().addAll(boxInputs, listSegments);
+    root.getChildren().add(boxMain);
+  }
+
+  /**
+   * Create a labelled row of the input form
+   * @param text     label text
+   * @param input    input control
+   * @return the row
+   */
+  private HBox inputRow(String text, Control input) {
+    HBox box = new HBox();
+    box.setSpacing(5);
+    box.setAlignment(Pos.CENTER_RIGHT);
+
+    Label label = new Label(text);
+    label.getStyleClass().add("input-output-labels");
+    input.setMaxWidth(220);
+
+    box.getChildren().addAll(label, input);
+    return box;
+  }
+
+  /**
+   * Handle when the Back button is clicked (loads previous scene)
+   * @param event    action event
+   */
+  private void back(ActionEvent event) {
+    mainPage.showRunway(inputManager, fileManager, inputManager.getCurrentRunway());
+  }
+
+  /**
+   * Handle when the Run button is clicked (validates the period and builds the timeline)
+   * @param event    action event
+   */
+  private void run(ActionEvent event) {
+    LocalDate from = dateFrom.getValue();
+    LocalDate until = dateUntil.getValue();
+    if (from == null || until == null || !until.isAfter(from)) {
+      alerts.alertError("Invalid period", "Please choose both dates,\n the end of the period has to be after its start.");
+      return;
+    }
+    ZoneId zone = ZoneId.systemDefault();
+    int method = cbMethods.getSelectionModel().getSelectedIndex() + RedeclarationEngine.LANDING_OVER;
+    timeline = new DeclaredTimeline(inputManager.getCurrentRunway(), method,
+        from.atStartOfDay(zone).toInstant().toEpochMilli(), until.atStartOfDay(zone).toInstant().toEpochMilli());
+
+    // Display one line per period with constant values:
+    listSegments.getItems().clear();
+    for (TimelineSegment segment : timeline.getSegments()) {
+      DeclaredDistances values = segment.getValues();
+      listSegments.getItems().add(formatter.format(Instant.ofEpochMilli(segment.getFrom())) + " - "
+          + formatter.format(Instant.ofEpochMilli(segment.getUntil())) + ":  TORA " + NumberCodec.format(values.getTora())
+          + ", TODA " + NumberCodec.format(values.getToda()) + ", ASDA " + NumberCodec.format(values.getAsda())
+          + ", LDA " + NumberCodec.format(values.getLda())
+          + (segment.getGoverning() == null ? "" : "  (" + segment.getGoverning().getName() + ")"));
+    }
+  }
+
+  /**
+   * Handle when the Export button is clicked (exports the timeline as a TXT file)
+   * @param event    action event
+   */
+  private void export(ActionEvent event) {
+    if (timeline == null) {
+      alerts.alertError("No data chosen for export", "Run the timeline for the export first.");
+      return;
+    }
+    FileChooser fileChooser = new FileChooser();
+    fileChooser.setTitle("Choose a file");
+    fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Text files", "*.txt"));
+    File file = fileChooser.showSaveDialog(mainPage.getStage());
+    if (file == null) {
+      return;
+    }
+    try {
+      fileManager.exportTimelineAsTXT(file, inputManager.getCurrentAirport(), timeline, ZoneId.systemDefault());
+      Text txtNotification = new Text("The declared distance timeline of the \"" + timeline.getRunway().getRunwayNumber()
+          + "\" runway has been successfully exported as TXT file.\n");
+      txtNotification.getStyleClass().add("green-notification");
+      inputManager.addNotification(txtNotification);
+    }
+    catch (IOException e) {
+      alerts.alertError("An error occurred when exporting file", "Please enter a valid file path.");
+    }
+  }
+
+}
@@ -0,0 +1,320 @@
+package com.example.runway.view;
+
+import com.example.runway.controller.FileManager;
+import com.example.runway.controller.InputManager;
+import com.example.runway.model.NumberCodec;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.RedeclarationEngine;
+import com.example.runway.model.UncertaintyAnalysis;
+import java.util.concurrent.ForkJoinPool;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
+import javafx.event.ActionEvent;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * The uncertainty analysis scene. Re-declares the current runway for obstacle heights and distances sampled
+ * around the surveyed values of its current obstacle, and displays percentiles of the declared distances.
+ */
+public class UncertaintyScene extends MainScene {
+
+  private final String[] methodsStrings = {"Landing over the obstacle", "Landing towards the obstacle",
+      "Take-off towards the obstacle", "Take-off away from the obstacle"};
+  private final String[] distributionsStrings = {"Normal (standard deviation)", "Uniform (half-width)"};
+  private final String[] distanceStrings = {"TORA:", "TODA:", "ASDA:", "LDA:"};
+  private final double[] percentiles = {5, 50, 95};
+
+  private ChoiceBox<String> cbMethods;
+  private ChoiceBox<String> cbDistributions;
+  private TextField txtHeightError;
+  private TextField txtThresholdError;
+  private TextField txtSamples;
+  private TextField txtSeed;
+  private ProgressBar progressBar;
+  private Button btnRun;
+  private Button btnCancel;
+  private Label[][] lblResults;
+  private Label lblSamples;
+
+  // Analysis which is currently running:
+  private UncertaintyAnalysis analysis;
+
+  /**
+   * Create a new uncertainty analysis scene
+   * @param mainPage     the main page parameters of the UI
+   * @param inputManager controller for all user inputs
+   * @param fileManager controller for all files
+   */
+  public UncertaintyScene(MainPage mainPage, InputManager inputManager, FileManager fileManager) {
+    super(mainPage);
+
+    this.inputManager = inputManager;
+    this.fileManager = fileManager;
+  }
+
+  /**
+   * Draw the UI components
+   */
+  @Override
+  public void draw() {
+    // Set up the main pane
+    root = new MainPane();
+    root.getStylesheets().add(getClass().getResource(inputManager.getStyle()).toExternalForm());
+    root.getStyleClass().add("menu-background");
+
+    HBox boxMain = new HBox();
+    boxMain.setAlignment(Pos.CENTER);
+    boxMain.setSpacing(60);
+
+    // Draw UI for user input:
+    VBox boxInputs = new VBox();
+    boxInputs.setAlignment(Pos.CENTER);
+    boxInputs.setSpacing(30);
+
+    Obstacle obstacle = inputManager.getCurrentRunway().getCurrentObstacle();
+    Label lblHeading = new Label("Uncertainty Analysis: " + inputManager.getCurrentRunway().getRunwayNumber());
+    lblHeading.getStyleClass().add("heading");
+    Label lblObstacle = new Label("Obstacle \"" + obstacle.getName() + "\": height " + obstacle.getHeight()
+        + " m, " + obstacle.getDistanceFromThreshold() + " m from threshold, "
+        + obstacle.getDistanceCentre() + " m from centre line");
+    lblObstacle.getStyleClass().add("input-output-labels");
+    boxInputs.getChildren().addAll(lblHeading, lblObstacle);
+
+    VBox boxValues = new VBox();
+    boxValues.setAlignment(Pos.CENTER_RIGHT);
+    boxValues.setMaxWidth(450);
+    boxValues.setSpacing(15);
+
+    cbMethods = new ChoiceBox<>(FXCollections.observableArrayList(methodsStrings));
+    int method = inputManager.getMethod();
+    cbMethods.getSelectionModel().select(method >= RedeclarationEngine.LANDING_OVER
+        && method <= RedeclarationEngine.TAKE_OFF_AWAY ? method - RedeclarationEngine.LANDING_OVER : 0);
+    cbMethods.getSelectionModel().selectedIndexProperty().addListener((observable, oldValue, newValue) -> clearResults());
+    cbDistributions = new ChoiceBox<>(FXCollections.observableArrayList(distributionsStrings));
+    cbDistributions.getSelectionModel().select(UncertaintyAnalysis.NORMAL);
+    txtHeightError = new TextField("0.5");
+    txtThresholdError = new TextField("5");
+    txtSamples = new TextField("1000000");
+    txtSeed = new TextField("42");
+
+    boxValues.getChildren().addAll(
+        inputRow("Method:", cbMethods),
+        inputRow("Survey errors:", cbDistributions),
+        inputRow("Height error:", txtHeightError),
+        inputRow("Distance from threshold error:", txtThresholdError),
+        inputRow("Number of samples:", txtSamples),
+        inputRow("Seed:", txtSeed));
+
+    progressBar = new ProgressBar(0);
+    progressBar.setPrefWidth(300);
+
+    // Draw buttons:
+    HBox boxButtons = new HBox();
+    boxButtons.setAlignment(Pos.CENTER);
+    boxButtons.setSpacing(20);
+
+    Button btnBack = new Button("Back");
+    btnBack.getStyleClass().add("button-next");
+    btnBack.setOnAction(this::back);
+
+    btnCancel = new Button("Cancel");
+    btnCancel.getStyleClass().add("button-next");
+    btnCancel.setOnAction(this::cancel);
+    btnCancel.setDisable(true);
+
+    btnRun = new Button("Run");
+    btnRun.getStyleClass().add("button-next");
+    btnRun.setOnAction(this::run);
+
+    boxButtons.getChildren().addAll(btnBack, btnCancel, btnRun);
+    boxInputs.getChildren().addAll(boxValues, progressBar, boxButtons);
+
+    // Draw the table of percentiles:
+    GridPane gridResults = new GridPane();
+    gridResults.setAlignment(Pos.CENTER);
+    gridResults.setHgap(25);
+    gridResults.setVgap(15);
+
+    lblResults = new Label[distanceStrings.length][percentiles.length];
+    for (int p = 0; p < percentiles.length; p++) {
+      Label lblPercentile = new Label("P" + (int) percentiles[p]);
+      lblPercentile.getStyleClass().add("input-output-labels");
+      gridResults.add(lblPercentile, p + 1, 0);
+    }
+    for (int d = 0; d < distanceStrings.length; d++) {
+      Label lblDistance = new Label(distanceStrings[d]);
+      lblDistance.getStyleClass().add("input-output-labels");
+      gridResults.add(lblDistance, 0, d + 1);
+      for (int p = 0; p < percentiles.length; p++) {
+        lblResults[d][p] = new Label("-");
+        lblResults[d][p].getStyleClass().add("input-output-labels");
+        gridResults.add(lblResults[d][p], p + 1, d + 1);
+      }
+    }
+    lblSamples = new Label("");
+    lblSamples.getStyleClass().add("input-output-labels");
+    gridResults.add(lblSamples, 0, distanceStrings.length + 1, percentiles.length + 1, 1);
+
+    boxMain.getChildren().addAll(boxInputs, gridResults);
+    root.getChildren().add(boxMain);
+  }
+
+  /**
+   * Create a labelled row of the input form
+   * @param text     label text
+   * @param input    input control
+   * @return the row
+   */
+  private HBox inputRow(String text, Control input) {
+    HBox box = new HBox();
+    box.setSpacing(5);
+    box.setAlignment(Pos.CENTER_RIGHT);
+
+    Label label = new Label(text);
+    label.getStyleClass().add("input-output-labels");
+    input.setMaxWidth(input instanceof ChoiceBox ? 220 : 100);
+
+    box.getChildren().addAll(label, input);
+    return box;
+  }
+
+  /**
+   * Remove the results of the previous analysis
+   */
+  private void clearResults() {
+    for (Label[] row : lblResults) {
+      for (Label label : row) {
+        label.setText("-");
+      }
+    }
+    lblSamples.setText("");
+  }
+
+  /**
+   * Display the percentiles of a finished analysis
+   * @param finished    the analysis
+   */
+  private void showResults(UncertaintyAnalysis finished) {
+    for (int d = 0; d < lblResults.length; d++) {
+      for (int p = 0; p < percentiles.length; p++) {
+        lblResults[d][p].setText(NumberCodec.format(finished.getPercentile(d, percentiles[p])) + " m");
+      }
+    }
+    lblSamples.setText(finished.getSamples() + " samples (seed " + finished.getSeed() + ")");
+  }
+
+  /**
+   * Handle when the Back button is clicked (cancels the analysis and loads previous scene)
+   * @param event    action event
+   */
+  private void back(ActionEvent event) {
+    if (analysis != null) {
+      analysis.cancel();
+    }
+    mainPage.showRunway(inputManager, fileManager, inputManager.getCurrentRunway());
+  }
+
+  /**
+   * Handle when the Cancel button is clicked (stops the running analysis)
+   * @param event    action event
+   */
+  private void cancel(ActionEvent event) {
+    if (analysis != null) {
+      analysis.cancel();
+    }
+  }
+
+  /**
+   * Handle when the Run button is clicked (validates the inputs and starts the analysis in the background)
+   * @param event    action event
+   */
+  private void run(ActionEvent event) {
+    double heightError;
+    double thresholdError;
+    int samples;
+    long seed;
+    try {
+      heightError = Double.parseDouble(txtHeightError.getText());
+      thresholdError = Double.parseDouble(txtThresholdError.getText());
+      samples = Integer.parseInt(txtSamples.getText());
+      seed = Long.parseLong(txtSeed.getText());
+    }
+    catch (NumberFormatException e) {
+      alerts.alertError("Invalid analysis parameters", "All values have to be numbers,\n the number of samples and the seed have to be whole numbers.");
+      return;
+    }
+    if (!(heightError >= 0 && thresholdError >= 0)) {
+      alerts.alertError("Invalid survey errors", "Survey errors cannot be negative.");
+      return;
+    }
+    if (samples < 1 || samples > 1_000_000_000) {
+      alerts.alertError("Invalid number of samples", "The number of samples has to be between 1 and 1 000 000 000.");
+      return;
+    }
+
+    int method = cbMethods.getSelectionModel().getSelectedIndex() + RedeclarationEngine.LANDING_OVER;
+    UncertaintyAnalysis current = new UncertaintyAnalysis(inputManager.getCurrentRunway(),
+        inputManager.getCurrentRunway().getCurrentObstacle(), method,
+        cbDistributions.getSelectionModel().getSelectedIndex(), heightError, thresholdError, samples, seed);
+    analysis = current;
+    clearResults();
+
+    // Run the analysis in the background, polling its progress:
+    Task<Boolean> task = new Task<>() {
+      @Override
+      protected Boolean call() {
+        Thread poller = new Thread(() -> {
+          while (!isDone()) {
+            updateProgress(current.getProgress(), 1);
+            try {
+              Thread.sleep(50);
+            }
+            catch (InterruptedException e) {
+              return;
+            }
+          }
+        });
+        poller.setDaemon(true);
+        poller.start();
+        boolean finished = current.run(ForkJoinPool.commonPool());
+        updateProgress(current.getProgress(), 1);
+        return finished;
+      }
+    };
+    task.setOnSucceeded(e -> {
+      btnRun.setDisable(false);
+      btnCancel.setDisable(true);
+      progressBar.progressProperty().unbind();
+      if (task.getValue()) {
+        showResults(current);
+      }
+      else {
+        progressBar.setProgress(0);
+      }
+    });
+    task.setOnFailed(e -> {
+      btnRun.setDisable(false);
+      btnCancel.setDisable(true);
+      progressBar.progressProperty().unbind();
+      alerts.alertError("Analysis failed", String.valueOf(task.getException().getMessage()));
+    });
+
+    btnRun.setDisable(true);
+    btnCancel.setDisable(false);
+    progressBar.progressProperty().bind(task.progressProperty());
+
+    Thread thread = new Thread(task);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+}
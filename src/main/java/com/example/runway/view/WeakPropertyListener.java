@@ -0,0 +1,55 @@
+package com.example.runway.view;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+
+/**
+ * Property change listener which holds its pane weakly, so a model object does not keep the panes of closed scenes
+ * alive. The listener removes itself once the pane is gone. Changes are handled on the JavaFX application thread.
+ * @param <T>    type of the pane
+ */
+final class WeakPropertyListener<T> implements PropertyChangeListener {
+
+  private final WeakReference<T> pane;
+  private final BiConsumer<T, PropertyChangeEvent> handler;
+  private final Consumer<PropertyChangeListener> remover;
+
+  /**
+   * Create a new listener
+   * @param pane       the pane
+   * @param handler    method of the pane handling a change
+   * @param remover    removes the listener from the model object
+   */
+  WeakPropertyListener(T pane, BiConsumer<T, PropertyChangeEvent> handler, Consumer<PropertyChangeListener> remover) {
+    this.pane = new WeakReference<>(pane);
+    this.handler = handler;
+    this.remover = remover;
+  }
+
+  /**
+   * Remove the listener from the model object
+   */
+  void remove() {
+    remover.accept(this);
+  }
+
+  @Override
+  public void propertyChange(PropertyChangeEvent event) {
+    if (!Platform.isFxApplicationThread()) {
+      Platform.runLater(() -> propertyChange(event));
+      return;
+    }
+    T current = pane.get();
+    if (current == null) {
+      remove();
+    }
+    else {
+      handler.accept(current, event);
+    }
+  }
+
+}
@@ -0,0 +1,159 @@
+package com.example.runway.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.runway.model.Airport;
+import com.example.runway.model.AirportSummary;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.Runway;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AirportCatalogTest {
+  private Path directory;
+  private FileManager fileManager;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("catalog");
+    Files.createDirectory(directory.resolve("storage_files"));
+    fileManager = new FileManager(directory.toString());
+    for (int i = 0; i < 5; i++) {
+      Airport airport = new Airport("Airport" + i);
+      airport.addRunway(new Runway("09L", 3902, 3902, 3902, 3595, 306));
+      airport.addRunway(new Runway("27R", 3884, 3962, 3884, 3884, 0));
+      fileManager.saveAirport(airport);
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Test
+  public void testSummariesFromSnapshot() throws IOException {
+    System.out.println("Testing the summaries of stored airports");
+    List<String> failures = new ArrayList<>();
+    List<AirportSummary> summaries = fileManager.fetchSummaries(null, failures);
+    assertTrue("No file should fail", failures.isEmpty());
+    assertEquals("Incorrect number of summaries", 5, summaries.size());
+    assertEquals("Incorrect name", "Airport3", summaries.get(3).getName());
+    assertEquals("Incorrect runways", List.of("09L", "27R"), summaries.get(3).getRunwayNumbers());
+    Path written = fileManager.getSnapshotFile();
+    assertNotNull("The snapshot should be written", written);
+
+    // Unchanged files are read from the snapshot, which is not written again:
+    summaries = fileManager.fetchSummaries(null, failures);
+    assertTrue("Summaries should be read from the snapshot", failures.isEmpty());
+    assertEquals("Incorrect number of summaries", 5, summaries.size());
+    assertEquals("The snapshot should not be written again", written, fileManager.getSnapshotFile());
+
+    // A changed file is parsed again, even if it has the same size and modification time (its digest differs):
+    File damaged = fileManager.getStoredFile("Airport1.xml");
+    long modified = damaged.lastModified();
+    byte[] content = Files.readAllBytes(damaged.toPath());
+    content[content.length - 2] = ' ';
+    Files.write(damaged.toPath(), content);
+    damaged.setLastModified(modified);
+    summaries = fileManager.fetchSummaries(null, failures);
+    assertEquals("The damaged file should be parsed", List.of("Airport1.xml"), failures);
+    assertEquals("Incorrect number of summaries", 4, summaries.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedAirportsUnloaded() {
+    System.out.println("Testing lazy loading of airports");
+    AirportCatalog catalog = new AirportCatalog(fileManager, 2);
+    catalog.addSummaries(fileManager.fetchSummaries(null, new ArrayList<>()));
+    assertEquals("Incorrect names", List.of("Airport0", "Airport1", "Airport2", "Airport3", "Airport4"),
+        catalog.getNames());
+    assertTrue("Nothing should be loaded at first", catalog.getLoaded().isEmpty());
+
+    Airport first = catalog.get(0);
+    first.addRunway(new Runway("18", 3000, 3000, 3000, 3000, 0));
+    catalog.get(1);
+    assertTrue("Airport should be loaded", catalog.isLoaded(0));
+    catalog.get(2);
+    assertFalse("Least recently used airport should be unloaded", catalog.isLoaded(0));
+    assertEquals("Only 2 airports should be loaded", 2, catalog.getLoaded().size());
+
+    // The unloaded airport is saved with its changes:
+    Airport reloaded = catalog.get(0);
+    assertEquals("Changes should be saved when unloading", List.of("09L", "27R", "18"), reloaded.getRunwayNumbers());
+    assertFalse("Airport should be unloaded", catalog.isLoaded(1));
+    assertEquals("Names should not change", "Airport1", catalog.getNames().get(1));
+  }
+
+  @Test
+  public void testAllAirportsReadWithoutLoading() {
+    System.out.println("Testing a pass over all airports of the catalog");
+    AirportCatalog catalog = new AirportCatalog(fileManager, 2);
+    catalog.addSummaries(fileManager.fetchSummaries(null, new ArrayList<>()));
+    Airport loaded = catalog.get(3);
+    loaded.addRunway(new Runway("18", 3000, 3000, 3000, 3000, 0));
+
+    List<Airport> airports = new ArrayList<>();
+    for (Airport airport : catalog.getAll()) {
+      airports.add(airport);
+    }
+    assertEquals("Every airport should be read", 5, airports.size());
+    assertEquals("Incorrect name", "Airport1", airports.get(1).getName());
+    assertSame("A loaded airport should be used with its changes", loaded, airports.get(3));
+    assertEquals("Airports read for the pass should not be loaded", List.of(loaded), catalog.getLoaded());
+  }
+
+  @Test
+  public void testOnlyModifiedAirportsSaved() {
+    System.out.println("Testing that only modified airports are saved");
+    AirportCatalog catalog = new AirportCatalog(fileManager, 2);
+    catalog.addSummaries(fileManager.fetchSummaries(null, new ArrayList<>()));
+    File stored = fileManager.getStoredFile("Airport0.xml");
+    stored.setLastModified(1_000_000L);
+
+    // A loaded airport which was not modified is not written:
+    Airport airport = catalog.get(0);
+    assertFalse("Loaded airport should not be modified", airport.isModified());
+    catalog.saveAll();
+    assertEquals("Unmodified airport should not be written", 1_000_000L, stored.lastModified());
+
+    // A modification which was undone leaves the file unchanged:
+    Obstacle crane = new Obstacle("crane", 25, 10, 15, 1200);
+    airport.getRunways().get(0).addObstacle(crane);
+    assertTrue("Adding an obstacle should modify the airport", airport.isModified());
+    airport.getRunways().get(0).removeObstacle(crane);
+    assertFalse("Airport should not be written", fileManager.saveAirport(airport));
+    assertFalse("Airport should be saved", airport.isModified());
+    assertEquals("Unchanged airport should not be written", 1_000_000L, stored.lastModified());
+    assertFalse("The temporary file should be deleted", Files.exists(Path.of(stored + ".tmp")));
+
+    // Re-declared values do not modify the airport, new default values do:
+    airport.getRunways().get(0).setTora(3000);
+    assertFalse("Re-declaration should not modify the airport", airport.isModified());
+    airport.getRunways().get(0).setDefaultTora(3800);
+    assertTrue("New default value should modify the airport", airport.isModified());
+    catalog.saveAll();
+    assertFalse("Airport should be saved", airport.isModified());
+    assertTrue("Modified airport should be written", stored.lastModified() != 1_000_000L);
+    assertEquals("Incorrect saved TORA", 3800,
+        fileManager.importFile(stored.getAbsolutePath()).getRunways().get(0).getDefaultTora(), 0);
+  }
+
+}
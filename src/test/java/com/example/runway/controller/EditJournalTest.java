@@ -0,0 +1,166 @@
+package com.example.runway.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.runway.model.Airport;
+import com.example.runway.model.NumberCodec;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.Runway;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EditJournalTest {
+  private Path directory;
+  private FileManager fileManager;
+  private EditJournal journal;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("journal");
+    Files.createDirectory(directory.resolve("storage_files"));
+    fileManager = new FileManager(directory.toString());
+    Airport airport = new Airport("Heathrow");
+    airport.addRunway(new Runway("09L", 3902, 3902, 3902, 3595, 306));
+    fileManager.saveAirport(airport);
+    journal = new EditJournal(fileManager);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    journal.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  private Airport load(String name) {
+    return fileManager.importFile(fileManager.getStoredFile(name + ".xml").getAbsolutePath());
+  }
+
+  private List<Path> journals() throws IOException {
+    try (Stream<Path> files = Files.list(fileManager.getStorageFolder())) {
+      return files.filter(file -> file.getFileName().toString().startsWith(EditJournal.PREFIX)).sorted().toList();
+    }
+  }
+
+  @Test
+  public void testReplayAfterCrash() throws IOException {
+    System.out.println("Testing replay of the edit journal");
+    Airport airport = load("Heathrow");
+    Runway runway = new Runway("27R", 3884, 3962, 3884, 3884, 0);
+    runway.setProfileName("Heavy (500m blast allowance)");
+    airport.addRunway(runway);
+    journal.runwayChanged(airport, null, runway);
+    Obstacle crane = new Obstacle("crane", 25, 10, 15, 1200);
+    runway.addObstacle(crane);
+    journal.obstacleChanged(airport, runway, null, crane);
+    crane.setName("tower");
+    crane.setHeight(40);
+    journal.obstacleChanged(airport, runway, "crane", crane);
+    journal.runwayDeleted(airport, airport.getRunways().get(0));
+    airport.setName("London");
+    journal.airportRenamed(airport, "Heathrow");
+    Airport added = new Airport("Gatwick");
+    journal.airportAdded(added);
+    journal.flush();
+
+    // The app stops without saving, the last line is cut off by the crash:
+    journal.close();
+    Files.writeString(journals().get(0), "7\tairport_deleted\tLondon", StandardCharsets.UTF_8,
+        StandardOpenOption.APPEND);
+    journal = new EditJournal(fileManager);
+    assertEquals("Incorrect number of replayed edits", 6, journal.compact());
+
+    assertFalse("Renamed airport should not be stored", fileManager.getStoredFile("Heathrow.xml").exists());
+    Airport replayed = load("London");
+    assertEquals("Incorrect runways", List.of("27R"), replayed.getRunwayNumbers());
+    assertEquals("Incorrect profile", "Heavy (500m blast allowance)", replayed.getRunways().get(0).getProfileName());
+    Obstacle tower = replayed.getRunways().get(0).getObstacles().get(4);
+    assertEquals("Incorrect obstacle", "tower", tower.getName());
+    assertEquals("Incorrect obstacle height", 40, tower.getHeight(), 0);
+    assertEquals("Incorrect journal sequence", 5, replayed.getJournalSequence());
+    assertEquals("Incorrect new airport", "Gatwick", load("Gatwick").getName());
+    assertEquals("Compacted journal files should be deleted", 1, journals().size());
+  }
+
+  @Test
+  public void testCompactionSkipsSavedEdits() throws IOException {
+    System.out.println("Testing compaction of edits which were already saved");
+    Airport airport = load("Heathrow");
+    Obstacle crane = new Obstacle("crane", 25, 10, 15, 1200);
+    airport.getRunways().get(0).addObstacle(crane);
+    journal.obstacleChanged(airport, airport.getRunways().get(0), null, crane);
+    airport.getRunways().get(0).removeObstacle(crane);
+    journal.obstacleDeleted(airport, airport.getRunways().get(0), crane);
+
+    // The airport is saved by the app before the journal is compacted:
+    airport.getRunways().get(0).setDefaultLda(3500);
+    journal.runwayChanged(airport, "09L", airport.getRunways().get(0));
+    airport.setDefaultRunways();
+    assertTrue("Airport should be written", fileManager.saveAirport(airport));
+    long modified = fileManager.getStoredFile("Heathrow.xml").lastModified();
+    fileManager.getStoredFile("Heathrow.xml").setLastModified(modified - 5000);
+
+    assertEquals("Incorrect number of compacted edits", 3, journal.compact());
+    assertEquals("Saved airport should not be written again", modified - 5000,
+        fileManager.getStoredFile("Heathrow.xml").lastModified());
+    Airport stored = load("Heathrow");
+    assertEquals("Incorrect LDA", 3500, stored.getRunways().get(0).getDefaultLda(), 0);
+    assertEquals("Incorrect number of obstacles", 4, stored.getRunways().get(0).getObstacles().size());
+    assertEquals("Nothing should be left to compact", 0, journal.compact());
+    assertNull("Journal should not change the airport", stored.getObstacleRegistry().getObstacle("crane"));
+  }
+
+  @Test
+  public void testSeparatorsInValues() throws IOException {
+    System.out.println("Testing journalled values with tabs and line breaks");
+    Airport airport = load("Heathrow");
+    Runway runway = airport.getRunways().get(0);
+    Obstacle crane = new Obstacle("crane\tnorth\nside\\1", 25, 10, 15, 1200);
+    runway.addObstacle(crane);
+    journal.obstacleChanged(airport, runway, null, crane);
+    journal.flush();
+    assertEquals("Journal should have one line", 1, Files.readAllLines(journals().get(0)).size());
+
+    List<String[]> records = EditJournal.read(journals().get(0));
+    assertEquals("Incorrect number of edits", 1, records.size());
+    assertEquals("Incorrect number of values", 12, records.get(0).length);
+    assertEquals("Incorrect obstacle name", "crane\tnorth\nside\\1", records.get(0)[5]);
+    assertEquals("Incorrect obstacle height", 25, NumberCodec.parse(records.get(0)[6]), 0);
+  }
+
+  @Test
+  public void testSequenceAfterCompaction() throws IOException {
+    System.out.println("Testing sequence numbers after the journal files were compacted");
+    Airport airport = load("Heathrow");
+    airport.getRunways().get(0).setDefaultLda(3500);
+    journal.runwayChanged(airport, "09L", airport.getRunways().get(0));
+    assertEquals("Incorrect number of compacted edits", 1, journal.compact());
+    journal.close();
+
+    // The compacted journal files are gone, new edits continue after the stored airport's last edit:
+    journal = new EditJournal(fileManager);
+    airport = load("Heathrow");
+    assertEquals("Incorrect journal sequence", 1, airport.getJournalSequence());
+    airport.getRunways().get(0).setDefaultLda(3400);
+    journal.runwayChanged(airport, "09L", airport.getRunways().get(0));
+    assertEquals("Incorrect journal sequence", 2, airport.getJournalSequence());
+    assertEquals("Incorrect number of compacted edits", 1, journal.compact());
+    assertEquals("New edit should be applied", 3400, load("Heathrow").getRunways().get(0).getDefaultLda(), 0);
+  }
+
+}
@@ -0,0 +1,320 @@
+package com.example.runway.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.example.runway.model.Airport;
+import com.example.runway.model.AirportSummary;
+import com.example.runway.model.Obstacle;
+import com.example.runway.model.ParameterProfiles;
+import com.example.runway.model.Runway;
+import com.example.runway.model.SurveyedObstacle;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileManagerTest {
+  private FileManager fileManager;
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    fileManager = new FileManager();
+    file = Files.createTempFile("airport", ".xml");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testImportExported() {
+    System.out.println("Testing import of an exported airport");
+    Airport airport = new Airport("Heathrow");
+    Runway runway = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+    runway.setPosition(0, 0, 91.5);
+    runway.setProfileName("Heavy (500m blast allowance)");
+    Obstacle temporary = new Obstacle("crane", 25, 10, 15, 1200);
+    temporary.setValidity(1_700_000_000_000L, 1_700_086_400_000L);
+    runway.addObstacle(temporary);
+    airport.addRunway(runway);
+    airport.addRunway(new Runway("27R", 3884, 3962, 3884, 3884, 0));
+    airport.getObstacleRegistry().add(new SurveyedObstacle("mast", 2000, -40, 30, 5));
+    fileManager.exportFile(file.toFile(), airport);
+
+    Airport imported = fileManager.importFile(file.toString());
+    assertEquals("Incorrect airport name", "Heathrow", imported.getName());
+    assertEquals("Incorrect runways", airport.getRunwayNumbers(), imported.getRunwayNumbers());
+    Runway first = imported.getRunways().get(0);
+    assertEquals("Incorrect TORA", 3902, first.getDefaultTora(), 0);
+    assertEquals("Incorrect LDA", 3595, first.getDefaultLda(), 0);
+    assertEquals("Incorrect displaced threshold", 306, first.getDisplacedThreshold(), 0);
+    assertEquals("Incorrect heading", 91.5, first.getHeading(), 0);
+    assertFalse("Runway 27R should not be positioned", imported.getRunways().get(1).hasPosition());
+    assertEquals("Incorrect profile", "Heavy (500m blast allowance)", first.getProfileName());
+    assertEquals("Runway 27R should use the default profile", ParameterProfiles.DEFAULT,
+        imported.getRunways().get(1).getProfile());
+
+    // Predefined obstacles, the imported obstacle and the projected surveyed obstacle:
+    assertEquals("Incorrect number of obstacles", 6, first.getObstacles().size());
+    Obstacle crane = first.getObstacles().get(4);
+    assertEquals("Incorrect obstacle", "crane", crane.getName());
+    assertEquals("Incorrect distance from threshold", 1200, crane.getDistanceFromThreshold(), 0);
+    assertEquals("Incorrect distance from centre line", 15, crane.getDistanceCentre(), 0);
+    assertEquals("Incorrect start of validity", 1_700_000_000_000L, crane.getValidFrom());
+    assertEquals("Incorrect end of validity", 1_700_086_400_000L, crane.getValidUntil());
+    Obstacle mast = first.getObstacles().get(5);
+    assertEquals("Incorrect surveyed obstacle", "mast", mast.getName());
+    assertTrue("Surveyed obstacle should be projected", imported.getObstacleRegistry().isProjected(first, mast));
+    assertEquals("Surveyed obstacle should not be on runway 27R", 4,
+        imported.getRunways().get(1).getObstacles().size());
+  }
+
+  @Test
+  public void testImportRejectsMalformedFile() throws IOException {
+    System.out.println("Testing import of a malformed file");
+    Files.writeString(file, "<airport name=\"Broken\"><runway runway_designator=\"09\"><TORA>3000");
+    try {
+      fileManager.importFile(file.toString());
+      fail("A malformed file should not be imported");
+    }
+    catch (RuntimeException e) {
+      assertNotNull("The cause should be a parse error", e.getCause());
+    }
+  }
+
+  @Test
+  public void testImportNumbersFromText() throws IOException {
+    System.out.println("Testing import of numbers written with whitespace, comments, CDATA and references");
+    Files.writeString(file, "<airport name=\"Heathrow\"><runway runway_designator=\"09L\">"
+        + "<TORA> 3902 </TORA><TODA><!-- declared -->3902</TODA><ASDA>39<![CDATA[02.5]]></ASDA>"
+        + "<LDA>35&#57;5</LDA><displaced_threshold>\n  306\n</displaced_threshold></runway></airport>");
+    Runway runway = fileManager.importFile(file.toString()).getRunways().get(0);
+    assertEquals("Incorrect TORA", 3902, runway.getDefaultTora(), 0);
+    assertEquals("Incorrect TODA", 3902, runway.getDefaultToda(), 0);
+    assertEquals("Incorrect ASDA", 3902.5, runway.getDefaultAsda(), 0);
+    assertEquals("Incorrect LDA", 3595, runway.getDefaultLda(), 0);
+    assertEquals("Incorrect displaced threshold", 306, runway.getDisplacedThreshold(), 0);
+  }
+
+  @Test
+  public void testImportRejectsInvalidValidity() throws IOException {
+    System.out.println("Testing import of an obstacle removed before it is placed");
+    Airport airport = new Airport("Heathrow");
+    Runway runway = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+    Obstacle crane = new Obstacle("crane", 25, 10, 15, 1200);
+    crane.setValidity(1_700_000_000_000L, 1_700_086_400_000L);
+    runway.addObstacle(crane);
+    airport.addRunway(runway);
+    fileManager.exportFile(file.toFile(), airport);
+    String xml = Files.readString(file);
+    String until = xml.substring(xml.indexOf("<valid_until>"), xml.indexOf("</valid_until>"));
+    Files.writeString(file, xml.replace(until, "<valid_until>2023-01-01T00:00:00Z"));
+
+    List<String> failures = new ArrayList<>();
+    assertTrue("No airport should be imported", fileManager.importFiles(List.of(file.toFile()), null, failures).isEmpty());
+    assertEquals("The file should be reported as a failure", List.of(file.toFile().getName()), failures);
+  }
+
+  @Test
+  public void testExportWritesDefaultValues() {
+    System.out.println("Testing export of a re-declared runway");
+    Airport airport = new Airport("Gatwick & \"Redhill\"");
+    Runway runway = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+    Obstacle obstacle = new Obstacle("crane<1>", 12, 10, 0, 2000);
+    runway.addObstacle(obstacle);
+    runway.redeclarationLandingOver(obstacle);
+    airport.addRunway(runway);
+    fileManager.exportFile(file.toFile(), airport);
+
+    Airport imported = fileManager.importFile(file.toString());
+    assertEquals("Names should be escaped", "Gatwick & \"Redhill\"", imported.getName());
+    assertEquals("Default LDA should be exported", 3595, imported.getRunways().get(0).getDefaultLda(), 0);
+    assertEquals("Names should be escaped", "crane<1>", imported.getRunways().get(0).getObstacles().get(4).getName());
+  }
+
+  @Test
+  public void testImportFilesIsolatesFailures() throws IOException {
+    System.out.println("Testing concurrent import of several files");
+    List<File> files = new ArrayList<>();
+    try {
+      for (int i = 0; i < 12; i++) {
+        File airportFile = Files.createTempFile("airport" + i, ".xml").toFile();
+        files.add(airportFile);
+        if (i == 5) {
+          Files.writeString(airportFile.toPath(), "<airport name=\"Broken\"><runway");
+        }
+        else {
+          Airport airport = new Airport("Airport" + i);
+          airport.addRunway(new Runway("09L", 3902, 3902, 3902, 3595, 306));
+          fileManager.exportFile(airportFile, airport);
+        }
+      }
+
+      List<String> failures = new ArrayList<>();
+      AtomicInteger progress = new AtomicInteger();
+      List<Airport> airports = fileManager.importFiles(files, (loaded, total) -> progress.incrementAndGet(), failures);
+      assertEquals("The broken file should be reported", List.of(files.get(5).getName()), failures);
+      assertEquals("Every file should report progress", 12, progress.get());
+      assertEquals("The other files should be imported", 11, airports.size());
+      for (int i = 0; i < airports.size(); i++) {
+        assertEquals("Airports should be in the order of the files", "Airport" + (i < 5 ? i : i + 1),
+            airports.get(i).getName());
+      }
+
+      // An interrupted import reports every file it did not import:
+      failures.clear();
+      Thread.currentThread().interrupt();
+      airports = fileManager.importFiles(files, null, failures);
+      assertTrue("The interrupt should be kept", Thread.interrupted());
+      assertEquals("Every file should be imported or reported", files.size(), airports.size() + failures.size());
+      assertTrue("The broken file should be reported", failures.contains(files.get(5).getName()));
+    }
+    finally {
+      for (File airportFile : files) {
+        Files.deleteIfExists(airportFile.toPath());
+      }
+    }
+  }
+
+  @Test
+  public void testSnapshot() throws IOException, NoSuchAlgorithmException {
+    System.out.println("Testing the snapshot of stored airports");
+    Path directory = Files.createTempDirectory("snapshot");
+    try {
+      Files.createDirectory(directory.resolve("storage_files"));
+      FileManager storage = new FileManager(directory.toString());
+      Airport heathrow = new Airport("Heathrow");
+      Runway runway = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+      runway.setPosition(0, 0, 91.5);
+      runway.setProfileName("Heavy (500m blast allowance)");
+      Obstacle crane = new Obstacle("crane", 25, 10, 15, 1200);
+      crane.setValidity(1_700_000_000_000L, 1_700_086_400_000L);
+      runway.addObstacle(crane);
+      heathrow.addRunway(runway);
+      heathrow.getObstacleRegistry().add(new SurveyedObstacle("mast", 2000, -40, 30, 5));
+      heathrow.setJournalSequence(42);
+      storage.saveAirport(heathrow);
+      Airport gatwick = new Airport("Gatwick");
+      gatwick.addRunway(new Runway("08R", 3316, 3414, 3316, 2966, 350));
+      storage.saveAirport(gatwick);
+
+      List<String> failures = new ArrayList<>();
+      List<AirportSummary> summaries = storage.fetchSummaries(null, failures);
+      assertTrue("No file should fail", failures.isEmpty());
+      Path written = storage.getSnapshotFile();
+      assertNotNull("The snapshot should be written", written);
+      assertEquals("Incorrect airports", "Gatwick", summaries.get(0).getName());
+      assertEquals("Incorrect runways", List.of("09L"), summaries.get(1).getRunwayNumbers());
+
+      // A new file manager reads the airports from the snapshot:
+      FileManager reopened = new FileManager(directory.toString());
+      AirportSnapshot snapshot = AirportSnapshot.open(written);
+      assertEquals("Incorrect number of airports", 2, snapshot.size());
+      Airport read = snapshot.read(snapshot.indexOf("Heathrow.xml"));
+      Runway first = read.getRunways().get(0);
+      assertEquals("Incorrect LDA", 3595, first.getDefaultLda(), 0);
+      assertEquals("Incorrect heading", 91.5, first.getHeading(), 0);
+      assertEquals("Incorrect profile", "Heavy (500m blast allowance)", first.getProfileName());
+      assertEquals("Incorrect journal sequence", 42, read.getJournalSequence());
+      assertFalse("Read airport should not be modified", read.isModified());
+      Obstacle readCrane = first.getObstacles().get(4);
+      assertEquals("Incorrect obstacle", "crane", readCrane.getName());
+      assertEquals("Incorrect end of validity", 1_700_086_400_000L, readCrane.getValidUntil());
+      assertTrue("Surveyed obstacle should be projected",
+          read.getObstacleRegistry().isProjected(first, first.getObstacles().get(5)));
+
+      // A file saved after the snapshot is read from its XML:
+      gatwick.addRunway(new Runway("26L", 3316, 3414, 3316, 3316, 0));
+      storage.saveAirport(gatwick);
+      File gatwickFile = storage.getStoredFile("Gatwick.xml");
+      gatwickFile.setLastModified(gatwickFile.lastModified() + 5000);
+      assertEquals("Changed file should be read", List.of("08R", "26L"),
+          reopened.loadStoredAirport("Gatwick.xml").getRunwayNumbers());
+      assertEquals("Changed file should be parsed again", List.of("08R", "26L"),
+          reopened.fetchSummaries(null, failures).get(0).getRunwayNumbers());
+      // The updated snapshot is written to a new file, as the old one is still mapped:
+      Path updated = reopened.getSnapshotFile();
+      assertNotEquals("The updated snapshot should have a new file", written, updated);
+      assertFalse("The old snapshot should be deleted", Files.exists(written));
+      snapshot = AirportSnapshot.open(updated);
+      assertTrue("The snapshot should be updated", snapshot.isCurrent(snapshot.indexOf("Gatwick.xml"),
+          gatwickFile.length(), MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(gatwickFile.toPath()))));
+
+      // The unchanged airport is copied from the old snapshot with all its records:
+      read = snapshot.read(snapshot.indexOf("Heathrow.xml"));
+      first = read.getRunways().get(0);
+      assertEquals("Incorrect copied LDA", 3595, first.getDefaultLda(), 0);
+      assertEquals("Incorrect copied profile", "Heavy (500m blast allowance)", first.getProfileName());
+      assertEquals("Incorrect copied journal sequence", 42, read.getJournalSequence());
+      assertEquals("Incorrect copied obstacle", "crane", first.getObstacles().get(4).getName());
+      assertEquals("Incorrect copied start of validity", 1_700_000_000_000L,
+          first.getObstacles().get(4).getValidFrom());
+      assertEquals("Incorrect copied surveyed obstacle", "mast",
+          read.getObstacleRegistry().getObstacles().get(0).getName());
+
+      // A damaged snapshot is ignored:
+      Files.write(updated, new byte[] {1, 2, 3});
+      assertEquals("Airports should be parsed without a snapshot", 2,
+          new FileManager(directory.toString()).fetchSummaries(null, failures).size());
+    }
+    finally {
+      try (Stream<Path> files = Files.walk(directory)) {
+        for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testProfiles() throws IOException {
+    System.out.println("Testing loading and saving of parameter profiles");
+    Path directory = Files.createTempDirectory("profiles");
+    try {
+      // Without a stored file, the bundled category profiles are loaded (without required distances):
+      FileManager storage = new FileManager(directory.toString());
+      ParameterProfiles profiles = new ParameterProfiles();
+      assertEquals("Bundled profiles should be loaded", 2, storage.loadProfiles(profiles));
+      int heavy = profiles.indexOf("Heavy (500m blast allowance)");
+      assertTrue("Bundled category should be loaded", heavy >= 0);
+      assertEquals("Required TORA should not be set", 0, profiles.getRequiredTora(heavy), 0);
+
+      // Profiles of the fleet added by the operator are stored and loaded again:
+      int a320 = profiles.add("Airbus A320neo", 240, 50, 60, 300, 2200, 1600);
+      int added = profiles.add("Test", 300, 40, 60, 400, 1000, 900);
+      storage.saveProfiles(profiles);
+      ParameterProfiles reloaded = new ParameterProfiles();
+      assertEquals("Incorrect number of profiles", profiles.size(), storage.loadProfiles(reloaded));
+      assertEquals("Incorrect names", profiles.getNames(), reloaded.getNames());
+      assertEquals("Incorrect required TORA", 2200, reloaded.getRequiredTora(a320), 0);
+      assertEquals("Incorrect RESA", 300, reloaded.getEngine(added).getResa(), 0);
+      assertEquals("Incorrect slope", 40, reloaded.getEngine(added).getSlopeValue(), 0);
+      assertEquals("Incorrect required LDA", 900, reloaded.getRequiredLda(added), 0);
+    }
+    finally {
+      try (Stream<Path> files = Files.walk(directory)) {
+        for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+}
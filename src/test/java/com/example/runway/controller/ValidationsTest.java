@@ -4,7 +4,17 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import com.example.runway.controller.Validations;
+import com.example.runway.model.Airport;
+import com.example.runway.model.Runway;
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -102,4 +112,32 @@ public class ValidationsTest {
         validations.isValidXMLFile(new File("invalid.xml")));
   }
 
+  @Test
+  public void testXMLFileValidationConcurrent() throws Exception {
+    System.out.println("Testing concurrent XML file validation");
+    Path valid = Files.createTempFile("valid", ".xml");
+    Path invalid = Files.createTempFile("invalid", ".xml");
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      Airport airport = new Airport("Heathrow");
+      airport.addRunway(new Runway("09L", 3902, 3902, 3902, 3595, 306));
+      new FileManager().exportFile(valid.toFile(), airport);
+      Files.writeString(invalid, "<airport name=\"Heathrow\"><runway/></airport>");
+
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        File file = (i % 2 == 0 ? valid : invalid).toFile();
+        results.add(pool.submit((Callable<Boolean>) () -> validations.isValidXMLFile(file)));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        assertTrue("Incorrect validation result", results.get(i).get() == (i % 2 == 0));
+      }
+    }
+    finally {
+      pool.shutdownNow();
+      Files.deleteIfExists(valid);
+      Files.deleteIfExists(invalid);
+    }
+  }
+
 }
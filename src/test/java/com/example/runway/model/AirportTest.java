@@ -67,4 +67,247 @@ public class AirportTest {
         ArrayList<Runway> runways = new ArrayList<Runway>(Arrays.asList(runway2));
         assertEquals(".getRunway() fails when deleting a runway",runways,airport.getRunways());
     }
-}
\ No newline at end of file
+
+    @org.junit.Test
+    public void getReciprocalRunways() {
+        runway1 = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+        runway2 = new Runway("27R", 3884, 3962, 3884, 3884, 0);
+        Runway runway3 = new Runway("09R", 3660, 3660, 3660, 3353, 307);
+        assertEquals(".getReciprocalNumber() returns an incorrect runway number","27R",runway1.getReciprocalNumber());
+        assertEquals(".getReciprocalNumber() returns an incorrect runway number","18C",new Runway("36C", 3000, 3000, 3000, 3000, 0).getReciprocalNumber());
+        airport.addRunway(runway1);
+        airport.addRunway(runway3);
+        assertNull(".getReciprocal() links runways which are not reciprocal",airport.getReciprocal(runway1));
+        airport.addRunway(runway2);
+        assertSame(".getReciprocal() does not link both runway ends",runway2,airport.getReciprocal(runway1));
+        assertSame(".getReciprocal() does not link both runway ends",runway1,airport.getReciprocal(runway2));
+        airport.deleteRunway(runway2);
+        assertNull(".getReciprocal() returns a deleted runway",airport.getReciprocal(runway1));
+        runway3.setRunwayNumber("27R");
+        assertSame(".getReciprocal() does not link a renumbered runway",runway3,airport.getReciprocal(runway1));
+        runway3.setRunwayNumber("09R");
+        assertNull(".getReciprocal() keeps the link of a renumbered runway",airport.getReciprocal(runway1));
+    }
+
+    @org.junit.Test
+    public void testIncrementalRecalculation() {
+        runway1 = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+        runway2 = new Runway("27R", 3884, 3962, 3884, 3884, 0);
+        Runway runway3 = new Runway("09R", 3660, 3660, 3660, 3353, 307);
+        airport.addRunway(runway1);
+        airport.addRunway(runway2);
+        airport.addRunway(runway3);
+        Obstacle obstacle1 = new Obstacle("Plane", 12, 10, 0, 2000);
+        Obstacle obstacle2 = new Obstacle("Truck", 4, 5, 20, 500);
+        runway1.addObstacle(obstacle1);
+        runway3.addObstacle(obstacle2);
+
+        // Re-declare both ends of 09L/27R and 09R:
+        RecalculationGraph graph = airport.getRecalculation();
+        RunwayPairResult pair = runway1.getEngine().calculatePair(runway1, runway2, obstacle1, RedeclarationEngine.LANDING_OVER);
+        runway1.setDeclaredDistances(pair.getResult());
+        runway2.setDeclaredDistances(pair.getReciprocalResult());
+        graph.record(runway1, obstacle1, RedeclarationEngine.LANDING_OVER);
+        graph.recordReciprocal(runway2, runway1, obstacle1, RedeclarationEngine.LANDING_OVER);
+        runway3.redeclarationTakeOffAway(obstacle2);
+        graph.record(runway3, obstacle2, RedeclarationEngine.TAKE_OFF_AWAY);
+
+        // Only the results depending on the modified obstacle are re-calculated:
+        obstacle1.setHeight(25);
+        graph.obstacleChanged(obstacle1);
+        assertEquals("Results depending on the obstacle are not marked dirty",2,graph.getDirtyCount());
+        assertFalse("A result not depending on the obstacle is marked dirty",graph.isDirty(runway3));
+        assertEquals("Incorrect runways re-calculated",Arrays.asList(runway1,runway2),graph.recalculate());
+        pair = runway1.getEngine().calculatePair(runway1, runway2, obstacle1, RedeclarationEngine.LANDING_OVER);
+        assertEquals("Runway not re-calculated",pair.getResult().getLda(),runway1.getLda(),0);
+        assertEquals("Reciprocal runway not re-calculated",pair.getReciprocalResult().getTora(),runway2.getTora(),0);
+        assertEquals("Nothing should be left to re-calculate",0,graph.recalculate().size());
+
+        // Modified runway defaults:
+        runway3.setDefaultLda(3300);
+        graph.runwayChanged(runway3);
+        assertTrue("Modified runway not marked dirty",graph.isDirty(runway3));
+        graph.refresh(runway3);
+        assertFalse("Refreshed runway still marked dirty",graph.isDirty(runway3));
+
+        // Deleting a runway resets the other end, deleting an obstacle resets its runway:
+        airport.deleteRunway(runway1);
+        assertEquals("Reciprocal runway not re-calculated",Arrays.asList(runway2),graph.recalculate());
+        assertFalse("Reciprocal runway still re-declared",graph.isDeclared(runway2));
+        assertEquals("Reciprocal runway not reset to default values",runway2.getDefaultTora(),runway2.getTora(),0);
+        graph.obstacleRemoved(obstacle2);
+        assertFalse("Runway still re-declared after its obstacle was deleted",graph.isDeclared(runway3));
+        assertEquals("Runway not reset to default values",3300,runway3.getLda(),0);
+    }
+
+    @org.junit.Test
+    public void testNetworkRecompute() {
+        Airport other = new Airport("Other");
+        runway1 = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+        runway2 = new Runway("27R", 3884, 3962, 3884, 3884, 0);
+        Runway runway3 = new Runway("09R", 3660, 3660, 3660, 3353, 307);
+        airport.addRunway(runway1);
+        airport.addRunway(runway3);
+        other.addRunway(runway2);
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i < 5000; i++) {
+            runway1.addObstacle(new Obstacle("ob" + i, 1 + random.nextInt(80), 10, 0, 60 + random.nextInt(3500)));
+        }
+        for (int i = 0; i < 7000; i++) {
+            runway2.addObstacle(new Obstacle("ob" + i, 1 + random.nextInt(80), 10, 0, 60 + random.nextInt(3800)));
+        }
+
+        NetworkRecompute recompute = new NetworkRecompute(Arrays.asList(airport, other));
+        // The values are copied when the recompute is created:
+        Obstacle moved = runway1.getObstacles().get(14);
+        double height = moved.getHeight();
+        moved.setHeight(height + 1);
+        assertEquals("Recompute should keep the copied height", height, recompute.getObstacleHeight(0, 10), 0);
+        moved.setHeight(height);
+        assertTrue("Recompute should finish", recompute.run(java.util.concurrent.ForkJoinPool.commonPool()));
+        assertEquals("Incorrect number of runways", 3, recompute.getRunwayCount());
+        // The templates of the runways are not re-declared:
+        assertEquals("Incorrect number of combinations", (5000 + 7000) * 4L, recompute.getCombinationCount());
+        assertEquals("Progress should be complete", 1, recompute.getProgress(), 0);
+
+        // Every combination matches a calculation of a single obstacle:
+        long negative = 0;
+        java.util.List<Integer> negativeRunways = new ArrayList<>();
+        Runway[] runways = {runway1, runway3, runway2};
+        for (int r = 0; r < recompute.getRunwayCount(); r++) {
+            Runway runway = runways[r];
+            assertEquals("Incorrect runway", runway.getRunwayNumber(), recompute.getRunwayNumber(r));
+            assertEquals("Incorrect airport", r < 2 ? "Airport" : "Other", recompute.getAirportName(r));
+            long before = negative;
+            java.util.List<Obstacle> userObstacles = new ArrayList<>();
+            for (Obstacle obstacle : runway.getObstacles()) {
+                if (!obstacle.isPredefined()) {
+                    userObstacles.add(obstacle);
+                }
+            }
+            assertEquals("Incorrect number of obstacles", userObstacles.size(), recompute.getObstacleCount(r));
+            for (int i = 0; i < recompute.getObstacleCount(r); i++) {
+                Obstacle obstacle = userObstacles.get(i);
+                assertEquals("Incorrect obstacle height", obstacle.getHeight(), recompute.getObstacleHeight(r, i), 0);
+                AllMethodsResult expected = runway.getEngine().calculateAll(runway, obstacle);
+                for (int method = 1; method <= 4; method++) {
+                    DeclaredDistances values = expected.get(method);
+                    assertEquals("Incorrect TORA", (float) values.getTora(), recompute.getValue(r, i, method, NetworkRecompute.TORA), 0);
+                    assertEquals("Incorrect TODA", (float) values.getToda(), recompute.getValue(r, i, method, NetworkRecompute.TODA), 0);
+                    assertEquals("Incorrect ASDA", (float) values.getAsda(), recompute.getValue(r, i, method, NetworkRecompute.ASDA), 0);
+                    assertEquals("Incorrect LDA", (float) values.getLda(), recompute.getValue(r, i, method, NetworkRecompute.LDA), 0);
+                    assertEquals("Incorrect negative flags", expected.getNegativeFlags(method), recompute.getNegativeFlags(r, i, method));
+                    if (expected.hasNegative(method)) {
+                        negative++;
+                    }
+                }
+            }
+            assertEquals("Incorrect negative count of runway " + r, negative - before, recompute.getNegativeCount(r));
+            if (negative > before) {
+                negativeRunways.add(r);
+            }
+        }
+        assertTrue("Some combinations should be negative", negative > 0);
+        assertEquals("Incorrect number of negative combinations", negative, recompute.getNegativeCount());
+        assertEquals("Incorrect runways with negative values", negativeRunways, recompute.getNegativeRunways());
+    }
+
+    @org.junit.Test
+    public void testNetworkRecomputeWithoutObstacles() {
+        System.out.println("Testing a network recompute of runways without obstacles");
+        runway1 = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+        airport.addRunway(runway1);
+        NetworkRecompute recompute = new NetworkRecompute(Arrays.asList(airport));
+        assertTrue("Recompute should finish", recompute.run(java.util.concurrent.ForkJoinPool.commonPool()));
+        assertEquals("Templates should not be re-declared", 0, recompute.getObstacleCount(0));
+        assertEquals("No combination should be negative", 0, recompute.getNegativeCount());
+        assertTrue("No runway should be closed", recompute.getNegativeRunways().isEmpty());
+    }
+
+    @org.junit.Test
+    public void testObstacleRegistry() {
+        System.out.println("Testing surveyed obstacles shared by crossing runways");
+        // 09L heading east from (0, 0), 18 heading south from (1000, 1500):
+        runway1 = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+        runway1.setPosition(0, 0, Double.NaN);
+        runway2 = new Runway("18", 3000, 3000, 3000, 3000, 0);
+        runway2.setPosition(1000, 1500, Double.NaN);
+        airport.addRunway(runway1);
+        airport.addRunway(runway2);
+
+        ObstacleRegistry registry = airport.getObstacleRegistry();
+        java.util.Random random = new java.util.Random(7);
+        for (int i = 0; i < 2000; i++) {
+            registry.add(new SurveyedObstacle("s" + i, random.nextDouble() * 6000 - 1000,
+                random.nextDouble() * 6000 - 3000, 1 + random.nextDouble() * 20, 10));
+        }
+        SurveyedObstacle crossing = new SurveyedObstacle("crossing", 1010, 20, 25, 30);
+        registry.add(crossing);
+
+        // The grid query should find the same obstacles as checking all of them:
+        for (Runway runway : airport.getRunways()) {
+            double radians = Math.toRadians(runway.getHeading());
+            java.util.Set<SurveyedObstacle> expected = new java.util.HashSet<>();
+            for (SurveyedObstacle obstacle : registry.getObstacles()) {
+                double dx = obstacle.getX() - runway.getThresholdX();
+                double dy = obstacle.getY() - runway.getThresholdY();
+                double along = dx * Math.sin(radians) + dy * Math.cos(radians);
+                double across = dx * Math.cos(radians) - dy * Math.sin(radians);
+                if (along >= -runway.getDisplacedThreshold() - ObstacleRegistry.STRIP_END
+                    && along <= runway.getDefaultTora() - runway.getDisplacedThreshold() + ObstacleRegistry.STRIP_END
+                    && Math.abs(across) <= ObstacleRegistry.CLEARED_HALF_WIDTH) {
+                    expected.add(obstacle);
+                }
+            }
+            assertEquals("Incorrect obstacles of runway " + runway.getRunwayNumber(), expected,
+                new java.util.HashSet<>(registry.query(runway)));
+        }
+
+        // The obstacle at the crossing should be projected into both runways:
+        airport.applyObstacleRegistry();
+        Obstacle along09 = findObstacle(runway1, "crossing");
+        Obstacle along18 = findObstacle(runway2, "crossing");
+        assertNotNull("Obstacle should be on runway 09L", along09);
+        assertNotNull("Obstacle should be on runway 18", along18);
+        assertEquals("Incorrect distance from threshold of 09L", 1010, along09.getDistanceFromThreshold(), 1e-6);
+        assertEquals("Incorrect distance from centre line of 09L", 20, along09.getDistanceCentre(), 1e-6);
+        assertEquals("Incorrect distance from threshold of 18", 1480, along18.getDistanceFromThreshold(), 1e-6);
+        assertEquals("Incorrect distance from centre line of 18", 10, along18.getDistanceCentre(), 1e-6);
+        assertTrue("Obstacle should be projected", registry.isProjected(runway1, along09));
+
+        // Moving the obstacle off runway 18 should update 09L in place and remove it from 18:
+        registry.move(crossing, 1200, 20);
+        airport.applyObstacleRegistry();
+        assertSame("Obstacle should be updated in place", along09, findObstacle(runway1, "crossing"));
+        assertEquals("Incorrect distance after moving", 1200, along09.getDistanceFromThreshold(), 1e-6);
+        assertNull("Obstacle should be removed from runway 18", findObstacle(runway2, "crossing"));
+
+        // Editing the projection should move and rename the surveyed obstacle, and update the other runway:
+        assertSame("Incorrect surveyed obstacle", crossing, registry.getSource(runway1, along09));
+        along09.setName("crane");
+        along09.setHeight(30);
+        along09.setDistanceThreshold(1010);
+        assertSame("Edited obstacle should be updated", crossing, registry.update(runway1, along09));
+        assertEquals("Incorrect position after editing", 1010, crossing.getX(), 1e-6);
+        assertEquals("Incorrect position after editing", 20, crossing.getY(), 1e-6);
+        airport.applyObstacleRegistry();
+        Obstacle edited18 = findObstacle(runway2, "crane");
+        assertNotNull("Edited obstacle should be on runway 18 again", edited18);
+        assertEquals("Incorrect height on runway 18", 30, edited18.getHeight(), 0);
+        assertNull("Obstacle should not be updated unless it is projected", registry.update(runway1,
+            runway1.getObstacles().get(0)));
+
+        registry.remove(crossing, airport.getRecalculation());
+        assertNull("Obstacle should be removed from runway 09L", findObstacle(runway1, "crane"));
+        assertNull("Obstacle should be removed from runway 18", findObstacle(runway2, "crane"));
+    }
+
+    private static Obstacle findObstacle(Runway runway, String name) {
+        for (Obstacle obstacle : runway.getObstacles()) {
+            if (obstacle.getName().equals(name)) {
+                return obstacle;
+            }
+        }
+        return null;
+    }
+}
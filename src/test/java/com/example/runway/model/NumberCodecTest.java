@@ -0,0 +1,55 @@
+package com.example.runway.model;
+
+import org.junit.Test;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NumberCodecTest {
+
+  @Test
+  public void testFormatMatchesDecimalFormat() {
+    System.out.println("Testing number codec formatting");
+    DecimalFormat df = new DecimalFormat("0.0", DecimalFormatSymbols.getInstance(Locale.ROOT));
+    Random random = new Random(42);
+    for (int i = 0; i < 200000; i++) {
+      double value = switch (i % 4) {
+        case 0 -> random.nextInt(200000) / 100.0 - 1000;
+        case 1 -> (random.nextInt(2000000) + 0.5) / 10.0 - 100000;
+        case 2 -> random.nextInt(100000) * 0.05;
+        default -> Math.scalb(random.nextDouble(), random.nextInt(80) - 40) * (random.nextBoolean() ? 1 : -1);
+      };
+      assertEquals("Incorrect format of " + value, df.format(value), NumberCodec.format(value));
+    }
+    assertEquals("Negative values rounding to 0 should keep the sign", "-0.0", NumberCodec.format(-0.04));
+    assertEquals("Ties should be rounded to even", "0.2", NumberCodec.format(0.25));
+    assertEquals("Large values should be formatted", df.format(1e20), NumberCodec.format(1e20));
+  }
+
+  @Test
+  public void testToStringAndParseRoundTrip() {
+    System.out.println("Testing number codec conversion and parsing");
+    Random random = new Random(42);
+    for (int i = 0; i < 200000; i++) {
+      double value = i % 2 == 0 ? random.nextInt(40000) / 10.0 : random.nextDouble() * 1e6 - 5e5;
+      String text = NumberCodec.toString(value);
+      assertEquals("Conversion lost precision for " + value, value, Double.parseDouble(text), 0);
+      assertEquals("Incorrect parse of " + text, value, NumberCodec.parse(text), 0);
+      char[] buffer = (" " + Double.toString(value) + "\n").toCharArray();
+      assertEquals("Incorrect parse of " + value, value, NumberCodec.parse(buffer, 0, buffer.length), 0);
+    }
+    assertEquals("Numbers with one decimal place should be written in fixed-point notation", "3884.0", NumberCodec.toString(3884));
+    assertEquals("Exponents should be parsed", 1e7, NumberCodec.parse("1.0E7"), 0);
+    assertEquals("Signs should be parsed", -12.5, NumberCodec.parse("-12.5"), 0);
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testParseInvalid() {
+    NumberCodec.parse("12a");
+  }
+
+}
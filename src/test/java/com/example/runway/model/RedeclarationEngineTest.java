@@ -0,0 +1,290 @@
+package com.example.runway.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class RedeclarationEngineTest {
+  private Runway runway;
+  private RedeclarationEngine engine;
+
+  @Before
+  public void setUp() {
+    runway = new Runway("10R", 3884, 3962, 3884, 3884, 0);
+    engine = runway.getEngine();
+  }
+
+  @After
+  public void tearDown() {
+    runway = null;
+    engine = null;
+  }
+
+  @Test
+  public void testLandingOver() {
+    System.out.println("Testing engine Landing Over obstacle");
+    DeclaredDistances result = engine.calculate(runway, new Obstacle("obstacle", 25, 10, 0, 500), RedeclarationEngine.LANDING_OVER);
+    assertEquals("Landing over calculation returned an incorrect LDA", "2074.0", String.valueOf(result.getLda()));
+    assertEquals("Landing over calculation should not change TORA", "3884.0", String.valueOf(result.getTora()));
+  }
+
+  @Test
+  public void testTakeOffAway() {
+    System.out.println("Testing engine Take-off Away from obstacle");
+    DeclaredDistances result = engine.calculate(runway, new Obstacle("obstacle", 25, 10, 0, 500), RedeclarationEngine.TAKE_OFF_AWAY);
+    assertEquals("Take-off away calculation returned an incorrect TORA", "3162.0", String.valueOf(result.getTora()));
+    assertEquals("Take-off away calculation returned an incorrect TODA", "3240.0", String.valueOf(result.getToda()));
+    assertEquals("Take-off away calculation returned an incorrect ASDA", "3162.0", String.valueOf(result.getAsda()));
+  }
+
+  @Test
+  public void testRunwayNotModified() {
+    System.out.println("Testing that the engine does not modify the runway");
+    Obstacle obstacle = new Obstacle("obstacle", 25, 10, 0, 2500);
+    DeclaredDistances first = engine.calculate(runway, obstacle, RedeclarationEngine.TAKE_OFF_TOWARDS);
+    DeclaredDistances second = engine.calculate(runway, obstacle, RedeclarationEngine.TAKE_OFF_TOWARDS);
+    assertEquals("Repeated calculations returned different results", first, second);
+    assertEquals("TORA of the runway was modified", "3884.0", String.valueOf(runway.getTora()));
+    assertEquals("LDA of the runway was modified", "3884.0", String.valueOf(runway.getLda()));
+  }
+
+  @Test
+  public void testNegativeValues() {
+    System.out.println("Testing engine negative values");
+    DeclaredDistances result = engine.calculate(runway, new Obstacle("obstacle", 100, 10, 0, 200), RedeclarationEngine.LANDING_TOWARDS);
+    assertTrue("Negative LDA should be flagged", result.hasNegative());
+    assertEquals("Negative LDA should be set to 0", "0.0", String.valueOf(result.getLda()));
+    assertEquals("Only LDA should be negative", Arrays.asList("LDA"), result.getNegativeValues());
+  }
+
+  @Test
+  public void testAllMethodsMatchSingleMethods() {
+    System.out.println("Testing engine all methods calculation");
+    Runway displaced = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+    Obstacle[] obstacles = {new Obstacle("obstacle", 12, 10, 0, -50), new Obstacle("obstacle", 25, 10, 20, 2500),
+        new Obstacle("obstacle", 100, 10, 0, 200)};
+    for (Runway r : new Runway[] {runway, displaced}) {
+      for (Obstacle obstacle : obstacles) {
+        AllMethodsResult all = engine.calculateAll(r, obstacle);
+        for (int method = 1; method <= 4; method++) {
+          DeclaredDistances single = engine.calculate(r, obstacle, method);
+          assertEquals("All methods result differs for method " + method, single, all.get(method));
+          assertEquals("All methods negative flags differ for method " + method,
+              single.getNegativeFlags(), all.getNegativeFlags(method));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBulkMatchesSingleCalculations() {
+    System.out.println("Testing engine bulk calculation over an obstacle table");
+    Runway displaced = new Runway("09L", 3902, 3962, 3950, 3595, 306);
+    for (int i = 0; i < 1000; i++) {
+      displaced.addObstacle(new Obstacle("ob" + i, 1 + (i * 7) % 40, 10, 0, 60 + (i * 37) % 3800));
+    }
+    // Obstacles modified through their setters are updated in the table:
+    displaced.getObstacles().get(3).setHeight(35);
+    displaced.getObstacles().get(7).setDistanceThreshold(-40);
+    ObstacleTable table = displaced.getObstacleTable();
+    assertEquals("Obstacle table is out of sync", displaced.getObstacles().size(), table.size());
+    double[] out = new double[table.size()];
+    for (int method = 1; method <= 4; method++) {
+      engine.calculateBulk(displaced, table, method, out);
+      for (int i = 0; i < table.size(); i++) {
+        DeclaredDistances single = engine.calculate(displaced, displaced.getObstacles().get(i), method);
+        double expected = method <= 2 ? single.getLda() : single.getTora();
+        assertEquals("Bulk result differs for method " + method + " and obstacle " + i, expected, out[i], 1e-9);
+      }
+    }
+  }
+
+  @Test
+  public void testBulkVectorMatchesScalar() {
+    System.out.println("Testing engine bulk calculation with the vector and the scalar kernel");
+    Runway displaced = new Runway("09L", 3902, 3962, 3950, 3595, 306);
+    for (int i = 0; i < 1003; i++) {
+      displaced.addObstacle(new Obstacle("ob" + i, 0.5 + (i * 7) % 40, 10, 0, -60.5 + (i * 37) % 3900));
+    }
+    ObstacleTable table = displaced.getObstacleTable();
+    double[] vector = new double[table.size()];
+    double[] scalar = new double[table.size()];
+    for (int method = 1; method <= 4; method++) {
+      engine.calculateBulk(3902, 3962, 3950, 3595, 306, table, method, vector, true);
+      engine.calculateBulk(3902, 3962, 3950, 3595, 306, table, method, scalar, false);
+      assertArrayEquals("Vector and scalar results differ for method " + method, scalar, vector, 0);
+    }
+  }
+
+  @Test
+  public void testSweepMatchesSingleCalculations() {
+    System.out.println("Testing parallel parameter sweep");
+    Runway displaced = new Runway("09L", 3902, 3962, 3950, 3595, 306);
+    for (int method = 1; method <= 4; method++) {
+      ParameterSweep sweep = new ParameterSweep(displaced, method, 1, 40, 40, -60, 3800, 387);
+      assertTrue("Sweep should not be cancelled", sweep.run(ForkJoinPool.commonPool()));
+      assertEquals("Sweep progress should be complete", 1.0, sweep.getProgress(), 0);
+      for (int row = 0; row < sweep.getHeightSteps(); row += 3) {
+        for (int column = 0; column < sweep.getDistanceSteps(); column += 7) {
+          Obstacle obstacle = new Obstacle("obstacle", sweep.getHeight(row), 10, 0, sweep.getDistance(column));
+          DeclaredDistances single = engine.calculate(displaced, obstacle, method);
+          double expected = method <= 2 ? single.getLda() : single.getTora();
+          assertEquals("Sweep result differs for method " + method, expected, sweep.get(row, column), 1e-3);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSweepCancelled() {
+    System.out.println("Testing cancelled parameter sweep");
+    ParameterSweep sweep = new ParameterSweep(runway, RedeclarationEngine.LANDING_OVER, 1, 40, 100, 0, 3884, 100);
+    sweep.cancel();
+    assertFalse("Cancelled sweep should report it was not finished", sweep.run(ForkJoinPool.commonPool()));
+    assertEquals("Cancelled sweep should not calculate any rows", 0.0, sweep.getProgress(), 0);
+  }
+
+  @Test
+  public void testUncertaintyAnalysis() {
+    System.out.println("Testing Monte Carlo uncertainty analysis");
+    Obstacle obstacle = new Obstacle("obstacle", 25, 10, 20, 500);
+
+    // Without survey errors every sample gives the nominal result:
+    UncertaintyAnalysis exact = new UncertaintyAnalysis(runway, obstacle, RedeclarationEngine.LANDING_OVER,
+        UncertaintyAnalysis.NORMAL, 0, 0, 1000, 1);
+    assertTrue("Analysis should not be cancelled", exact.run(ForkJoinPool.commonPool()));
+    assertEquals("P5 differs from the nominal LDA", 2074, exact.getPercentile(UncertaintyAnalysis.LDA, 5), 0);
+    assertEquals("P95 differs from the nominal LDA", 2074, exact.getPercentile(UncertaintyAnalysis.LDA, 95), 0);
+    assertEquals("TORA should not be re-declared", 3884, exact.getPercentile(UncertaintyAnalysis.TORA, 50), 0);
+
+    // The same seed gives the same results with any number of threads:
+    int samples = 300_000;
+    Obstacle surveyed = new Obstacle("surveyed", 12, 10, 20, 2000);
+    UncertaintyAnalysis single = new UncertaintyAnalysis(runway, surveyed, RedeclarationEngine.TAKE_OFF_TOWARDS,
+        UncertaintyAnalysis.NORMAL, 1, 5, samples, 42);
+    UncertaintyAnalysis parallel = new UncertaintyAnalysis(runway, surveyed, RedeclarationEngine.TAKE_OFF_TOWARDS,
+        UncertaintyAnalysis.NORMAL, 1, 5, samples, 42);
+    ForkJoinPool one = new ForkJoinPool(1);
+    ForkJoinPool four = new ForkJoinPool(4);
+    try {
+      single.run(one);
+      parallel.run(four);
+    }
+    finally {
+      one.shutdown();
+      four.shutdown();
+    }
+    for (int distance = UncertaintyAnalysis.TORA; distance <= UncertaintyAnalysis.LDA; distance++) {
+      for (double percentile : new double[] {5, 50, 95}) {
+        assertEquals("Results differ between thread counts", single.getPercentile(distance, percentile),
+            parallel.getPercentile(distance, percentile), 0);
+      }
+    }
+
+    // TORA = 2000 + 0 - 12 * 50 - 60 = 1340 m, spread by the height (50 m) and distance (5 m) errors:
+    double p5 = single.getPercentile(UncertaintyAnalysis.TORA, 5);
+    double p50 = single.getPercentile(UncertaintyAnalysis.TORA, 50);
+    double p95 = single.getPercentile(UncertaintyAnalysis.TORA, 95);
+    assertTrue("Percentiles should be ordered", p5 < p50 && p50 < p95);
+    assertEquals("Median TORA should be close to the nominal value", 1340, p50, 5);
+    assertEquals("P95 should be about 1.645 standard deviations above the nominal value", 1340 + 1.645 * Math.hypot(50, 5), p95, 10);
+    assertEquals("TODA should equal TORA", p50, single.getPercentile(UncertaintyAnalysis.TODA, 50), 0);
+    assertEquals("LDA should not be re-declared", 3884, single.getPercentile(UncertaintyAnalysis.LDA, 5), 0);
+
+    // Samples which close the runway are counted as 0:
+    UncertaintyAnalysis closed = new UncertaintyAnalysis(runway, new Obstacle("close", 40, 10, 0, 100),
+        RedeclarationEngine.TAKE_OFF_TOWARDS, UncertaintyAnalysis.UNIFORM, 1, 5, 1000, 7);
+    closed.run(ForkJoinPool.commonPool());
+    assertEquals("Negative TORA should be counted as 0", 0, closed.getPercentile(UncertaintyAnalysis.TORA, 95), 0);
+  }
+
+  @Test
+  public void testReciprocalRunway() {
+    System.out.println("Testing engine calculation for both runway ends");
+    Runway left = new Runway("09L", 3902, 3902, 3902, 3595, 306);
+    Runway right = new Runway("27R", 3884, 3962, 3884, 3884, 0);
+    Obstacle obstacle = new Obstacle("obstacle", 12, 0, 0, -50);
+    assertEquals("Obstacle distance was not mapped into the reciprocal runway", 3646,
+        RedeclarationEngine.reciprocalDistance(left, right, obstacle.getDistanceFromThreshold()), 1e-9);
+    for (int method = 1; method <= 4; method++) {
+      RunwayPairResult pair = engine.calculatePair(left, right, obstacle, method);
+      Obstacle mapped = new Obstacle("obstacle", 12, 0, 0, pair.getReciprocalDistance());
+      assertEquals("Pair result differs for method " + method, engine.calculate(left, obstacle, method), pair.getResult());
+      assertEquals("Reciprocal result differs for method " + method,
+          engine.calculate(right, mapped, RedeclarationEngine.reciprocalMethod(method)), pair.getReciprocalResult());
+    }
+    assertEquals("Landing over should be landing towards on the reciprocal runway",
+        RedeclarationEngine.LANDING_TOWARDS, RedeclarationEngine.reciprocalMethod(RedeclarationEngine.LANDING_OVER));
+    assertEquals("Take-off away should be take-off towards on the reciprocal runway",
+        RedeclarationEngine.TAKE_OFF_TOWARDS, RedeclarationEngine.reciprocalMethod(RedeclarationEngine.TAKE_OFF_AWAY));
+  }
+
+  @Test
+  public void testParameterProfiles() {
+    System.out.println("Testing engine calculation for every parameter profile");
+    ParameterProfiles profiles = new ParameterProfiles();
+    for (int i = 0; i < 40; i++) {
+      profiles.add("type" + i, 240 + i, 50, 60, 300 + i * 5, 2500 + i * 10, 2000 + i * 10);
+    }
+    Runway displaced = new Runway("09L", 3902, 3962, 3950, 3595, 306);
+    Obstacle obstacle = new Obstacle("obstacle", 12, 10, 0, 500);
+    double[] out = new double[profiles.size()];
+    for (int method = 1; method <= 4; method++) {
+      profiles.calculateAll(displaced, obstacle, method, out);
+      for (int i = 0; i < profiles.size(); i++) {
+        DeclaredDistances single = profiles.getEngine(i).calculate(displaced, obstacle, method);
+        assertEquals("Profile result differs for method " + method + " and profile " + i,
+            method <= 2 ? single.getLda() : single.getTora(), out[i], 1e-9);
+      }
+    }
+    // TORA = 3902 - 500 - 306 + 60 - (300 + i * 5) >= 2500 + i * 10 for i <= 23:
+    assertEquals("Incorrect profiles can take-off away from the obstacle", 24,
+        profiles.getOperatingProfiles(displaced, obstacle, RedeclarationEngine.TAKE_OFF_AWAY).size());
+
+    displaced.setProfile(ParameterProfiles.getShared().indexOf("Heavy (500m blast allowance)"));
+    assertEquals("Runway does not use its parameter profile", "500.0", String.valueOf(displaced.getBlastAllowance()));
+  }
+
+  @Test
+  public void testCache() {
+    System.out.println("Testing re-declaration cache");
+    RedeclarationCache cache = new RedeclarationCache(2);
+    Obstacle obstacle = new Obstacle("obstacle", 25, 10, 0, 500);
+    DeclaredDistances first = cache.calculate(runway, obstacle, RedeclarationEngine.LANDING_OVER);
+    assertSame("Repeated calculation should be answered from the cache", first,
+        cache.calculate(runway, obstacle, RedeclarationEngine.LANDING_OVER));
+    assertEquals("Cached result differs from the engine", engine.calculate(runway, obstacle, RedeclarationEngine.LANDING_OVER), first);
+    assertEquals("Incorrect number of hits", 1, cache.getHits());
+    assertEquals("Incorrect number of misses", 1, cache.getMisses());
+
+    // Modified obstacle results in a different key:
+    obstacle.setHeight(30);
+    assertNotEquals("Modified obstacle should not use the stored result", first,
+        cache.calculate(runway, obstacle, RedeclarationEngine.LANDING_OVER));
+    assertEquals("Incorrect number of misses", 2, cache.getMisses());
+
+    // Least recently used result is evicted:
+    cache.calculate(runway, obstacle, RedeclarationEngine.TAKE_OFF_AWAY);
+    assertEquals("Cache should not store more results than its capacity", 2, cache.size());
+    assertEquals("Incorrect number of evictions", 1, cache.getEvictions());
+
+    // Results depend only on the values, not on the objects they were calculated for:
+    DeclaredDistances away = cache.calculate(runway, obstacle, RedeclarationEngine.TAKE_OFF_AWAY);
+    assertSame("Equal obstacle should use the stored result", away,
+        cache.calculate(runway, new Obstacle("copy", 30, 10, 0, 500), RedeclarationEngine.TAKE_OFF_AWAY));
+
+    cache.clear();
+    assertEquals("Cleared cache should not store results", 0, cache.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownMethod() {
+    engine.calculate(runway, new Obstacle("obstacle", 25, 10, 0, 500), 5);
+  }
+
+}
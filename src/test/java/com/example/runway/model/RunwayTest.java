@@ -6,6 +6,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -89,4 +90,142 @@ public class RunwayTest {
         "1.0", String.valueOf(obstacle.getDistanceFromThreshold()));
     }
 
-}
\ No newline at end of file
+  @Test
+  public void testGoverningObstacle() {
+    System.out.println("Testing the governing obstacle search.");
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      runway.addObstacle(new Obstacle("ob" + i, 1 + random.nextInt(50), 10, 0, 60 + random.nextInt(3800)));
+    }
+    runway.removeObstacle(runway.getObstacles().get(10));
+    Obstacle modified = runway.getObstacles().get(20);
+    modified.setDistanceThreshold(3870);
+
+    RedeclarationEngine engine = runway.getEngine();
+    for (int method = 1; method <= 4; method++) {
+      // Brute force search for the lowest re-declared value (the templates are not obstacles of the runway):
+      double expected = Double.POSITIVE_INFINITY;
+      for (Obstacle obstacle : runway.getObstacles()) {
+        if (obstacle.isPredefined()) {
+          continue;
+        }
+        expected = Math.min(expected, value(engine.calculate(runway, obstacle, method), method));
+      }
+      Obstacle governing = runway.getGoverningObstacle(method);
+      assertEquals("Governing obstacle is incorrect for method " + method,
+          expected, value(engine.calculate(runway, governing, method), method), 0);
+    }
+  }
+
+  @Test
+  public void testNoGoverningObstacleWithoutUserObstacles() {
+    System.out.println("Testing the governing obstacle search of a runway without obstacles.");
+    for (int method = 1; method <= 4; method++) {
+      assertNull("Templates should not govern method " + method, runway.getGoverningObstacle(method));
+    }
+    Obstacle crane = new Obstacle("crane", 25, 10, 0, 1200);
+    runway.addObstacle(crane);
+    for (int method = 1; method <= 4; method++) {
+      assertSame("The only obstacle should govern method " + method, crane, runway.getGoverningObstacle(method));
+    }
+  }
+
+  @Test
+  public void testDeclaredTimeline() {
+    System.out.println("Testing the declared distance timeline of temporary obstacles.");
+    long hour = 3_600_000L;
+    long from = 0;
+    long until = 24 * 90 * hour;
+
+    // The templates are not obstacles of the runway, so without obstacles the default values are declared:
+    List<TimelineSegment> empty = new DeclaredTimeline(runway, RedeclarationEngine.LANDING_TOWARDS, from, until)
+        .getSegments();
+    assertEquals("A runway without obstacles should have one segment", 1, empty.size());
+    assertEquals("A runway without obstacles should declare its default LDA", runway.getDefaultLda(),
+        empty.get(0).getValues().getLda(), 0);
+
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      Obstacle obstacle = new Obstacle("ob" + i, 1 + random.nextInt(50), 10, 0, 60 + random.nextInt(3800));
+      long start = (random.nextInt(24 * 100) - 24 * 5) * hour;
+      obstacle.setValidity(start, start + (1 + random.nextInt(72)) * hour);
+      runway.addObstacle(obstacle);
+    }
+    runway.addObstacle(new Obstacle("permanent", 1, 10, 0, 3859));
+
+    RedeclarationEngine engine = runway.getEngine();
+    for (int method = 1; method <= 4; method++) {
+      DeclaredTimeline timeline = new DeclaredTimeline(runway, method, from, until);
+      List<TimelineSegment> segments = timeline.getSegments();
+
+      // Segments cover the period without gaps, neighbours have different values:
+      assertEquals("Timeline should start with the period", from, segments.get(0).getFrom());
+      assertEquals("Timeline should end with the period", until, segments.get(segments.size() - 1).getUntil());
+      for (int i = 1; i < segments.size(); i++) {
+        assertEquals("Segments should be contiguous", segments.get(i - 1).getUntil(), segments.get(i).getFrom());
+        assertNotEquals("Neighbouring segments should have different values",
+            segments.get(i - 1).getValues(), segments.get(i).getValues());
+      }
+
+      // Brute force the lowest re-declared value at random times:
+      for (int i = 0; i < 500; i++) {
+        long time = from + (long) (random.nextDouble() * (until - from));
+        double expected = Double.POSITIVE_INFINITY;
+        for (Obstacle obstacle : runway.getObstacles()) {
+          if (!obstacle.isPredefined() && obstacle.isValidAt(time)) {
+            expected = Math.min(expected, value(engine.calculate(runway, obstacle, method), method));
+          }
+        }
+        assertEquals("Timeline value is incorrect for method " + method + " at " + time,
+            expected, value(timeline.getSegmentAt(time).getValues(), method), 0);
+      }
+    }
+    assertNull("No segment outside the period", new DeclaredTimeline(runway, 1, from, until).getSegmentAt(until));
+  }
+
+  private double value(DeclaredDistances distances, int method) {
+    return method <= 2 ? distances.getLda() : distances.getTora();
+  }
+
+  @Test
+  public void testBreakdown() {
+    System.out.println("Testing calculation breakdown");
+    Obstacle obstacle = new Obstacle("obstacle", 25, 10, 0, 500);
+    runway.setCurrentObstacle(obstacle);
+    runway.redeclarationLandingOver(obstacle);
+    CalculationBreakdown breakdown = runway.getBreakdown(RedeclarationEngine.LANDING_OVER);
+    assertEquals("Breakdown has an incorrect title", "Re-declared value: LDA", breakdown.getTitle());
+    assertEquals("Breakdown text is incorrect",
+        "LDA = LDA - obstacle distance from threshold - h * slope - new strip end - displaced threshold\n"
+            + "LDA = 3884.0 - 500.0 - 25.0 * 50 - 60 - 0.0\n"
+            + "LDA = 2074.0\n\n", breakdown.toText());
+
+    runway.redeclarationTakeOffAway(obstacle);
+    List<String[]> rows = runway.getBreakdown(RedeclarationEngine.TAKE_OFF_AWAY).toTable();
+    assertEquals("Take-off away breakdown should have TORA, TODA and ASDA rows", 3, rows.size());
+    assertEquals("Breakdown table has an incorrect TODA", "3240.0", rows.get(1)[3]);
+    assertTrue("HTML breakdown should contain the TORA terms",
+        runway.getBreakdown(RedeclarationEngine.TAKE_OFF_AWAY).appendHtml(new StringBuilder()).toString()
+            .contains("<td>3884.0 - 500.0 - 0.0 - 300 + 78.0</td>"));
+  }
+
+  @Test
+  public void testPropertyChanges() {
+    System.out.println("Testing runway property change notifications");
+    List<String> changed = new ArrayList<>();
+    runway.addPropertyChangeListener(event -> changed.add(event.getPropertyName()));
+    Obstacle obstacle = new Obstacle("obstacle", 25, 10, 0, 500);
+    runway.redeclarationLandingOver(obstacle);
+    assertEquals("Only the re-declared LDA should be notified", List.of(Runway.LDA), changed);
+
+    changed.clear();
+    runway.redeclarationLandingOver(obstacle);
+    assertTrue("Unchanged values should not be notified", changed.isEmpty());
+
+    runway.setDefault();
+    runway.setDefaultToda(4000);
+    runway.setProfile(1);
+    assertEquals("Incorrect properties notified", List.of(Runway.LDA, Runway.DEFAULT_TODA, Runway.PROFILE), changed);
+  }
+
+}
@@ -0,0 +1,31 @@
+package com.example.runway.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bulk calculation kernel using the jdk.incubator.vector API.
+ * Compiled and run with --add-modules jdk.incubator.vector, loaded by ObstacleTable when available.
+ */
+final class VectorKernel implements ObstacleTable.Kernel {
+
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+  @Override
+  public void affine(double base, double sa, double[] a, double sb, double[] b, double[] out, int n) {
+    DoubleVector zero = DoubleVector.zero(SPECIES);
+    int i = 0;
+    int bound = SPECIES.loopBound(n);
+    for (; i < bound; i += SPECIES.length()) {
+      DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+      DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+      // Same order of operations as the remaining rows: (base + sa * a) + sb * b
+      va.mul(sa).add(base).add(vb.mul(sb)).max(zero).intoArray(out, i);
+    }
+    // Remaining rows:
+    for (; i < n; i++) {
+      out[i] = Math.max(0, base + sa * a[i] + sb * b[i]);
+    }
+  }
+
+}